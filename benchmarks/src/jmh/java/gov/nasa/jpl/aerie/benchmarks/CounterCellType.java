@@ -0,0 +1,52 @@
+package gov.nasa.jpl.aerie.benchmarks;
+
+import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+
+import java.util.Optional;
+
+/** A cell holding a count, which each effect increments by some amount. The simplest cell a benchmark can need. */
+public final class CounterCellType implements CellType<Long, long[]> {
+  public static final EffectTrait<Long> EFFECT_TRAIT = new EffectTrait<>() {
+    @Override
+    public Long empty() {
+      return 0L;
+    }
+
+    @Override
+    public Long sequentially(final Long prefix, final Long suffix) {
+      return prefix + suffix;
+    }
+
+    @Override
+    public Long concurrently(final Long left, final Long right) {
+      return left + right;
+    }
+  };
+
+  @Override
+  public long[] duplicate(final long[] state) {
+    return state.clone();
+  }
+
+  @Override
+  public void apply(final long[] state, final Long effect) {
+    state[0] += effect;
+  }
+
+  @Override
+  public void step(final long[] state, final Duration duration) {
+    // The counter does not evolve over time.
+  }
+
+  @Override
+  public Optional<Duration> getExpiry(final long[] state) {
+    return Optional.empty();
+  }
+
+  @Override
+  public EffectTrait<Long> getEffectType() {
+    return EFFECT_TRAIT;
+  }
+}
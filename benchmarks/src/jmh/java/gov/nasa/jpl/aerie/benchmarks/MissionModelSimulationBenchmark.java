@@ -0,0 +1,108 @@
+package gov.nasa.jpl.aerie.benchmarks;
+
+import gov.nasa.jpl.aerie.merlin.driver.ActivityDirective;
+import gov.nasa.jpl.aerie.merlin.driver.ActivityDirectiveId;
+import gov.nasa.jpl.aerie.merlin.driver.DirectiveTypeRegistry;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModel;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModelBuilder;
+import gov.nasa.jpl.aerie.merlin.driver.SerializedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationDriver;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.protocol.model.ModelType;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates plans of the example mission models end to end, with one activity every ten minutes.
+ *
+ * Banananation exercises the framework's registers and accumulators under a mix of short activities,
+ * and streamline-demo exercises contrib's streamline resources, whose derived resources recompute on every change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MissionModelSimulationBenchmark {
+  private static final Duration SPACING = Duration.of(10, Duration.MINUTES);
+
+  public enum Model { Banananation, StreamlineDemo }
+
+  @Param({"Banananation", "StreamlineDemo"})
+  public Model model;
+
+  @Param({"100", "1000", "10000"})
+  public int activities;
+
+  private MissionModel<?> missionModel;
+  private Map<ActivityDirectiveId, ActivityDirective> plan;
+  private Duration horizon;
+
+  @Setup
+  public void setup() {
+    final List<SerializedActivity> rotation;
+    switch (this.model) {
+      case Banananation -> {
+        this.missionModel = build(
+            new gov.nasa.jpl.aerie.banananation.generated.GeneratedModelType(),
+            gov.nasa.jpl.aerie.banananation.Configuration.defaultConfiguration());
+        rotation = List.of(
+            new SerializedActivity("BiteBanana", Map.of("biteSize", SerializedValue.of(1.0))),
+            new SerializedActivity("PeelBanana", Map.of("peelDirection", SerializedValue.of("fromStem"))),
+            new SerializedActivity("GrowBanana", Map.of(
+                "quantity", SerializedValue.of(2),
+                "growingDuration", SerializedValue.of(Duration.of(5, Duration.MINUTES).in(Duration.MICROSECONDS)))));
+      }
+      case StreamlineDemo -> {
+        this.missionModel = build(
+            new gov.nasa.jpl.aerie.streamline_demo.generated.GeneratedModelType(),
+            new gov.nasa.jpl.aerie.streamline_demo.Configuration());
+        rotation = List.of(
+            new SerializedActivity("ChangeDesiredRate", Map.of("bucket", SerializedValue.of("A"), "rate", SerializedValue.of(1.0))),
+            new SerializedActivity("ChangeDesiredRate", Map.of("bucket", SerializedValue.of("B"), "rate", SerializedValue.of(2.5))),
+            new SerializedActivity("ChangeDesiredRate", Map.of("bucket", SerializedValue.of("C"), "rate", SerializedValue.of(0.5))),
+            new SerializedActivity("ChangeDesiredRate", Map.of("bucket", SerializedValue.of("A"), "rate", SerializedValue.of(0.0))));
+      }
+      default -> throw new IllegalArgumentException(this.model.name());
+    }
+
+    this.plan = new HashMap<>();
+    for (var i = 0; i < this.activities; i += 1) {
+      this.plan.put(
+          new ActivityDirectiveId(i),
+          new ActivityDirective(SPACING.times(i), rotation.get(i % rotation.size()), null, true));
+    }
+    this.horizon = SPACING.times(this.activities + 1);
+  }
+
+  @Benchmark
+  public SimulationResults simulate() {
+    final var start = Instant.EPOCH;
+    return SimulationDriver.simulate(this.missionModel, this.plan, start, this.horizon, start, this.horizon, () -> false);
+  }
+
+  private static <Config, Model> MissionModel<Model> build(final ModelType<Config, Model> modelType, final Config config) {
+    final var builder = new MissionModelBuilder();
+    final var registry = DirectiveTypeRegistry.extract(modelType);
+    final var model = modelType.instantiate(Instant.EPOCH, config, builder);
+    return builder.build(model, registry);
+  }
+}
@@ -0,0 +1,53 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationEngine;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares performing the jobs of each batch serially against performing them in parallel,
+ * for batches of many daemons which all read and write the same cell.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BatchModeBenchmark {
+  private static final int TICKS = 20;
+
+  @Param({"Serial", "Parallel"})
+  public SimulationEngine.BatchMode batchMode;
+
+  @Param({"200", "2000"})
+  public int daemons;
+
+  private MissionModel<?> model;
+
+  @Setup
+  public void setup() {
+    this.model = CounterModels.ticking(this.daemons, TICKS);
+  }
+
+  @Benchmark
+  public SimulationResults simulate() {
+    final var now = Instant.EPOCH;
+    final var duration = Duration.SECONDS.times(TICKS + 1);
+    return SimulationDriver.simulate(this.model, Map.of(), now, duration, now, duration, () -> false, $ -> {}, this.batchMode);
+  }
+}
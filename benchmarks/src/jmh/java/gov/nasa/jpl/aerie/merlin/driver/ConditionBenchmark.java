@@ -0,0 +1,50 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of polling conditions, with many tasks waiting on conditions over a cell which changes
+ * once a second. Each change invalidates every waiting condition, which must then be checked again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConditionBenchmark {
+  @Param({"10", "1000"})
+  public int waiters;
+
+  @Param({"100"})
+  public int ticks;
+
+  private MissionModel<?> model;
+
+  @Setup
+  public void setup() {
+    this.model = CounterModels.waiting(this.waiters, this.ticks);
+  }
+
+  @Benchmark
+  public SimulationResults simulate() {
+    final var now = Instant.EPOCH;
+    final var duration = Duration.SECONDS.times(this.ticks + 1);
+    return SimulationDriver.simulate(this.model, Map.of(), now, duration, now, duration, () -> false);
+  }
+}
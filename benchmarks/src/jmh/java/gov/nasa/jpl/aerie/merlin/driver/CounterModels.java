@@ -0,0 +1,125 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.benchmarks.CounterCellType;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Querier;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Condition;
+import gov.nasa.jpl.aerie.merlin.protocol.model.OutputType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Resource;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Task;
+import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.TaskStatus;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Unit;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+
+import java.util.Map;
+import java.util.Optional;
+
+/** Mission models built directly against the driver, around a single shared counter, to isolate engine costs. */
+/*package-local*/ final class CounterModels {
+  private CounterModels() {}
+
+  /**
+   * Many daemons which each tick once a second, reading and incrementing the counter,
+   * then calling a child task which does the same.
+   */
+  public static MissionModel<?> ticking(final int daemons, final int ticks) {
+    final var initializer = new MissionModelBuilder();
+    final var topic = new Topic<Long>();
+    final var ref = initializer.allocate(new long[] {0L}, new CounterCellType(), $ -> $, topic);
+
+    for (var i = 0; i < daemons; i += 1) {
+      initializer.daemon((TaskFactory<Unit>) executor -> tick(ref, topic, ticks));
+    }
+    initializer.resource("/counter", counter(ref));
+
+    return initializer.build(ref, new DirectiveTypeRegistry<>(Map.of()));
+  }
+
+  /**
+   * A single daemon which increments the counter once a second, and many daemons which each wait on a condition
+   * for the counter to reach every value in turn. Every increment wakes every waiter.
+   */
+  public static MissionModel<?> waiting(final int waiters, final int ticks) {
+    final var initializer = new MissionModelBuilder();
+    final var topic = new Topic<Long>();
+    final var ref = initializer.allocate(new long[] {0L}, new CounterCellType(), $ -> $, topic);
+
+    initializer.daemon((TaskFactory<Unit>) executor -> increment(ref, topic, ticks));
+    for (var i = 0; i < waiters; i += 1) {
+      initializer.daemon((TaskFactory<Unit>) executor -> await(ref, 1, ticks));
+    }
+    initializer.resource("/counter", counter(ref));
+
+    return initializer.build(ref, new DirectiveTypeRegistry<>(Map.of()));
+  }
+
+  private static Task<Unit> tick(final CellId<long[]> ref, final Topic<Long> topic, final int remaining) {
+    return scheduler -> {
+      scheduler.get(ref);
+      scheduler.emit(1L, topic);
+
+      return TaskStatus.calling(
+          executor -> $ -> {
+            $.get(ref);
+            $.emit(1L, topic);
+            return TaskStatus.completed(Unit.UNIT);
+          },
+          $ -> (remaining == 0)
+              ? TaskStatus.completed(Unit.UNIT)
+              : TaskStatus.delayed(Duration.SECOND, tick(ref, topic, remaining - 1)));
+    };
+  }
+
+  private static Task<Unit> increment(final CellId<long[]> ref, final Topic<Long> topic, final int remaining) {
+    return scheduler -> {
+      scheduler.emit(1L, topic);
+      return (remaining == 0)
+          ? TaskStatus.completed(Unit.UNIT)
+          : TaskStatus.delayed(Duration.SECOND, increment(ref, topic, remaining - 1));
+    };
+  }
+
+  private static Task<Unit> await(final CellId<long[]> ref, final long target, final long last) {
+    return scheduler -> (target > last)
+        ? TaskStatus.completed(Unit.UNIT)
+        : TaskStatus.awaiting(reaches(ref, target), await(ref, target + 1, last));
+  }
+
+  private static Condition reaches(final CellId<long[]> ref, final long target) {
+    return (final Querier now, final Duration atLatest) ->
+        (now.getState(ref)[0] >= target) ? Optional.of(Duration.ZERO) : Optional.empty();
+  }
+
+  private static Resource<Long> counter(final CellId<long[]> ref) {
+    return new Resource<>() {
+      @Override
+      public OutputType<Long> getOutputType() {
+        return new OutputType<>() {
+          @Override
+          public ValueSchema getSchema() {
+            return ValueSchema.INT;
+          }
+
+          @Override
+          public SerializedValue serialize(final Long value) {
+            return SerializedValue.of(value);
+          }
+        };
+      }
+
+      @Override
+      public String getType() {
+        return "discrete";
+      }
+
+      @Override
+      public Long getDynamics(final Querier querier) {
+        return querier.getState(ref)[0];
+      }
+    };
+  }
+}
@@ -0,0 +1,100 @@
+package gov.nasa.jpl.aerie.merlin.driver.json;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of serializing simulation results through numbers held as doubles
+ * against numbers held as decimals, over the phases of results serialization which touch every sample.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializedValueBenchmark {
+  private static final int SAMPLES = 10_000;
+  private static final SerializedValueJsonParser jsonParser = new SerializedValueJsonParser();
+
+  public enum Representation { Decimal, Double }
+
+  @Param({"Decimal", "Double"})
+  public Representation representation;
+
+  private SerializedValue[] segments;
+
+  @Setup
+  public void setup() {
+    this.segments = this.serialize();
+  }
+
+  /** Serializes the dynamics of a real resource, as its output type does for every segment. */
+  @Benchmark
+  @OperationsPerInvocation(SAMPLES)
+  public SerializedValue[] serialize() {
+    final var segments = new SerializedValue[SAMPLES];
+    for (var i = 0; i < SAMPLES; i += 1) {
+      segments[i] = SerializedValue.of(Map.of(
+          "initial", this.number(i * 0.25),
+          "rate", this.number((i % 7) * 1e-3)));
+    }
+    return segments;
+  }
+
+  /** Reads serialized dynamics back, as `SimulationEngine#extractRealDynamics` does. */
+  @Benchmark
+  @OperationsPerInvocation(SAMPLES)
+  public double readBack() {
+    var sum = 0.0;
+    for (final var segment : this.segments) {
+      final var fields = segment.asMap().orElseThrow();
+      sum += fields.get("initial").asReal().orElseThrow() + fields.get("rate").asReal().orElseThrow();
+    }
+    return sum;
+  }
+
+  /** Hashes and compares every sample, as collapsing runs of equal values in a discrete profile does. */
+  @Benchmark
+  @OperationsPerInvocation(SAMPLES)
+  public int deduplicate() {
+    final var distinct = new HashSet<SerializedValue>();
+    for (final var segment : this.segments) distinct.add(segment);
+    return distinct.size();
+  }
+
+  /**
+   * Serializes dynamics and writes them out as JSON, as results are when they are stored.
+   * Fresh values are serialized each time, since a number held as a double caches its decimal form once unparsed.
+   */
+  @Benchmark
+  @OperationsPerInvocation(SAMPLES)
+  public long serializeAndUnparse() {
+    var length = 0L;
+    for (final var segment : this.serialize()) length += jsonParser.unparse(segment).toString().length();
+    return length;
+  }
+
+  private SerializedValue number(final double value) {
+    return switch (this.representation) {
+      case Decimal -> SerializedValue.of(BigDecimal.valueOf(value));
+      case Double -> SerializedValue.of(value);
+    };
+  }
+}
@@ -0,0 +1,89 @@
+package gov.nasa.jpl.aerie.merlin.driver.timeline;
+
+import gov.nasa.jpl.aerie.benchmarks.CounterCellType;
+import gov.nasa.jpl.aerie.merlin.driver.engine.TaskId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of bringing cells up to date with a timeline, and of querying cells which already are.
+ *
+ * The timeline alternates steps of time with commits of a single event,
+ * spread evenly over a number of topics of which the cell is interested in only one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CellBenchmark {
+  @Param({"1000", "100000"})
+  public int commits;
+
+  @Param({"1", "16"})
+  public int topics;
+
+  private final CounterCellType cellType = new CounterCellType();
+  private final EventGraphEvaluator evaluator = new IterativeEventGraphEvaluator();
+  private final Query<long[]> query = new Query<>();
+
+  private TemporalEventSource timeline;
+  private Selector<Long> selector;
+  private LiveCells caughtUp;
+
+  @Setup
+  public void setup() {
+    final var topics = new ArrayList<Topic<Long>>(this.topics);
+    for (var i = 0; i < this.topics; i += 1) topics.add(new Topic<>());
+
+    final var provenance = TaskId.generate();
+    this.timeline = new TemporalEventSource();
+    for (var i = 0; i < this.commits; i += 1) {
+      this.timeline.add(Duration.SECOND);
+      this.timeline.add(EventGraph.atom(Event.create(topics.get(i % this.topics), 1L, provenance)));
+    }
+
+    this.selector = new Selector<>(topics.get(0), $ -> $);
+    this.caughtUp = this.newLiveCells();
+    this.caughtUp.getState(this.query);
+  }
+
+  /** Creates a cell at the start of the timeline, and queries it at the end. */
+  @Benchmark
+  public long catchUp() {
+    return this.newLiveCells().getState(this.query).orElseThrow()[0];
+  }
+
+  /** Queries a cell which has already observed the whole timeline. */
+  @Benchmark
+  public long queryCaughtUp() {
+    return this.caughtUp.getState(this.query).orElseThrow()[0];
+  }
+
+  /** Queries, in a child context, a cell which its parent has already brought up to date. */
+  @Benchmark
+  public long queryThroughParent() {
+    return new LiveCells(new TemporalEventSource(), this.caughtUp).getState(this.query).orElseThrow()[0];
+  }
+
+  private LiveCells newLiveCells() {
+    final var cells = new LiveCells(this.timeline);
+    cells.put(this.query, new Cell<>(this.cellType, this.selector, this.evaluator, new long[] {0}));
+    return cells;
+  }
+}
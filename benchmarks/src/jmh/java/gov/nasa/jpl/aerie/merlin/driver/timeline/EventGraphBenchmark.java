@@ -0,0 +1,92 @@
+package gov.nasa.jpl.aerie.merlin.driver.timeline;
+
+import gov.nasa.jpl.aerie.benchmarks.CounterCellType;
+import gov.nasa.jpl.aerie.merlin.driver.engine.TaskId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of evaluating an event graph into the effect a cell observes, under each of the evaluators.
+ *
+ * One event in four is on a topic the cell is not interested in, as is common when many tasks share a commit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventGraphBenchmark {
+  public enum Shape {
+    /** One task emitting every event in turn. */
+    Sequential,
+    /** Every event emitted by a different task at the same time. */
+    Concurrent,
+    /** Concurrent tasks each emitting a handful of events in turn, as a batch of tasks typically does. */
+    Mixed,
+  }
+
+  public enum Evaluator { Iterative, Recursive }
+
+  @Param({"Sequential", "Concurrent", "Mixed"})
+  public Shape shape;
+
+  @Param({"16", "1024"})
+  public int events;
+
+  @Param({"Iterative", "Recursive"})
+  public Evaluator evaluator;
+
+  private EventGraphEvaluator graphEvaluator;
+  private Selector<Long> selector;
+  private EventGraph<Event> graph;
+
+  @Setup
+  public void setup() {
+    final var topic = new Topic<Long>();
+    final var otherTopic = new Topic<Long>();
+    final var provenance = TaskId.generate();
+
+    final var atoms = new ArrayList<EventGraph<Event>>(this.events);
+    for (var i = 0; i < this.events; i += 1) {
+      atoms.add(EventGraph.atom(Event.create((i % 4 == 3) ? otherTopic : topic, (long) i, provenance)));
+    }
+
+    this.graph = switch (this.shape) {
+      case Sequential -> EventGraph.sequentially(atoms);
+      case Concurrent -> EventGraph.concurrently(atoms);
+      case Mixed -> {
+        final var branches = new ArrayList<EventGraph<Event>>();
+        for (var i = 0; i < atoms.size(); i += 4) {
+          branches.add(EventGraph.sequentially(atoms.subList(i, Math.min(i + 4, atoms.size()))));
+        }
+        yield EventGraph.concurrently(branches);
+      }
+    };
+
+    this.selector = new Selector<>(topic, $ -> $);
+    this.graphEvaluator = switch (this.evaluator) {
+      case Iterative -> new IterativeEventGraphEvaluator();
+      case Recursive -> new RecursiveEventGraphEvaluator();
+    };
+  }
+
+  @Benchmark
+  public Optional<Long> evaluate() {
+    return this.graphEvaluator.evaluate(CounterCellType.EFFECT_TRAIT, this.selector, this.graph);
+  }
+}
@@ -0,0 +1,122 @@
+package gov.nasa.jpl.aerie.merlin.framework;
+
+import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Scheduler;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Task;
+import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the cost of stepping a task through its yields under each of the task runtimes.
+ *
+ * The replaying runtime re-runs its body up to the current yield at every step, so its cost grows quadratically
+ * in the number of yields; the resumable runtime runs only the code since the last yield, so its cost grows linearly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskStepBenchmark {
+  private static final Scheduler scheduler = new Scheduler() {
+    @Override
+    public <State> State get(final CellId<State> query) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <Event> void emit(final Event event, final Topic<Event> topic) {
+    }
+
+    @Override
+    public void spawn(final TaskFactory<?> task) {
+      throw new UnsupportedOperationException();
+    }
+  };
+
+  public enum Runtime { Threaded, Parking, Replaying, Resumable }
+
+  @Param({"Threaded", "Parking", "Replaying", "Resumable"})
+  public Runtime runtime;
+
+  @Param({"10", "100", "1000"})
+  public int yields;
+
+  private ExecutorService pool;
+  private Scoped<Context> context;
+  private Supplier<Integer> body;
+  private Supplier<Resumable<Integer>> resumableBody;
+
+  @Setup
+  public void setup() {
+    this.pool = getLoomOrFallback();
+    this.context = Scoped.create();
+
+    final var context = this.context;
+    final var yields = this.yields;
+    this.body = () -> {
+      for (var i = 0; i < yields; i += 1) context.get().delay(Duration.EPSILON);
+      return yields;
+    };
+    this.resumableBody = () -> loop(0, yields);
+  }
+
+  private static Resumable<Integer> loop(final int iteration, final int yields) {
+    if (iteration == yields) return Resumable.complete(yields);
+    return Resumable.delay(Duration.EPSILON, () -> loop(iteration + 1, yields));
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.pool.shutdownNow();
+  }
+
+  /** Runs a task from start to finish, yielding the configured number of times. */
+  @Benchmark
+  public Integer stepToCompletion() {
+    Task<Integer> task = switch (this.runtime) {
+      case Threaded -> new ThreadedTask<>(this.pool, this.context, this.body);
+      case Parking -> new ParkingTask<>(this.pool, this.context, this.body);
+      case Replaying -> new ReplayingTask<>(this.context, this.body);
+      case Resumable -> new ResumableTask<>(this.context, this.resumableBody);
+    };
+
+    while (true) {
+      final var status = task.step(scheduler);
+      if (status instanceof TaskStatus.Delayed<Integer> s) {
+        task = s.continuation();
+      } else {
+        task.release();
+        return ((TaskStatus.Completed<Integer>) status).returnValue();
+      }
+    }
+  }
+
+  private static ExecutorService getLoomOrFallback() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (final ReflectiveOperationException ex) {
+      return Executors.newCachedThreadPool();
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package gov.nasa.jpl.aerie.scheduler;
+
+import gov.nasa.jpl.aerie.constraints.model.EvaluationEnvironment;
+import gov.nasa.jpl.aerie.constraints.time.Interval;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.scheduler.constraints.activities.ActivityExpression;
+import gov.nasa.jpl.aerie.scheduler.model.ActivityType;
+import gov.nasa.jpl.aerie.scheduler.model.PlanInMemory;
+import gov.nasa.jpl.aerie.scheduler.model.SchedulingActivityDirective;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.HOUR;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.HOURS;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MINUTES;
+
+/**
+ * Measures the cost of the plan queries made by goals while they look for conflicts, over plans of many activities
+ * spread evenly across a number of types and over a month. Each query asks for the activities of one type
+ * starting (or ending) within a single hour of that month.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PlanFindBenchmark {
+  private static final int HOURS_IN_PLAN = 30 * 24;
+
+  @Param({"10000", "50000"})
+  public int activities;
+
+  @Param({"10"})
+  public int types;
+
+  private PlanInMemory plan;
+  private ActivityType type;
+  private Random random;
+
+  @Setup
+  public void setup() {
+    final var random = new Random(0);
+    final var types = new ActivityType[this.types];
+    for (var i = 0; i < this.types; i++) types[i] = new ActivityType("type" + i);
+
+    this.plan = new PlanInMemory();
+    for (var i = 0; i < this.activities; i++) {
+      this.plan.add(SchedulingActivityDirective.of(
+          types[random.nextInt(this.types)],
+          Duration.of(random.nextInt(HOURS_IN_PLAN * 60), MINUTES),
+          Duration.of(random.nextInt(120), MINUTES),
+          null,
+          true));
+    }
+
+    this.type = types[0];
+    this.random = new Random(1);
+  }
+
+  private Interval randomHour() {
+    final var start = Duration.of(this.random.nextInt(HOURS_IN_PLAN), HOURS);
+    return Interval.between(start, start.plus(HOUR));
+  }
+
+  @Benchmark
+  public Collection<SchedulingActivityDirective> findByTypeAndStart() {
+    final var template = new ActivityExpression.Builder()
+        .ofType(this.type)
+        .startsIn(randomHour())
+        .build();
+    return this.plan.find(template, null, new EvaluationEnvironment());
+  }
+
+  @Benchmark
+  public Collection<SchedulingActivityDirective> findByTypeAndEnd() {
+    final var template = new ActivityExpression.Builder()
+        .ofType(this.type)
+        .endsIn(randomHour())
+        .build();
+    return this.plan.find(template, null, new EvaluationEnvironment());
+  }
+
+  @Benchmark
+  public Collection<SchedulingActivityDirective> findByType() {
+    return this.plan.find(ActivityExpression.ofType(this.type), null, new EvaluationEnvironment());
+  }
+}
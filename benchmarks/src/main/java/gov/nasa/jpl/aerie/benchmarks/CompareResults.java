@@ -0,0 +1,125 @@
+package gov.nasa.jpl.aerie.benchmarks;
+
+import javax.json.Json;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH result files, and flags each benchmark whose score regressed by more than a threshold.
+ *
+ * A benchmark is flagged only if its score is worse by more than the threshold, as a fraction of the baseline score,
+ * and also by more than the error margins of both runs put together, so that noisy benchmarks are not flagged
+ * for differences their runs cannot tell apart.
+ *
+ * Exits with status 1 if any benchmark regressed, so that the comparison can gate a build.
+ */
+public final class CompareResults {
+  private record Score(double score, double error, String unit, boolean higherIsBetter) {}
+
+  private enum Verdict { REGRESSED, IMPROVED, UNCHANGED, ADDED, REMOVED }
+
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 2 || args.length > 3) {
+      System.err.println("Usage: CompareResults <baseline.json> <candidate.json> [threshold]");
+      System.exit(2);
+    }
+
+    final var baseline = read(args[0]);
+    final var candidate = read(args[1]);
+    final var threshold = (args.length == 3) ? Double.parseDouble(args[2]) : 0.10;
+
+    final var benchmarks = new TreeMap<String, Verdict>();
+    for (final var name : baseline.keySet()) {
+      benchmarks.put(name, candidate.containsKey(name) ? compare(baseline.get(name), candidate.get(name), threshold) : Verdict.REMOVED);
+    }
+    for (final var name : candidate.keySet()) {
+      benchmarks.putIfAbsent(name, Verdict.ADDED);
+    }
+
+    var regressions = 0;
+    for (final var entry : benchmarks.entrySet()) {
+      final var name = entry.getKey();
+      final var verdict = entry.getValue();
+      if (verdict == Verdict.REGRESSED) regressions += 1;
+
+      System.out.printf("%-9s %s  %s -> %s%s%n",
+                        verdict,
+                        name,
+                        format(baseline.get(name)),
+                        format(candidate.get(name)),
+                        change(baseline.get(name), candidate.get(name)));
+    }
+
+    System.out.printf("%d of %d benchmarks regressed by more than %.0f%%%n", regressions, benchmarks.size(), threshold * 100);
+    if (regressions > 0) System.exit(1);
+  }
+
+  private static Verdict compare(final Score baseline, final Score candidate, final double threshold) {
+    // Orient the difference so that a positive one is always a slowdown.
+    final var slowdown = (baseline.higherIsBetter())
+        ? baseline.score() - candidate.score()
+        : candidate.score() - baseline.score();
+    final var noise = finiteOrZero(baseline.error()) + finiteOrZero(candidate.error());
+
+    if (Math.abs(slowdown) <= noise || Math.abs(slowdown) <= threshold * Math.abs(baseline.score())) {
+      return Verdict.UNCHANGED;
+    } else {
+      return (slowdown > 0) ? Verdict.REGRESSED : Verdict.IMPROVED;
+    }
+  }
+
+  // Benchmarks are identified by their name together with their parameters, so each parameterization is its own row.
+  private static Map<String, Score> read(final String path) throws IOException {
+    final var scores = new LinkedHashMap<String, Score>();
+    try (final var reader = Json.createReader(new FileReader(path))) {
+      for (final var run : reader.readArray().getValuesAs(JsonObject.class)) {
+        final var name = new StringBuilder(run.getString("benchmark"));
+        final var params = run.getJsonObject("params");
+        if (params != null) {
+          name.append(':');
+          params.forEach((key, value) -> name.append(' ').append(key).append('=').append(((JsonString) value).getString()));
+        }
+
+        final var metric = run.getJsonObject("primaryMetric");
+        final var mode = run.getString("mode");
+        scores.put(name.toString(), new Score(
+            number(metric.get("score")),
+            number(metric.get("scoreError")),
+            metric.getString("scoreUnit"),
+            mode.equals("thrpt")));
+      }
+    }
+    return scores;
+  }
+
+  // JMH writes scores it could not compute, such as the error of a single iteration, as the string "NaN".
+  private static double number(final JsonValue value) {
+    return switch (value.getValueType()) {
+      case NUMBER -> ((JsonNumber) value).doubleValue();
+      case STRING -> Double.parseDouble(((JsonString) value).getString());
+      default -> Double.NaN;
+    };
+  }
+
+  private static double finiteOrZero(final double value) {
+    return Double.isFinite(value) ? value : 0;
+  }
+
+  private static String format(final Score score) {
+    if (score == null) return "-";
+    if (!Double.isFinite(score.error())) return "%.3f %s".formatted(score.score(), score.unit());
+    return "%.3f +/- %.3f %s".formatted(score.score(), score.error(), score.unit());
+  }
+
+  private static String change(final Score baseline, final Score candidate) {
+    if (baseline == null || candidate == null || baseline.score() == 0) return "";
+    return " (%+.1f%%)".formatted(100 * (candidate.score() - baseline.score()) / Math.abs(baseline.score()));
+  }
+}
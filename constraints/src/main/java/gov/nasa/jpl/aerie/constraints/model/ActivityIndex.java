@@ -0,0 +1,125 @@
+package gov.nasa.jpl.aerie.constraints.model;
+
+import gov.nasa.jpl.aerie.constraints.time.Interval;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index over a list of activities, grouping them by type and ordering each group by start time.
+ *
+ * Every query returns its activities in the order they appear in the indexed list,
+ * so that results built from them do not depend on whether the index was used.
+ */
+final class ActivityIndex {
+  private final Map<String, TypeIndex> types;
+
+  private ActivityIndex(final Map<String, TypeIndex> types) {
+    this.types = types;
+  }
+
+  static ActivityIndex of(final List<ActivityInstance> activities) {
+    final var positionsByType = new HashMap<String, List<Integer>>();
+    for (int i = 0; i < activities.size(); i++) {
+      positionsByType.computeIfAbsent(activities.get(i).type, $ -> new ArrayList<>()).add(i);
+    }
+
+    final var types = new HashMap<String, TypeIndex>(positionsByType.size());
+    for (final var entry : positionsByType.entrySet()) {
+      types.put(entry.getKey(), TypeIndex.of(activities, entry.getValue()));
+    }
+
+    return new ActivityIndex(types);
+  }
+
+  List<ActivityInstance> ofType(final String type) {
+    final var index = this.types.get(type);
+    return (index == null) ? List.of() : index.activities;
+  }
+
+  List<ActivityInstance> ofTypeStartingIn(final String type, final Interval interval) {
+    final var index = this.types.get(type);
+    return (index == null) ? List.of() : index.startingIn(interval);
+  }
+
+  /** The activities of a single type. */
+  private static final class TypeIndex {
+    // In the order of the indexed list.
+    private final List<ActivityInstance> activities;
+    // The positions of `activities`, ordered by the start time of the activity at each position.
+    private final int[] byStart;
+    private final Duration[] starts;
+
+    private TypeIndex(final List<ActivityInstance> activities, final int[] byStart, final Duration[] starts) {
+      this.activities = activities;
+      this.byStart = byStart;
+      this.starts = starts;
+    }
+
+    static TypeIndex of(final List<ActivityInstance> allActivities, final List<Integer> positions) {
+      final var activities = new ArrayList<ActivityInstance>(positions.size());
+      for (final var position : positions) activities.add(allActivities.get(position));
+
+      final var order = new Integer[activities.size()];
+      for (int i = 0; i < order.length; i++) order[i] = i;
+      Arrays.sort(order, Comparator.comparing($ -> activities.get($).interval.start));
+
+      final var byStart = new int[order.length];
+      final var starts = new Duration[order.length];
+      for (int i = 0; i < order.length; i++) {
+        byStart[i] = order[i];
+        starts[i] = activities.get(order[i]).interval.start;
+      }
+
+      return new TypeIndex(Collections.unmodifiableList(activities), byStart, starts);
+    }
+
+    List<ActivityInstance> startingIn(final Interval interval) {
+      if (interval.isEmpty()) return List.of();
+
+      // Every activity starting in the interval lies between the first start no earlier than the interval's start
+      //   and the last start no later than its end; the inclusivity of either end is checked exactly below.
+      final var from = this.firstStartNotBefore(interval.start);
+      final var to = this.firstStartAfter(interval.end);
+
+      final var positions = new int[Math.max(to - from, 0)];
+      var count = 0;
+      for (int i = from; i < to; i++) {
+        if (interval.contains(this.starts[i])) positions[count++] = this.byStart[i];
+      }
+      Arrays.sort(positions, 0, count);
+
+      final var result = new ArrayList<ActivityInstance>(count);
+      for (int i = 0; i < count; i++) result.add(this.activities.get(positions[i]));
+      return result;
+    }
+
+    private int firstStartNotBefore(final Duration time) {
+      int low = 0;
+      int high = this.starts.length;
+      while (low < high) {
+        final var middle = (low + high) >>> 1;
+        if (this.starts[middle].shorterThan(time)) low = middle + 1;
+        else high = middle;
+      }
+      return low;
+    }
+
+    private int firstStartAfter(final Duration time) {
+      int low = 0;
+      int high = this.starts.length;
+      while (low < high) {
+        final var middle = (low + high) >>> 1;
+        if (this.starts[middle].longerThan(time)) high = middle;
+        else low = middle + 1;
+      }
+      return low;
+    }
+  }
+}
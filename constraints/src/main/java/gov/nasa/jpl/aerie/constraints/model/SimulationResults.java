@@ -14,6 +14,9 @@ public final class SimulationResults {
   public final Map<String, LinearProfile> realProfiles;
   public final Map<String, DiscreteProfile> discreteProfiles;
 
+  // Built on first use. The index is immutable, so a thread which finds it missing at worst builds it again.
+  private ActivityIndex activityIndex = null;
+
   public SimulationResults(
       final Instant planStart, final Interval bounds,
       final List<ActivityInstance> activities,
@@ -27,6 +30,30 @@ public final class SimulationResults {
     this.discreteProfiles = discreteProfiles;
   }
 
+  /** The activities of the given type, in the order they appear in {@link #activities}. */
+  public List<ActivityInstance> activitiesOfType(final String type) {
+    return this.activityIndex().ofType(type);
+  }
+
+  /**
+   * The activities of the given type which start within the given interval, in the order they appear in {@link #activities}.
+   *
+   * Activities are found by binary search over their start times, so this takes time proportional to the logarithm
+   * of the number of activities of the type, plus the number of activities returned.
+   */
+  public List<ActivityInstance> activitiesOfTypeStartingIn(final String type, final Interval interval) {
+    return this.activityIndex().ofTypeStartingIn(type, interval);
+  }
+
+  private ActivityIndex activityIndex() {
+    var index = this.activityIndex;
+    if (index == null) {
+      index = ActivityIndex.of(this.activities);
+      this.activityIndex = index;
+    }
+    return index;
+  }
+
   @Override
   public boolean equals(Object obj) {
     if (!(obj instanceof final SimulationResults o)) return false;
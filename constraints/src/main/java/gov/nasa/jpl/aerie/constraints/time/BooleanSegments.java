@@ -0,0 +1,254 @@
+package gov.nasa.jpl.aerie.constraints.time;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Exclusive;
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Inclusive;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MICROSECOND;
+
+/**
+ * The segments of a boolean profile, packed into primitive arrays.
+ *
+ * This holds the same information as an {@code IntervalMap<Boolean>}, but without a {@link Segment},
+ * {@link Interval}, or {@link Duration} object per segment. The boolean operations on {@link Windows} sweep
+ * over these arrays directly, and allocate nothing per segment until the result is unpacked.
+ *
+ * Each segment boundary is stored as a "cut" of the timeline: a time in microseconds, and a bit saying whether the cut
+ * lies just before or just after that time. An interval includes its start iff its start cut lies before the start time,
+ * and includes its end iff its end cut lies after the end time. Every segment covers the cuts `[start, end)`, which makes
+ * comparing boundaries a matter of comparing (time, bit) pairs.
+ */
+final class BooleanSegments {
+  /** The value of a gap in a truth table. */
+  static final byte GAP = 0;
+  static final byte FALSE = 1;
+  static final byte TRUE = 2;
+
+  /**
+   * Truth tables for the binary operations on Windows, indexed by `left * 3 + right`.
+   *
+   * See the documentation of the corresponding methods on {@link Windows} for their derivation.
+   */
+  static final byte[] AND = table(GAP, FALSE, GAP, FALSE, FALSE, FALSE, GAP, FALSE, TRUE);
+  static final byte[] OR = table(GAP, GAP, TRUE, GAP, FALSE, TRUE, TRUE, TRUE, TRUE);
+  static final byte[] ADD = table(GAP, FALSE, TRUE, FALSE, FALSE, TRUE, TRUE, TRUE, TRUE);
+  static final byte[] EQUAL_TO = table(GAP, GAP, GAP, GAP, TRUE, FALSE, GAP, FALSE, TRUE);
+  static final byte[] ASSIGN_GAPS = table(GAP, FALSE, TRUE, FALSE, FALSE, FALSE, TRUE, TRUE, TRUE);
+  static final byte[] SELECT = table(GAP, GAP, GAP, GAP, FALSE, FALSE, GAP, TRUE, TRUE);
+
+  // Bits of `flags`.
+  private static final byte START_AFTER = 1;
+  private static final byte END_AFTER = 2;
+  private static final byte VALUE = 4;
+
+  // INVARIANT: The first `size` entries of each array describe non-empty, non-overlapping segments in ascending order.
+  // INVARIANT: If two adjacent segments abut exactly, their values are non-equal.
+  private final int size;
+  private final long[] starts;
+  private final long[] ends;
+  private final byte[] flags;
+
+  // PRECONDITION: The arrays meet the invariants of the class.
+  private BooleanSegments(final int size, final long[] starts, final long[] ends, final byte[] flags) {
+    this.size = size;
+    this.starts = starts;
+    this.ends = ends;
+    this.flags = flags;
+  }
+
+  /** Packs the segments of a boolean IntervalMap. */
+  static BooleanSegments pack(final IntervalMap<Boolean> map) {
+    final var size = map.size();
+    final var starts = new long[size];
+    final var ends = new long[size];
+    final var flags = new byte[size];
+
+    for (int i = 0; i < size; i++) {
+      final var segment = map.get(i);
+      final var interval = segment.interval();
+
+      starts[i] = interval.start.in(MICROSECOND);
+      ends[i] = interval.end.in(MICROSECOND);
+      flags[i] = (byte) ((interval.includesStart() ? 0 : START_AFTER)
+                         | (interval.includesEnd() ? END_AFTER : 0)
+                         | (segment.value() ? VALUE : 0));
+    }
+
+    // SAFETY: `map` meets the same invariants as required by this class.
+    return new BooleanSegments(size, starts, ends, flags);
+  }
+
+  /** Unpacks these segments into an IntervalMap. */
+  IntervalMap<Boolean> unpack() {
+    final var segments = new ArrayList<Segment<Boolean>>(this.size);
+    for (int i = 0; i < this.size; i++) {
+      final var flag = this.flags[i];
+      final var interval = Interval.between(
+          Duration.of(this.starts[i], MICROSECOND),
+          ((flag & START_AFTER) == 0) ? Inclusive : Exclusive,
+          Duration.of(this.ends[i], MICROSECOND),
+          ((flag & END_AFTER) != 0) ? Inclusive : Exclusive);
+
+      segments.add(Segment.of(interval, (flag & VALUE) != 0));
+    }
+
+    // SAFETY: `segments` meets the same invariants as required by `IntervalMap`.
+    return new IntervalMap<>(segments);
+  }
+
+  int size() {
+    return this.size;
+  }
+
+  /** Inverts the value of every segment, leaving gaps unchanged. */
+  BooleanSegments not() {
+    final var flags = new byte[this.size];
+    for (int i = 0; i < this.size; i++) flags[i] = (byte) (this.flags[i] ^ VALUE);
+
+    // SAFETY: Inverting every value preserves the inequality of abutting segments.
+    // The boundary arrays are never written after construction, so they can be shared.
+    return new BooleanSegments(this.size, this.starts, this.ends, flags);
+  }
+
+  /**
+   * Shifts every segment by a number of microseconds, or returns empty if any boundary would leave the representable range.
+   *
+   * A shift that saturates at either end of time can collapse segments onto each other, which cannot be done in place.
+   */
+  Optional<BooleanSegments> shiftBy(final long shift) {
+    final var starts = new long[this.size];
+    final var ends = new long[this.size];
+    for (int i = 0; i < this.size; i++) {
+      final var start = this.starts[i] + shift;
+      final var end = this.ends[i] + shift;
+      if (((start ^ this.starts[i]) & (start ^ shift)) < 0) return Optional.empty();
+      if (((end ^ this.ends[i]) & (end ^ shift)) < 0) return Optional.empty();
+
+      starts[i] = start;
+      ends[i] = end;
+    }
+
+    // SAFETY: Translating every boundary by the same amount preserves their order.
+    return Optional.of(new BooleanSegments(this.size, starts, ends, this.flags));
+  }
+
+  /**
+   * Combines any number of boolean profiles in a single sweep over the timeline.
+   *
+   * Over each stretch of time on which none of the operands changes, the result is the left fold of the operands'
+   * values through the given truth table, starting with the value of the first operand.
+   * Folding `n` operands this way is equivalent to chaining `n - 1` binary operations, but builds no intermediate profiles.
+   *
+   * @param operands the profiles to combine; there must be at least one.
+   * @param table a truth table, indexed by `accumulator * 3 + operand`.
+   */
+  static BooleanSegments fold(final BooleanSegments[] operands, final byte[] table) {
+    final var count = operands.length;
+    final var indices = new int[count];
+
+    var capacity = 0;
+    for (final var operand : operands) capacity += operand.size;
+    capacity += count + 1;
+
+    var size = 0;
+    var starts = new long[capacity];
+    var ends = new long[capacity];
+    var flags = new byte[capacity];
+
+    // The current cut is `time`, plus one half-step if `after` is set.
+    var time = Long.MIN_VALUE;
+    var after = false;
+    while (true) {
+      // Find the next cut at which any operand changes value, and the value of the result until then.
+      var nextTime = Long.MAX_VALUE;
+      var nextAfter = true;
+      var value = GAP;
+      for (int k = 0; k < count; k++) {
+        final var operand = operands[k];
+        final var i = indices[k];
+
+        final byte operandValue;
+        final long boundaryTime;
+        final boolean boundaryAfter;
+        if (i >= operand.size) {
+          operandValue = GAP;
+          boundaryTime = Long.MAX_VALUE;
+          boundaryAfter = true;
+        } else if (compare(operand.starts[i], (operand.flags[i] & START_AFTER) != 0, time, after) <= 0) {
+          operandValue = ((operand.flags[i] & VALUE) != 0) ? TRUE : FALSE;
+          boundaryTime = operand.ends[i];
+          boundaryAfter = (operand.flags[i] & END_AFTER) != 0;
+        } else {
+          operandValue = GAP;
+          boundaryTime = operand.starts[i];
+          boundaryAfter = (operand.flags[i] & START_AFTER) != 0;
+        }
+
+        value = (k == 0) ? operandValue : table[value * 3 + operandValue];
+        if (compare(boundaryTime, boundaryAfter, nextTime, nextAfter) < 0) {
+          nextTime = boundaryTime;
+          nextAfter = boundaryAfter;
+        }
+      }
+
+      if (value != GAP) {
+        final var flag = (byte) ((after ? START_AFTER : 0) | (nextAfter ? END_AFTER : 0) | ((value == TRUE) ? VALUE : 0));
+
+        final var abutsPrevious = size > 0
+            && ends[size - 1] == time
+            && ((flags[size - 1] & END_AFTER) != 0) == after
+            && ((flags[size - 1] & VALUE) != 0) == (value == TRUE);
+        if (abutsPrevious) {
+          ends[size - 1] = nextTime;
+          flags[size - 1] = (byte) ((flags[size - 1] & ~END_AFTER) | (flag & END_AFTER));
+        } else {
+          if (size == capacity) {
+            capacity *= 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+          }
+          starts[size] = time;
+          ends[size] = nextTime;
+          flags[size] = flag;
+          size += 1;
+        }
+      }
+
+      // Step past every segment that ends at the next cut.
+      for (int k = 0; k < count; k++) {
+        final var operand = operands[k];
+        final var i = indices[k];
+        if (i < operand.size
+            && operand.ends[i] == nextTime
+            && ((operand.flags[i] & END_AFTER) != 0) == nextAfter
+            && compare(operand.starts[i], (operand.flags[i] & START_AFTER) != 0, time, after) <= 0)
+        {
+          indices[k] = i + 1;
+        }
+      }
+
+      // The last cut lies just after the end of time.
+      if (nextTime == Long.MAX_VALUE && nextAfter) break;
+
+      time = nextTime;
+      after = nextAfter;
+    }
+
+    // SAFETY: The sweep produces non-empty segments in ascending order, and merges abutting segments of equal value.
+    return new BooleanSegments(size, starts, ends, flags);
+  }
+
+  private static int compare(final long leftTime, final boolean leftAfter, final long rightTime, final boolean rightAfter) {
+    final var comparison = Long.compare(leftTime, rightTime);
+    return (comparison != 0) ? comparison : Boolean.compare(leftAfter, rightAfter);
+  }
+
+  private static byte[] table(final byte... entries) {
+    return entries;
+  }
+}
@@ -37,7 +37,7 @@ public final class IntervalMap<V> implements Iterable<Segment<V>> {
   private final List<Segment<V>> segments;
 
   // PRECONDITION: The list of `segments` meets the invariants of the class.
-  private IntervalMap(final List<Segment<V>> segments) {
+  IntervalMap(final List<Segment<V>> segments) {
     this.segments = Collections.unmodifiableList(segments);
   }
 
@@ -469,10 +469,7 @@ public final class IntervalMap<V> implements Iterable<Segment<V>> {
 
       // <> is `interval`, the interval to apply; [] is the currently-indexed interval in the map.
       // Cases: --[---]---<--->--
-      int index = 0;
-      while (index < this.segments.size() && IntervalAlgebra.endsStrictlyBefore(this.getInterval(index), interval)) {
-        index += 1;
-      }
+      int index = this.firstIndexNotStrictlyBefore(interval);
 
       // Cases: --[---<---]--->-- and --[---<--->---]--
       if (index < this.segments.size() && IntervalAlgebra.startsBefore(this.getInterval(index), interval)) {
@@ -492,9 +489,11 @@ public final class IntervalMap<V> implements Iterable<Segment<V>> {
       }
 
       // Cases: --<---[---]--->--
-      while (index < this.segments.size() && !IntervalAlgebra.endsAfter(this.getInterval(index), interval)) {
-        this.segments.remove(index);
+      int end = index;
+      while (end < this.segments.size() && !IntervalAlgebra.endsAfter(this.getInterval(end), interval)) {
+        end += 1;
       }
+      this.segments.subList(index, end).clear();
 
       // Cases: --<---[--->---]--
       if (index < this.segments.size() && !IntervalAlgebra.startsStrictlyAfter(this.getInterval(index), interval)) {
@@ -522,7 +521,7 @@ public final class IntervalMap<V> implements Iterable<Segment<V>> {
 
       if (interval.isEmpty()) return this;
 
-      for (int i = 0; i < this.segments.size(); i++) {
+      for (int i = this.firstIndexNotStrictlyBefore(interval); i < this.segments.size(); i++) {
         final var existingInterval = this.segments.get(i).interval();
 
         if (IntervalAlgebra.endsStrictlyBefore(existingInterval, interval)) continue;
@@ -574,6 +573,34 @@ public final class IntervalMap<V> implements Iterable<Segment<V>> {
       return new IntervalMap<>(segments);
     }
 
+    /**
+     * Finds the index of the first segment which does not end strictly before the given interval.
+     *
+     * Segments usually arrive in ascending order, so the end of the list is checked first;
+     * otherwise the index is found by binary search, which the ordering invariant on `segments` permits.
+     */
+    private int firstIndexNotStrictlyBefore(final Interval interval) {
+      final var size = this.segments.size();
+      if (size == 0) return size;
+
+      final var last = this.getInterval(size - 1);
+      if (IntervalAlgebra.endsStrictlyBefore(last, interval)) return size;
+      // An interval starting where the last segment ends, as in `[a, b)` followed by `[b, c)`, is only preceded by that one.
+      if (IntervalAlgebra.meets(last, interval)) return size - 1;
+
+      int low = 0;
+      int high = size - 1;
+      while (low < high) {
+        final var middle = (low + high) >>> 1;
+        if (IntervalAlgebra.endsStrictlyBefore(this.getInterval(middle), interval)) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+
     private Interval getInterval(final int index) {
       return this.segments.get(index).interval();
     }
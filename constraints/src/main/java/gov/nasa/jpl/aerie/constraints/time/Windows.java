@@ -8,6 +8,7 @@ import gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity;
 import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
@@ -19,9 +20,17 @@ import java.util.stream.StreamSupport;
  *
  * Backed by an {@link IntervalMap} of type {@link Boolean}. This class provides additional operations
  * which are only valid on bools.
+ *
+ * The boolean operations ({@link #and}, {@link #or}, {@link #not}, and the like) are performed on a packed copy
+ * of the segments instead, which holds their boundaries in primitive arrays. Results of those operations are kept
+ * packed until their segments are asked for, so chains of boolean operations allocate nothing per segment.
  */
 public final class Windows implements Iterable<Segment<Boolean>>, IntervalContainer<Windows>, Profile<Windows> {
-  private final IntervalMap<Boolean> segments;
+  // At least one of these is always present; the other is derived from it on demand, and never changes once set.
+  // Both representations are immutable, and the fields are volatile so that either one is only ever seen fully built
+  // by another thread; a thread which finds one missing at worst derives an equal copy of it again.
+  private volatile IntervalMap<Boolean> segments;
+  private volatile BooleanSegments packed;
 
   /** Creates an empty Windows */
   public Windows() {
@@ -54,6 +63,40 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
     this.segments = segments;
   }
 
+  private Windows(final BooleanSegments packed) {
+    this.packed = packed;
+  }
+
+  private IntervalMap<Boolean> segments() {
+    var segments = this.segments;
+    if (segments == null) {
+      segments = this.packed.unpack();
+      this.segments = segments;
+    }
+    return segments;
+  }
+
+  private BooleanSegments packed() {
+    var packed = this.packed;
+    if (packed == null) {
+      packed = BooleanSegments.pack(this.segments);
+      this.packed = packed;
+    }
+    return packed;
+  }
+
+  private Windows combine(final Windows other, final byte[] table) {
+    return new Windows(BooleanSegments.fold(new BooleanSegments[] {this.packed(), other.packed()}, table));
+  }
+
+  private Windows combine(final List<Windows> others, final byte[] table) {
+    final var operands = new BooleanSegments[others.size() + 1];
+    operands[0] = this.packed();
+    for (int i = 0; i < others.size(); i++) operands[i + 1] = others.get(i).packed();
+
+    return new Windows(BooleanSegments.fold(operands, table));
+  }
+
   /**
    * Perform the and operation on two Windows.
    *
@@ -74,20 +117,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
    * @return a new Windows
    */
   public Windows and(final Windows other) {
-    return new Windows(IntervalMap.map2(
-        this.segments, other.segments,
-        (l, r) -> {
-          if (l.isPresent() && r.isPresent()) {
-            return Optional.of(l.get() && r.get());
-          } else if (l.isPresent()) {
-            return l.get() ? Optional.empty() : Optional.of(Boolean.FALSE);
-          } else if (r.isPresent()) {
-            return r.get() ? Optional.empty() : Optional.of(Boolean.FALSE);
-          } else {
-            return Optional.empty();
-          }
-        }
-    ));
+    return this.combine(other, BooleanSegments.AND);
   }
 
   /**
@@ -110,20 +140,33 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
    * @return a new Windows
    */
   public Windows or(final Windows other) {
-    return new Windows(IntervalMap.map2(
-        this.segments, other.segments,
-        (l, r) -> {
-          if (l.isPresent() && r.isPresent()) {
-            return Optional.of(l.get() || r.get());
-          } else if (l.isPresent()) {
-            return l.get() ? Optional.of(true) : Optional.empty();
-          } else if (r.isPresent()) {
-            return r.get() ? Optional.of(true) : Optional.empty();
-          } else {
-            return Optional.empty();
-          }
-        }
-    ));
+    return this.combine(other, BooleanSegments.OR);
+  }
+
+  /**
+   * Perform the and operation on this and each of the given Windows in turn.
+   *
+   * Equivalent to chaining {@link Windows#and(Windows)} over the list, but computed in a single pass
+   * without building the intermediate results.
+   *
+   * @param others right operands, in order
+   * @return a new Windows
+   */
+  public Windows and(final List<Windows> others) {
+    return this.combine(others, BooleanSegments.AND);
+  }
+
+  /**
+   * Perform the or operation on this and each of the given Windows in turn.
+   *
+   * Equivalent to chaining {@link Windows#or(Windows)} over the list, but computed in a single pass
+   * without building the intermediate results.
+   *
+   * @param others right operands, in order
+   * @return a new Windows
+   */
+  public Windows or(final List<Windows> others) {
+    return this.combine(others, BooleanSegments.OR);
   }
 
   /**
@@ -146,16 +189,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
    * @return a new Windows
    */
   public Windows add(final Windows other) {
-    return new Windows(IntervalMap.map2(
-        this.segments, other.segments,
-        (l, r) -> {
-          if (l.isPresent() && r.isPresent()) {
-            return Optional.of(l.get() || r.get());
-          } else if (l.isPresent()) {
-            return l;
-          } else return r;
-        }
-    ));
+    return this.combine(other, BooleanSegments.ADD);
   }
 
   /**
@@ -169,12 +203,12 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
     //should not be a subtraction because then if it was null originally, then subtracting original from forever
     //  yields true where once was null, which isn't good. we want a simple inversion of true and false here, without
     //  filling nulls.
-    return new Windows(this.segments.map(b -> !b));
+    return new Windows(this.packed().not());
   }
 
   /** Gets the time and inclusivity of the leading edge of the first true segment */
   public Optional<Pair<Duration, Interval.Inclusivity>> minTrueTimePoint(){
-    for (final var segment: this.segments) {
+    for (final var segment: this.segments()) {
       if (segment.value()) {
         final var window = segment.interval();
         return Optional.of(Pair.of(window.start, window.startInclusivity));
@@ -185,8 +219,8 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
 
   /** Gets the time and inclusivity of the trailing edge of the last true segment */
   public Optional<Pair<Duration, Interval.Inclusivity>> maxTrueTimePoint(){
-    for (int i = this.segments.size() - 1; i >= 0; i--) {
-      final var segment = this.segments.get(i);
+    for (int i = this.segments().size() - 1; i >= 0; i--) {
+      final var segment = this.segments().get(i);
       if (segment.value()) {
         final var window = segment.interval();
         return Optional.of(Pair.of(window.end, window.endInclusivity));
@@ -202,7 +236,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
    */
   public Windows trueSubsetContainedIn(final Interval interval) {
     var result = new Windows(interval, false);
-    for (final var segment: this.segments) {
+    for (final var segment: this.segments()) {
       if (segment.value() && interval.contains(segment.interval())) {
         result = result.set(segment.interval(), true);
       }
@@ -221,20 +255,20 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
   public Windows removeTrueSegment(final int indexToRemove) {
     if (indexToRemove >= 0) {
       int index = 0;
-      for (final var interval : this.segments.iterateEqualTo(true)) {
+      for (final var interval : this.segments().iterateEqualTo(true)) {
         if (index == indexToRemove) {
-          return new Windows(this.segments.set(interval, false));
+          return new Windows(this.segments().set(interval, false));
         } else {
           index += 1;
         }
       }
     } else {
       int index = -1;
-      for (int i = this.segments.size() - 1; i >= 0; i--) {
-        final var segment = this.segments.get(i);
+      for (int i = this.segments().size() - 1; i >= 0; i--) {
+        final var segment = this.segments().get(i);
         if (segment.value()) {
           if (index == indexToRemove) {
-            return new Windows(this.segments.set(segment.interval(), false));
+            return new Windows(this.segments().set(segment.interval(), false));
           } else {
             index -= 1;
           }
@@ -253,10 +287,10 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
    * @return a new Windows
    */
   public Windows keepTrueSegment(final int indexToKeep) {
-    final var builder = IntervalMap.<Boolean>builder().set(this.segments);
+    final var builder = IntervalMap.<Boolean>builder().set(this.segments());
     if (indexToKeep >= 0) {
       int index = 0;
-      for (final var interval : this.segments.iterateEqualTo(true)) {
+      for (final var interval : this.segments().iterateEqualTo(true)) {
         if (index != indexToKeep) {
           builder.set(Segment.of(interval, false));
         }
@@ -264,8 +298,8 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
       }
     } else {
       int index = -1;
-      for (int i = this.segments.size() - 1; i >= 0; i--) {
-        final var segment = this.segments.get(i);
+      for (int i = this.segments().size() - 1; i >= 0; i--) {
+        final var segment = this.segments().get(i);
         if (segment.value()) {
           if (index != indexToKeep) {
             builder.set(Segment.of(segment.interval(), false));
@@ -299,7 +333,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
     //  N    |    N     |   N
 
     final var inclusion = IntervalMap.map2(
-        this.segments, other.segments,
+        this.segments(), other.segments(),
         ($original, $other) -> $other.map($ -> !$ || ($original.isPresent() && $original.get()))
     );
 
@@ -322,7 +356,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
       throw new IllegalArgumentException("MaxDur %s must be greater than MinDur %s".formatted(minDur.toString(), maxDur.toString()));
     }
 
-    return new Windows(this.segments.map((value, interval) -> {
+    return new Windows(this.segments().map((value, interval) -> {
       if (!value) return false;
 
       final var duration = interval.duration();
@@ -346,7 +380,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
   public Windows shiftEdges(Duration fromStart, Duration fromEnd) {
     final var builder = IntervalMap.<Boolean>builder();
 
-    for (final var segment : this.segments) {
+    for (final var segment : this.segments()) {
       final var interval = segment.interval();
 
       final var shiftedInterval = (segment.value()) ? (
@@ -366,7 +400,10 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
 
   @Override
   public Windows shiftBy(Duration duration) {
-    return this.shiftEdges(duration, duration);
+    return this.packed()
+        .shiftBy(duration.in(Duration.MICROSECOND))
+        .map(Windows::new)
+        .orElseGet(() -> this.shiftEdges(duration, duration));
   }
 
   /**
@@ -390,7 +427,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
     final var builder = IntervalMap.<LinearEquation>builder();
 
     double accumulator = 0.0;
-    for (final var segment: this.segments) {
+    for (final var segment: this.segments()) {
       final var interval = segment.interval();
       final var rate = segment.value() ? Duration.SECOND.ratioOver(unit) : 0.0;
       final var line = new LinearEquation(
@@ -418,7 +455,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
    * @return a new Windows
    */
   public Windows starts() {
-    var result = IntervalMap.<Boolean>builder().set(this.segments).build();
+    var result = IntervalMap.<Boolean>builder().set(this.segments()).build();
     for (int i = 0; i < result.size(); i++) {
       final var segment = result.get(i);
       if (segment.value()) {
@@ -426,7 +463,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
         if (i == 0) {
           meetsFalse = false;
         } else {
-          meetsFalse = Interval.meets(this.segments.get(i - 1).interval(), segment.interval());
+          meetsFalse = Interval.meets(this.segments().get(i - 1).interval(), segment.interval());
         }
         if (meetsFalse) {
           result = result.set(Interval.at(segment.interval().start), true);
@@ -460,15 +497,15 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
    */
   @Override
   public Windows ends() {
-    var result = IntervalMap.<Boolean>builder().set(this.segments).build();
-    for (int i = 0; i < this.segments.size(); i++) {
-      final var segment = this.segments.get(i);
+    var result = IntervalMap.<Boolean>builder().set(this.segments()).build();
+    for (int i = 0; i < this.segments().size(); i++) {
+      final var segment = this.segments().get(i);
       if (segment.value()) {
         final boolean meetsFalse;
-        if (i == this.segments.size()-1) {
+        if (i == this.segments().size()-1) {
           meetsFalse = false;
         } else {
-          meetsFalse = Interval.meets(segment.interval(), this.segments.get(i + 1).interval());
+          meetsFalse = Interval.meets(segment.interval(), this.segments().get(i + 1).interval());
         }
         if (meetsFalse) {
           result = result.set(Interval.between(
@@ -496,15 +533,15 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
   public Spans intoSpans(final Interval bounds) {
     boolean boundsStartContained = false;
     boolean boundsEndContained = false;
-    if(this.segments.size() == 1){
-      if (segments.get(0).interval().contains(bounds.start) ||
-          Interval.hasSameStart(segments.get(0).interval(), bounds)) boundsStartContained = true;
-      if (segments.get(0).interval().contains(bounds.end) ||
-          Interval.hasSameEnd(segments.get(0).interval(), bounds)) boundsEndContained = true;
+    if(this.segments().size() == 1){
+      if (segments().get(0).interval().contains(bounds.start) ||
+          Interval.hasSameStart(segments().get(0).interval(), bounds)) boundsStartContained = true;
+      if (segments().get(0).interval().contains(bounds.end) ||
+          Interval.hasSameEnd(segments().get(0).interval(), bounds)) boundsEndContained = true;
     }
-    for (int i = 0; i < this.segments.size() - 1; i++) {
-      final var leftInterval = this.segments.get(i).interval();
-      final var rightInterval = this.segments.get(i+1).interval();
+    for (int i = 0; i < this.segments().size() - 1; i++) {
+      final var leftInterval = this.segments().get(i).interval();
+      final var rightInterval = this.segments().get(i+1).interval();
       if((leftInterval.contains(bounds.start) || rightInterval.contains(bounds.start)) ||
          Interval.hasSameStart(leftInterval, bounds) || Interval.hasSameStart(rightInterval, bounds)) boundsStartContained = true;
       if((leftInterval.contains(bounds.end) || rightInterval.contains(bounds.end)) ||
@@ -530,23 +567,18 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
 
   @Override
   public boolean isConstant() {
-    return segments.size() <= 1;
+    return this.size() <= 1;
   }
 
   /** Assigns a default value to all gaps in the profile. */
   @Override
   public Windows assignGaps(final Windows def) {
-    return new Windows(
-        IntervalMap.map2(
-            this.segments, def.segments,
-            (original, defaultSegment) -> original.isPresent() ? original : defaultSegment
-        )
-    );
+    return this.combine(def, BooleanSegments.ASSIGN_GAPS);
   }
 
   @Override
   public Optional<SerializedValue> valueAt(final Duration timepoint) {
-    final var matchPiece = segments
+    final var matchPiece = segments()
         .stream()
         .filter($ -> $.interval().contains(timepoint))
         .findFirst();
@@ -556,14 +588,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
 
   @Override
   public Windows equalTo(final Windows other) {
-    return new Windows(
-        IntervalMap.map2(
-            this.segments, other.segments,
-            (left, right) -> left.isPresent() && right.isPresent()
-                ? Optional.of(left.get() == right.get())
-                : Optional.empty()
-        )
-    );
+    return this.combine(other, BooleanSegments.EQUAL_TO);
   }
 
   @Override
@@ -573,15 +598,15 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
 
   @Override
   public Windows changePoints() {
-    final var result = IntervalMap.<Boolean>builder().set(this.segments.map($ -> false));
-    for (int i = 0; i < this.segments.size(); i++) {
-      final var segment = this.segments.get(i);
+    final var result = IntervalMap.<Boolean>builder().set(this.segments().map($ -> false));
+    for (int i = 0; i < this.segments().size(); i++) {
+      final var segment = this.segments().get(i);
       if (i == 0) {
         if (!segment.interval().contains(Duration.MIN_VALUE)) {
           result.unset(Interval.at(segment.interval().start));
         }
       } else {
-        final var previousSegment = this.segments.get(i-1);
+        final var previousSegment = this.segments().get(i-1);
         if (Interval.meets(previousSegment.interval(), segment.interval())) {
           if (!previousSegment.value().equals(segment.value())) {
             result.set(Interval.at(segment.interval().start), true);
@@ -599,80 +624,81 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
 
   /** Delegated to {@link IntervalMap#set(Interval, Object)} */
   public Windows set(final Interval interval, final boolean value) {
-    return new Windows(segments.set(interval, value));
+    return new Windows(segments().set(interval, value));
   }
 
   /** Delegated to {@link IntervalMap#set(List, Object)} */
   public Windows set(final List<Interval> intervals, final boolean value) {
-    return new Windows(segments.set(intervals, value));
+    return new Windows(segments().set(intervals, value));
   }
 
   /** Delegated to {@link IntervalMap#set(IntervalMap)} */
   public Windows set(final Windows other) {
-    return new Windows(segments.set(other.segments));
+    return new Windows(segments().set(other.segments()));
   }
 
   /** Delegated to {@link IntervalMap#unset(Interval...)} */
   public Windows unset(final Interval... intervals) {
-    return new Windows(segments.unset(intervals));
+    return new Windows(segments().unset(intervals));
   }
 
   /** Delegated to {@link IntervalMap#unset(List)} */
   public Windows unset(final List<Interval> intervals) {
-    return new Windows(segments.unset(intervals));
+    return new Windows(segments().unset(intervals));
   }
 
-  /** Delegated to {@link IntervalMap#select(Interval...)} */
+  /** Equivalent to {@link IntervalMap#select(Interval...)} */
   @Override
   public Windows select(final Interval... intervals) {
-    return new Windows(segments.select(intervals));
+    return this.select(Arrays.asList(intervals));
   }
 
-  /** Delegated to {@link IntervalMap#select(List)} */
+  /** Equivalent to {@link IntervalMap#select(List)} */
   public Windows select(final List<Interval> intervals) {
-    return new Windows(segments.select(intervals));
+    return this.combine(new Windows(IntervalMap.of(intervals, true)), BooleanSegments.SELECT);
   }
 
   /** Delegated to {@link IntervalMap#get(int)} */
   public Segment<Boolean> get(final int index) {
-    return segments.get(index);
+    return segments().get(index);
   }
 
   /** Delegated to {@link IntervalMap#size()} */
   public int size() {
-    return segments.size();
+    final var packed = this.packed;
+    return (packed != null) ? packed.size() : this.segments.size();
   }
 
   /** Delegated to {@link IntervalMap#isEmpty()} */
   public boolean isEmpty() {
-    return segments.isEmpty();
+    return this.size() == 0;
   }
 
   /** Delegated to {@link IntervalMap#iterator()} */
   @Override
   public Iterator<Segment<Boolean>> iterator() {
-    return segments.iterator();
+    return segments().iterator();
   }
 
   /** Delegated to {@link IntervalMap#iterateEqualTo(Object)} */
   public Iterable<Interval> iterateEqualTo(final boolean value) {
-    return segments.iterateEqualTo(value);
+    return segments().iterateEqualTo(value);
   }
 
   /** Delegated to {@link IntervalMap#stream} */
   public Stream<Segment<Boolean>> stream() {
-    return segments.stream();
+    return segments().stream();
   }
 
   @Override
   public boolean equals(final Object other) {
     if (!(other instanceof final Windows w)) return false;
-    return segments.equals(w.segments);
+    return segments().equals(w.segments());
   }
 
   @Override
   public String toString() {
-    return segments.toString();
+    return segments().toString();
   }
 
   /**
@@ -26,6 +26,11 @@ public final class ActivitySpan implements Expression<Spans> {
   @Override
   public void extractResources(final Set<String> names) { }
 
+  @Override
+  public boolean dependsOnSimulationResults() {
+    return false;
+  }
+
   @Override
   public String prettyPrint(final String prefix) {
     return String.format(
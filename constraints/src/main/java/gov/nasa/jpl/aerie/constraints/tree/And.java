@@ -5,6 +5,7 @@ import gov.nasa.jpl.aerie.constraints.model.SimulationResults;
 import gov.nasa.jpl.aerie.constraints.time.Interval;
 import gov.nasa.jpl.aerie.constraints.time.Windows;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -23,11 +24,11 @@ public final class And implements Expression<Windows> {
 
   @Override
   public Windows evaluate(final SimulationResults results, final Interval bounds, final EvaluationEnvironment environment) {
-    Windows windows = new Windows(true);
+    final var operands = new ArrayList<Windows>(this.expressions.size());
     for (final var expression : this.expressions) {
-      windows = windows.and(expression.evaluate(results, bounds, environment));
+      operands.add(expression.evaluate(results, bounds, environment));
     }
-    return windows.select(bounds);
+    return new Windows(true).and(operands).select(bounds);
   }
 
   @Override
@@ -29,6 +29,11 @@ public final class DiscreteParameter implements Expression<DiscreteProfile> {
   @Override
   public void extractResources(final Set<String> names) { }
 
+  @Override
+  public boolean dependsOnSimulationResults() {
+    return false;
+  }
+
   @Override
   public String prettyPrint(final String prefix) {
     return String.format(
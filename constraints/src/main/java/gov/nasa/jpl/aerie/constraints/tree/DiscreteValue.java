@@ -28,6 +28,11 @@ public record DiscreteValue(
   @Override
   public void extractResources(final Set<String> names) {}
 
+  @Override
+  public boolean dependsOnSimulationResults() {
+    return false;
+  }
+
   @Override
   public String prettyPrint(final String prefix) {
     return String.format(
@@ -13,6 +13,14 @@ public interface Expression<T> {
   String prettyPrint(final String prefix);
   /** Add the resources referenced by this expression to the given set. **/
   void extractResources(Set<String> names);
+  /**
+   * Whether evaluating this expression reads the simulation results, rather than only its bounds and environment.
+   * An expression which does not may be evaluated before the plan has been simulated.
+   * Unless overridden, an expression is assumed to read the results.
+   **/
+  default boolean dependsOnSimulationResults() {
+    return true;
+  }
 
   default T evaluate(final SimulationResults results, final EvaluationEnvironment environment){
     return this.evaluate(results, results.bounds, environment);
@@ -28,7 +28,11 @@ public record ForEachActivitySpans(
   @Override
   public Spans evaluate(final SimulationResults results, final Interval bounds, final EvaluationEnvironment environment) {
     final var spans = new Spans();
-    for (final var activity : results.activities) {
+    // Predicates which only match on type need only look at activities of that type.
+    final var candidates = (this.activityPredicate instanceof MatchType matchType)
+        ? results.activitiesOfType(matchType.type())
+        : results.activities;
+    for (final var activity : candidates) {
       if (this.activityPredicate.apply(activity, results, environment)) {
         final var newEnvironment = new EvaluationEnvironment(
             new HashMap<>(environment.activityInstances()),
@@ -15,23 +15,21 @@ public record ForEachActivityViolations(
   @Override
   public ConstraintResult evaluate(final SimulationResults results, final Interval bounds, final EvaluationEnvironment environment) {
     var violations = new ConstraintResult();
-    for (final var activity : results.activities) {
-      if (activity.type.equals(this.activityType)) {
-        final var newEnvironment = new EvaluationEnvironment(
-            new HashMap<>(environment.activityInstances()),
-            environment.spansInstances(),
-            environment.intervals(),
-            environment.realExternalProfiles(),
-            environment.discreteExternalProfiles()
-        );
-        newEnvironment.activityInstances().put(this.alias, activity);
+    for (final var activity : results.activitiesOfType(this.activityType)) {
+      final var newEnvironment = new EvaluationEnvironment(
+          new HashMap<>(environment.activityInstances()),
+          environment.spansInstances(),
+          environment.intervals(),
+          environment.realExternalProfiles(),
+          environment.discreteExternalProfiles()
+      );
+      newEnvironment.activityInstances().put(this.alias, activity);
 
-        final var newViolations = this.expression.evaluate(results, bounds, newEnvironment);
-        for (final var violation: newViolations.violations) {
-          violation.addActivityId(activity.id);
-        }
-        violations = ConstraintResult.merge(violations, newViolations);
+      final var newViolations = this.expression.evaluate(results, bounds, newEnvironment);
+      for (final var violation: newViolations.violations) {
+        violation.addActivityId(activity.id);
       }
+      violations = ConstraintResult.merge(violations, newViolations);
     }
     return violations;
   }
@@ -19,6 +19,11 @@ public record IntervalDuration(
   @Override
   public void extractResources(final Set<String> names) {}
 
+  @Override
+  public boolean dependsOnSimulationResults() {
+    return false;
+  }
+
   @Override
   public String prettyPrint(final String prefix) {
     return String.format(
@@ -43,6 +43,11 @@ public record ListExpressionAt(
     }
   }
 
+  @Override
+  public boolean dependsOnSimulationResults() {
+    return elements.stream().anyMatch(Expression::dependsOnSimulationResults);
+  }
+
   @Override
   public String prettyPrint(final String prefix) {
     StringBuilder fieldString = new StringBuilder();
@@ -29,6 +29,11 @@ public final class Plus implements Expression<LinearProfile> {
     this.right.extractResources(names);
   }
 
+  @Override
+  public boolean dependsOnSimulationResults() {
+    return this.left.dependsOnSimulationResults() || this.right.dependsOnSimulationResults();
+  }
+
   @Override
   public String prettyPrint(final String prefix) {
     return String.format(
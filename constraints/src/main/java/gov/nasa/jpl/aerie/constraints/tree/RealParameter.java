@@ -39,6 +39,11 @@ public final class RealParameter implements Expression<LinearProfile> {
   @Override
   public void extractResources(final Set<String> names) { }
 
+  @Override
+  public boolean dependsOnSimulationResults() {
+    return false;
+  }
+
   @Override
   public String prettyPrint(final String prefix) {
     return String.format(
@@ -20,6 +20,11 @@ public record SpansAlias(String spansAlias) implements Expression<Spans> {
   @Override
   public void extractResources(final Set<String> names) {}
 
+  @Override
+  public boolean dependsOnSimulationResults() {
+    return false;
+  }
+
   @Override
   public String prettyPrint(final String prefix) {
     return String.format(
@@ -18,6 +18,11 @@ public record SpansInterval(Expression<Interval> interval) implements Expression
   @Override
   public void extractResources(final Set<String> names) {}
 
+  @Override
+  public boolean dependsOnSimulationResults() {
+    return false;
+  }
+
   @Override
   public String prettyPrint(final String prefix) {
     return String.format(
@@ -26,4 +26,9 @@ public record SpansWrapperExpression(Spans spans) implements Expression<Spans> {
 
   @Override
   public void extractResources(final Set<String> names) { }
+
+  @Override
+  public boolean dependsOnSimulationResults() {
+    return false;
+  }
 }
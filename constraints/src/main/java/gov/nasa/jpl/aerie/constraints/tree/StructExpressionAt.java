@@ -52,6 +52,11 @@ public record StructExpressionAt(
     }
   }
 
+  @Override
+  public boolean dependsOnSimulationResults() {
+    return fields.values().stream().anyMatch(Expression::dependsOnSimulationResults);
+  }
+
   @Override
   public String prettyPrint(final String prefix) {
     StringBuilder fieldString = new StringBuilder();
@@ -27,6 +27,11 @@ public final class Times implements Expression<LinearProfile> {
     this.profile.extractResources(names);
   }
 
+  @Override
+  public boolean dependsOnSimulationResults() {
+    return this.profile.dependsOnSimulationResults();
+  }
+
   @Override
   public String prettyPrint(final String prefix) {
     return String.format(
@@ -54,4 +54,9 @@ public record ValueAt<P extends Profile<P>>(
     this.profile.extractResources(names);
     this.timepoint.extractResources(names);
   }
+
+  @Override
+  public boolean dependsOnSimulationResults() {
+    return this.profile.dependsOnSimulationResults() || this.timepoint.dependsOnSimulationResults();
+  }
 }
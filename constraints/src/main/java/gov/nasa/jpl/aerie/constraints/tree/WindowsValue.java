@@ -23,6 +23,11 @@ public record WindowsValue(boolean value, Optional<Expression<Interval>> interva
   @Override
   public void extractResources(final Set<String> names) {}
 
+  @Override
+  public boolean dependsOnSimulationResults() {
+    return false;
+  }
+
   @Override
   public String prettyPrint(final String prefix) {
     return String.format(
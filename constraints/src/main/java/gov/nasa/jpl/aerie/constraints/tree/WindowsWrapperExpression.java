@@ -26,4 +26,9 @@ public class WindowsWrapperExpression implements Expression<Windows> {
   }
   /** Add the resources referenced by this expression to the given set. **/
   public void extractResources(Set<String> names) { }
+
+  @Override
+  public boolean dependsOnSimulationResults() {
+    return false;
+  }
 }
@@ -5,7 +5,9 @@ import gov.nasa.jpl.aerie.constraints.time.Segment;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Exclusive;
 import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Inclusive;
@@ -46,8 +48,8 @@ public class LinearProfileBenchmark {
 
 
   public static void main(String[] args){
-    //number of times the sub-sequences are repeated
-    final var times = 1000;
+    //number of times the sub-sequences are repeated; the default gives profiles of 1M segments and more
+    final var times = (args.length > 0) ? Integer.parseInt(args[0]) : 200_000;
     final var start = 0L;
     //duration of a sub-sequence
     final var durationSequence = 20;
@@ -62,8 +64,31 @@ public class LinearProfileBenchmark {
       list1.addAll(getSubSequenceP1(startsub));
       list2.addAll(getSubSequenceP2(startsub));
     }
+
+    //segments arrive in ascending order from the simulator and the database, so this exercises the append path
+    final var beforeBuild = System.nanoTime();
     final var profile1 = new LinearProfile(list1);
     final var profile2 = new LinearProfile(list2);
+    final var buildTime = System.nanoTime() - beforeBuild;
+    System.out.println("built profiles of " + list1.size() + " and " + list2.size() + " segments in " + (buildTime / 1_000_000.0) + " ms");
+
+    //each segment starts exactly where the last one ended, as in `[a, b)` followed by `[b, c)`, so it is appended at once
+    final var meeting = new ArrayList<Segment<LinearEquation>>(list2.size());
+    for (var i = 0; i < list2.size(); i++) {
+      meeting.add(Segment.of(Interval.between(i, Inclusive, i + 1, Exclusive, SECONDS), new LinearEquation(Duration.of(i, SECONDS), i % 2, 1)));
+    }
+    final var beforeMeetingBuild = System.nanoTime();
+    new LinearProfile(meeting);
+    final var meetingBuildTime = System.nanoTime() - beforeMeetingBuild;
+    System.out.println("built profile of " + meeting.size() + " meeting segments in " + (meetingBuildTime / 1_000_000.0) + " ms");
+
+    //segments out of order take the binary search path instead, but still pay for inserting into the middle of the list
+    final var shuffled = new ArrayList<>(list1.subList(0, Math.min(list1.size(), 100_000)));
+    Collections.shuffle(shuffled, new Random(0));
+    final var beforeShuffledBuild = System.nanoTime();
+    new LinearProfile(shuffled);
+    final var shuffledBuildTime = System.nanoTime() - beforeShuffledBuild;
+    System.out.println("built profile of " + shuffled.size() + " shuffled segments in " + (shuffledBuildTime / 1_000_000.0) + " ms");
 
     var totalTimeFirstMethod = 0L;
     for(int i = 0; i < nbRuns ; i++) {
@@ -0,0 +1,48 @@
+package gov.nasa.jpl.aerie.constraints.model;
+
+import gov.nasa.jpl.aerie.constraints.time.Interval;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Exclusive;
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Inclusive;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SimulationResultsTest {
+
+  private static final ActivityInstance a1 = new ActivityInstance(1, "a", Map.of(), Interval.between(8, 9, SECONDS));
+  private static final ActivityInstance b1 = new ActivityInstance(2, "b", Map.of(), Interval.between(0, 10, SECONDS));
+  private static final ActivityInstance a2 = new ActivityInstance(3, "a", Map.of(), Interval.between(2, 5, SECONDS));
+  private static final ActivityInstance a3 = new ActivityInstance(4, "a", Map.of(), Interval.between(5, 6, SECONDS));
+  private static final ActivityInstance a4 = new ActivityInstance(5, "a", Map.of(), Interval.between(2, 3, SECONDS));
+
+  private static final SimulationResults results = new SimulationResults(
+      Instant.EPOCH,
+      Interval.between(0, 20, SECONDS),
+      List.of(a1, b1, a2, a3, a4),
+      Map.of(),
+      Map.of());
+
+  @Test
+  public void testActivitiesOfType() {
+    assertEquals(List.of(a1, a2, a3, a4), results.activitiesOfType("a"));
+    assertEquals(List.of(b1), results.activitiesOfType("b"));
+    assertEquals(List.of(), results.activitiesOfType("c"));
+  }
+
+  @Test
+  public void testActivitiesOfTypeStartingIn() {
+    // Activities are returned in the order of the results, not in order of start time.
+    assertEquals(List.of(a2, a3, a4), results.activitiesOfTypeStartingIn("a", Interval.between(2, 5, SECONDS)));
+    assertEquals(List.of(a2, a4), results.activitiesOfTypeStartingIn("a", Interval.between(2, Inclusive, 5, Exclusive, SECONDS)));
+    assertEquals(List.of(a3), results.activitiesOfTypeStartingIn("a", Interval.between(2, Exclusive, 5, Inclusive, SECONDS)));
+    assertEquals(List.of(a1, a2, a3, a4), results.activitiesOfTypeStartingIn("a", Interval.FOREVER));
+    assertEquals(List.of(), results.activitiesOfTypeStartingIn("a", Interval.between(9, 20, SECONDS)));
+    assertEquals(List.of(), results.activitiesOfTypeStartingIn("a", Interval.EMPTY));
+    assertEquals(List.of(), results.activitiesOfTypeStartingIn("c", Interval.FOREVER));
+  }
+}
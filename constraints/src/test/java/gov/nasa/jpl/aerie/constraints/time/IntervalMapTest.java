@@ -3,6 +3,11 @@ package gov.nasa.jpl.aerie.constraints.time;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
 import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Exclusive;
 import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Inclusive;
 import static gov.nasa.jpl.aerie.constraints.time.Interval.interval;
@@ -274,4 +279,40 @@ public class IntervalMapTest {
 
     assertIterableEquals(expected, left);
   }
+
+  @Test
+  public void ofIsIndependentOfSegmentOrder() {
+    // Alternating values on abutting intervals, so that no two adjacent segments coalesce.
+    final var segments = new ArrayList<Segment<String>>();
+    for (var i = 0; i < 1000; i += 1) {
+      segments.add(Segment.of(interval(i, Inclusive, i + 1, Exclusive, SECONDS), (i % 2 == 0) ? "a" : "b"));
+    }
+
+    final var shuffled = new ArrayList<>(segments);
+    Collections.shuffle(shuffled, new Random(0));
+
+    assertIterableEquals(segments, IntervalMap.of(segments));
+    assertIterableEquals(segments, IntervalMap.of(shuffled));
+  }
+
+  @Test
+  public void setOverwritesRunOfSegmentsInMiddle() {
+    final var builder = new IntervalMap.Builder<String>();
+    for (var i = 0; i < 10; i += 1) {
+      builder.set(interval(i, Inclusive, i + 1, Exclusive, SECONDS), (i % 2 == 0) ? "a" : "b");
+    }
+    builder.set(interval(2, Exclusive, 7, Exclusive, SECONDS), "c");
+
+    final var expected = IntervalMap.of(
+        Segment.of(interval(0, Inclusive, 1, Exclusive, SECONDS), "a"),
+        Segment.of(interval(1, Inclusive, 2, Exclusive, SECONDS), "b"),
+        Segment.of(interval(2, 2, SECONDS), "a"),
+        Segment.of(interval(2, Exclusive, 7, Exclusive, SECONDS), "c"),
+        Segment.of(interval(7, Inclusive, 8, Exclusive, SECONDS), "b"),
+        Segment.of(interval(8, Inclusive, 9, Exclusive, SECONDS), "a"),
+        Segment.of(interval(9, Inclusive, 10, Exclusive, SECONDS), "b")
+    );
+
+    assertIterableEquals(expected, builder.build());
+  }
 }
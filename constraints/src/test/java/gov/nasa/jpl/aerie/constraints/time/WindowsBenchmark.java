@@ -0,0 +1,78 @@
+package gov.nasa.jpl.aerie.constraints.time;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Exclusive;
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Inclusive;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECOND;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+
+public class WindowsBenchmark {
+
+  //alternates true and false segments of the given period, offset so that operands don't line up exactly
+  private static List<Segment<Boolean>> alternating(final int count, final long period, final long offset) {
+    final var segments = new ArrayList<Segment<Boolean>>(count);
+    for (var i = 0; i < count; i++) {
+      final var start = offset + i * period;
+      segments.add(Segment.of(Interval.between(start, Inclusive, start + period, Exclusive, SECONDS), i % 2 == 0));
+    }
+    return segments;
+  }
+
+  //the and operation as it was computed before Windows had packed segments
+  private static IntervalMap<Boolean> and(final IntervalMap<Boolean> left, final IntervalMap<Boolean> right) {
+    return IntervalMap.map2(
+        left, right,
+        (l, r) -> {
+          if (l.isPresent() && r.isPresent()) {
+            return Optional.of(l.get() && r.get());
+          } else if (l.isPresent()) {
+            return l.get() ? Optional.empty() : Optional.of(Boolean.FALSE);
+          } else if (r.isPresent()) {
+            return r.get() ? Optional.empty() : Optional.of(Boolean.FALSE);
+          } else {
+            return Optional.empty();
+          }
+        }
+    );
+  }
+
+  private static double time(final int runs, final Supplier<?> operation) {
+    var total = 0L;
+    for (int i = 0; i < runs; i++) {
+      final var before = System.nanoTime();
+      operation.get();
+      total += System.nanoTime() - before;
+    }
+    return total / (runs * 1_000_000.0);
+  }
+
+  public static void main(String[] args){
+    //number of segments in each operand; the default gives million-segment windows
+    final var count = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+    //number of runs
+    final var nbRuns = 10;
+
+    final var a = IntervalMap.of(alternating(count, 3, 0));
+    final var b = IntervalMap.of(alternating(count, 5, 1));
+    final var c = IntervalMap.of(alternating(count, 7, 2));
+    final var wa = new Windows(a);
+    final var wb = new Windows(b);
+    final var wc = new Windows(c);
+
+    //the first operation on each Windows packs its segments, so warm up (and pack) before measuring
+    wa.and(wb).and(wc).size();
+
+    System.out.println("map2 and:            " + time(nbRuns, () -> and(a, b)) + " ms");
+    System.out.println("packed and:          " + time(nbRuns, () -> wa.and(wb).size()) + " ms");
+    System.out.println("packed and, unpacked:" + time(nbRuns, () -> wa.and(wb).stream().count()) + " ms");
+    System.out.println("packed not:          " + time(nbRuns, () -> wa.not().size()) + " ms");
+    System.out.println("packed shiftBy:      " + time(nbRuns, () -> wa.shiftBy(SECOND).size()) + " ms");
+    System.out.println("map2 chained and:    " + time(nbRuns, () -> and(and(a, b), c)) + " ms");
+    System.out.println("packed chained and:  " + time(nbRuns, () -> wa.and(wb).and(wc).size()) + " ms");
+    System.out.println("packed n-ary and:    " + time(nbRuns, () -> wa.and(List.of(wb, wc)).size()) + " ms");
+  }
+}
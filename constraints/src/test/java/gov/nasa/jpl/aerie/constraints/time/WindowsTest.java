@@ -6,7 +6,10 @@ import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Random;
 import java.util.stream.StreamSupport;
 
 import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Exclusive;
@@ -544,4 +547,74 @@ public class WindowsTest {
         windowsWithGaps.intoSpans(interval(1, 2, SECONDS))
     );
   }
+
+  @Test
+  public void booleanOperationsMatchMap2() {
+    final var random = new Random(0);
+    for (var trial = 0; trial < 500; trial += 1) {
+      final var left = randomWindows(random);
+      final var right = randomWindows(random);
+      final var l = IntervalMap.of(left.stream().toList());
+      final var r = IntervalMap.of(right.stream().toList());
+
+      assertEquals(
+          new Windows(IntervalMap.map2(l, r, (a, b) -> (a.isPresent() && b.isPresent()) ? Optional.of(a.get() && b.get()) : a.or(() -> b).filter($ -> !$))),
+          left.and(right));
+      assertEquals(
+          new Windows(IntervalMap.map2(l, r, (a, b) -> (a.isPresent() && b.isPresent()) ? Optional.of(a.get() || b.get()) : a.or(() -> b).filter($ -> $))),
+          left.or(right));
+      assertEquals(
+          new Windows(IntervalMap.map2(l, r, (a, b) -> (a.isPresent() && b.isPresent()) ? Optional.of(a.get() || b.get()) : a.or(() -> b))),
+          left.add(right));
+      assertEquals(
+          new Windows(IntervalMap.map2(l, r, (a, b) -> (a.isPresent() && b.isPresent()) ? Optional.of(a.get() == b.get()) : Optional.<Boolean>empty())),
+          left.equalTo(right));
+      assertEquals(
+          new Windows(IntervalMap.map2(l, r, (a, b) -> a.isPresent() ? a : b)),
+          left.assignGaps(right));
+      assertEquals(new Windows(l.map($ -> !$)), left.not());
+      assertEquals(new Windows(l.select(interval(3, Exclusive, 12, Inclusive, SECONDS))), left.select(interval(3, Exclusive, 12, Inclusive, SECONDS)));
+      assertEquals(left.shiftEdges(Duration.of(3, SECONDS), Duration.of(3, SECONDS)), left.shiftBy(Duration.of(3, SECONDS)));
+      assertEquals(left.size(), l.size());
+    }
+  }
+
+  @Test
+  public void naryOperationsMatchChainedOperations() {
+    final var random = new Random(1);
+    for (var trial = 0; trial < 200; trial += 1) {
+      final var operands = List.of(randomWindows(random), randomWindows(random), randomWindows(random));
+
+      assertEquals(
+          new Windows(true).and(operands.get(0)).and(operands.get(1)).and(operands.get(2)),
+          new Windows(true).and(operands));
+      assertEquals(
+          new Windows(false).or(operands.get(0)).or(operands.get(1)).or(operands.get(2)),
+          new Windows(false).or(operands));
+    }
+  }
+
+  @Test
+  public void shiftBySaturatesAtEndsOfTime() {
+    final var windows = new Windows(
+        Segment.of(interval(Duration.MAX_VALUE.minus(Duration.of(5, SECONDS)), Inclusive, Duration.MAX_VALUE.minus(Duration.of(3, SECONDS)), Exclusive), true),
+        Segment.of(interval(Duration.MAX_VALUE.minus(Duration.of(3, SECONDS)), Duration.MAX_VALUE), false)
+    );
+
+    final var shift = Duration.of(10, SECONDS);
+    assertEquals(windows.shiftEdges(shift, shift), windows.shiftBy(shift));
+  }
+
+  private static Windows randomWindows(final Random random) {
+    final var segments = new ArrayList<Segment<Boolean>>();
+    for (var i = random.nextInt(8); i > 0; i -= 1) {
+      final var start = random.nextInt(20);
+      final var end = start + random.nextInt(5);
+      segments.add(Segment.of(
+          interval(start, random.nextBoolean() ? Inclusive : Exclusive, end, random.nextBoolean() ? Inclusive : Exclusive, SECONDS),
+          random.nextBoolean()));
+    }
+    if (random.nextInt(4) == 0) segments.add(0, Segment.of(Interval.FOREVER, random.nextBoolean()));
+    return new Windows(segments);
+  }
 }
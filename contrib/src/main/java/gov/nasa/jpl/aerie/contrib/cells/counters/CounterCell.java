@@ -2,8 +2,8 @@ package gov.nasa.jpl.aerie.contrib.cells.counters;
 
 import gov.nasa.jpl.aerie.contrib.traits.CommutativeMonoid;
 import gov.nasa.jpl.aerie.merlin.framework.CellRef;
-import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
 import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.model.ImmutableCellType;
 
 import java.util.Objects;
 import java.util.function.BinaryOperator;
@@ -13,7 +13,7 @@ import java.util.function.UnaryOperator;
 public final class CounterCell<T> {
   private final UnaryOperator<T> duplicator;
   private final BinaryOperator<T> adder;
-  private T value;
+  private final T value;
 
   public CounterCell(final T initialValue, final BinaryOperator<T> adder, final UnaryOperator<T> duplicator) {
     this.duplicator = Objects.requireNonNull(duplicator);
@@ -39,7 +39,7 @@ public final class CounterCell<T> {
     return this.duplicator.apply(this.value);
   }
 
-  public static final class CounterCellType<T> implements CellType<T, CounterCell<T>> {
+  public static final class CounterCellType<T> implements ImmutableCellType<T, CounterCell<T>> {
     private final EffectTrait<T> monoid;
 
     public CounterCellType(final T zero, final BinaryOperator<T> adder) {
@@ -52,13 +52,8 @@ public final class CounterCell<T> {
     }
 
     @Override
-    public CounterCell<T> duplicate(final CounterCell<T> cell) {
-      return new CounterCell<>(cell.value, cell.adder, cell.duplicator);
-    }
-
-    @Override
-    public void apply(final CounterCell<T> cell, final T effect) {
-      cell.value = cell.adder.apply(cell.value, effect);
+    public CounterCell<T> applied(final CounterCell<T> cell, final T effect) {
+      return new CounterCell<>(cell.adder.apply(cell.value, effect), cell.adder, cell.duplicator);
     }
   }
 }
@@ -1,8 +1,8 @@
 package gov.nasa.jpl.aerie.contrib.cells.linear;
 
 import gov.nasa.jpl.aerie.merlin.framework.CellRef;
-import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
 import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.model.ImmutableCellType;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
 
@@ -12,9 +12,9 @@ public final class LinearIntegrationCell {
   // We split `initialVolume` from `accumulatedVolume` to avoid loss of floating-point precision.
   // The rate is usually smaller than the volume by some orders of magnitude,
   // so accumulated deltas will usually be closer to each other in magnitude than to the current volume.
-  private double initialVolume;
-  private double accumulatedVolume;
-  private double rate;
+  private final double initialVolume;
+  private final double accumulatedVolume;
+  private final double rate;
 
   public LinearIntegrationCell(final double initialVolume, final double rate, final double accumulatedVolume) {
     this.initialVolume = initialVolume;
@@ -43,7 +43,7 @@ public final class LinearIntegrationCell {
   }
 
   public static final class LinearIntegrationCellType
-      implements CellType<LinearAccumulationEffect, LinearIntegrationCell>
+      implements ImmutableCellType<LinearAccumulationEffect, LinearIntegrationCell>
   {
     @Override
     public EffectTrait<LinearAccumulationEffect> getEffectType() {
@@ -51,24 +51,20 @@ public final class LinearIntegrationCell {
     }
 
     @Override
-    public LinearIntegrationCell duplicate(final LinearIntegrationCell cell) {
-      return new LinearIntegrationCell(cell.initialVolume, cell.rate, cell.accumulatedVolume);
+    public LinearIntegrationCell applied(final LinearIntegrationCell cell, final LinearAccumulationEffect effect) {
+      final var rate = cell.rate + effect.deltaRate;
+      if (effect.clearVolume) return new LinearIntegrationCell(0, rate, 0);
+      return new LinearIntegrationCell(cell.initialVolume, rate, cell.accumulatedVolume + effect.deltaVolume);
     }
 
     @Override
-    public void apply(final LinearIntegrationCell cell, final LinearAccumulationEffect effect) {
-      cell.accumulatedVolume += effect.deltaVolume;
-      cell.rate += effect.deltaRate;
-      if (effect.clearVolume) {
-        cell.initialVolume = 0;
-        cell.accumulatedVolume = 0;
-      }
-    }
-
-    @Override
-    public void step(final LinearIntegrationCell cell, final Duration elapsedTime) {
+    public LinearIntegrationCell stepped(final LinearIntegrationCell cell, final Duration elapsedTime) {
       // Law: The passage of time shall not alter a valid dynamics.
-      cell.accumulatedVolume += cell.rate * elapsedTime.ratioOver(Duration.SECOND);
+      if (cell.rate == 0) return cell;
+      return new LinearIntegrationCell(
+          cell.initialVolume,
+          cell.rate,
+          cell.accumulatedVolume + cell.rate * elapsedTime.ratioOver(Duration.SECOND));
     }
   }
 }
@@ -1,8 +1,8 @@
 package gov.nasa.jpl.aerie.contrib.cells.register;
 
 import gov.nasa.jpl.aerie.merlin.framework.CellRef;
-import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
 import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.model.ImmutableCellType;
 
 import java.util.Objects;
 import java.util.function.Function;
@@ -11,8 +11,8 @@ import java.util.function.UnaryOperator;
 public final class RegisterCell<T> {
   private final UnaryOperator<T> duplicator;
 
-  private T value;
-  private boolean conflicted;
+  private final T value;
+  private final boolean conflicted;
 
   public RegisterCell(final UnaryOperator<T> duplicator, final T initialValue, final boolean conflicted) {
     this.duplicator = Objects.requireNonNull(duplicator);
@@ -42,24 +42,20 @@ public final class RegisterCell<T> {
     return "{value=%s, conflicted=%s}".formatted(this.getValue(), this.isConflicted());
   }
 
-  public static final class RegisterCellType<T> implements CellType<RegisterEffect<T>, RegisterCell<T>> {
+  public static final class RegisterCellType<T> implements ImmutableCellType<RegisterEffect<T>, RegisterCell<T>> {
     @Override
     public EffectTrait<RegisterEffect<T>> getEffectType() {
       return new RegisterEffect.Trait<>();
     }
 
     @Override
-    public RegisterCell<T> duplicate(final RegisterCell<T> cell) {
-      return new RegisterCell<>(cell.duplicator, cell.value, cell.conflicted);
-    }
-
-    @Override
-    public void apply(final RegisterCell<T> cell, final RegisterEffect<T> effect) {
+    public RegisterCell<T> applied(final RegisterCell<T> cell, final RegisterEffect<T> effect) {
       if (effect.newValue != null) {
-        cell.value = effect.newValue;
-        cell.conflicted = effect.conflicted;
-      } else if (effect.conflicted) {
-        cell.conflicted = true;
+        return new RegisterCell<>(cell.duplicator, effect.newValue, effect.conflicted);
+      } else if (effect.conflicted && !cell.conflicted) {
+        return new RegisterCell<>(cell.duplicator, cell.value, true);
+      } else {
+        return cell;
       }
     }
   }
@@ -14,6 +14,8 @@ import java.util.List;
 import static gov.nasa.jpl.aerie.merlin.framework.ModelActions.*;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(MerlinExtension.class)
@@ -45,6 +47,20 @@ public final class RegisterTest {
         () -> assertEquals(0, register.get())));
   }
 
+  @Test
+  @DisplayName("Reads share one register state until the register is written to")
+  public void readsAreNotCopied() {
+    final var state = register.ref.get();
+    assertSame(state, register.ref.get());
+    delay(Duration.SECOND);
+    assertSame(state, register.ref.get());
+
+    register.set(register.get() + 1);
+    final var written = register.ref.get();
+    assertNotSame(state, written);
+    assertSame(written, register.ref.get());
+  }
+
   @Test
   @DisplayName("Conflicting writes after a successful write should mark the conflict flag and keep the successful write")
   public void conflictsPreserveLastWrite() {
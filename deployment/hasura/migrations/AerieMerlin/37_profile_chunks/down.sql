@@ -0,0 +1,3 @@
+drop table profile_chunk;
+
+call migrations.mark_migration_rolled_back('37');
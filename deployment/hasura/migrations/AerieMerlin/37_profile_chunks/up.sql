@@ -0,0 +1,39 @@
+create table profile_chunk (
+  dataset_id integer not null,
+  profile_id integer not null,
+
+  start_offset interval not null,
+  segment_count integer not null,
+  data bytea not null,
+
+  constraint profile_chunk_natural_key
+    primary key (dataset_id, profile_id, start_offset),
+  constraint profile_chunk_owned_by_profile
+    foreign key (profile_id)
+    references profile
+    on update cascade
+    on delete cascade
+);
+
+comment on table profile_chunk is e''
+  'A run of consecutive segments of a profile, stored in a compact columnar encoding.'
+'\n'
+  'Chunks duplicate the contents of profile_segment for profiles written by the Merlin server, '
+  'so that a profile can be read back in a single sequential scan without parsing a JSON document per segment. '
+  'A profile with no chunks (such as one written before this table existed) is read from profile_segment instead.';
+
+comment on column profile_chunk.dataset_id is e''
+  'The dataset this chunk''s profile is a part of.'
+'\n'
+  'Denormalized so that every chunk of a dataset can be fetched at once. Should always match ''profile.dataset_id''.';
+comment on column profile_chunk.profile_id is e''
+  'The profile this chunk is a part of.';
+comment on column profile_chunk.start_offset is e''
+  'The offset from the dataset start time at which the first segment in this chunk begins.';
+comment on column profile_chunk.segment_count is e''
+  'The number of segments encoded in this chunk.';
+comment on column profile_chunk.data is e''
+  'The encoded segments: their durations, which segments are gaps, and the dynamics of the rest, '
+  'each stored as a separate column and compressed together.';
+
+call migrations.mark_migration_applied('37');
@@ -0,0 +1,4 @@
+alter table simulation_dataset
+  drop column report;
+
+call migrations.mark_migration_rolled_back('38');
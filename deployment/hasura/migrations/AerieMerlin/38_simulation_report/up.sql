@@ -0,0 +1,9 @@
+alter table simulation_dataset
+  add column report jsonb null;
+
+comment on column simulation_dataset.report is e''
+  'A summary of where the work of the simulation went, by activity type and resource.'
+'\n'
+  'Only present if the simulation engine was instrumented to count its work.';
+
+call migrations.mark_migration_applied('38');
@@ -121,6 +121,9 @@ public class MissionModelTests {
     activityTypes.add(new ActivityType("GrowBanana", Map.of(
         "quantity", new Parameter(0, VALUE_SCHEMA_INT),
         "growingDuration", new Parameter(1, VALUE_SCHEMA_DURATION))));
+    activityTypes.add(new ActivityType("GrowBananaReplaying", Map.of(
+        "quantity", new Parameter(0, VALUE_SCHEMA_INT),
+        "growingDuration", new Parameter(1, VALUE_SCHEMA_DURATION))));
     activityTypes.add(new ActivityType("LineCount", Map.of("path", new Parameter(0, VALUE_SCHEMA_PATH))));
     activityTypes.add(new ActivityType(
         "ParameterTest",
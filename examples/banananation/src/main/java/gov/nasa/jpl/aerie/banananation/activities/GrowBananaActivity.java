@@ -1,14 +1,15 @@
 package gov.nasa.jpl.aerie.banananation.activities;
 
 import gov.nasa.jpl.aerie.banananation.Mission;
+import gov.nasa.jpl.aerie.merlin.framework.Resumable;
 import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType;
 import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType.ControllableDuration;
 import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType.EffectModel;
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType.Executor;
 import gov.nasa.jpl.aerie.merlin.framework.annotations.Export.Template;
 import gov.nasa.jpl.aerie.merlin.framework.annotations.Export.Validation;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
-
-import static gov.nasa.jpl.aerie.merlin.framework.ModelActions.*;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Unit;
 
 /**
  * Monke has evolve. Monke now make banana. Monke is farmer.
@@ -37,13 +38,15 @@ public record GrowBananaActivity(int quantity, Duration growingDuration) {
     return this.growingDuration().longerThan(Duration.ZERO);
   }
 
-  @EffectModel
+  @EffectModel(Executor.Resumable)
   @ControllableDuration(parameterName = "growingDuration")
-  public void run(final Mission mission) {
+  public Resumable<Unit> run(final Mission mission) {
     final var rate = this.quantity() / (double) this.growingDuration().in(Duration.SECONDS);
     mission.fruit.rate.add(rate);
-    delay(this.growingDuration());
-    mission.fruit.rate.add(-rate);
-    mission.plant.add(this.quantity());
+    return Resumable.delay(this.growingDuration(), () -> {
+      mission.fruit.rate.add(-rate);
+      mission.plant.add(this.quantity());
+      return Resumable.complete();
+    });
   }
 }
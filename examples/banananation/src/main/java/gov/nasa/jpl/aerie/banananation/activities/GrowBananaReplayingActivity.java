@@ -0,0 +1,31 @@
+package gov.nasa.jpl.aerie.banananation.activities;
+
+import gov.nasa.jpl.aerie.banananation.Mission;
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType;
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType.ControllableDuration;
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType.EffectModel;
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType.Executor;
+import gov.nasa.jpl.aerie.merlin.framework.annotations.Export.Template;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+
+/**
+ * Monke grow banana the old way.
+ *
+ * This activity has the same effects as GrowBanana, but is run by the replaying executor.
+ *
+ * @subsystem fruit
+ * @contact John Doe
+ */
+@ActivityType("GrowBananaReplaying")
+public record GrowBananaReplayingActivity(int quantity, Duration growingDuration) {
+
+  public static @Template GrowBananaReplayingActivity defaults() {
+    return new GrowBananaReplayingActivity(1, Duration.of(1, Duration.HOUR));
+  }
+
+  @EffectModel(Executor.Replaying)
+  @ControllableDuration(parameterName = "growingDuration")
+  public void run(final Mission mission) {
+    new GrowBananaActivity(this.quantity(), this.growingDuration()).run(mission).await();
+  }
+}
@@ -13,6 +13,7 @@
 @WithActivityType(ChangeProducerActivity.class)
 @WithActivityType(ThrowBananaActivity.class)
 @WithActivityType(GrowBananaActivity.class)
+@WithActivityType(GrowBananaReplayingActivity.class)
 @WithActivityType(LineCountBananaActivity.class)
 @WithActivityType(DecomposingActivity.ParentActivity.class)
 @WithActivityType(DecomposingActivity.ChildActivity.class)
@@ -41,6 +42,7 @@ import gov.nasa.jpl.aerie.banananation.activities.DownloadBananaActivity;
 import gov.nasa.jpl.aerie.banananation.activities.DurationParameterActivity;
 import gov.nasa.jpl.aerie.banananation.activities.ExceptionActivity;
 import gov.nasa.jpl.aerie.banananation.activities.GrowBananaActivity;
+import gov.nasa.jpl.aerie.banananation.activities.GrowBananaReplayingActivity;
 import gov.nasa.jpl.aerie.banananation.activities.LineCountBananaActivity;
 import gov.nasa.jpl.aerie.banananation.activities.ParameterTestActivity;
 import gov.nasa.jpl.aerie.banananation.activities.PeelBananaActivity;
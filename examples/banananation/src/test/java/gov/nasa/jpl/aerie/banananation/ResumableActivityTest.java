@@ -0,0 +1,70 @@
+package gov.nasa.jpl.aerie.banananation;
+
+import gov.nasa.jpl.aerie.merlin.driver.SerializedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.HOURS;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MINUTES;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.duration;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Checks the task generated for GrowBanana, whose effect model is run by the resumable executor. */
+public final class ResumableActivityTest {
+  @Test
+  public void testGrowBananaResumesAfterGrowing() {
+    final var schedule = SimulationUtility.buildSchedule(
+        Pair.of(
+            duration(0, HOURS),
+            new SerializedActivity("GrowBanana", Map.of(
+                "quantity", SerializedValue.of(2),
+                "growingDuration", SerializedValue.of(duration(1, HOURS).in(Duration.MICROSECONDS))))),
+        Pair.of(
+            duration(90, MINUTES),
+            new SerializedActivity("GrowBanana", Map.of(
+                "quantity", SerializedValue.of(1),
+                "growingDuration", SerializedValue.of(duration(30, MINUTES).in(Duration.MICROSECONDS))))));
+
+    final var results = SimulationUtility.simulate(schedule, duration(3, HOURS));
+
+    assertEquals(0, results.unfinishedActivities.size());
+    assertEquals(2, results.simulatedActivities.size());
+    for (final var activity : results.simulatedActivities.values()) {
+      assertEquals("GrowBanana", activity.type());
+      assertEquals(SerializedValue.of(Map.of()), activity.computedAttributes());
+    }
+    assertEquals(
+        List.of(duration(30, MINUTES), duration(1, HOURS)),
+        results.simulatedActivities.values().stream().map($ -> $.duration()).sorted().toList());
+
+    // The bananas are only added to the plant once each activity has finished growing them.
+    final var plant = results.discreteProfiles.get("/plant").getRight();
+    assertEquals(SerializedValue.of(Configuration.DEFAULT_PLANT_COUNT), valueAt(plant, duration(59, MINUTES)));
+    assertEquals(SerializedValue.of(Configuration.DEFAULT_PLANT_COUNT + 2), valueAt(plant, duration(61, MINUTES)));
+    assertEquals(SerializedValue.of(Configuration.DEFAULT_PLANT_COUNT + 3), valueAt(plant, duration(3, HOURS)));
+
+    // The fruit grows at a steady rate while each activity runs, and holds still once it is done.
+    final var fruit = results.realProfiles.get("/fruit").getRight();
+    assertEquals(2.0 / 3600, valueAt(fruit, duration(30, MINUTES)).rate, 1e-12);
+    assertEquals(0.0, valueAt(fruit, duration(75, MINUTES)).rate, 1e-12);
+    assertEquals(1.0 / 1800, valueAt(fruit, duration(100, MINUTES)).rate, 1e-12);
+    assertEquals(0.0, valueAt(fruit, duration(150, MINUTES)).rate, 1e-12);
+  }
+
+  /** Get the dynamics of a profile at the given time, which must not fall on the boundary between two segments. */
+  private static <Dynamics> Dynamics valueAt(final List<ProfileSegment<Dynamics>> profile, final Duration time) {
+    var start = Duration.ZERO;
+    for (final var segment : profile) {
+      final var end = start.plus(segment.extent());
+      if (time.shorterThan(end)) return segment.dynamics();
+      start = end;
+    }
+    return profile.get(profile.size() - 1).dynamics();
+  }
+}
@@ -0,0 +1,76 @@
+package gov.nasa.jpl.aerie.banananation;
+
+import gov.nasa.jpl.aerie.merlin.driver.SerializedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivityId;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.HOURS;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MINUTES;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.duration;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Checks that GrowBanana, run by the resumable executor, behaves exactly like its replaying twin. */
+public final class ResumableEquivalenceTest {
+  @Test
+  public void testResumableMatchesReplaying() {
+    final var resumable = simulateGrowBanana("GrowBanana");
+    final var replaying = simulateGrowBanana("GrowBananaReplaying");
+
+    // The last activity is still growing its bananas when simulation ends.
+    assertEquals(3, resumable.simulatedActivities.size());
+    assertEquals(1, resumable.unfinishedActivities.size());
+
+    assertEquals(replaying.realProfiles, resumable.realProfiles);
+    assertEquals(replaying.discreteProfiles, resumable.discreteProfiles);
+    assertEquals(spans(replaying), spans(resumable));
+    assertEquals(replaying.unfinishedActivities.keySet(), resumable.unfinishedActivities.keySet());
+  }
+
+  private static SimulationResults simulateGrowBanana(final String type) {
+    final var schedule = SimulationUtility.buildSchedule(
+        Pair.of(
+            duration(0, HOURS),
+            new SerializedActivity(type, Map.of(
+                "quantity", SerializedValue.of(2),
+                "growingDuration", SerializedValue.of(duration(1, HOURS).in(Duration.MICROSECONDS))))),
+        Pair.of(
+            duration(30, MINUTES),
+            new SerializedActivity("BiteBanana", Map.of("biteSize", SerializedValue.of(2.0)))),
+        Pair.of(
+            duration(2, HOURS),
+            new SerializedActivity(type, Map.of(
+                "quantity", SerializedValue.of(1),
+                "growingDuration", SerializedValue.of(duration(30, MINUTES).in(Duration.MICROSECONDS))))),
+        Pair.of(
+            duration(3, HOURS),
+            new SerializedActivity(type, Map.of(
+                "quantity", SerializedValue.of(3),
+                "growingDuration", SerializedValue.of(duration(2, HOURS).in(Duration.MICROSECONDS))))));
+
+    return SimulationUtility.simulate(schedule, duration(4, HOURS));
+  }
+
+  /** The simulated activities, as offsets from the start of simulation and without the name of their type. */
+  private static Map<SimulatedActivityId, SimulatedActivity> spans(final SimulationResults results) {
+    final var spans = new HashMap<SimulatedActivityId, SimulatedActivity>();
+    results.simulatedActivities.forEach((id, activity) -> spans.put(id, new SimulatedActivity(
+        activity.type().startsWith("GrowBanana") ? "GrowBanana" : activity.type(),
+        activity.arguments(),
+        Instant.EPOCH.plus(java.time.Duration.between(results.startTime, activity.start())),
+        activity.duration(),
+        activity.parentId(),
+        activity.childIds(),
+        activity.directiveId(),
+        activity.computedAttributes())));
+    return spans;
+  }
+}
@@ -0,0 +1,43 @@
+package gov.nasa.jpl.aerie.foomissionmodel.activities;
+
+import gov.nasa.jpl.aerie.foomissionmodel.Mission;
+import gov.nasa.jpl.aerie.foomissionmodel.models.ImagerMode;
+import gov.nasa.jpl.aerie.merlin.framework.Resumable;
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType;
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType.EffectModel;
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType.Executor;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Unit;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECOND;
+
+public final class ResumableTestActivities {
+  @ActivityType("ResumableFoo")
+  public record ResumableFooActivity(double rate) {
+    @EffectModel(Executor.Resumable)
+    public Resumable<Unit> run(final Mission mission) {
+      final var data = mission.data;
+
+      mission.complexData.beginImaging(ImagerMode.HI_RES, 60);
+      data.rate.add(this.rate());
+      return Resumable.delay(1, SECOND, () -> Resumable.waitUntil(data.isBetween(50.0, 100.0), () -> {
+        mission.simpleData.downlinkData();
+        data.rate.add(2.0);
+        return Resumable.delay(10, SECOND, () -> {
+          mission.complexData.endImaging();
+          data.rate.add(-(this.rate() + 2.0));
+          mission.activitiesExecuted.add(1);
+          return Resumable.complete();
+        });
+      }));
+    }
+  }
+
+  /** Has the same effects as ResumableFoo, but is run by the replaying executor. */
+  @ActivityType("ReplayingFoo")
+  public record ReplayingFooActivity(double rate) {
+    @EffectModel(Executor.Replaying)
+    public void run(final Mission mission) {
+      new ResumableFooActivity(this.rate()).run(mission).await();
+    }
+  }
+}
@@ -20,6 +20,9 @@
 @WithActivityType(DecompositionTestActivities.ChildActivity.class)
 @WithActivityType(LateRiserActivity.class)
 
+@WithActivityType(ResumableTestActivities.ResumableFooActivity.class)
+@WithActivityType(ResumableTestActivities.ReplayingFooActivity.class)
+
 package gov.nasa.jpl.aerie.foomissionmodel;
 
 import gov.nasa.jpl.aerie.contrib.serialization.rulesets.BasicValueMappers;
@@ -32,6 +35,7 @@ import gov.nasa.jpl.aerie.foomissionmodel.activities.DecompositionTestActivities
 import gov.nasa.jpl.aerie.foomissionmodel.activities.FooActivity;
 import gov.nasa.jpl.aerie.foomissionmodel.activities.LateRiserActivity;
 import gov.nasa.jpl.aerie.foomissionmodel.activities.OtherControllableDurationActivity;
+import gov.nasa.jpl.aerie.foomissionmodel.activities.ResumableTestActivities;
 import gov.nasa.jpl.aerie.foomissionmodel.activities.SolarPanelNonLinear;
 import gov.nasa.jpl.aerie.foomissionmodel.activities.SolarPanelNonLinearTimeDependent;
 import gov.nasa.jpl.aerie.foomissionmodel.activities.ZeroDurationUncontrollableActivity;
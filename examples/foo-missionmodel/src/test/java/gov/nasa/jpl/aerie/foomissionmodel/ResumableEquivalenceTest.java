@@ -0,0 +1,84 @@
+package gov.nasa.jpl.aerie.foomissionmodel;
+
+import gov.nasa.jpl.aerie.foomissionmodel.generated.GeneratedModelType;
+import gov.nasa.jpl.aerie.merlin.driver.ActivityDirective;
+import gov.nasa.jpl.aerie.merlin.driver.ActivityDirectiveId;
+import gov.nasa.jpl.aerie.merlin.driver.DirectiveTypeRegistry;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModelBuilder;
+import gov.nasa.jpl.aerie.merlin.driver.SerializedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivityId;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationDriver;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.duration;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Checks that ResumableFoo, run by the resumable executor, behaves exactly like its replaying twin. */
+public final class ResumableEquivalenceTest {
+  @Test
+  public void testResumableMatchesReplaying() {
+    final var resumable = simulateFoo("ResumableFoo");
+    final var replaying = simulateFoo("ReplayingFoo");
+
+    assertEquals(2, resumable.simulatedActivities.size());
+    assertEquals(0, resumable.unfinishedActivities.size());
+
+    assertEquals(replaying.realProfiles, resumable.realProfiles);
+    assertEquals(replaying.discreteProfiles, resumable.discreteProfiles);
+    assertEquals(spans(replaying), spans(resumable));
+  }
+
+  /** The first activity slows the mission's data rate, so both wait a while for the data volume to reach their threshold. */
+  private static SimulationResults simulateFoo(final String type) {
+    final var schedule = new HashMap<ActivityDirectiveId, ActivityDirective>();
+    schedule.put(new ActivityDirectiveId(0), new ActivityDirective(
+        duration(0, SECONDS),
+        new SerializedActivity(type, Map.of("rate", SerializedValue.of(-40.0))),
+        null,
+        true));
+    schedule.put(new ActivityDirectiveId(1), new ActivityDirective(
+        duration(3, SECONDS),
+        new SerializedActivity(type, Map.of("rate", SerializedValue.of(4.0))),
+        null,
+        true));
+
+    final var factory = new GeneratedModelType();
+    final var builder = new MissionModelBuilder();
+    final var missionModel = builder.build(
+        factory.instantiate(Instant.EPOCH, new Configuration(), builder),
+        DirectiveTypeRegistry.extract(factory));
+
+    final var simulationDuration = duration(60, SECONDS);
+    return SimulationDriver.simulate(
+        missionModel,
+        schedule,
+        Instant.EPOCH,
+        simulationDuration,
+        Instant.EPOCH,
+        simulationDuration,
+        () -> false);
+  }
+
+  /** The simulated activities, without the name of their type. */
+  private static Map<SimulatedActivityId, SimulatedActivity> spans(final SimulationResults results) {
+    final var spans = new HashMap<SimulatedActivityId, SimulatedActivity>();
+    results.simulatedActivities.forEach((id, activity) -> spans.put(id, new SimulatedActivity(
+        "Foo",
+        activity.arguments(),
+        activity.start(),
+        activity.duration(),
+        activity.parentId(),
+        activity.childIds(),
+        activity.directiveId(),
+        activity.computedAttributes())));
+    return spans;
+  }
+}
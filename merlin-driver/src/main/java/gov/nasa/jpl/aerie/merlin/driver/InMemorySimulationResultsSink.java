@@ -0,0 +1,103 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/** A sink which accumulates streamed results into a single {@link SimulationResults}. */
+public final class InMemorySimulationResultsSink implements SimulationResultsSink {
+  private final List<Triple<Integer, String, ValueSchema>> topics = new ArrayList<>();
+  private final Map<String, Pair<ValueSchema, List<ProfileSegment<RealDynamics>>>> realProfiles = new HashMap<>();
+  private final Map<String, Pair<ValueSchema, List<ProfileSegment<SerializedValue>>>> discreteProfiles = new HashMap<>();
+  private final TreeMap<Duration, List<EventGraph<Pair<Integer, SerializedValue>>>> events = new TreeMap<>();
+  private final boolean wantsReport;
+
+  private Optional<SimulationReport> report = Optional.empty();
+  private Optional<SimulationResults> results = Optional.empty();
+
+  public InMemorySimulationResultsSink() {
+    this(false);
+  }
+
+  /** @param wantsReport Whether the simulation should be instrumented, so that its results include a report. */
+  public InMemorySimulationResultsSink(final boolean wantsReport) {
+    this.wantsReport = wantsReport;
+  }
+
+  @Override
+  public void declareTopics(final List<Triple<Integer, String, ValueSchema>> topics) {
+    this.topics.addAll(topics);
+  }
+
+  @Override
+  public void declareRealProfile(final String name, final ValueSchema schema) {
+    this.realProfiles.put(name, Pair.of(schema, new ArrayList<>()));
+  }
+
+  @Override
+  public void declareDiscreteProfile(final String name, final ValueSchema schema) {
+    this.discreteProfiles.put(name, Pair.of(schema, new ArrayList<>()));
+  }
+
+  @Override
+  public void appendRealSegment(final String name, final ProfileSegment<RealDynamics> segment) {
+    this.realProfiles.get(name).getRight().add(segment);
+  }
+
+  @Override
+  public void appendDiscreteSegment(final String name, final ProfileSegment<SerializedValue> segment) {
+    this.discreteProfiles.get(name).getRight().add(segment);
+  }
+
+  @Override
+  public void appendEvents(final Duration time, final EventGraph<Pair<Integer, SerializedValue>> events) {
+    this.events.computeIfAbsent(time, $ -> new ArrayList<>()).add(events);
+  }
+
+  @Override
+  public boolean wantsReport() {
+    return this.wantsReport;
+  }
+
+  @Override
+  public void report(final SimulationReport report) {
+    this.report = Optional.of(report);
+  }
+
+  @Override
+  public void complete(
+      final Instant startTime,
+      final Duration elapsedTime,
+      final Map<SimulatedActivityId, SimulatedActivity> simulatedActivities,
+      final Map<SimulatedActivityId, UnfinishedActivity> unfinishedActivities)
+  {
+    this.results = Optional.of(new SimulationResults(
+        this.realProfiles,
+        this.discreteProfiles,
+        simulatedActivities,
+        unfinishedActivities,
+        startTime,
+        elapsedTime,
+        this.topics,
+        this.events,
+        this.report));
+  }
+
+  /** Get the accumulated results. Only legal once the simulation has completed. */
+  public SimulationResults getResults() {
+    return this.results.orElseThrow(() -> new IllegalStateException("Simulation results are not yet complete"));
+  }
+}
@@ -11,6 +11,7 @@ import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Initializer;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
 import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.ImmutableCellType;
 import gov.nasa.jpl.aerie.merlin.protocol.model.OutputType;
 import gov.nasa.jpl.aerie.merlin.protocol.model.Resource;
 import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
@@ -113,7 +114,7 @@ public final class MissionModelBuilder implements Initializer {
           evaluator,
           initialState));
 
-      return new EngineCellId<>(topic, query);
+      return new EngineCellId<>(topic, query, cellType instanceof ImmutableCellType);
     }
 
     @Override
@@ -0,0 +1,276 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.protocol.model.MerlinPlugin;
+import gov.nasa.jpl.aerie.merlin.protocol.model.ModelType;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A bounded cache of loaded mission model JARs, so that repeated requests against the same mission model
+ * need not open its JAR and construct a fresh class loader every time.
+ *
+ * <p>
+ * Entries are keyed by mission model ID, and tagged with the revision of the JAR they were loaded from
+ * (its location, size, and modification time). A request for a different revision replaces the cached entry.
+ * When the cache is full, the least-recently-used entry is evicted.
+ * </p>
+ *
+ * <p>
+ * Loaded models are handed out as {@link Lease}s, which must be closed once the model is no longer in use.
+ * The class loader of an evicted entry is closed only once every outstanding lease on it has been released,
+ * so that a long-running simulation is not cut off from the classes it has yet to load.
+ * </p>
+ */
+public final class MissionModelCache {
+  private final int capacity;
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long hits = 0;
+  private long misses = 0;
+  private long evictions = 0;
+  private long loadNanos = 0;
+
+  public MissionModelCache(final int capacity) {
+    if (capacity < 1) throw new IllegalArgumentException("Mission model cache capacity must be positive, got " + capacity);
+    this.capacity = capacity;
+  }
+
+  /**
+   * Get the mission model with the given ID, loading it from the given JAR if no current revision of it is cached.
+   *
+   * <p>
+   * The model is loaded outside of the cache's lock, so that requests for other models are not held up meanwhile.
+   * Concurrent requests for the same revision of a model wait for a single load to finish.
+   * </p>
+   *
+   * @return A lease on the loaded model, which the caller must close once it is done with the model.
+   */
+  public Lease acquire(final String missionModelId, final Path path, final String name, final String version)
+  throws MissionModelLoader.MissionModelLoadException
+  {
+    final var revision = Revision.of(path, name, version);
+
+    final Entry entry;
+    final boolean isLoader;
+    synchronized (this) {
+      final var cached = this.entries.get(missionModelId);
+      if (cached != null && cached.revision.equals(revision)) {
+        this.hits += 1;
+        entry = cached;
+        isLoader = false;
+      } else {
+        this.misses += 1;
+        if (cached != null) this.retire(this.entries.remove(missionModelId));
+
+        entry = new Entry(revision);
+        this.entries.put(missionModelId, entry);
+        isLoader = true;
+
+        final var iter = this.entries.values().iterator();
+        while (this.entries.size() > this.capacity) {
+          final var eldest = iter.next();
+          iter.remove();
+          this.retire(eldest);
+        }
+      }
+
+      // Claim the entry before it is loaded, so that it is not closed out from under us if it is evicted meanwhile.
+      entry.leases += 1;
+    }
+
+    if (isLoader) load(missionModelId, entry);
+    return this.await(entry);
+  }
+
+  private void load(final String missionModelId, final Entry entry) {
+    final var beginTime = System.nanoTime();
+    try {
+      entry.model.complete(LoadedModel.load(entry.revision));
+    } catch (final Throwable ex) {
+      // Whatever went wrong, every request waiting on this load must hear about it.
+      entry.model.completeExceptionally(ex);
+
+      // Don't leave a failed load in the cache, so that the next request may try again.
+      synchronized (this) {
+        if (this.entries.get(missionModelId) == entry) this.entries.remove(missionModelId);
+      }
+    } finally {
+      synchronized (this) {
+        this.loadNanos += System.nanoTime() - beginTime;
+      }
+    }
+  }
+
+  private Lease await(final Entry entry) throws MissionModelLoader.MissionModelLoadException {
+    try {
+      return new Lease(entry, entry.model.join());
+    } catch (final CompletionException ex) {
+      this.release(entry);
+
+      final var cause = ex.getCause();
+      if (cause instanceof MissionModelLoader.MissionModelLoadException e) throw e;
+      if (cause instanceof RuntimeException e) throw e;
+      if (cause instanceof Error e) throw e;
+      throw new Error("Unexpected exception while loading mission model", cause);
+    }
+  }
+
+  /** Drop the cached mission model with the given ID, if any, so that it will be reloaded on next use. */
+  public synchronized void evict(final String missionModelId) {
+    final var entry = this.entries.remove(missionModelId);
+    if (entry != null) this.retire(entry);
+  }
+
+  public synchronized Stats getStats() {
+    return new Stats(this.hits, this.misses, this.evictions, this.loadNanos, this.entries.size());
+  }
+
+  private void retire(final Entry entry) {
+    this.evictions += 1;
+    entry.retired = true;
+    if (entry.leases == 0) entry.close();
+  }
+
+  private synchronized void release(final Entry entry) {
+    entry.leases -= 1;
+    if (entry.retired && entry.leases == 0) entry.close();
+  }
+
+  /**
+   * A snapshot of the cache's effectiveness.
+   *
+   * @param hits The number of requests served by a model which was already loaded, or already being loaded.
+   * @param misses The number of requests which required a model to be loaded.
+   * @param evictions The number of loaded models dropped from the cache, whether for space, staleness, or by request.
+   * @param totalLoadNanos The total time spent loading models, in nanoseconds.
+   * @param size The number of models currently cached.
+   */
+  public record Stats(long hits, long misses, long evictions, long totalLoadNanos, int size) {}
+
+  /** Loads a value from the classes of a loaded mission model, such as another plugin packaged in the same JAR. */
+  @FunctionalInterface
+  public interface AttachmentLoader<T, E extends Exception> {
+    T load(ClassLoader classLoader) throws E;
+  }
+
+  /** A claim on a loaded mission model, which keeps its class loader open until released. */
+  public final class Lease implements AutoCloseable {
+    private final Entry entry;
+    private final LoadedModel model;
+    private boolean released = false;
+
+    private Lease(final Entry entry, final LoadedModel model) {
+      this.entry = entry;
+      this.model = model;
+    }
+
+    public MerlinPlugin plugin() {
+      return this.model.plugin();
+    }
+
+    public ModelType<?, ?> modelType() {
+      return this.model.modelType();
+    }
+
+    public DirectiveTypeRegistry<?> registry() {
+      return this.model.registry();
+    }
+
+    /**
+     * Get a value of the given type derived from this model's classes, loading it on first request.
+     * The value is kept for as long as this revision of the model remains cached.
+     */
+    public <T, E extends Exception> T attachment(final Class<T> type, final AttachmentLoader<? extends T, E> loader)
+    throws E
+    {
+      synchronized (this.entry.attachments) {
+        final var cached = this.entry.attachments.get(type);
+        if (cached != null) return type.cast(cached);
+
+        final T value = loader.load(this.model.classLoader());
+        this.entry.attachments.put(type, value);
+        return value;
+      }
+    }
+
+    @Override
+    public void close() {
+      if (this.released) return;
+      this.released = true;
+      MissionModelCache.this.release(this.entry);
+    }
+  }
+
+  private record Revision(Path path, String name, String version, long size, FileTime lastModified) {
+    public static Revision of(final Path path, final String name, final String version)
+    throws MissionModelLoader.MissionModelLoadException
+    {
+      try {
+        final var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return new Revision(path, name, version, attributes.size(), attributes.lastModifiedTime());
+      } catch (final IOException ex) {
+        throw new MissionModelLoader.MissionModelLoadException(path, name, version, ex);
+      }
+    }
+  }
+
+  private record LoadedModel(
+      URLClassLoader classLoader,
+      MerlinPlugin plugin,
+      ModelType<?, ?> modelType,
+      DirectiveTypeRegistry<?> registry)
+  {
+    public static LoadedModel load(final Revision revision) throws MissionModelLoader.MissionModelLoadException {
+      final var classLoader = MissionModelLoader.createClassLoader(revision.path());
+      try {
+        final var plugin = MissionModelLoader.loadMissionModelProvider(
+            classLoader,
+            revision.path(),
+            revision.name(),
+            revision.version());
+        final var modelType = plugin.getModelType();
+        return new LoadedModel(classLoader, plugin, modelType, DirectiveTypeRegistry.extract(modelType));
+      } catch (final MissionModelLoader.MissionModelLoadException | RuntimeException ex) {
+        closeQuietly(classLoader);
+        throw ex;
+      }
+    }
+  }
+
+  private static final class Entry {
+    private final Revision revision;
+    // Completed once the model has been loaded; requests which arrive in the meantime wait on it.
+    private final CompletableFuture<LoadedModel> model = new CompletableFuture<>();
+    private final Map<Class<?>, Object> attachments = new HashMap<>();
+
+    private int leases = 0;
+    private boolean retired = false;
+
+    private Entry(final Revision revision) {
+      this.revision = revision;
+    }
+
+    public void close() {
+      // Every load is completed while the loader holds a lease, so the model is never still loading here.
+      if (this.model.isDone() && !this.model.isCompletedExceptionally()) closeQuietly(this.model.join().classLoader());
+    }
+  }
+
+  private static void closeQuietly(final URLClassLoader classLoader) {
+    try {
+      classLoader.close();
+    } catch (final IOException ignored) {
+      // The loader's open JAR will be released when it is garbage collected, which is the best we can do here.
+    }
+  }
+}
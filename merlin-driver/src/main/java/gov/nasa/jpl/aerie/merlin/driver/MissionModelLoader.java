@@ -34,6 +34,15 @@ public final class MissionModelLoader {
     {
         final var service = loadMissionModelProvider(path, name, version);
         final var modelType = service.getModelType();
+        return instantiateMissionModel(planStart, missionModelConfig, modelType);
+    }
+
+    /** Instantiate a mission model from a model type which has already been loaded. */
+    public static MissionModel<?> instantiateMissionModel(
+        final Instant planStart,
+        final SerializedValue missionModelConfig,
+        final ModelType<?, ?> modelType)
+    {
         final var builder = new MissionModelBuilder();
         return loadMissionModel(planStart, missionModelConfig, modelType, builder);
     }
@@ -60,14 +69,28 @@ public final class MissionModelLoader {
 
     public static MerlinPlugin loadMissionModelProvider(final Path path, final String name, final String version)
     throws MissionModelLoadException
+    {
+        // Construct a ClassLoader with access to classes in the mission model location.
+        final var classLoader = createClassLoader(path);
+        return loadMissionModelProvider(classLoader, path, name, version);
+    }
+
+    /**
+     * Load a mission model's plugin through the given class loader.
+     *
+     * The caller retains ownership of the class loader, and may close it once the plugin is no longer in use.
+     */
+    public static MerlinPlugin loadMissionModelProvider(
+        final URLClassLoader classLoader,
+        final Path path,
+        final String name,
+        final String version)
+    throws MissionModelLoadException
     {
         // Look for a MerlinPlugin implementor in the mission model. For correctness, we're assuming there's
         // only one matching MerlinMissionModel in any given mission model.
         final var className = getImplementingClassName(path, name, version);
 
-        // Construct a ClassLoader with access to classes in the mission model location.
-        final var classLoader = new URLClassLoader(new URL[] {missionModelPathToUrl(path)});
-
         try {
             final var pluginClass$ = classLoader.loadClass(className);
             if (!MerlinPlugin.class.isAssignableFrom(pluginClass$)) {
@@ -100,6 +123,11 @@ public final class MissionModelLoader {
         }
     }
 
+    /** Construct a class loader with access to the classes in the mission model JAR at the given location. */
+    public static URLClassLoader createClassLoader(final Path path) {
+        return new URLClassLoader(new URL[] {missionModelPathToUrl(path)});
+    }
+
     private static URL missionModelPathToUrl(final Path path) {
         try {
             return path.toUri().toURL();
@@ -115,7 +143,7 @@ public final class MissionModelLoader {
             this(path, name, version, null);
         }
 
-        private MissionModelLoadException(final Path path, final String name, final String version, final Throwable cause) {
+        /*package-local*/ MissionModelLoadException(final Path path, final String name, final String version, final Throwable cause) {
             super(
                 String.format(
                     "No implementation found for `%s` at path `%s` wih name \"%s\" and version \"%s\"",
@@ -53,7 +53,69 @@ public final class SimulationDriver {
       final Supplier<Boolean> simulationCanceled,
       final Consumer<Duration> simulationExtentConsumer
   ) {
-    try (final var engine = new SimulationEngine()) {
+    return simulate(
+        missionModel,
+        schedule,
+        simulationStartTime,
+        simulationDuration,
+        planStartTime,
+        planDuration,
+        simulationCanceled,
+        simulationExtentConsumer,
+        SimulationEngine.BatchMode.Serial);
+  }
+
+  public static <Model>
+  SimulationResults simulate(
+      final MissionModel<Model> missionModel,
+      final Map<ActivityDirectiveId, ActivityDirective> schedule,
+      final Instant simulationStartTime,
+      final Duration simulationDuration,
+      final Instant planStartTime,
+      final Duration planDuration,
+      final Supplier<Boolean> simulationCanceled,
+      final Consumer<Duration> simulationExtentConsumer,
+      final SimulationEngine.BatchMode batchMode
+  ) {
+    final var sink = new InMemorySimulationResultsSink();
+    simulate(
+        missionModel,
+        schedule,
+        simulationStartTime,
+        simulationDuration,
+        planStartTime,
+        planDuration,
+        simulationCanceled,
+        simulationExtentConsumer,
+        batchMode,
+        sink);
+    return sink.getResults();
+  }
+
+  /**
+   * Simulate a plan, feeding results to the given sink as they are produced.
+   *
+   * Profile segments are handed off as soon as they are superseded, and events as soon as they are committed,
+   * so the results need never be held in memory all at once.
+   * If the sink {@linkplain SimulationResultsSink#wantsReport wants a report}, the engine is instrumented,
+   * and a summary of its work is passed to the sink before the results are completed.
+   */
+  public static <Model>
+  void simulate(
+      final MissionModel<Model> missionModel,
+      final Map<ActivityDirectiveId, ActivityDirective> schedule,
+      final Instant simulationStartTime,
+      final Duration simulationDuration,
+      final Instant planStartTime,
+      final Duration planDuration,
+      final Supplier<Boolean> simulationCanceled,
+      final Consumer<Duration> simulationExtentConsumer,
+      final SimulationEngine.BatchMode batchMode,
+      final SimulationResultsSink sink
+  ) {
+    try (final var engine = new SimulationEngine(batchMode)) {
+      if (sink.wantsReport()) engine.instrument();
+
       /* The top-level simulation timeline. */
       var timeline = new TemporalEventSource();
       var cells = new LiveCells(timeline, missionModel.getInitialCells());
@@ -73,6 +135,8 @@ public final class SimulationDriver {
       // Specify a topic on which tasks can log the activity they're associated with.
       final var activityTopic = new Topic<ActivityDirectiveId>();
 
+      engine.streamResults(sink, activityTopic, missionModel.getTopics());
+
       try {
         // Start daemon task(s) immediately, before anything else happens.
         engine.scheduleTask(Duration.ZERO, missionModel.getDaemon());
@@ -80,6 +144,7 @@ public final class SimulationDriver {
           final var batch = engine.extractNextJobs(Duration.MAX_VALUE);
           final var commit = engine.performJobs(batch.jobs(), cells, elapsedTime, Duration.MAX_VALUE);
           timeline.add(commit);
+          engine.streamCommit(elapsedTime, commit);
         }
 
         // Get all activities as close as possible to absolute time
@@ -129,13 +194,13 @@ public final class SimulationDriver {
           // Run the jobs in this batch.
           final var commit = engine.performJobs(batch.jobs(), cells, elapsedTime, simulationDuration);
           timeline.add(commit);
+          engine.streamCommit(elapsedTime, commit);
         }
       } catch (Throwable ex) {
         throw new SimulationException(elapsedTime, simulationStartTime, ex);
       }
 
-      final var topics = missionModel.getTopics();
-      return SimulationEngine.computeResults(engine, simulationStartTime, elapsedTime, activityTopic, timeline, topics);
+      engine.completeResults(simulationStartTime, elapsedTime);
     }
   }
 
@@ -0,0 +1,67 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import java.util.Map;
+
+/**
+ * A summary of where the work of a simulation went, as measured by an instrumented simulation engine.
+ *
+ * <p>Work done by a task which is not itself an activity is attributed to its nearest ancestor activity,
+ * and work done by a task with no such ancestor (such as a daemon task) is attributed to {@link #NO_ACTIVITY}.</p>
+ *
+ * @param activityTypes The work done by the tasks of each activity type.
+ * @param resourceSamples The number of times each resource was sampled.
+ * @param cellDuplications The number of times a cell was copied into a task's view of the simulation state.
+ * @param commits The sizes of the event graphs committed to the timeline.
+ */
+public record SimulationReport(
+    Map<String, TaskStatistics> activityTypes,
+    Map<String, Long> resourceSamples,
+    long cellDuplications,
+    CommitStatistics commits
+) {
+  /** The name under which work not attributable to any activity is reported. */
+  public static final String NO_ACTIVITY = "(no activity)";
+
+  /**
+   * The work done by some set of tasks.
+   *
+   * @param tasks The number of tasks.
+   * @param steps The number of times the tasks were stepped.
+   * @param yields The number of steps after which a task had not yet completed.
+   * @param stepNanos The wall-clock time spent stepping the tasks, in nanoseconds.
+   * @param reads The number of cell states read by the tasks.
+   * @param emits The number of events emitted by the tasks.
+   * @param conditionEvaluations The number of times a condition awaited by one of the tasks was evaluated.
+   */
+  public record TaskStatistics(
+      long tasks,
+      long steps,
+      long yields,
+      long stepNanos,
+      long reads,
+      long emits,
+      long conditionEvaluations
+  ) {
+    public static final TaskStatistics EMPTY = new TaskStatistics(0, 0, 0, 0, 0, 0, 0);
+
+    public TaskStatistics plus(final TaskStatistics other) {
+      return new TaskStatistics(
+          this.tasks + other.tasks,
+          this.steps + other.steps,
+          this.yields + other.yields,
+          this.stepNanos + other.stepNanos,
+          this.reads + other.reads,
+          this.emits + other.emits,
+          this.conditionEvaluations + other.conditionEvaluations);
+    }
+  }
+
+  /**
+   * The sizes of the event graphs committed to the timeline.
+   *
+   * @param commits The number of commits.
+   * @param events The total number of events over all commits.
+   * @param maxEvents The number of events in the largest commit.
+   */
+  public record CommitStatistics(long commits, long events, long maxEvents) {}
+}
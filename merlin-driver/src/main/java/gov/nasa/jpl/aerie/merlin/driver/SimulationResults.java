@@ -12,6 +12,7 @@ import org.apache.commons.lang3.tuple.Triple;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.SortedMap;
 
 public final class SimulationResults {
@@ -23,6 +24,8 @@ public final class SimulationResults {
   public final Map<SimulatedActivityId, UnfinishedActivity> unfinishedActivities;
   public final List<Triple<Integer, String, ValueSchema>> topics;
   public final Map<Duration, List<EventGraph<Pair<Integer, SerializedValue>>>> events;
+  /** A summary of the work the simulation performed, if the simulation engine was instrumented. */
+  public final Optional<SimulationReport> report;
 
     public SimulationResults(
         final Map<String, Pair<ValueSchema, List<ProfileSegment<RealDynamics>>>> realProfiles,
@@ -33,6 +36,20 @@ public final class SimulationResults {
         final Duration duration,
         final List<Triple<Integer, String, ValueSchema>> topics,
         final SortedMap<Duration, List<EventGraph<Pair<Integer, SerializedValue>>>> events)
+  {
+    this(realProfiles, discreteProfiles, simulatedActivities, unfinishedActivities, startTime, duration, topics, events, Optional.empty());
+  }
+
+  public SimulationResults(
+      final Map<String, Pair<ValueSchema, List<ProfileSegment<RealDynamics>>>> realProfiles,
+      final Map<String, Pair<ValueSchema, List<ProfileSegment<SerializedValue>>>> discreteProfiles,
+      final Map<SimulatedActivityId, SimulatedActivity> simulatedActivities,
+      final Map<SimulatedActivityId, UnfinishedActivity> unfinishedActivities,
+      final Instant startTime,
+      final Duration duration,
+      final List<Triple<Integer, String, ValueSchema>> topics,
+      final SortedMap<Duration, List<EventGraph<Pair<Integer, SerializedValue>>>> events,
+      final Optional<SimulationReport> report)
   {
     this.startTime = startTime;
     this.duration = duration;
@@ -42,6 +59,7 @@ public final class SimulationResults {
     this.simulatedActivities = simulatedActivities;
     this.unfinishedActivities = unfinishedActivities;
     this.events = events;
+    this.report = report;
   }
 
   @Override
@@ -0,0 +1,56 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A consumer of simulation results, fed incrementally while the simulation runs.
+ *
+ * <p>Every topic and profile is declared before any data is appended to it.
+ * Event graphs arrive in the order they were committed to the timeline,
+ * and the segments of each profile arrive in order of time.</p>
+ *
+ * <p>{@link #complete} is invoked exactly once, after all other results have been appended.
+ * If the simulation fails, it is never invoked, and the sink should discard whatever it has received.</p>
+ */
+public interface SimulationResultsSink {
+  void declareTopics(List<Triple<Integer, String, ValueSchema>> topics);
+
+  void declareRealProfile(String name, ValueSchema schema);
+
+  void declareDiscreteProfile(String name, ValueSchema schema);
+
+  void appendRealSegment(String name, ProfileSegment<RealDynamics> segment);
+
+  void appendDiscreteSegment(String name, ProfileSegment<SerializedValue> segment);
+
+  void appendEvents(Duration time, EventGraph<Pair<Integer, SerializedValue>> events);
+
+  /** Whether the simulation engine should be instrumented, so as to pass a {@link SimulationReport} to {@link #report}. */
+  default boolean wantsReport() {
+    return false;
+  }
+
+  /**
+   * Receive a summary of the work the simulation performed. Invoked just before {@link #complete}, if at all.
+   * A sink which persists results should persist the report along with them.
+   */
+  default void report(final SimulationReport report) {
+  }
+
+  void complete(
+      Instant startTime,
+      Duration elapsedTime,
+      Map<SimulatedActivityId, SimulatedActivity> simulatedActivities,
+      Map<SimulatedActivityId, UnfinishedActivity> unfinishedActivities);
+}
@@ -4,6 +4,11 @@ import gov.nasa.jpl.aerie.merlin.driver.timeline.Query;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
 
-public record EngineCellId<Event, State> (Topic<Event> topic, Query<State> query)
+/**
+ * @param immutable
+ *   Whether the cell's states are immutable values (see {@link gov.nasa.jpl.aerie.merlin.protocol.model.ImmutableCellType}),
+ *   which may be handed out to any number of readers without being copied.
+ */
+public record EngineCellId<Event, State> (Topic<Event> topic, Query<State> query, boolean immutable)
     implements CellId<State>
 {}
@@ -0,0 +1,177 @@
+package gov.nasa.jpl.aerie.merlin.driver.engine;
+
+import gov.nasa.jpl.aerie.merlin.driver.SimulationReport;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.LiveCells;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Counters describing the work performed by a {@link SimulationEngine}, collected only if the engine is instrumented.
+ *
+ * Counts are kept per task, and only attributed to activity types when a report is made,
+ * since the type of an activity is not known until its task has emitted its input.
+ */
+final class EngineMetrics {
+  /** The counters for a single task. */
+  static final class TaskCounters {
+    // Each task is stepped by at most one job at a time, and the jobs of a batch are joined before the next begins,
+    //   so these counters need no synchronization of their own. The conditions a task awaits are only evaluated
+    //   while the task itself is suspended.
+    private long steps = 0;
+    private long yields = 0;
+    private long stepNanos = 0;
+    private long reads = 0;
+    private long emits = 0;
+    private long conditionEvaluations = 0;
+
+    void recordRead() {
+      this.reads += 1;
+    }
+
+    void recordEmit() {
+      this.emits += 1;
+    }
+
+    private TaskCounters duplicate() {
+      final var copy = new TaskCounters();
+      copy.steps = this.steps;
+      copy.yields = this.yields;
+      copy.stepNanos = this.stepNanos;
+      copy.reads = this.reads;
+      copy.emits = this.emits;
+      copy.conditionEvaluations = this.conditionEvaluations;
+      return copy;
+    }
+
+    private SimulationReport.TaskStatistics toStatistics() {
+      return new SimulationReport.TaskStatistics(
+          1, this.steps, this.yields, this.stepNanos, this.reads, this.emits, this.conditionEvaluations);
+    }
+  }
+
+  private final Map<TaskId, TaskCounters> tasks;
+  /** The task awaiting each live condition. */
+  private final Map<ConditionId, TaskId> conditionSources;
+  private final Map<ResourceId, LongAdder> resourceSamples;
+
+  // Commits are recorded by the thread driving the engine, between batches.
+  private long commits = 0;
+  private long events = 0;
+  private long maxEvents = 0;
+  private LiveCells cells = null;
+
+  public EngineMetrics() {
+    this.tasks = new ConcurrentHashMap<>();
+    this.conditionSources = new ConcurrentHashMap<>();
+    this.resourceSamples = new ConcurrentHashMap<>();
+  }
+
+  private EngineMetrics(final EngineMetrics other) {
+    this.tasks = new ConcurrentHashMap<>(other.tasks.size());
+    for (final var entry : other.tasks.entrySet()) this.tasks.put(entry.getKey(), entry.getValue().duplicate());
+
+    this.conditionSources = new ConcurrentHashMap<>(other.conditionSources);
+
+    this.resourceSamples = new ConcurrentHashMap<>(other.resourceSamples.size());
+    for (final var entry : other.resourceSamples.entrySet()) {
+      final var count = new LongAdder();
+      count.add(entry.getValue().sum());
+      this.resourceSamples.put(entry.getKey(), count);
+    }
+
+    this.commits = other.commits;
+    this.events = other.events;
+    this.maxEvents = other.maxEvents;
+    // The copy will perform its jobs against cells of its own, which have duplicated nothing yet.
+    this.cells = null;
+  }
+
+  /** Produce an independent copy of these counters, for a duplicate of the engine they describe. */
+  public EngineMetrics duplicate() {
+    return new EngineMetrics(this);
+  }
+
+  public TaskCounters task(final TaskId task) {
+    return this.tasks.computeIfAbsent(task, $ -> new TaskCounters());
+  }
+
+  public void recordStep(final TaskCounters task, final long nanos, final boolean yielded) {
+    task.steps += 1;
+    task.stepNanos += nanos;
+    if (yielded) task.yields += 1;
+  }
+
+  public void recordCondition(final ConditionId condition, final TaskId source) {
+    this.conditionSources.put(condition, source);
+  }
+
+  public void recordConditionEvaluation(final ConditionId condition) {
+    final var source = this.conditionSources.get(condition);
+    if (source != null) this.task(source).conditionEvaluations += 1;
+  }
+
+  public void forgetCondition(final ConditionId condition) {
+    this.conditionSources.remove(condition);
+  }
+
+  public void recordResourceSample(final ResourceId resource) {
+    this.resourceSamples.computeIfAbsent(resource, $ -> new LongAdder()).increment();
+  }
+
+  public void recordCommit(final LiveCells cells, final EventGraph<?> commit) {
+    final var size = countEvents(commit);
+
+    this.cells = cells;
+    this.commits += 1;
+    this.events += size;
+    this.maxEvents = Math.max(this.maxEvents, size);
+  }
+
+  /** Summarize these counters, attributing each task to the activity type given for it. */
+  public SimulationReport report(final Function<TaskId, String> activityTypeOf) {
+    final var activityTypes = new HashMap<String, SimulationReport.TaskStatistics>();
+    for (final var entry : this.tasks.entrySet()) {
+      activityTypes.merge(activityTypeOf.apply(entry.getKey()), entry.getValue().toStatistics(), SimulationReport.TaskStatistics::plus);
+    }
+
+    final var resourceSamples = new HashMap<String, Long>(this.resourceSamples.size());
+    for (final var entry : this.resourceSamples.entrySet()) {
+      resourceSamples.put(entry.getKey().id(), entry.getValue().sum());
+    }
+
+    return new SimulationReport(
+        Collections.unmodifiableMap(activityTypes),
+        Collections.unmodifiableMap(resourceSamples),
+        (this.cells == null) ? 0 : this.cells.getDuplicationCount(),
+        new SimulationReport.CommitStatistics(this.commits, this.events, this.maxEvents));
+  }
+
+  // Commits can be arbitrarily deep chains of sequential events, so they are walked without recursion.
+  private static long countEvents(final EventGraph<?> graph) {
+    var count = 0L;
+
+    final var pending = new ArrayDeque<EventGraph<?>>();
+    pending.push(graph);
+    while (!pending.isEmpty()) {
+      final var node = pending.pop();
+      if (node instanceof EventGraph.Atom<?>) {
+        count += 1;
+      } else if (node instanceof EventGraph.Sequentially<?> g) {
+        pending.push(g.prefix());
+        pending.push(g.suffix());
+      } else if (node instanceof EventGraph.Concurrently<?> g) {
+        pending.push(g.left());
+        pending.push(g.right());
+      }
+    }
+
+    return count;
+  }
+}
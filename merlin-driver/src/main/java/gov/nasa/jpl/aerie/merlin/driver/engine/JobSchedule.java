@@ -17,7 +17,7 @@ public final class JobSchedule<JobRef, TimeRef extends SchedulingInstant> {
   @DerivedFrom("scheduledJobs")
   private final ConcurrentSkipListMap<TimeRef, Set<JobRef>> queue = new ConcurrentSkipListMap<>();
 
-  public void schedule(final JobRef job, final TimeRef time) {
+  public synchronized void schedule(final JobRef job, final TimeRef time) {
     final var oldTime = this.scheduledJobs.put(job, time);
 
     if (oldTime != null) removeJobFromQueue(oldTime, job);
@@ -25,7 +25,7 @@ public final class JobSchedule<JobRef, TimeRef extends SchedulingInstant> {
     this.queue.computeIfAbsent(time, $ -> new HashSet<>()).add(job);
   }
 
-  public void unschedule(final JobRef job) {
+  public synchronized void unschedule(final JobRef job) {
     final var oldTime = this.scheduledJobs.remove(job);
     if (oldTime != null) removeJobFromQueue(oldTime, job);
   }
@@ -38,7 +38,7 @@ public final class JobSchedule<JobRef, TimeRef extends SchedulingInstant> {
     }
   }
 
-  public Batch<JobRef> extractNextJobs(final Duration maximumTime) {
+  public synchronized Batch<JobRef> extractNextJobs(final Duration maximumTime) {
     if (this.queue.isEmpty()) return new Batch<>(maximumTime, Collections.emptySet());
 
     final var time = this.queue.firstKey();
@@ -52,10 +52,23 @@ public final class JobSchedule<JobRef, TimeRef extends SchedulingInstant> {
     return new Batch<>(entry.getKey().project(), entry.getValue());
   }
 
-  public void clear() {
+  public synchronized void clear() {
     this.scheduledJobs.clear();
     this.queue.clear();
   }
 
+  public synchronized JobSchedule<JobRef, TimeRef> duplicate() {
+    final var duplicate = new JobSchedule<JobRef, TimeRef>();
+    duplicate.scheduledJobs.putAll(this.scheduledJobs);
+    for (final var entry : this.queue.entrySet()) {
+      duplicate.queue.put(entry.getKey(), new HashSet<>(entry.getValue()));
+    }
+    return duplicate;
+  }
+
+  public synchronized int size() {
+    return this.scheduledJobs.size();
+  }
+
   public record Batch<JobRef>(Duration offsetFromStart, Set<JobRef> jobs) {}
 }
@@ -16,6 +16,12 @@ implements Iterable<Profile.Segment<Dynamics>> {
     this.segments.append(new Segment<>(currentTime, dynamics));
   }
 
+  public Profile<Dynamics> duplicate() {
+    final var duplicate = new Profile<Dynamics>();
+    for (final var segment : this.segments) duplicate.segments.append(segment);
+    return duplicate;
+  }
+
   @Override
   public Iterator<Segment<Dynamics>> iterator() {
     return this.segments.iterator();
@@ -5,11 +5,14 @@ import gov.nasa.jpl.aerie.merlin.driver.MissionModel.SerializableTopic;
 import gov.nasa.jpl.aerie.merlin.driver.SerializedActivity;
 import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivity;
 import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivityId;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationReport;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationResultsSink;
 import gov.nasa.jpl.aerie.merlin.driver.UnfinishedActivity;
 import gov.nasa.jpl.aerie.merlin.driver.timeline.Event;
 import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
 import gov.nasa.jpl.aerie.merlin.driver.timeline.LiveCells;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.Query;
 import gov.nasa.jpl.aerie.merlin.driver.timeline.TemporalEventSource;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Querier;
@@ -30,20 +33,30 @@ import org.apache.commons.lang3.tuple.Triple;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
@@ -51,29 +64,44 @@ import java.util.function.Consumer;
  */
 public final class SimulationEngine implements AutoCloseable {
   /** The set of all jobs waiting for time to pass. */
-  private final JobSchedule<JobId, SchedulingInstant> scheduledJobs = new JobSchedule<>();
+  private final JobSchedule<JobId, SchedulingInstant> scheduledJobs;
   /** The set of all jobs waiting on a given signal. */
-  private final Subscriptions<SignalId, TaskId> waitingTasks = new Subscriptions<>();
+  private final Subscriptions<SignalId, TaskId> waitingTasks;
   /** The set of conditions depending on a given set of topics. */
-  private final Subscriptions<Topic<?>, ConditionId> waitingConditions = new Subscriptions<>();
+  private final Subscriptions<Topic<?>, ConditionId> waitingConditions;
   /** The set of queries depending on a given set of topics. */
-  private final Subscriptions<Topic<?>, ResourceId> waitingResources = new Subscriptions<>();
+  private final Subscriptions<Topic<?>, ResourceId> waitingResources;
 
   /** The execution state for every task. */
-  private final Map<TaskId, ExecutionState<?>> tasks = new HashMap<>();
+  private final Map<TaskId, ExecutionState<?>> tasks;
   /** The getter for each tracked condition. */
-  private final Map<ConditionId, Condition> conditions = new HashMap<>();
+  private final Map<ConditionId, Condition> conditions;
   /** The profiling state for each tracked resource. */
-  private final Map<ResourceId, ProfilingState<?>> resources = new HashMap<>();
+  private final Map<ResourceId, ProfilingState<?>> resources;
 
   /** The task that spawned a given task (if any). */
-  private final Map<TaskId, TaskId> taskParent = new HashMap<>();
+  private final Map<TaskId, TaskId> taskParent;
   /** The set of children for each task (if any). */
   @DerivedFrom("taskParent")
-  private final Map<TaskId, Set<TaskId>> taskChildren = new HashMap<>();
+  private final Map<TaskId, Set<TaskId>> taskChildren;
 
-  /** A thread pool that modeled tasks can use to keep track of their state between steps. */
-  private final ExecutorService executor = getLoomOrFallback();
+  /** The thread pools used by this engine, shared with any engines duplicated from it. */
+  private final ThreadPools threadPools;
+  /** The executor handed to modeled tasks, which they can use to keep track of their state between steps. */
+  private final Executor taskExecutor;
+
+  /** How the jobs within a single batch are performed. */
+  private final BatchMode batchMode;
+  /** Whether this engine may be duplicated. */
+  private final boolean duplicable;
+  /** Whether this engine has been closed, and so has given up its share of the thread pools. */
+  private boolean closed = false;
+
+  /** The sink to which results are fed as they are produced, if any. */
+  private Optional<ResultsStream> resultsStream = Optional.empty();
+
+  /** The counters describing this engine's work, if it is instrumented. */
+  private Optional<EngineMetrics> metrics = Optional.empty();
 
   private static ExecutorService getLoomOrFallback() {
     // Try to use Loom's lightweight virtual threads, if possible. Otherwise, just use a thread pool.
@@ -97,12 +125,140 @@ public final class SimulationEngine implements AutoCloseable {
     }
   }
 
+  /**
+   * The strategy by which the jobs within a single batch are performed.
+   *
+   * Jobs in the same batch are concurrent by definition, so they never observe one another's events,
+   * and their event graphs are always combined in the order in which the batch presents them.
+   */
+  public enum BatchMode {
+    /** Perform each job in turn on the calling thread. */
+    Serial,
+    /**
+     * Perform the jobs on a dedicated thread pool, one thread per available processor.
+     *
+     * This is only sound for models whose tasks share no mutable state except through cells.
+     */
+    Parallel,
+  }
+
+  public SimulationEngine() {
+    this(BatchMode.Serial);
+  }
+
+  public SimulationEngine(final BatchMode batchMode) {
+    this(batchMode, false);
+  }
+
+  /**
+   * @param duplicable
+   *   Whether this engine may be {@link #duplicate() duplicated}. The tasks of a duplicable engine are told that they may
+   *   be duplicated when they are created, and some kinds of task must then keep a record of their past for as long as
+   *   they live. Engines which will never be duplicated should not pay that cost.
+   */
+  public SimulationEngine(final BatchMode batchMode, final boolean duplicable) {
+    this.batchMode = Objects.requireNonNull(batchMode);
+    this.duplicable = duplicable;
+    this.threadPools = new ThreadPools(getLoomOrFallback(), createJobPool(batchMode));
+    this.taskExecutor = (duplicable) ? new DuplicableExecutor(this.threadPools.executor) : this.threadPools.executor;
+
+    this.scheduledJobs = new JobSchedule<>();
+    this.waitingTasks = new Subscriptions<>();
+    this.waitingConditions = new Subscriptions<>();
+    this.waitingResources = new Subscriptions<>();
+    this.tasks = new ConcurrentHashMap<>();
+    this.conditions = new ConcurrentHashMap<>();
+    this.resources = new ConcurrentHashMap<>();
+    this.taskParent = new ConcurrentHashMap<>();
+    this.taskChildren = new ConcurrentHashMap<>();
+  }
+
+  private static Optional<ForkJoinPool> createJobPool(final BatchMode batchMode) {
+    return switch (batchMode) {
+      case Serial -> Optional.empty();
+      case Parallel -> Optional.of(new ForkJoinPool(Runtime.getRuntime().availableProcessors()));
+    };
+  }
+
+  /** Construct an independent copy of another engine, whose tasks will run on the other engine's thread pools. */
+  private SimulationEngine(final SimulationEngine other) {
+    this.batchMode = other.batchMode;
+    this.duplicable = other.duplicable;
+    this.threadPools = other.threadPools.share();
+    this.taskExecutor = other.taskExecutor;
+
+    this.scheduledJobs = other.scheduledJobs.duplicate();
+    this.waitingTasks = other.waitingTasks.duplicate();
+    this.waitingConditions = other.waitingConditions.duplicate();
+    this.waitingResources = other.waitingResources.duplicate();
+
+    this.tasks = new ConcurrentHashMap<>(other.tasks.size());
+    for (final var entry : other.tasks.entrySet()) {
+      this.tasks.put(entry.getKey(), entry.getValue().duplicate(this.taskExecutor));
+    }
+
+    // Conditions are stateless queries over the cells, so they can be shared between engines.
+    this.conditions = new ConcurrentHashMap<>(other.conditions);
+
+    this.resources = new ConcurrentHashMap<>(other.resources.size());
+    for (final var entry : other.resources.entrySet()) {
+      this.resources.put(entry.getKey(), entry.getValue().duplicate());
+    }
+
+    this.taskParent = new ConcurrentHashMap<>(other.taskParent);
+    this.taskChildren = new ConcurrentHashMap<>(other.taskChildren.size());
+    for (final var entry : other.taskChildren.entrySet()) {
+      final var children = ConcurrentHashMap.<TaskId>newKeySet();
+      children.addAll(entry.getValue());
+      this.taskChildren.put(entry.getKey(), children);
+    }
+
+    this.metrics = other.metrics.map(EngineMetrics::duplicate);
+  }
+
+  /**
+   * Begin counting the work this engine performs, so that a {@link SimulationReport} can accompany its results.
+   *
+   * Instrumentation adds a small cost to every task step, condition evaluation, resource sample, and commit,
+   * so it is off unless requested. Only work performed after this call is counted.
+   */
+  public void instrument() {
+    if (this.metrics.isPresent()) throw new IllegalStateException("The engine is already instrumented");
+    this.metrics = Optional.of(new EngineMetrics());
+  }
+
+  /**
+   * Produce an independent copy of this engine, such that both engines may be driven forward separately.
+   *
+   * The copy shares no mutable state with this engine. It runs its tasks on the same thread pools as this engine,
+   * which are shut down once every engine using them has been closed, so it must be closed separately.
+   * Together with a prefix of the timeline and a {@link LiveCells#snapshot()} of the cells,
+   * it can be used to resume simulation from the current point in time.
+   *
+   * @throws IllegalStateException if this engine was not constructed as duplicable
+   */
+  public SimulationEngine duplicate() {
+    if (!this.duplicable) throw new IllegalStateException("This engine was not constructed as duplicable");
+    return new SimulationEngine(this);
+  }
+
+  /**
+   * Estimate the size of this engine's state, as a count of the tasks, conditions, jobs, and profile segments it retains.
+   *
+   * This is a proxy for the memory cost of keeping a {@link #duplicate()} of this engine around.
+   */
+  public long estimateRetainedSize() {
+    long size = this.tasks.size() + this.conditions.size() + this.scheduledJobs.size();
+    for (final var state : this.resources.values()) size += state.profile().segments().size();
+    return size;
+  }
+
   /** Schedule a new task to be performed at the given time. */
   public <Return> TaskId scheduleTask(final Duration startTime, final TaskFactory<Return> state) {
     if (startTime.isNegative()) throw new IllegalArgumentException("Cannot schedule a task before the start time of the simulation");
 
     final var task = TaskId.generate();
-    this.tasks.put(task, new ExecutionState.InProgress<>(startTime, state.create(this.executor)));
+    this.tasks.put(task, new ExecutionState.InProgress<>(startTime, state.create(this.taskExecutor)));
     this.scheduledJobs.schedule(JobId.forTask(task), SubInstant.Tasks.at(startTime));
     return task;
   }
@@ -113,6 +269,7 @@ public final class SimulationEngine implements AutoCloseable {
     final var id = new ResourceId(name);
 
     this.resources.put(id, ProfilingState.create(resource));
+    this.resultsStream.ifPresent($ -> $.declareResource(name, resource));
     this.scheduledJobs.schedule(JobId.forResource(id), SubInstant.Resources.at(nextQueryTime));
   }
 
@@ -146,6 +303,7 @@ public final class SimulationEngine implements AutoCloseable {
 
       this.conditions.remove(s.id());
       this.waitingConditions.unsubscribeQuery(s.id());
+      this.metrics.ifPresent($ -> $.forgetCondition(s.id()));
     }
 
     return batch;
@@ -157,6 +315,20 @@ public final class SimulationEngine implements AutoCloseable {
       final LiveCells context,
       final Duration currentTime,
       final Duration maximumTime
+  ) {
+    final var commit = (this.threadPools.jobPool.isPresent() && jobs.size() > 1)
+        ? performJobsInParallel(this.threadPools.jobPool.get(), jobs, context, currentTime, maximumTime)
+        : performJobsSerially(jobs, context, currentTime, maximumTime);
+
+    this.metrics.ifPresent($ -> $.recordCommit(context, commit));
+    return commit;
+  }
+
+  private EventGraph<Event> performJobsSerially(
+      final Collection<JobId> jobs,
+      final LiveCells context,
+      final Duration currentTime,
+      final Duration maximumTime
   ) {
     var tip = EventGraph.<Event>empty();
     for (final var job$ : jobs) {
@@ -168,6 +340,45 @@ public final class SimulationEngine implements AutoCloseable {
     return tip;
   }
 
+  private EventGraph<Event> performJobsInParallel(
+      final ForkJoinPool pool,
+      final Collection<JobId> jobs,
+      final LiveCells context,
+      final Duration currentTime,
+      final Duration maximumTime
+  ) {
+    // Each job runs in its own frame, and only ever reads the shared context,
+    //   so the jobs can run independently. The frames are merged in the order the jobs were given,
+    //   so the resulting graph is exactly the one serial execution would have produced.
+    final var frames = new ArrayList<Future<EventGraph<Event>>>(jobs.size());
+    for (final var job$ : jobs) {
+      frames.add(pool.submit(() -> TaskFrame.run(job$, context, (job, frame) -> {
+        this.performJob(job, frame, currentTime, maximumTime);
+      })));
+    }
+
+    var tip = EventGraph.<Event>empty();
+    for (final var frame : frames) {
+      tip = EventGraph.concurrently(tip, awaitFrame(frame));
+    }
+
+    return tip;
+  }
+
+  private static EventGraph<Event> awaitFrame(final Future<EventGraph<Event>> frame) {
+    try {
+      return frame.get();
+    } catch (final ExecutionException ex) {
+      // Surface the job's own failure, just as if it had been performed on this thread.
+      if (ex.getCause() instanceof RuntimeException e) throw e;
+      if (ex.getCause() instanceof Error e) throw e;
+      throw new RuntimeException(ex.getCause());
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(ex);
+    }
+  }
+
   /** Performs a single job. */
   public void performJob(
       final JobId job,
@@ -222,11 +433,17 @@ public final class SimulationEngine implements AutoCloseable {
       final Duration currentTime
   ) {
     // Step the modeling state forward.
-    final var scheduler = new EngineScheduler(currentTime, task, frame);
+    final var counters = this.metrics.map($ -> $.task(task));
+    final var scheduler = new EngineScheduler(currentTime, task, frame, counters.orElse(null));
+    final var stepStart = (counters.isPresent()) ? System.nanoTime() : 0L;
     final var status = progress.state().step(scheduler);
+    if (counters.isPresent()) {
+      this.metrics.get().recordStep(counters.get(), System.nanoTime() - stepStart, !(status instanceof TaskStatus.Completed));
+    }
 
     // TODO: Report which topics this activity wrote to at this point in time. This is useful insight for any user.
     // TODO: Report which cells this activity read from at this point in time. This is useful insight for any user.
+    //   An instrumented engine only counts the events each task emits and the cells it reads.
 
     // Based on the task's return status, update its execution state and schedule its resumption.
     if (status instanceof TaskStatus.Completed<Return>) {
@@ -241,9 +458,9 @@ public final class SimulationEngine implements AutoCloseable {
       this.scheduledJobs.schedule(JobId.forTask(task), SubInstant.Tasks.at(currentTime.plus(s.delay())));
     } else if (status instanceof TaskStatus.CallingTask<Return> s) {
       final var target = TaskId.generate();
-      SimulationEngine.this.tasks.put(target, new ExecutionState.InProgress<>(currentTime, s.child().create(this.executor)));
+      SimulationEngine.this.tasks.put(target, new ExecutionState.InProgress<>(currentTime, s.child().create(this.taskExecutor)));
       SimulationEngine.this.taskParent.put(target, task);
-      SimulationEngine.this.taskChildren.computeIfAbsent(task, $ -> new HashSet<>()).add(target);
+      SimulationEngine.this.taskChildren.computeIfAbsent(task, $ -> ConcurrentHashMap.newKeySet()).add(target);
       frame.signal(JobId.forTask(target));
 
       this.tasks.put(task, progress.continueWith(s.continuation()));
@@ -251,6 +468,7 @@ public final class SimulationEngine implements AutoCloseable {
     } else if (status instanceof TaskStatus.AwaitingCondition<Return> s) {
       final var condition = ConditionId.generate();
       this.conditions.put(condition, s.condition());
+      this.metrics.ifPresent($ -> $.recordCondition(condition, task));
       this.scheduledJobs.schedule(JobId.forCondition(condition), SubInstant.Conditions.at(currentTime));
 
       this.tasks.put(task, progress.continueWith(s.continuation()));
@@ -266,6 +484,20 @@ public final class SimulationEngine implements AutoCloseable {
       final ExecutionState.AwaitingChildren<Return> awaiting,
       final TaskFrame<JobId> frame,
       final Duration currentTime
+  ) {
+    // A child may terminate concurrently with this check when jobs are performed in parallel.
+    //   Checking and subscribing atomically with respect to the child's completion signal
+    //   ensures that we either see the child terminated or are woken up by its signal.
+    synchronized (this.waitingTasks) {
+      stepWaitingTaskHelper(task, awaiting, frame, currentTime);
+    }
+  }
+
+  private <Return> void stepWaitingTaskHelper(
+      final TaskId task,
+      final ExecutionState.AwaitingChildren<Return> awaiting,
+      final TaskFrame<JobId> frame,
+      final Duration currentTime
   ) {
     // TERMINATION: We break when there are no remaining children,
     //   and we always remove one if we don't break for other reasons.
@@ -301,6 +533,8 @@ public final class SimulationEngine implements AutoCloseable {
       final Duration currentTime,
       final Duration horizonTime
   ) {
+    this.metrics.ifPresent($ -> $.recordConditionEvaluation(condition));
+
     final var querier = new EngineQuerier(frame);
     final var prediction = this.conditions
         .get(condition)
@@ -325,8 +559,12 @@ public final class SimulationEngine implements AutoCloseable {
       final TaskFrame<JobId> frame,
       final Duration currentTime
   ) {
+    this.metrics.ifPresent($ -> $.recordResourceSample(resource));
+
     final var querier = new EngineQuerier(frame);
-    this.resources.get(resource).append(currentTime, querier);
+    final var state = this.resources.get(resource);
+    state.append(currentTime, querier);
+    if (this.resultsStream.isPresent()) streamCompletedSegments(resource, state, this.resultsStream.get());
 
     this.waitingResources.subscribeQuery(resource, querier.referencedTopics);
 
@@ -345,7 +583,40 @@ public final class SimulationEngine implements AutoCloseable {
       }
     }
 
-    this.executor.shutdownNow();
+    if (!this.closed) this.threadPools.release();
+    this.closed = true;
+  }
+
+  /** The thread pools of an engine and its duplicates, which are shut down when the last of those engines is closed. */
+  private static final class ThreadPools {
+    private final ExecutorService executor;
+    private final Optional<ForkJoinPool> jobPool;
+    private final AtomicInteger users = new AtomicInteger(1);
+
+    public ThreadPools(final ExecutorService executor, final Optional<ForkJoinPool> jobPool) {
+      this.executor = executor;
+      this.jobPool = jobPool;
+    }
+
+    public ThreadPools share() {
+      this.users.incrementAndGet();
+      return this;
+    }
+
+    public void release() {
+      if (this.users.decrementAndGet() > 0) return;
+
+      this.executor.shutdownNow();
+      this.jobPool.ifPresent(ForkJoinPool::shutdownNow);
+    }
+  }
+
+  /** An executor which tells the tasks created with it that they may be duplicated. */
+  private record DuplicableExecutor(Executor executor) implements Task.DuplicableExecutor {
+    @Override
+    public void execute(final Runnable command) {
+      this.executor.execute(command);
+    }
   }
 
   /** Determine if a given task has fully completed. */
@@ -429,6 +700,7 @@ public final class SimulationEngine implements AutoCloseable {
   // TODO: Move result extraction out of the SimulationEngine.
   //   The Engine should only need to stream events of interest to a downstream consumer.
   //   The Engine cannot be cognizant of all downstream needs.
+  //   See `streamResults` for a first step in this direction.
   // TODO: Whatever mechanism replaces `computeResults` also ought to replace `isTaskComplete`.
   // TODO: Produce results for all tasks, not just those that have completed.
   //   Planners need to be aware of failed or unfinished tasks.
@@ -440,15 +712,30 @@ public final class SimulationEngine implements AutoCloseable {
       final TemporalEventSource timeline,
       final Iterable<SerializableTopic<?>> serializableTopics
   ) {
-    // Collect per-task information from the event graph.
-    final var taskInfo = new TaskInfo();
+    return computeResults(engine, new ResultsCache(), startTime, elapsedTime, activityTopic, timeline, serializableTopics);
+  }
 
-    for (final var point : timeline) {
-      if (!(point instanceof TemporalEventSource.TimePoint.Commit p)) continue;
+  /**
+   * Compute a set of results from the current state of simulation,
+   * reusing whatever the given cache retained from a previous call over the same engine and timeline.
+   *
+   * Only the time points and profile segments produced since the previous call are processed,
+   * so repeatedly extracting results from a simulation in progress costs time proportional to the newly-simulated span
+   * (plus the number of tasks, from which activities are recomputed each time).
+   */
+  public static SimulationResults computeResults(
+      final SimulationEngine engine,
+      final ResultsCache cache,
+      final Instant startTime,
+      final Duration elapsedTime,
+      final Topic<ActivityDirectiveId> activityTopic,
+      final TemporalEventSource timeline,
+      final Iterable<SerializableTopic<?>> serializableTopics
+  ) {
+    cache.resetUnlessFor(engine, timeline, activityTopic, serializableTopics);
 
-      final var trait = new TaskInfo.Trait(serializableTopics, activityTopic);
-      p.events().evaluate(trait, trait::atom).accept(taskInfo);
-    }
+    // Collect per-task information and serialized events from the part of the timeline we haven't seen yet.
+    cache.extendTimeline();
 
     // Extract profiles for every resource.
     final var realProfiles = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<RealDynamics>>>>();
@@ -466,13 +753,15 @@ public final class SimulationEngine implements AutoCloseable {
             name,
             Pair.of(
                 resource.getOutputType().getSchema(),
-                serializeProfile(elapsedTime, state, SimulationEngine::extractRealDynamics)));
+                cache.realProfiles.computeIfAbsent(id, $ -> new ResultsCache.ProfileCache<>(SimulationEngine::extractRealDynamics))
+                    .extend(elapsedTime, state)));
 
         case "discrete" -> discreteProfiles.put(
             name,
             Pair.of(
                 resource.getOutputType().getSchema(),
-                serializeProfile(elapsedTime, state, SimulationEngine::extractDiscreteDynamics)));
+                cache.discreteProfiles.computeIfAbsent(id, $ -> new ResultsCache.ProfileCache<>(SimulationEngine::extractDiscreteDynamics))
+                    .extend(elapsedTime, state)));
 
         default ->
             throw new IllegalArgumentException(
@@ -480,7 +769,282 @@ public final class SimulationEngine implements AutoCloseable {
       }
     }
 
+    final var activities = engine.computeActivities(startTime, cache.taskInfo);
+
+    return new SimulationResults(realProfiles,
+                                 discreteProfiles,
+                                 activities.simulated(),
+                                 activities.unfinished(),
+                                 startTime,
+                                 elapsedTime,
+                                 cache.topics,
+                                 cache.publishEvents(),
+                                 engine.report(cache.taskInfo));
+  }
+
+  /**
+   * The results extracted from a simulation so far, retained between calls to `computeResults`.
+   *
+   * A cache is tied to the engine and timeline it was last used with; given any other, it starts over from scratch.
+   * Results returned from earlier calls share structure with the cache, but are unaffected as it is extended:
+   * each continues to describe exactly the span that was simulated when it was computed.
+   */
+  public static final class ResultsCache {
+    private SimulationEngine engine = null;
+    private TemporalEventSource timeline = null;
+    private Topic<ActivityDirectiveId> activityTopic = null;
+    private Iterable<SerializableTopic<?>> serializableTopics = null;
+
+    private Iterator<TemporalEventSource.TimePoint> points;
+    private Duration time;
+    private TaskInfo taskInfo;
+    private TaskInfo.Trait trait;
+    private List<Triple<Integer, String, ValueSchema>> topics;
+    private Map<SerializableTopic<?>, Integer> serializableTopicToId;
+    private TreeMap<Duration, List<EventGraph<Pair<Integer, SerializedValue>>>> events;
+    private Optional<Duration> publishedTime;
+
+    private final Map<ResourceId, ProfileCache<RealDynamics>> realProfiles = new HashMap<>();
+    private final Map<ResourceId, ProfileCache<SerializedValue>> discreteProfiles = new HashMap<>();
+
+    private void resetUnlessFor(
+        final SimulationEngine engine,
+        final TemporalEventSource timeline,
+        final Topic<ActivityDirectiveId> activityTopic,
+        final Iterable<SerializableTopic<?>> serializableTopics
+    ) {
+      if (this.engine == engine
+          && this.timeline == timeline
+          && this.activityTopic == activityTopic
+          && this.serializableTopics == serializableTopics) return;
+
+      this.engine = engine;
+      this.timeline = timeline;
+      this.activityTopic = activityTopic;
+      this.serializableTopics = serializableTopics;
+
+      this.points = timeline.iterator();
+      this.time = Duration.ZERO;
+      this.taskInfo = new TaskInfo();
+      this.trait = new TaskInfo.Trait(serializableTopics, activityTopic);
+      this.serializableTopicToId = new HashMap<>();
+      this.topics = Collections.unmodifiableList(serializeTopics(serializableTopics, this.serializableTopicToId));
+      this.events = new TreeMap<>();
+      this.publishedTime = Optional.empty();
+
+      this.realProfiles.clear();
+      this.discreteProfiles.clear();
+    }
+
+    private void extendTimeline() {
+      // The timeline's iterator is stable through appends, so it picks up wherever the previous call left off.
+      while (this.points.hasNext()) {
+        final var point = this.points.next();
+        if (point instanceof TemporalEventSource.TimePoint.Delta delta) {
+          this.time = this.time.plus(delta.delta());
+        } else if (point instanceof TemporalEventSource.TimePoint.Commit commit) {
+          commit.events().evaluate(this.trait, this.trait::atom).accept(this.taskInfo);
+
+          final var serializedEventGraph = serializeCommit(commit.events(), this.serializableTopics, this.serializableTopicToId);
+          if (!(serializedEventGraph instanceof EventGraph.Empty)) {
+            // An earlier result includes this time point through a view of `events`,
+            //   so detach from that view before changing what it would show.
+            if (this.publishedTime.isPresent() && this.publishedTime.get().isEqualTo(this.time)) {
+              this.events = new TreeMap<>(this.events);
+              this.publishedTime = Optional.empty();
+            }
+
+            // Earlier results may share this list, so extend a copy of it rather than the list itself.
+            final var transactions = new ArrayList<>(this.events.getOrDefault(this.time, List.of()));
+            transactions.add(serializedEventGraph);
+            this.events.put(this.time, Collections.unmodifiableList(transactions));
+          }
+        }
+      }
+    }
+
+    private SortedMap<Duration, List<EventGraph<Pair<Integer, SerializedValue>>>> publishEvents() {
+      this.publishedTime = Optional.of(this.time);
+      return Collections.unmodifiableSortedMap(this.events.headMap(this.time, true));
+    }
+
+    /** The serialized segments of one resource's profile, all but the latest of which are final. */
+    private static final class ProfileCache<Target> {
+      private final Translator<Target> translator;
+
+      private ProfilingState<?> state = null;
+      private Iterator<? extends Profile.Segment<?>> segments;
+      private Profile.Segment<?> latest;
+      private final ArrayList<ProfileSegment<Target>> completed = new ArrayList<>();
+
+      public ProfileCache(final Translator<Target> translator) {
+        this.translator = translator;
+      }
+
+      public <Dynamics> List<ProfileSegment<Target>> extend(final Duration elapsedTime, final ProfilingState<Dynamics> state) {
+        if (this.state != state) {
+          this.state = state;
+          this.segments = state.profile().segments().iterator();
+          this.latest = null;
+          this.completed.clear();
+        }
+
+        // SAFETY: Every segment we have seen was drawn from `state`, so its dynamics are of type `Dynamics`.
+        @SuppressWarnings("unchecked")
+        final var segments = (Iterator<Profile.Segment<Dynamics>>) this.segments;
+        @SuppressWarnings("unchecked")
+        var latest = (Profile.Segment<Dynamics>) this.latest;
+
+        while (segments.hasNext()) {
+          final var nextSegment = segments.next();
+          if (latest != null) {
+            this.completed.add(new ProfileSegment<>(
+                nextSegment.startOffset().minus(latest.startOffset()),
+                this.translator.apply(state.resource(), latest.dynamics())));
+          }
+          latest = nextSegment;
+        }
+        this.latest = latest;
+
+        if (latest == null) return List.of();
+        return new PrefixList<>(this.completed, this.completed.size(), new ProfileSegment<>(
+            elapsedTime.minus(latest.startOffset()),
+            this.translator.apply(state.resource(), latest.dynamics())));
+      }
+    }
+
+    /** An immutable view of the first `size` elements of an append-only list, followed by one more element. */
+    private static final class PrefixList<T> extends AbstractList<T> implements RandomAccess {
+      private final List<T> prefix;
+      private final int size;
+      private final T last;
+
+      public PrefixList(final List<T> prefix, final int size, final T last) {
+        this.prefix = prefix;
+        this.size = size;
+        this.last = last;
+      }
+
+      @Override
+      public T get(final int index) {
+        if (index == this.size) return this.last;
+        Objects.checkIndex(index, this.size);
+        return this.prefix.get(index);
+      }
+
+      @Override
+      public int size() {
+        return this.size + 1;
+      }
+    }
+  }
+
+  /**
+   * Begin feeding results to the given sink as they are produced, rather than accumulating them for `computeResults`.
+   *
+   * Once streaming, each resource retains only its latest profile segment; every earlier segment is handed to the sink
+   * as soon as it is known to be complete. The driver must pass every commit it adds to the timeline to {@link #streamCommit},
+   * and must finish the stream with {@link #completeResults}. `computeResults` is not meaningful for a streaming engine.
+   */
+  public void streamResults(
+      final SimulationResultsSink sink,
+      final Topic<ActivityDirectiveId> activityTopic,
+      final Iterable<SerializableTopic<?>> serializableTopics
+  ) {
+    if (this.resultsStream.isPresent()) throw new IllegalStateException("Results are already being streamed");
+
+    final var stream = new ResultsStream(sink, activityTopic, serializableTopics);
+    sink.declareTopics(serializeTopics(serializableTopics, stream.serializableTopicToId));
+    for (final var entry : this.resources.entrySet()) {
+      stream.declareResource(entry.getKey().id(), entry.getValue().resource());
+    }
+
+    this.resultsStream = Optional.of(stream);
+  }
+
+  /** Feed a commit, just added to the timeline at the given time, to the results sink (if any). */
+  public void streamCommit(final Duration time, final EventGraph<Event> commit) {
+    if (this.resultsStream.isEmpty()) return;
+    final var stream = this.resultsStream.get();
+
+    commit.evaluate(stream.trait, stream.trait::atom).accept(stream.taskInfo);
+
+    final var serializedEventGraph = serializeCommit(commit, stream.serializableTopics, stream.serializableTopicToId);
+    if (!(serializedEventGraph instanceof EventGraph.Empty)) {
+      stream.sink.appendEvents(time, serializedEventGraph);
+    }
+  }
+
+  /** Flush the final segment of every profile to the results sink, followed by the simulated activities. */
+  public void completeResults(final Instant startTime, final Duration elapsedTime) {
+    final var stream = this.resultsStream.orElseThrow(() -> new IllegalStateException("Results are not being streamed"));
+
+    for (final var entry : this.resources.entrySet()) {
+      flushProfile(entry.getKey(), entry.getValue(), elapsedTime, stream);
+    }
+
+    this.report(stream.taskInfo).ifPresent(stream.sink::report);
+
+    final var activities = this.computeActivities(startTime, stream.taskInfo);
+    stream.sink.complete(startTime, elapsedTime, activities.simulated(), activities.unfinished());
+  }
+
+  /** Summarize the work this engine has performed, if it is instrumented. */
+  private Optional<SimulationReport> report(final TaskInfo taskInfo) {
+    return this.metrics.map($ -> $.report(task -> this.activityTypeOf(task, taskInfo)));
+  }
 
+  /** Get the type of the nearest activity among a task and its ancestors. */
+  private String activityTypeOf(final TaskId task, final TaskInfo taskInfo) {
+    for (var ancestor = task; ancestor != null; ancestor = this.taskParent.get(ancestor)) {
+      final var input = taskInfo.input().get(ancestor.id());
+      if (input != null) return input.getTypeName();
+    }
+    return SimulationReport.NO_ACTIVITY;
+  }
+
+  private static <Dynamics>
+  void flushProfile(
+      final ResourceId id,
+      final ProfilingState<Dynamics> state,
+      final Duration elapsedTime,
+      final ResultsStream stream
+  ) {
+    // Only the final segment remains, since every earlier one was streamed out as soon as it was superseded.
+    for (final var segment : state.profile().segments()) {
+      stream.appendSegment(id.id(), state.resource(), elapsedTime.minus(segment.startOffset()), segment.dynamics());
+    }
+  }
+
+  /** Hand every superseded segment of a resource's profile to the sink, and retain only the latest one. */
+  private <Dynamics>
+  void streamCompletedSegments(final ResourceId id, final ProfilingState<Dynamics> state, final ResultsStream stream) {
+    final var segments = state.profile().segments();
+    if (segments.size() < 2) return;
+
+    final var iter = segments.iterator();
+    var segment = iter.next();
+    while (iter.hasNext()) {
+      final var nextSegment = iter.next();
+      stream.appendSegment(
+          id.id(),
+          state.resource(),
+          nextSegment.startOffset().minus(segment.startOffset()),
+          segment.dynamics());
+      segment = nextSegment;
+    }
+
+    final var remaining = ProfilingState.create(state.resource());
+    remaining.profile().append(segment.startOffset(), segment.dynamics());
+    this.resources.put(id, remaining);
+  }
+
+  private record ActivityResults(
+      Map<SimulatedActivityId, SimulatedActivity> simulated,
+      Map<SimulatedActivityId, UnfinishedActivity> unfinished
+  ) {}
+
+  private ActivityResults computeActivities(final Instant startTime, final TaskInfo taskInfo) {
     // Give every task corresponding to a child activity an ID that doesn't conflict with any root activity.
     final var taskToSimulatedActivityId = new HashMap<String, SimulatedActivityId>(taskInfo.taskToPlannedDirective.size());
     final var usedSimulatedActivityIds = new HashSet<>();
@@ -489,7 +1053,7 @@ public final class SimulationEngine implements AutoCloseable {
       usedSimulatedActivityIds.add(entry.getValue().id());
     }
     long counter = 1L;
-    for (final var task : engine.tasks.keySet()) {
+    for (final var task : this.tasks.keySet()) {
       if (!taskInfo.isActivity(task)) continue;
       if (taskToSimulatedActivityId.containsKey(task.id())) continue;
 
@@ -499,12 +1063,12 @@ public final class SimulationEngine implements AutoCloseable {
 
     // Identify the nearest ancestor *activity* (excluding intermediate anonymous tasks).
     final var activityParents = new HashMap<SimulatedActivityId, SimulatedActivityId>();
-    engine.tasks.forEach((task, state) -> {
+    this.tasks.forEach((task, state) -> {
       if (!taskInfo.isActivity(task)) return;
 
-      var parent = engine.taskParent.get(task);
+      var parent = this.taskParent.get(task);
       while (parent != null && !taskInfo.isActivity(parent)) {
-        parent = engine.taskParent.get(parent);
+        parent = this.taskParent.get(parent);
       }
 
       if (parent != null) {
@@ -519,7 +1083,7 @@ public final class SimulationEngine implements AutoCloseable {
 
     final var simulatedActivities = new HashMap<SimulatedActivityId, SimulatedActivity>();
     final var unfinishedActivities = new HashMap<SimulatedActivityId, UnfinishedActivity>();
-    engine.tasks.forEach((task, state) -> {
+    this.tasks.forEach((task, state) -> {
       if (!taskInfo.isActivity(task)) return;
 
       final var activityId = taskToSimulatedActivityId.get(task.id());
@@ -564,47 +1128,85 @@ public final class SimulationEngine implements AutoCloseable {
       }
     });
 
+    return new ActivityResults(simulatedActivities, unfinishedActivities);
+  }
+
+  private static List<Triple<Integer, String, ValueSchema>> serializeTopics(
+      final Iterable<SerializableTopic<?>> serializableTopics,
+      final Map<SerializableTopic<?>, Integer> serializableTopicToId
+  ) {
     final List<Triple<Integer, String, ValueSchema>> topics = new ArrayList<>();
-    final var serializableTopicToId = new HashMap<SerializableTopic<?>, Integer>();
     for (final var serializableTopic : serializableTopics) {
       serializableTopicToId.put(serializableTopic, topics.size());
       topics.add(Triple.of(topics.size(), serializableTopic.name(), serializableTopic.outputType().getSchema()));
     }
+    return topics;
+  }
 
-    final var serializedTimeline = new TreeMap<Duration, List<EventGraph<Pair<Integer, SerializedValue>>>>();
-    var time = Duration.ZERO;
-    for (var point : timeline.points()) {
-      if (point instanceof TemporalEventSource.TimePoint.Delta delta) {
-        time = time.plus(delta.delta());
-      } else if (point instanceof TemporalEventSource.TimePoint.Commit commit) {
-        final var serializedEventGraph = commit.events().substitute(
-            event -> {
-              EventGraph<Pair<Integer, SerializedValue>> output = EventGraph.empty();
-              for (final var serializableTopic : serializableTopics) {
-                Optional<SerializedValue> serializedEvent = trySerializeEvent(event, serializableTopic);
-                if (serializedEvent.isPresent()) {
-                  output = EventGraph.concurrently(output, EventGraph.atom(Pair.of(serializableTopicToId.get(serializableTopic), serializedEvent.get())));
-                }
-              }
-              return output;
+  private static EventGraph<Pair<Integer, SerializedValue>> serializeCommit(
+      final EventGraph<Event> commit,
+      final Iterable<SerializableTopic<?>> serializableTopics,
+      final Map<SerializableTopic<?>, Integer> serializableTopicToId
+  ) {
+    return commit.substitute(
+        event -> {
+          EventGraph<Pair<Integer, SerializedValue>> output = EventGraph.empty();
+          for (final var serializableTopic : serializableTopics) {
+            Optional<SerializedValue> serializedEvent = trySerializeEvent(event, serializableTopic);
+            if (serializedEvent.isPresent()) {
+              output = EventGraph.concurrently(output, EventGraph.atom(Pair.of(serializableTopicToId.get(serializableTopic), serializedEvent.get())));
             }
-        ).evaluate(new EventGraph.IdentityTrait<>(), EventGraph::atom);
-        if (!(serializedEventGraph instanceof EventGraph.Empty)) {
-          serializedTimeline
-              .computeIfAbsent(time, x -> new ArrayList<>())
-              .add(serializedEventGraph);
+          }
+          return output;
         }
+    ).evaluate(new EventGraph.IdentityTrait<>(), EventGraph::atom);
+  }
+
+  /** The state needed to feed results to a sink while simulation is in progress. */
+  private static final class ResultsStream {
+    private final SimulationResultsSink sink;
+    private final Iterable<SerializableTopic<?>> serializableTopics;
+    private final Map<SerializableTopic<?>, Integer> serializableTopicToId = new HashMap<>();
+    private final TaskInfo taskInfo = new TaskInfo();
+    private final TaskInfo.Trait trait;
+
+    public ResultsStream(
+        final SimulationResultsSink sink,
+        final Topic<ActivityDirectiveId> activityTopic,
+        final Iterable<SerializableTopic<?>> serializableTopics
+    ) {
+      this.sink = Objects.requireNonNull(sink);
+      this.serializableTopics = Objects.requireNonNull(serializableTopics);
+      this.trait = new TaskInfo.Trait(serializableTopics, activityTopic);
+    }
+
+    public void declareResource(final String name, final Resource<?> resource) {
+      switch (resource.getType()) {
+        case "real" -> this.sink.declareRealProfile(name, resource.getOutputType().getSchema());
+        case "discrete" -> this.sink.declareDiscreteProfile(name, resource.getOutputType().getSchema());
+        default ->
+            throw new IllegalArgumentException(
+                "Resource `%s` has unknown type `%s`".formatted(name, resource.getType()));
       }
     }
 
-    return new SimulationResults(realProfiles,
-                                 discreteProfiles,
-                                 simulatedActivities,
-                                 unfinishedActivities,
-                                 startTime,
-                                 elapsedTime,
-                                 topics,
-                                 serializedTimeline);
+    // Resources may be updated concurrently when jobs are performed in parallel,
+    //   so access to the sink is serialized here. Each resource is updated at most once per batch,
+    //   so the segments of any one profile still arrive in order.
+    public synchronized <Dynamics>
+    void appendSegment(final String name, final Resource<Dynamics> resource, final Duration extent, final Dynamics dynamics) {
+      switch (resource.getType()) {
+        case "real" -> this.sink.appendRealSegment(
+            name,
+            new ProfileSegment<>(extent, extractRealDynamics(resource, dynamics)));
+        case "discrete" -> this.sink.appendDiscreteSegment(
+            name,
+            new ProfileSegment<>(extent, extractDiscreteDynamics(resource, dynamics)));
+        default ->
+            throw new IllegalArgumentException(
+                "Resource `%s` has unknown type `%s`".formatted(name, resource.getType()));
+      }
+    }
   }
 
   public Optional<Duration> getTaskDuration(TaskId taskId){
@@ -624,34 +1226,6 @@ public final class SimulationEngine implements AutoCloseable {
     <Dynamics> Target apply(Resource<Dynamics> resource, Dynamics dynamics);
   }
 
-  private static <Target, Dynamics>
-  List<ProfileSegment<Target>> serializeProfile(
-      final Duration elapsedTime,
-      final ProfilingState<Dynamics> state,
-      final Translator<Target> translator
-  ) {
-    final var profile = new ArrayList<ProfileSegment<Target>>(state.profile().segments().size());
-
-    final var iter = state.profile().segments().iterator();
-    if (iter.hasNext()) {
-      var segment = iter.next();
-      while (iter.hasNext()) {
-        final var nextSegment = iter.next();
-
-        profile.add(new ProfileSegment<>(
-            nextSegment.startOffset().minus(segment.startOffset()),
-            translator.apply(state.resource(), segment.dynamics())));
-        segment = nextSegment;
-      }
-
-      profile.add(new ProfileSegment<>(
-          elapsedTime.minus(segment.startOffset()),
-          translator.apply(state.resource(), segment.dynamics())));
-    }
-
-    return profile;
-  }
-
   private static <Dynamics>
   RealDynamics extractRealDynamics(final Resource<Dynamics> resource, final Dynamics dynamics) {
     final var serializedSegment = resource.getOutputType().serialize(dynamics).asMap().orElseThrow();
@@ -666,10 +1240,50 @@ public final class SimulationEngine implements AutoCloseable {
     return resource.getOutputType().serialize(dynamics);
   }
 
+  /**
+   * The immutable cell states read by a single job, kept so that repeated reads of the same cell skip the lookup.
+   *
+   * Time does not pass within a job, so a state can only change if the job itself emits an event
+   * on the cell's topic; each cached state remains valid until then.
+   * Only the states of immutable cells are kept, since they alone may be handed out more than once:
+   * every read of a mutable cell must produce a copy of its own, which the reader is free to mutate.
+   */
+  private static final class ReadCache {
+    private record Entry(Topic<?> topic, Object state) {}
+
+    // Most jobs read few cells, if any, so the map is only created on the first read.
+    private Map<Query<?>, Entry> entries = null;
+
+    public <State> Optional<State> get(final EngineCellId<?, State> cell) {
+      if (this.entries == null) return Optional.empty();
+
+      final var entry = this.entries.get(cell.query());
+      if (entry == null) return Optional.empty();
+
+      // SAFETY: Every entry for a query of type Query<State> holds a state of type State.
+      @SuppressWarnings("unchecked")
+      final var state = (State) entry.state();
+      return Optional.of(state);
+    }
+
+    public <State> void put(final EngineCellId<?, State> cell, final State state) {
+      if (!cell.immutable()) return;
+      if (this.entries == null) this.entries = new HashMap<>();
+      this.entries.put(cell.query(), new Entry(cell.topic(), state));
+    }
+
+    /** Forget the state of every cell which an event on the given topic may have changed. */
+    public void invalidate(final Topic<?> topic) {
+      if (this.entries == null) return;
+      this.entries.values().removeIf($ -> $.topic() == topic);
+    }
+  }
+
   /** A handle for processing requests from a modeled resource or condition. */
   private static final class EngineQuerier implements Querier {
     private final TaskFrame<JobId> frame;
     private final Set<Topic<?>> referencedTopics = new HashSet<>();
+    private final ReadCache readCache = new ReadCache();
     private Optional<Duration> expiry = Optional.empty();
 
     public EngineQuerier(final TaskFrame<JobId> frame) {
@@ -682,14 +1296,18 @@ public final class SimulationEngine implements AutoCloseable {
       @SuppressWarnings("unchecked")
       final var query = ((EngineCellId<?, State>) token);
 
+      // Conditions and resources never emit events, so a state read once holds for the rest of the query,
+      //   and its expiry and topic have already been accounted for.
+      // Mutable states are never cached, so each read gets a copy of its own.
+      final var cached = this.readCache.get(query);
+      if (cached.isPresent()) return cached.get();
+
       this.expiry = min(this.expiry, this.frame.getExpiry(query.query()));
       this.referencedTopics.add(query.topic());
 
-      // TODO: Cache the state (until the query returns) to avoid unnecessary copies
-      //  if the same state is requested multiple times in a row.
-      final var state$ = this.frame.getState(query.query());
-
-      return state$.orElseThrow(IllegalArgumentException::new);
+      final var state = this.frame.getState(query.query()).orElseThrow(IllegalArgumentException::new);
+      this.readCache.put(query, state);
+      return state;
     }
 
     private static Optional<Duration> min(final Optional<Duration> a, final Optional<Duration> b) {
@@ -704,11 +1322,20 @@ public final class SimulationEngine implements AutoCloseable {
     private final Duration currentTime;
     private final TaskId activeTask;
     private final TaskFrame<JobId> frame;
-
-    public EngineScheduler(final Duration currentTime, final TaskId activeTask, final TaskFrame<JobId> frame) {
+    /** The counters for the active task, or null if the engine is not instrumented. */
+    private final EngineMetrics.TaskCounters counters;
+    private final ReadCache readCache = new ReadCache();
+
+    public EngineScheduler(
+        final Duration currentTime,
+        final TaskId activeTask,
+        final TaskFrame<JobId> frame,
+        final EngineMetrics.TaskCounters counters
+    ) {
       this.currentTime = Objects.requireNonNull(currentTime);
       this.activeTask = Objects.requireNonNull(activeTask);
       this.frame = Objects.requireNonNull(frame);
+      this.counters = counters;
     }
 
     @Override
@@ -717,16 +1344,23 @@ public final class SimulationEngine implements AutoCloseable {
       @SuppressWarnings("unchecked")
       final var query = ((EngineCellId<?, State>) token);
 
-      // TODO: Cache the return value (until the next emit or until the task yields) to avoid unnecessary copies
-      //  if the same state is requested multiple times in a row.
-      final var state$ = this.frame.getState(query.query());
-      return state$.orElseThrow(IllegalArgumentException::new);
+      if (this.counters != null) this.counters.recordRead();
+
+      final var cached = this.readCache.get(query);
+      if (cached.isPresent()) return cached.get();
+
+      final var state = this.frame.getState(query.query()).orElseThrow(IllegalArgumentException::new);
+      this.readCache.put(query, state);
+      return state;
     }
 
     @Override
     public <EventType> void emit(final EventType event, final Topic<EventType> topic) {
+      if (this.counters != null) this.counters.recordEmit();
+
       // Append this event to the timeline.
       this.frame.emit(Event.create(topic, event, this.activeTask));
+      this.readCache.invalidate(topic);
 
       SimulationEngine.this.invalidateTopic(topic, this.currentTime);
     }
@@ -734,9 +1368,9 @@ public final class SimulationEngine implements AutoCloseable {
     @Override
     public void spawn(final TaskFactory<?> state) {
       final var task = TaskId.generate();
-      SimulationEngine.this.tasks.put(task, new ExecutionState.InProgress<>(this.currentTime, state.create(SimulationEngine.this.executor)));
+      SimulationEngine.this.tasks.put(task, new ExecutionState.InProgress<>(this.currentTime, state.create(SimulationEngine.this.taskExecutor)));
       SimulationEngine.this.taskParent.put(task, this.activeTask);
-      SimulationEngine.this.taskChildren.computeIfAbsent(this.activeTask, $ -> new HashSet<>()).add(task);
+      SimulationEngine.this.taskChildren.computeIfAbsent(this.activeTask, $ -> ConcurrentHashMap.newKeySet()).add(task);
       this.frame.signal(JobId.forTask(task));
     }
   }
@@ -774,10 +1408,18 @@ public final class SimulationEngine implements AutoCloseable {
 
   /** The lifecycle stages every task passes through. */
   private sealed interface ExecutionState<Return> {
+    /** Produce a copy of this state which shares no mutable state with it. */
+    ExecutionState<Return> duplicate(Executor executor);
+
     /** The task is in its primary operational phase. */
     record InProgress<Return>(Duration startOffset, Task<Return> state)
         implements ExecutionState<Return>
     {
+      @Override
+      public InProgress<Return> duplicate(final Executor executor) {
+        return new InProgress<>(this.startOffset, this.state.duplicate(executor));
+      }
+
       public AwaitingChildren<Return> completedAt(
           final Duration endOffset,
           final LinkedList<TaskId> remainingChildren) {
@@ -796,6 +1438,11 @@ public final class SimulationEngine implements AutoCloseable {
         LinkedList<TaskId> remainingChildren
     ) implements ExecutionState<Return>
     {
+      @Override
+      public AwaitingChildren<Return> duplicate(final Executor executor) {
+        return new AwaitingChildren<>(this.startOffset, this.endOffset, new LinkedList<>(this.remainingChildren));
+      }
+
       public Terminated<Return> joinedAt(final Duration joinOffset) {
         return new Terminated<>(this.startOffset, this.endOffset, joinOffset);
       }
@@ -806,6 +1453,12 @@ public final class SimulationEngine implements AutoCloseable {
         Duration startOffset,
         Duration endOffset,
         Duration joinOffset
-    ) implements ExecutionState<Return> {}
+    ) implements ExecutionState<Return>
+    {
+      @Override
+      public Terminated<Return> duplicate(final Executor executor) {
+        return this;
+      }
+    }
   }
 }
@@ -67,11 +67,27 @@ public final class SlabList<T> implements Iterable<T> {
     return new SlabIterator();
   }
 
+  /**
+   * Returns an iterator positioned after every element currently in the list.
+   *
+   * Like any other iterator over this list, it will observe elements appended after its creation.
+   */
+  public SlabIterator iteratorAtEnd() {
+    return new SlabIterator(this.tail, this.tail.elements().size());
+  }
+
   public final class SlabIterator implements Iterator<T> {
-    private Slab<T> slab = SlabList.this.head;
-    private int index = 0;
+    private Slab<T> slab;
+    private int index;
+
+    private SlabIterator() {
+      this(SlabList.this.head, 0);
+    }
 
-    private SlabIterator() {}
+    private SlabIterator(final Slab<T> slab, final int index) {
+      this.slab = slab;
+      this.index = index;
+    }
 
     @Override
     public boolean hasNext() {
@@ -16,7 +16,7 @@ public final class Subscriptions<TopicRef, QueryRef> {
   private final Map<TopicRef, Set<QueryRef>> queriesByTopic = new HashMap<>();
 
   // This method takes ownership of `topics`; the set should not be referenced after calling this method.
-  public void subscribeQuery(final QueryRef query, final Set<TopicRef> topics) {
+  public synchronized void subscribeQuery(final QueryRef query, final Set<TopicRef> topics) {
     this.topicsByQuery.put(query, topics);
 
     for (final var topic : topics) {
@@ -24,7 +24,7 @@ public final class Subscriptions<TopicRef, QueryRef> {
     }
   }
 
-  public void unsubscribeQuery(final QueryRef query) {
+  public synchronized void unsubscribeQuery(final QueryRef query) {
     final var topics = this.topicsByQuery.remove(query);
 
     for (final var topic : topics) {
@@ -36,7 +36,7 @@ public final class Subscriptions<TopicRef, QueryRef> {
     }
   }
 
-  public Set<QueryRef> invalidateTopic(final TopicRef topic) {
+  public synchronized Set<QueryRef> invalidateTopic(final TopicRef topic) {
     final var queries = Optional
         .ofNullable(this.queriesByTopic.remove(topic))
         .orElseGet(Collections::emptySet);
@@ -46,8 +46,19 @@ public final class Subscriptions<TopicRef, QueryRef> {
     return queries;
   }
 
-  public void clear() {
+  public synchronized void clear() {
     this.topicsByQuery.clear();
     this.queriesByTopic.clear();
   }
+
+  public synchronized Subscriptions<TopicRef, QueryRef> duplicate() {
+    final var duplicate = new Subscriptions<TopicRef, QueryRef>();
+    for (final var entry : this.topicsByQuery.entrySet()) {
+      duplicate.topicsByQuery.put(entry.getKey(), new HashSet<>(entry.getValue()));
+    }
+    for (final var entry : this.queriesByTopic.entrySet()) {
+      duplicate.queriesByTopic.put(entry.getKey(), new HashSet<>(entry.getValue()));
+    }
+    return duplicate;
+  }
 }
@@ -32,6 +32,13 @@ public final class CausalEventSource implements EventSource {
     return new CausalCursor();
   }
 
+  @Override
+  public CausalCursor cursorAtEnd() {
+    final var cursor = new CausalCursor();
+    cursor.index = this.size;
+    return cursor;
+  }
+
   public final class CausalCursor implements Cursor {
     private int index = 0;
 
@@ -3,6 +3,7 @@ package gov.nasa.jpl.aerie.merlin.driver.timeline;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
 import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
 import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.model.ImmutableCellType;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 
 import java.util.Optional;
@@ -11,7 +12,8 @@ import java.util.Set;
 /** Binds the state of a cell together with its dynamical behavior. */
 public final class Cell<State> {
   private final GenericCell<?, State> inner;
-  private final State state;
+  // Mutable states are updated in place; immutable states (see `ImmutableCellType`) are replaced.
+  private State state;
 
   private <Effect> Cell(final GenericCell<Effect, State> inner, final State state) {
     this.inner = inner;
@@ -24,7 +26,7 @@ public final class Cell<State> {
       final EventGraphEvaluator evaluator,
       final State state
   ) {
-    this(new GenericCell<>(cellType, cellType.getEffectType(), selector, evaluator), state);
+    this(new GenericCell<>(cellType, cellType.getEffectType(), selector, evaluator, selector.topics()), state);
   }
 
   public Cell<State> duplicate() {
@@ -32,19 +34,19 @@ public final class Cell<State> {
   }
 
   public void step(final Duration delta) {
-    this.inner.cellType.step(this.state, delta);
+    this.state = this.inner.step(this.state, delta);
   }
 
   public void apply(final EventGraph<Event> events) {
-    this.inner.apply(this.state, events);
+    this.state = this.inner.apply(this.state, events);
   }
 
   public void apply(final Event event) {
-    this.inner.apply(this.state, event);
+    this.state = this.inner.apply(this.state, event);
   }
 
   public void apply(final Event[] events, final int from, final int to) {
-    this.inner.apply(this.state, events, from, to);
+    this.state = this.inner.apply(this.state, events, from, to);
   }
 
   public Optional<Duration> getExpiry() {
@@ -59,6 +61,11 @@ public final class Cell<State> {
     return this.inner.selector.matchesAny(topics);
   }
 
+  /** Returns the topics whose events this cell may be affected by. The returned array must not be modified. */
+  public Topic<?>[] getTopics() {
+    return this.inner.topics;
+  }
+
   @Override
   public String toString() {
     return this.state.toString();
@@ -68,20 +75,36 @@ public final class Cell<State> {
       CellType<Effect, State> cellType,
       EffectTrait<Effect> algebra,
       Selector<Effect> selector,
-      EventGraphEvaluator evaluator
+      EventGraphEvaluator evaluator,
+      Topic<?>[] topics
   ) {
-    public void apply(final State state, final EventGraph<Event> events) {
+    public State step(final State state, final Duration delta) {
+      if (this.cellType instanceof ImmutableCellType<Effect, State> immutable) return immutable.stepped(state, delta);
+
+      this.cellType.step(state, delta);
+      return state;
+    }
+
+    public State apply(final State state, final EventGraph<Event> events) {
       final var effect$ = this.evaluator.evaluate(this.algebra, this.selector, events);
-      if (effect$.isPresent()) this.cellType.apply(state, effect$.get());
+      return (effect$.isPresent()) ? this.apply(state, effect$.get()) : state;
     }
 
-    public void apply(final State state, final Event event) {
+    public State apply(final State state, final Event event) {
       final var effect$ = this.selector.select(this.algebra, event);
-      if (effect$.isPresent()) this.cellType.apply(state, effect$.get());
+      return (effect$.isPresent()) ? this.apply(state, effect$.get()) : state;
+    }
+
+    public State apply(State state, final Event[] events, int from, final int to) {
+      while (from < to) state = this.apply(state, events[from++]);
+      return state;
     }
 
-    public void apply(final State state, final Event[] events, int from, final int to) {
-      while (from < to) apply(state, events[from++]);
+    private State apply(final State state, final Effect effect) {
+      if (this.cellType instanceof ImmutableCellType<Effect, State> immutable) return immutable.applied(state, effect);
+
+      this.cellType.apply(state, effect);
+      return state;
     }
   }
 }
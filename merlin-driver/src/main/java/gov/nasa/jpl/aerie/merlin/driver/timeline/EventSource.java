@@ -3,6 +3,9 @@ package gov.nasa.jpl.aerie.merlin.driver.timeline;
 public interface EventSource {
   Cursor cursor();
 
+  /** Returns a cursor which only observes events added to this source after its creation. */
+  Cursor cursorAtEnd();
+
   interface Cursor {
     void stepUp(Cell<?> cell);
   }
@@ -5,21 +5,38 @@ import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
 public final class LiveCells {
   // INVARIANT: Every Query<T> maps to a LiveCell<T>; that is, the type parameters are correlated.
   private final Map<Query<?>, LiveCell<?>> cells = new HashMap<>();
   private final EventSource source;
   private final LiveCells parent;
+  /** The number of cells copied from a parent context, by this context or any context descended from it. */
+  private final LongAdder duplications;
 
   public LiveCells(final EventSource source) {
     this.source = source;
     this.parent = null;
+    this.duplications = new LongAdder();
   }
 
   public LiveCells(final EventSource source, final LiveCells parent) {
     this.source = source;
     this.parent = parent;
+    // A context without a parent holds a model's initial cells, and may be shared by many simulations,
+    //   so each context directly over it keeps a tally of its own.
+    this.duplications = (parent == null || parent.parent == null) ? new LongAdder() : parent.duplications;
+  }
+
+  /**
+   * Get the number of cells copied from a parent context, by this context or any context descended from it.
+   *
+   * Contexts descended from a context directly over the initial cells share its tally,
+   * so the tally of the top-level context of a simulation counts every copy made during that simulation.
+   */
+  public long getDuplicationCount() {
+    return this.duplications.sum();
   }
 
   public <State> Optional<State> getState(final Query<State> query) {
@@ -30,12 +47,49 @@ public final class LiveCells {
     return getCell(query).flatMap(Cell::getExpiry);
   }
 
+  /**
+   * Captures the state of every cell held directly by this context, as of the current end of its event source.
+   *
+   * Cells which have not yet been copied from the parent context are not captured,
+   * so the parent context must not observe any further events.
+   */
+  public Snapshot snapshot() {
+    final var snapshot = new HashMap<Query<?>, Cell<?>>(this.cells.size());
+    for (final var entry : this.cells.entrySet()) {
+      snapshot.put(entry.getKey(), entry.getValue().get().duplicate());
+    }
+    return new Snapshot(snapshot, this.parent);
+  }
+
+  /**
+   * Resumes a snapshot of cells on top of the given event source.
+   *
+   * The captured cells observe only those events added to the source after this call,
+   * so the source must already contain every event the cells observed when the snapshot was taken.
+   * The snapshot itself is left untouched, and may be restored any number of times.
+   */
+  public static LiveCells restore(final Snapshot snapshot, final EventSource source) {
+    final var cells = new LiveCells(source, snapshot.parent());
+    for (final var entry : snapshot.cells().entrySet()) {
+      cells.cells.put(entry.getKey(), new LiveCell<>(entry.getValue().duplicate(), source.cursorAtEnd()));
+    }
+    return cells;
+  }
+
+  public record Snapshot(Map<Query<?>, Cell<?>> cells, LiveCells parent) {
+    public int size() {
+      return this.cells.size();
+    }
+  }
+
   public <State> void put(final Query<State> query, final Cell<State> cell) {
     // SAFETY: The query and cell share the same State type parameter.
     this.cells.put(query, new LiveCell<>(cell, this.source.cursor()));
   }
 
-  private <State> Optional<Cell<State>> getCell(final Query<State> query) {
+  // Contexts may be shared as the parent of several frames whose jobs are performed in parallel,
+  //   and looking up a cell mutates the context, so every lookup must be exclusive.
+  private synchronized <State> Optional<Cell<State>> getCell(final Query<State> query) {
     // First, check if we have this cell already.
     {
       // SAFETY: By the invariant, if there is an entry for this query, it is of type Cell<State>.
@@ -47,14 +101,19 @@ public final class LiveCells {
 
     // Otherwise, go ask our parent for the cell.
     if (this.parent == null) return Optional.empty();
-    final var cell$ = this.parent.getCell(query);
+    final var cell$ = this.parent.duplicateCell(query);
     if (cell$.isEmpty()) return Optional.empty();
 
-    final var cell = new LiveCell<>(cell$.get().duplicate(), this.source.cursor());
+    final var cell = new LiveCell<>(cell$.get(), this.source.cursor());
+    this.duplications.increment();
 
     // SAFETY: The query and cell share the same State type parameter.
     this.cells.put(query, cell);
 
     return Optional.of(cell.get());
   }
+
+  private synchronized <State> Optional<Cell<State>> duplicateCell(final Query<State> query) {
+    return getCell(query).map(Cell::duplicate);
+  }
 }
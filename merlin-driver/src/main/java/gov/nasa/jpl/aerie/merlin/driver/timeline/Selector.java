@@ -3,6 +3,7 @@ package gov.nasa.jpl.aerie.merlin.driver.timeline;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
 import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.function.Function;
@@ -43,6 +44,11 @@ public record Selector<Effect>(SelectorRow<?, Effect>... rows) {
     return false;
   }
 
+  /** Returns the distinct topics selected by this selector. */
+  public Topic<?>[] topics() {
+    return Arrays.stream(this.rows).map(SelectorRow::topic).distinct().toArray(Topic<?>[]::new);
+  }
+
   public record SelectorRow<EventType, Effect>(Topic<EventType> topic, Function<EventType, Effect> transform) {
     public Optional<Effect> select(final Event event$) {
       return event$.extract(this.topic, this.transform);
@@ -3,24 +3,58 @@ package gov.nasa.jpl.aerie.merlin.driver.timeline;
 import gov.nasa.jpl.aerie.merlin.driver.engine.SlabList;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 
-public record TemporalEventSource(SlabList<TimePoint> points) implements EventSource, Iterable<TemporalEventSource.TimePoint> {
-  public TemporalEventSource() {
-    this(new SlabList<>());
-  }
+/**
+ * A timeline of commits separated by the passage of time.
+ *
+ * Besides the time points themselves, the timeline keeps an index of the commits touching each topic,
+ * so that a cell catching up to the end of the timeline only visits the commits it is interested in,
+ * and takes all of the time elapsed between two such commits in a single step.
+ */
+public final class TemporalEventSource implements EventSource, Iterable<TemporalEventSource.TimePoint> {
+  private final SlabList<TimePoint> points = new SlabList<>();
+
+  /*derived*/
+  private final ArrayList<TimePoint.Commit> commits = new ArrayList<>();
+  /** The time elapsed (in microseconds) since the start of the timeline at each commit. */
+  private final LongArrayList commitTimes = new LongArrayList();
+  /** The positions in `commits` of the commits containing an event on each topic, in increasing order. */
+  private final Map<Topic<?>, IntArrayList> commitsByTopic = new Reference2ObjectOpenHashMap<>();
+  /** The time elapsed (in microseconds) since the start of the timeline. */
+  private long elapsed = 0;
 
   public void add(final Duration delta) {
     if (delta.isZero()) return;
     this.points.append(new TimePoint.Delta(delta));
+    this.elapsed += delta.in(Duration.MICROSECOND);
   }
 
   public void add(final EventGraph<Event> graph) {
     if (graph instanceof EventGraph.Empty) return;
-    this.points.append(new TimePoint.Commit(graph, extractTopics(graph)));
+
+    final var commit = new TimePoint.Commit(graph, extractTopics(graph));
+    final var position = this.commits.size();
+    for (final var topic : commit.topics()) {
+      this.commitsByTopic.computeIfAbsent(topic, $ -> new IntArrayList()).add(position);
+    }
+
+    this.points.append(commit);
+    this.commits.add(commit);
+    this.commitTimes.add(this.elapsed);
+  }
+
+  /** Returns the time points of this timeline, in order. */
+  public SlabList<TimePoint> points() {
+    return this.points;
   }
 
   @Override
@@ -28,32 +62,103 @@ public record TemporalEventSource(SlabList<TimePoint> points) implements EventSo
     return TemporalEventSource.this.points.iterator();
   }
 
+  /** Returns the number of time points in this timeline. */
+  public int size() {
+    return this.points.size();
+  }
+
+  /** Returns an independent timeline holding the first `size` time points of this timeline. */
+  public TemporalEventSource prefix(final int size) {
+    if (size < 0 || size > this.points.size()) {
+      throw new IllegalArgumentException("Prefix of size %d is out of range for a timeline of size %d".formatted(size, this.points.size()));
+    }
+
+    final var prefix = new TemporalEventSource();
+    final var iterator = this.points.iterator();
+    for (var i = 0; i < size; i += 1) {
+      final var point = iterator.next();
+      if (point instanceof TimePoint.Delta p) prefix.add(p.delta());
+      else if (point instanceof TimePoint.Commit p) prefix.add(p.events());
+      else throw new IllegalStateException();
+    }
+    return prefix;
+  }
+
   @Override
   public TemporalCursor cursor() {
-    return new TemporalCursor();
+    return new TemporalCursor(0, 0);
   }
 
+  @Override
+  public TemporalCursor cursorAtEnd() {
+    return new TemporalCursor(this.commits.size(), this.elapsed);
+  }
+
+  /**
+   * A position in the timeline, given by the number of commits and the amount of time it has passed over.
+   *
+   * Like an iterator over the timeline's points, a cursor is stable through appends:
+   * once it reaches the end of the timeline, it will pick up any points added afterward.
+   */
   public final class TemporalCursor implements Cursor {
-    private final SlabList<TimePoint>.SlabIterator iterator = TemporalEventSource.this.points.iterator();
+    private int nextCommit;
+    private long time;
 
-    private TemporalCursor() {}
+    private TemporalCursor(final int nextCommit, final long time) {
+      this.nextCommit = nextCommit;
+      this.time = time;
+    }
 
     @Override
     public void stepUp(final Cell<?> cell) {
-      while (this.iterator.hasNext()) {
-        final var point = this.iterator.next();
-
-        if (point instanceof TimePoint.Delta p) {
-          cell.step(p.delta());
-        } else if (point instanceof TimePoint.Commit p) {
-          if (cell.isInterestedIn(p.topics())) cell.apply(p.events());
-        } else {
-          throw new IllegalStateException();
-        }
+      final var topics = cell.getTopics();
+
+      while (true) {
+        final var commit = nextCommitOnAny(topics, this.nextCommit);
+        if (commit < 0) break;
+
+        final var commitTime = TemporalEventSource.this.commitTimes.getLong(commit);
+        if (commitTime > this.time) cell.step(Duration.of(commitTime - this.time, Duration.MICROSECOND));
+        cell.apply(TemporalEventSource.this.commits.get(commit).events());
+
+        this.nextCommit = commit + 1;
+        this.time = commitTime;
       }
+
+      final var endTime = TemporalEventSource.this.elapsed;
+      if (endTime > this.time) cell.step(Duration.of(endTime - this.time, Duration.MICROSECOND));
+
+      this.nextCommit = TemporalEventSource.this.commits.size();
+      this.time = endTime;
     }
   }
 
+  /** Returns the position of the first commit at or after `from` which touches any of the given topics, or -1 if none does. */
+  private int nextCommitOnAny(final Topic<?>[] topics, final int from) {
+    var next = -1;
+    for (final var topic : topics) {
+      final var candidate = nextCommitOn(topic, from);
+      if (candidate >= 0 && (next < 0 || candidate < next)) next = candidate;
+    }
+    return next;
+  }
+
+  private int nextCommitOn(final Topic<?> topic, final int from) {
+    final var positions = this.commitsByTopic.get(topic);
+    if (positions == null) return -1;
+
+    // Binary search for the first position no less than `from`.
+    var low = 0;
+    var high = positions.size();
+    while (low < high) {
+      final var mid = (low + high) >>> 1;
+      if (positions.getInt(mid) < from) low = mid + 1;
+      else high = mid;
+    }
+
+    return (low < positions.size()) ? positions.getInt(low) : -1;
+  }
+
 
   private static Set<Topic<?>> extractTopics(final EventGraph<Event> graph) {
     final var set = new ReferenceOpenHashSet<Topic<?>>();
@@ -0,0 +1,141 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationEngine;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.model.ImmutableCellType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Task;
+import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
+import gov.nasa.jpl.aerie.merlin.protocol.types.TaskStatus;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Unit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECOND;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class CellReadTest {
+  @Test
+  @DisplayName("Every read of a mutable cell gets a copy of its own, which the task may mutate")
+  public void testMutableReadsAreCopied() {
+    final var reads = new ArrayList<long[]>();
+
+    simulate(new CounterCellType(), new long[] {0L}, (ref, topic) -> scheduler -> {
+      reads.add(scheduler.get(ref));
+      reads.get(0)[0] = 42L;
+      reads.add(scheduler.get(ref));
+      scheduler.emit(1L, topic);
+      reads.add(scheduler.get(ref));
+      return TaskStatus.completed(Unit.UNIT);
+    });
+
+    assertNotSame(reads.get(0), reads.get(1));
+    assertNotSame(reads.get(1), reads.get(2));
+    assertArrayEquals(new long[] {0L}, reads.get(1));
+    assertArrayEquals(new long[] {1L}, reads.get(2));
+  }
+
+  @Test
+  @DisplayName("The states of an immutable cell are never copied")
+  public void testImmutableStatesAreNotCopied() {
+    final var reads = new ArrayList<Long>();
+
+    simulate(new ImmutableCounterCellType(), 1000L, (ref, topic) -> scheduler -> {
+      reads.add(scheduler.get(ref));
+      return TaskStatus.delayed(SECOND, $ -> {
+        reads.add($.get(ref));
+        reads.add($.get(ref));
+        $.emit(1L, topic);
+        reads.add($.get(ref));
+        return TaskStatus.completed(Unit.UNIT);
+      });
+    });
+
+    assertEquals(List.of(1000L, 1000L, 1000L, 1001L), reads);
+    // Boxed longs this large are not interned, so the same instance can only have been handed out by the cell itself.
+    assertSame(reads.get(0), reads.get(1));
+    assertSame(reads.get(1), reads.get(2));
+  }
+
+  private static <State> void simulate(
+      final CellType<Long, State> cellType,
+      final State initialState,
+      final BiFunction<CellId<State>, Topic<Long>, Task<Unit>> task)
+  {
+    final var initializer = new MissionModelBuilder();
+    final var topic = new Topic<Long>();
+    final var ref = initializer.allocate(initialState, cellType, $ -> $, topic);
+    initializer.daemon((TaskFactory<Unit>) executor -> task.apply(ref, topic));
+    final var model = initializer.build(ref, new DirectiveTypeRegistry<>(Map.of()));
+
+    final var now = Instant.now();
+    SimulationDriver.simulate(
+        model,
+        Map.of(),
+        now,
+        SECOND.times(2),
+        now,
+        SECOND.times(2),
+        () -> false,
+        $ -> {},
+        SimulationEngine.BatchMode.Serial,
+        new InMemorySimulationResultsSink());
+  }
+
+  private static final EffectTrait<Long> SUM = new EffectTrait<>() {
+    @Override
+    public Long empty() {
+      return 0L;
+    }
+
+    @Override
+    public Long sequentially(final Long prefix, final Long suffix) {
+      return prefix + suffix;
+    }
+
+    @Override
+    public Long concurrently(final Long left, final Long right) {
+      return left + right;
+    }
+  };
+
+  private static final class CounterCellType implements CellType<Long, long[]> {
+    @Override
+    public EffectTrait<Long> getEffectType() {
+      return SUM;
+    }
+
+    @Override
+    public long[] duplicate(final long[] state) {
+      return state.clone();
+    }
+
+    @Override
+    public void apply(final long[] state, final Long effect) {
+      state[0] += effect;
+    }
+  }
+
+  private static final class ImmutableCounterCellType implements ImmutableCellType<Long, Long> {
+    @Override
+    public EffectTrait<Long> getEffectType() {
+      return SUM;
+    }
+
+    @Override
+    public Long applied(final Long state, final Long effect) {
+      return state + effect;
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationEngine;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.LiveCells;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.TemporalEventSource;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Task;
+import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
+import gov.nasa.jpl.aerie.merlin.protocol.types.TaskStatus;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Unit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECOND;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.ZERO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EngineDuplicationTest {
+  @Test
+  @DisplayName("Tasks are only told they may be duplicated by a duplicable engine")
+  public void testTasksAreToldWhetherTheyMayBeDuplicated() {
+    final var executors = new ArrayList<Executor>();
+
+    try (final var engine = new SimulationEngine()) {
+      engine.scheduleTask(ZERO, recordingExecutor(executors));
+      step(engine, new LiveCells(new TemporalEventSource()));
+      assertThrows(IllegalStateException.class, engine::duplicate);
+    }
+
+    try (final var engine = new SimulationEngine(SimulationEngine.BatchMode.Serial, true)) {
+      engine.scheduleTask(ZERO, recordingExecutor(executors));
+      step(engine, new LiveCells(new TemporalEventSource()));
+    }
+
+    assertEquals(List.of(false, true), executors.stream().map($ -> $ instanceof Task.DuplicableExecutor).toList());
+  }
+
+  @Test
+  @DisplayName("A duplicate engine keeps running its tasks after the original is closed")
+  public void testDuplicateOutlivesOriginal() {
+    final var engine = new SimulationEngine(SimulationEngine.BatchMode.Serial, true);
+    final var steps = new AtomicInteger(0);
+    engine.scheduleTask(ZERO, executor -> usingExecutor(executor, steps));
+
+    final var cells = new LiveCells(new TemporalEventSource());
+    step(engine, cells);
+    assertEquals(1, steps.get());
+
+    final var duplicate = engine.duplicate();
+    engine.close();
+
+    // The remaining step of the task runs on the thread pool the duplicate shares with the closed original.
+    try (duplicate) {
+      step(duplicate, cells);
+      assertEquals(2, steps.get());
+    }
+  }
+
+  private static TaskFactory<Unit> recordingExecutor(final List<Executor> executors) {
+    return executor -> {
+      executors.add(executor);
+      return scheduler -> TaskStatus.completed(Unit.UNIT);
+    };
+  }
+
+  // A task which counts its steps on its executor, taking one step per second.
+  private static Task<Unit> usingExecutor(final Executor executor, final AtomicInteger steps) {
+    return scheduler -> {
+      CompletableFuture.runAsync(steps::incrementAndGet, executor).join();
+      return TaskStatus.delayed(SECOND, usingExecutor(executor, steps));
+    };
+  }
+
+  private static void step(final SimulationEngine engine, final LiveCells cells) {
+    final var batch = engine.extractNextJobs(SECOND.times(10));
+    engine.performJobs(batch.jobs(), cells, batch.offsetFromStart(), SECOND.times(10));
+  }
+}
@@ -0,0 +1,195 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationEngine;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.LiveCells;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.TemporalEventSource;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Querier;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.model.OutputType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Resource;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Task;
+import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.TaskStatus;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Unit;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECOND;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class IncrementalResultsTest {
+  private static final int TICKS = 30;
+
+  @Test
+  @DisplayName("Extending cached results matches computing them from scratch")
+  public void testIncrementalMatchesFromScratch() {
+    final var model = makeModel();
+    final var startTime = Instant.now();
+    final var activityTopic = new Topic<ActivityDirectiveId>();
+    final var cache = new SimulationEngine.ResultsCache();
+    final var earlierResults = new ArrayList<SimulationResults>();
+    final var earlierExpected = new ArrayList<SimulationResults>();
+
+    try (final var engine = new SimulationEngine()) {
+      final var timeline = new TemporalEventSource();
+      final var cells = new LiveCells(timeline, model.getInitialCells());
+      var elapsedTime = Duration.ZERO;
+
+      for (final var entry : model.getResources().entrySet()) {
+        engine.trackResource(entry.getKey(), entry.getValue(), elapsedTime);
+      }
+      engine.scheduleTask(Duration.ZERO, model.getDaemon());
+
+      while (elapsedTime.shorterThan(SECONDS.times(TICKS))) {
+        final var batch = engine.extractNextJobs(Duration.MAX_VALUE);
+        timeline.add(batch.offsetFromStart().minus(elapsedTime));
+        elapsedTime = batch.offsetFromStart();
+        timeline.add(engine.performJobs(batch.jobs(), cells, elapsedTime, Duration.MAX_VALUE));
+
+        // Request results partway through, as the scheduler does after most of its steps.
+        if (elapsedTime.in(SECONDS) % 7 == 0) {
+          final var incremental = SimulationEngine.computeResults(
+              engine, cache, startTime, elapsedTime, activityTopic, timeline, model.getTopics());
+          final var fromScratch = SimulationEngine.computeResults(
+              engine, startTime, elapsedTime, activityTopic, timeline, model.getTopics());
+
+          assertResultsEqual(fromScratch, incremental);
+          earlierResults.add(incremental);
+          earlierExpected.add(fromScratch);
+        }
+      }
+    }
+
+    // Results handed out earlier are unaffected by the cache being extended since.
+    for (var i = 0; i < earlierResults.size(); i += 1) {
+      assertResultsEqual(earlierExpected.get(i), earlierResults.get(i));
+    }
+  }
+
+  private static void assertResultsEqual(final SimulationResults expected, final SimulationResults actual) {
+    assertEquals(expected.discreteProfiles, actual.discreteProfiles);
+    assertEquals(expected.realProfiles, actual.realProfiles);
+    assertEquals(expected.topics, actual.topics);
+    assertEquals(expected.events, actual.events);
+    assertEquals(expected.simulatedActivities, actual.simulatedActivities);
+    assertEquals(expected.unfinishedActivities, actual.unfinishedActivities);
+  }
+
+  private static MissionModel<?> makeModel() {
+    final var initializer = new MissionModelBuilder();
+    final var topic = new Topic<Long>();
+
+    final var ref = initializer.allocate(new long[] {0L}, new CounterCellType(), $ -> $, topic);
+
+    initializer.daemon((TaskFactory<Unit>) executor -> tick(ref, topic, TICKS));
+    initializer.topic("counter", topic, new OutputType<>() {
+      @Override
+      public ValueSchema getSchema() {
+        return ValueSchema.INT;
+      }
+
+      @Override
+      public SerializedValue serialize(final Long value) {
+        return SerializedValue.of(value);
+      }
+    });
+
+    initializer.resource("/counter", new Resource<Long>() {
+      @Override
+      public OutputType<Long> getOutputType() {
+        return new OutputType<>() {
+          @Override
+          public ValueSchema getSchema() {
+            return ValueSchema.INT;
+          }
+
+          @Override
+          public SerializedValue serialize(final Long value) {
+            return SerializedValue.of(value);
+          }
+        };
+      }
+
+      @Override
+      public String getType() {
+        return "discrete";
+      }
+
+      @Override
+      public Long getDynamics(final Querier querier) {
+        return querier.getState(ref)[0];
+      }
+    });
+
+    return initializer.build(ref, new DirectiveTypeRegistry<>(Map.of()));
+  }
+
+  // Each tick emits twice in a row at the same instant, so that some time points span several commits.
+  private static Task<Unit> tick(final CellId<long[]> ref, final Topic<Long> topic, final int remaining) {
+    return scheduler -> {
+      scheduler.emit(1L, topic);
+
+      return TaskStatus.delayed(Duration.ZERO, $ -> {
+        $.emit(1L, topic);
+
+        return (remaining == 0)
+            ? TaskStatus.completed(Unit.UNIT)
+            : TaskStatus.delayed(SECOND, tick(ref, topic, remaining - 1));
+      });
+    };
+  }
+
+  private static final class CounterCellType implements CellType<Long, long[]> {
+    @Override
+    public long[] duplicate(final long[] state) {
+      return state.clone();
+    }
+
+    @Override
+    public void apply(final long[] state, final Long effect) {
+      state[0] += effect;
+    }
+
+    @Override
+    public void step(final long[] state, final Duration duration) {
+      // The counter does not evolve over time.
+    }
+
+    @Override
+    public Optional<Duration> getExpiry(final long[] state) {
+      return Optional.empty();
+    }
+
+    @Override
+    public EffectTrait<Long> getEffectType() {
+      return new EffectTrait<>() {
+        @Override
+        public Long empty() {
+          return 0L;
+        }
+
+        @Override
+        public Long sequentially(final Long prefix, final Long suffix) {
+          return prefix + suffix;
+        }
+
+        @Override
+        public Long concurrently(final Long left, final Long right) {
+          return left + right;
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,257 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Initializer;
+import gov.nasa.jpl.aerie.merlin.protocol.model.DirectiveType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.InputType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.MerlinPlugin;
+import gov.nasa.jpl.aerie.merlin.protocol.model.ModelType;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Unit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class MissionModelCacheTest {
+  private Path directory;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    this.directory = Files.createTempDirectory("mission-model-cache-test");
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    try (final var paths = Files.walk(this.directory)) {
+      for (final var path : paths.sorted(Comparator.reverseOrder()).toList()) Files.delete(path);
+    }
+  }
+
+  @Test
+  @DisplayName("Repeated requests for the same model are served from the cache")
+  public void testHit() throws Exception {
+    final var cache = new MissionModelCache(2);
+    final var jar = writeJar("model.jar");
+
+    final MerlinPlugin first;
+    try (final var lease = cache.acquire("1", jar, "model", "1.0")) {
+      first = lease.plugin();
+    }
+    try (final var lease = cache.acquire("1", jar, "model", "1.0")) {
+      assertSame(first, lease.plugin());
+    }
+
+    assertEquals(new Stats(1, 1, 0, 1), Stats.of(cache.getStats()));
+  }
+
+  @Test
+  @DisplayName("A modified JAR is reloaded")
+  public void testRevision() throws Exception {
+    final var cache = new MissionModelCache(2);
+    final var jar = writeJar("model.jar");
+
+    final MerlinPlugin first;
+    try (final var lease = cache.acquire("1", jar, "model", "1.0")) {
+      first = lease.plugin();
+    }
+
+    Files.setLastModifiedTime(jar, FileTime.from(Files.getLastModifiedTime(jar).toInstant().plusSeconds(60)));
+
+    try (final var lease = cache.acquire("1", jar, "model", "1.0")) {
+      assertNotSame(first, lease.plugin());
+    }
+
+    assertEquals(new Stats(0, 2, 1, 1), Stats.of(cache.getStats()));
+  }
+
+  @Test
+  @DisplayName("The least-recently-used model is evicted when the cache is full")
+  public void testCapacity() throws Exception {
+    final var cache = new MissionModelCache(2);
+    final var jar1 = writeJar("model1.jar");
+    final var jar2 = writeJar("model2.jar");
+    final var jar3 = writeJar("model3.jar");
+
+    cache.acquire("1", jar1, "model", "1.0").close();
+    cache.acquire("2", jar2, "model", "2.0").close();
+    cache.acquire("1", jar1, "model", "1.0").close();
+    cache.acquire("3", jar3, "model", "3.0").close();
+
+    // Model 2 was least recently used, so it was evicted in favor of model 3.
+    cache.acquire("1", jar1, "model", "1.0").close();
+    cache.acquire("2", jar2, "model", "2.0").close();
+
+    assertEquals(new Stats(2, 4, 2, 2), Stats.of(cache.getStats()));
+  }
+
+  @Test
+  @DisplayName("An evicted model remains usable until its lease is released")
+  public void testEvictWhileLeased() throws Exception {
+    final var cache = new MissionModelCache(1);
+    final var jar = writeJar("model.jar");
+
+    try (final var lease = cache.acquire("1", jar, "model", "1.0")) {
+      cache.evict("1");
+      assertEquals(Map.of(), lease.registry().directiveTypes());
+
+      try (final var reloaded = cache.acquire("1", jar, "model", "1.0")) {
+        assertNotSame(lease.plugin(), reloaded.plugin());
+      }
+    }
+
+    assertEquals(new Stats(0, 2, 1, 1), Stats.of(cache.getStats()));
+  }
+
+  @Test
+  @DisplayName("Attachments are loaded once per cached model")
+  public void testAttachment() throws Exception {
+    final var cache = new MissionModelCache(1);
+    final var jar = writeJar("model.jar");
+    final var loads = new int[] {0};
+    final MissionModelCache.AttachmentLoader<String, RuntimeException> loader = classLoader -> {
+      loads[0] += 1;
+      return "attachment " + loads[0];
+    };
+
+    try (final var lease = cache.acquire("1", jar, "model", "1.0")) {
+      assertEquals("attachment 1", lease.attachment(String.class, loader));
+    }
+    try (final var lease = cache.acquire("1", jar, "model", "1.0")) {
+      assertEquals("attachment 1", lease.attachment(String.class, loader));
+    }
+
+    cache.evict("1");
+    try (final var lease = cache.acquire("1", jar, "model", "1.0")) {
+      assertEquals("attachment 2", lease.attachment(String.class, loader));
+    }
+  }
+
+  @Test
+  @DisplayName("Loading one model holds up neither requests for other models nor a second load of the same model")
+  public void testConcurrentLoads() throws Exception {
+    final var cache = new MissionModelCache(2);
+    final var slowJar = writeJar("slow.jar", BlockingPlugin.class);
+    final var fastJar = writeJar("fast.jar");
+
+    final var pool = Executors.newFixedThreadPool(2);
+    try {
+      BlockingPlugin.loading = new CountDownLatch(1);
+      BlockingPlugin.proceed = new CountDownLatch(1);
+
+      final var first = pool.submit(() -> acquirePlugin(cache, "1", slowJar));
+      assertTrue(BlockingPlugin.loading.await(10, TimeUnit.SECONDS));
+      final var second = pool.submit(() -> acquirePlugin(cache, "1", slowJar));
+
+      // The slow model is still loading, but another model can be loaded meanwhile.
+      try (final var lease = cache.acquire("2", fastJar, "model", "1.0")) {
+        assertEquals(Map.of(), lease.registry().directiveTypes());
+      }
+
+      BlockingPlugin.proceed.countDown();
+      assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+    } finally {
+      BlockingPlugin.proceed.countDown();
+      pool.shutdownNow();
+    }
+
+    assertEquals(new Stats(1, 2, 0, 2), Stats.of(cache.getStats()));
+  }
+
+  @Test
+  @DisplayName("A missing JAR fails to load")
+  public void testMissingJar() {
+    final var cache = new MissionModelCache(1);
+
+    assertThrows(
+        MissionModelLoader.MissionModelLoadException.class,
+        () -> cache.acquire("1", this.directory.resolve("missing.jar"), "model", "1.0"));
+  }
+
+  /** The parts of {@link MissionModelCache.Stats} which don't depend on timing. */
+  private record Stats(long hits, long misses, long evictions, int size) {
+    public static Stats of(final MissionModelCache.Stats stats) {
+      return new Stats(stats.hits(), stats.misses(), stats.evictions(), stats.size());
+    }
+  }
+
+  private static MerlinPlugin acquirePlugin(final MissionModelCache cache, final String id, final Path jar)
+  throws MissionModelLoader.MissionModelLoadException
+  {
+    try (final var lease = cache.acquire(id, jar, "model", "1.0")) {
+      return lease.plugin();
+    }
+  }
+
+  private Path writeJar(final String name) throws IOException {
+    return writeJar(name, TestPlugin.class);
+  }
+
+  // The JAR need only register the plugin; its class is already visible through the test's own class loader.
+  private Path writeJar(final String name, final Class<? extends MerlinPlugin> plugin) throws IOException {
+    final var path = this.directory.resolve(name);
+    try (final var jar = new JarOutputStream(Files.newOutputStream(path))) {
+      jar.putNextEntry(new JarEntry("META-INF/services/" + MerlinPlugin.class.getCanonicalName()));
+      jar.write(plugin.getName().getBytes(StandardCharsets.UTF_8));
+      jar.closeEntry();
+    }
+    return path;
+  }
+
+  public static final class TestPlugin implements MerlinPlugin {
+    @Override
+    public ModelType<?, ?> getModelType() {
+      return new ModelType<Unit, Unit>() {
+        @Override
+        public Map<String, ? extends DirectiveType<Unit, ?, ?>> getDirectiveTypes() {
+          return Map.of();
+        }
+
+        @Override
+        public InputType<Unit> getConfigurationType() {
+          throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Unit instantiate(final Instant planStart, final Unit configuration, final Initializer builder) {
+          return Unit.UNIT;
+        }
+      };
+    }
+  }
+
+  /** A plugin which takes as long to load as the test asks it to. */
+  public static final class BlockingPlugin implements MerlinPlugin {
+    private static volatile CountDownLatch loading;
+    private static volatile CountDownLatch proceed;
+
+    @Override
+    public ModelType<?, ?> getModelType() {
+      loading.countDown();
+      try {
+        proceed.await();
+      } catch (final InterruptedException ex) {
+        throw new RuntimeException(ex);
+      }
+      return new TestPlugin().getModelType();
+    }
+  }
+}
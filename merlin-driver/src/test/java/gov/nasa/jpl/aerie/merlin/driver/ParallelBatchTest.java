@@ -0,0 +1,166 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationEngine;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Querier;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.model.OutputType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Resource;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Task;
+import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.TaskStatus;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Unit;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class ParallelBatchTest {
+  private static final int DAEMONS = 200;
+  private static final int TICKS = 20;
+
+  @Test
+  @DisplayName("Performing batches in parallel produces the same results as performing them serially")
+  public void testParallelMatchesSerial() {
+    final var serial = simulate(SimulationEngine.BatchMode.Serial);
+    final var parallel = simulate(SimulationEngine.BatchMode.Parallel);
+
+    assertEquals(serial.discreteProfiles, parallel.discreteProfiles);
+    assertEquals(serial.realProfiles, parallel.realProfiles);
+    assertEquals(countEvents(serial), countEvents(parallel));
+
+    // Every daemon and every child it calls increments the counter once per tick.
+    final var segments = parallel.discreteProfiles.get("/counter").getRight();
+    assertEquals(SerializedValue.of(2L * DAEMONS * (TICKS + 1)), segments.get(segments.size() - 1).dynamics());
+  }
+
+  private static SimulationResults simulate(final SimulationEngine.BatchMode batchMode) {
+    final var now = Instant.now();
+    return SimulationDriver.simulate(
+        makeModel(),
+        Map.of(),
+        now,
+        Duration.SECONDS.times(TICKS + 1),
+        now,
+        Duration.SECONDS.times(TICKS + 1),
+        () -> false,
+        $ -> {},
+        batchMode);
+  }
+
+  private static Map<Duration, Integer> countEvents(final SimulationResults results) {
+    final var counts = new TreeMap<Duration, Integer>();
+    results.events.forEach((time, graphs) -> counts.put(time, graphs.size()));
+    return counts;
+  }
+
+  private static MissionModel<?> makeModel() {
+    final var initializer = new MissionModelBuilder();
+    final var topic = new Topic<Long>();
+
+    final var ref = initializer.allocate(new long[] {0L}, new CounterCellType(), $ -> $, topic);
+
+    for (var i = 0; i < DAEMONS; i += 1) {
+      initializer.daemon((TaskFactory<Unit>) executor -> tick(ref, topic, TICKS));
+    }
+
+    initializer.resource("/counter", new Resource<Long>() {
+      @Override
+      public OutputType<Long> getOutputType() {
+        return new OutputType<>() {
+          @Override
+          public ValueSchema getSchema() {
+            return ValueSchema.INT;
+          }
+
+          @Override
+          public SerializedValue serialize(final Long value) {
+            return SerializedValue.of(value);
+          }
+        };
+      }
+
+      @Override
+      public String getType() {
+        return "discrete";
+      }
+
+      @Override
+      public Long getDynamics(final Querier querier) {
+        return querier.getState(ref)[0];
+      }
+    });
+
+    return initializer.build(ref, new DirectiveTypeRegistry<>(Map.of()));
+  }
+
+  // Each tick reads the counter, increments it, then calls a child task which does the same.
+  private static Task<Unit> tick(final CellId<long[]> ref, final Topic<Long> topic, final int remaining) {
+    return scheduler -> {
+      scheduler.get(ref);
+      scheduler.emit(1L, topic);
+
+      return TaskStatus.calling(
+          executor -> $ -> {
+            $.get(ref);
+            $.emit(1L, topic);
+            return TaskStatus.completed(Unit.UNIT);
+          },
+          $ -> (remaining == 0)
+              ? TaskStatus.completed(Unit.UNIT)
+              : TaskStatus.delayed(Duration.SECOND, tick(ref, topic, remaining - 1)));
+    };
+  }
+
+  private static final class CounterCellType implements CellType<Long, long[]> {
+    @Override
+    public long[] duplicate(final long[] state) {
+      return state.clone();
+    }
+
+    @Override
+    public void apply(final long[] state, final Long effect) {
+      state[0] += effect;
+    }
+
+    @Override
+    public void step(final long[] state, final Duration duration) {
+      // The counter does not evolve over time.
+    }
+
+    @Override
+    public Optional<Duration> getExpiry(final long[] state) {
+      return Optional.empty();
+    }
+
+    @Override
+    public EffectTrait<Long> getEffectType() {
+      return new EffectTrait<>() {
+        @Override
+        public Long empty() {
+          return 0L;
+        }
+
+        @Override
+        public Long sequentially(final Long prefix, final Long suffix) {
+          return prefix + suffix;
+        }
+
+        @Override
+        public Long concurrently(final Long left, final Long right) {
+          return left + right;
+        }
+      };
+    }
+  }
+}
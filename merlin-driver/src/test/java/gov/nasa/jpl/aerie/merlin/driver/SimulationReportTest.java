@@ -0,0 +1,180 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationEngine;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Querier;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Condition;
+import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.model.OutputType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Resource;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Task;
+import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.TaskStatus;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Unit;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECOND;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class SimulationReportTest {
+  private static final int TICKS = 10;
+
+  @Test
+  @DisplayName("An instrumented simulation reports the work of its tasks, resources, and commits")
+  public void testInstrumentedSimulationReportsItsWork() {
+    final var results = simulate(new InMemorySimulationResultsSink(true));
+    final var report = results.report.orElseThrow();
+
+    // The model's daemons are spawned by a task of their own, which steps once.
+    // The ticking daemon steps once per tick, reading and then incrementing the counter each time.
+    // The waiting daemon steps once to begin waiting, and once more when the counter reaches its threshold.
+    final var daemons = report.activityTypes().get(SimulationReport.NO_ACTIVITY);
+    assertEquals(3, daemons.tasks());
+    assertEquals(1 + (TICKS + 1) + 2, daemons.steps());
+    assertEquals(TICKS + 1, daemons.yields());
+    assertEquals(TICKS + 1, daemons.reads());
+    assertEquals(TICKS + 1, daemons.emits());
+    assertTrue(daemons.conditionEvaluations() > 0);
+    assertTrue(daemons.stepNanos() > 0);
+
+    // The counter changes at every tick, starting with the first instant of the simulation,
+    //   and is sampled once after each change.
+    assertEquals(Map.of("/counter", (long) TICKS + 1), report.resourceSamples());
+
+    assertEquals(TICKS + 1, report.commits().events());
+    assertEquals(1, report.commits().maxEvents());
+    assertTrue(report.cellDuplications() > 0);
+  }
+
+  @Test
+  @DisplayName("A simulation is not instrumented unless a report is asked for")
+  public void testSimulationIsNotInstrumentedByDefault() {
+    assertEquals(Optional.empty(), simulate(new InMemorySimulationResultsSink()).report);
+  }
+
+  private static SimulationResults simulate(final InMemorySimulationResultsSink sink) {
+    final var now = Instant.now();
+    SimulationDriver.simulate(
+        makeModel(),
+        Map.of(),
+        now,
+        SECONDS.times(TICKS),
+        now,
+        SECONDS.times(TICKS),
+        () -> false,
+        $ -> {},
+        SimulationEngine.BatchMode.Serial,
+        sink);
+    return sink.getResults();
+  }
+
+  private static MissionModel<?> makeModel() {
+    final var initializer = new MissionModelBuilder();
+    final var topic = new Topic<Long>();
+
+    final var ref = initializer.allocate(new long[] {0L}, new CounterCellType(), $ -> $, topic);
+
+    initializer.daemon((TaskFactory<Unit>) executor -> tick(ref, topic, TICKS));
+    initializer.daemon((TaskFactory<Unit>) executor -> scheduler -> TaskStatus.awaiting(
+        atLeast(ref, TICKS / 2),
+        $ -> TaskStatus.completed(Unit.UNIT)));
+
+    initializer.resource("/counter", new Resource<Long>() {
+      @Override
+      public OutputType<Long> getOutputType() {
+        return new OutputType<>() {
+          @Override
+          public ValueSchema getSchema() {
+            return ValueSchema.INT;
+          }
+
+          @Override
+          public SerializedValue serialize(final Long value) {
+            return SerializedValue.of(value);
+          }
+        };
+      }
+
+      @Override
+      public String getType() {
+        return "discrete";
+      }
+
+      @Override
+      public Long getDynamics(final Querier querier) {
+        return querier.getState(ref)[0];
+      }
+    });
+
+    return initializer.build(ref, new DirectiveTypeRegistry<>(Map.of()));
+  }
+
+  private static Task<Unit> tick(final CellId<long[]> ref, final Topic<Long> topic, final int remaining) {
+    return scheduler -> {
+      scheduler.get(ref);
+      scheduler.emit(1L, topic);
+
+      return (remaining == 0)
+          ? TaskStatus.completed(Unit.UNIT)
+          : TaskStatus.delayed(SECOND, tick(ref, topic, remaining - 1));
+    };
+  }
+
+  private static Condition atLeast(final CellId<long[]> ref, final long threshold) {
+    return (querier, horizon) -> (querier.getState(ref)[0] >= threshold) ? Optional.of(Duration.ZERO) : Optional.empty();
+  }
+
+  private static final class CounterCellType implements CellType<Long, long[]> {
+    @Override
+    public long[] duplicate(final long[] state) {
+      return state.clone();
+    }
+
+    @Override
+    public void apply(final long[] state, final Long effect) {
+      state[0] += effect;
+    }
+
+    @Override
+    public void step(final long[] state, final Duration duration) {
+      // The counter does not evolve over time.
+    }
+
+    @Override
+    public Optional<Duration> getExpiry(final long[] state) {
+      return Optional.empty();
+    }
+
+    @Override
+    public EffectTrait<Long> getEffectType() {
+      return new EffectTrait<>() {
+        @Override
+        public Long empty() {
+          return 0L;
+        }
+
+        @Override
+        public Long sequentially(final Long prefix, final Long suffix) {
+          return prefix + suffix;
+        }
+
+        @Override
+        public Long concurrently(final Long left, final Long right) {
+          return left + right;
+        }
+      };
+    }
+  }
+}
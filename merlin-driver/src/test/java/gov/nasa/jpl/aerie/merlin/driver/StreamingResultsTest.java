@@ -0,0 +1,224 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationEngine;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Querier;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.model.OutputType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Resource;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Task;
+import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.TaskStatus;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Unit;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECOND;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class StreamingResultsTest {
+  private static final int TICKS = 10;
+
+  @Test
+  @DisplayName("Profile segments are streamed out as soon as they are superseded")
+  public void testSegmentsAreStreamedIncrementally() {
+    final var elapsed = new Duration[] {Duration.ZERO};
+    final var sink = new RecordingSink(elapsed);
+
+    final var now = Instant.now();
+    SimulationDriver.simulate(
+        makeModel(),
+        Map.of(),
+        now,
+        SECONDS.times(TICKS),
+        now,
+        SECONDS.times(TICKS),
+        () -> false,
+        $ -> elapsed[0] = $,
+        SimulationEngine.BatchMode.Serial,
+        sink);
+
+    final var expected = new ArrayList<ProfileSegment<SerializedValue>>();
+    for (var i = 1; i <= TICKS; i += 1) expected.add(new ProfileSegment<>(SECOND, SerializedValue.of(i)));
+    expected.add(new ProfileSegment<>(Duration.ZERO, SerializedValue.of(TICKS + 1)));
+    assertEquals(expected, sink.results.getResults().discreteProfiles.get("/counter").getRight());
+
+    // Every segment but the last was handed off as soon as the next one began.
+    for (var i = 0; i < TICKS; i += 1) {
+      assertEquals(SECONDS.times(i + 1), sink.segmentArrivals.get(i));
+    }
+    assertEquals(TICKS + 1, sink.eventArrivals.size());
+  }
+
+  private static MissionModel<?> makeModel() {
+    final var initializer = new MissionModelBuilder();
+    final var topic = new Topic<Long>();
+
+    final var ref = initializer.allocate(new long[] {0L}, new CounterCellType(), $ -> $, topic);
+
+    initializer.daemon((TaskFactory<Unit>) executor -> tick(ref, topic, TICKS));
+    initializer.topic("counter", topic, new OutputType<>() {
+      @Override
+      public ValueSchema getSchema() {
+        return ValueSchema.INT;
+      }
+
+      @Override
+      public SerializedValue serialize(final Long value) {
+        return SerializedValue.of(value);
+      }
+    });
+
+    initializer.resource("/counter", new Resource<Long>() {
+      @Override
+      public OutputType<Long> getOutputType() {
+        return new OutputType<>() {
+          @Override
+          public ValueSchema getSchema() {
+            return ValueSchema.INT;
+          }
+
+          @Override
+          public SerializedValue serialize(final Long value) {
+            return SerializedValue.of(value);
+          }
+        };
+      }
+
+      @Override
+      public String getType() {
+        return "discrete";
+      }
+
+      @Override
+      public Long getDynamics(final Querier querier) {
+        return querier.getState(ref)[0];
+      }
+    });
+
+    return initializer.build(ref, new DirectiveTypeRegistry<>(Map.of()));
+  }
+
+  private static Task<Unit> tick(final CellId<long[]> ref, final Topic<Long> topic, final int remaining) {
+    return scheduler -> {
+      scheduler.emit(1L, topic);
+
+      return (remaining == 0)
+          ? TaskStatus.completed(Unit.UNIT)
+          : TaskStatus.delayed(SECOND, tick(ref, topic, remaining - 1));
+    };
+  }
+
+  /** Records the simulation time at which each piece of the results arrived, then forwards it to an in-memory sink. */
+  private static final class RecordingSink implements SimulationResultsSink {
+    private final Duration[] elapsed;
+    private final InMemorySimulationResultsSink results = new InMemorySimulationResultsSink();
+    private final List<Duration> segmentArrivals = new ArrayList<>();
+    private final List<Duration> eventArrivals = new ArrayList<>();
+
+    public RecordingSink(final Duration[] elapsed) {
+      this.elapsed = elapsed;
+    }
+
+    @Override
+    public void declareTopics(final List<Triple<Integer, String, ValueSchema>> topics) {
+      this.results.declareTopics(topics);
+    }
+
+    @Override
+    public void declareRealProfile(final String name, final ValueSchema schema) {
+      this.results.declareRealProfile(name, schema);
+    }
+
+    @Override
+    public void declareDiscreteProfile(final String name, final ValueSchema schema) {
+      this.results.declareDiscreteProfile(name, schema);
+    }
+
+    @Override
+    public void appendRealSegment(final String name, final ProfileSegment<RealDynamics> segment) {
+      this.results.appendRealSegment(name, segment);
+    }
+
+    @Override
+    public void appendDiscreteSegment(final String name, final ProfileSegment<SerializedValue> segment) {
+      this.segmentArrivals.add(this.elapsed[0]);
+      this.results.appendDiscreteSegment(name, segment);
+    }
+
+    @Override
+    public void appendEvents(final Duration time, final EventGraph<Pair<Integer, SerializedValue>> events) {
+      this.eventArrivals.add(this.elapsed[0]);
+      this.results.appendEvents(time, events);
+    }
+
+    @Override
+    public void complete(
+        final Instant startTime,
+        final Duration elapsedTime,
+        final Map<SimulatedActivityId, SimulatedActivity> simulatedActivities,
+        final Map<SimulatedActivityId, UnfinishedActivity> unfinishedActivities)
+    {
+      this.results.complete(startTime, elapsedTime, simulatedActivities, unfinishedActivities);
+    }
+  }
+
+  private static final class CounterCellType implements CellType<Long, long[]> {
+    @Override
+    public long[] duplicate(final long[] state) {
+      return state.clone();
+    }
+
+    @Override
+    public void apply(final long[] state, final Long effect) {
+      state[0] += effect;
+    }
+
+    @Override
+    public void step(final long[] state, final Duration duration) {
+      // The counter does not evolve over time.
+    }
+
+    @Override
+    public Optional<Duration> getExpiry(final long[] state) {
+      return Optional.empty();
+    }
+
+    @Override
+    public EffectTrait<Long> getEffectType() {
+      return new EffectTrait<>() {
+        @Override
+        public Long empty() {
+          return 0L;
+        }
+
+        @Override
+        public Long sequentially(final Long prefix, final Long suffix) {
+          return prefix + suffix;
+        }
+
+        @Override
+        public Long concurrently(final Long left, final Long right) {
+          return left + right;
+        }
+      };
+    }
+  }
+}
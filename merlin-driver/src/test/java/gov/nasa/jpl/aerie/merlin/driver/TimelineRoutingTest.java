@@ -0,0 +1,144 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.TaskId;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.Cell;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.Event;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.IterativeEventGraphEvaluator;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.Selector;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.TemporalEventSource;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class TimelineRoutingTest {
+  private final TaskId provenance = TaskId.generate();
+  private final Topic<String> topicA = new Topic<>();
+  private final Topic<String> topicB = new Topic<>();
+
+  @Test
+  @DisplayName("A cell catching up visits only the commits on its topics, and passes over the time between them in one step")
+  public void testCellVisitsOnlyRelevantCommits() {
+    final var timeline = new TemporalEventSource();
+    timeline.add(SECONDS.times(1));
+    timeline.add(this.commit(this.topicA, "a1"));
+    timeline.add(SECONDS.times(1));
+    timeline.add(this.commit(this.topicB, "b1"));
+    timeline.add(SECONDS.times(2));
+    timeline.add(this.commit(this.topicB, "b2"));
+    timeline.add(SECONDS.times(1));
+    timeline.add(this.commit(this.topicA, "a2"));
+    timeline.add(SECONDS.times(3));
+
+    final var log = new ArrayList<String>();
+    final var cell = this.cell(new Selector<>(this.topicA, $ -> $), log);
+    final var cursor = timeline.cursor();
+
+    cursor.stepUp(cell);
+    assertEquals(List.of("step 1", "apply a1", "step 4", "apply a2", "step 3"), log);
+
+    // The cursor picks up wherever it left off once more points are added.
+    log.clear();
+    timeline.add(this.commit(this.topicB, "b3"));
+    timeline.add(SECONDS.times(2));
+    timeline.add(this.commit(this.topicA, "a3"));
+
+    cursor.stepUp(cell);
+    assertEquals(List.of("step 2", "apply a3"), log);
+  }
+
+  @Test
+  @DisplayName("A cell on several topics visits the commits on each of them in order")
+  public void testCellOnSeveralTopics() {
+    final var timeline = new TemporalEventSource();
+    timeline.add(this.commit(this.topicB, "b1"));
+    timeline.add(SECONDS.times(1));
+    timeline.add(this.commit(this.topicA, "a1"));
+    timeline.add(SECONDS.times(1));
+    timeline.add(this.commit(this.topicB, "b2"));
+
+    final var log = new ArrayList<String>();
+    final var cell = this.cell(new Selector<>(
+        new Selector.SelectorRow<>(this.topicA, $ -> $),
+        new Selector.SelectorRow<>(this.topicB, $ -> $)), log);
+
+    timeline.cursor().stepUp(cell);
+    assertEquals(List.of("apply b1", "step 1", "apply a1", "step 1", "apply b2"), log);
+  }
+
+  @Test
+  @DisplayName("A cursor at the end of a timeline only observes points added after its creation")
+  public void testCursorAtEnd() {
+    final var timeline = new TemporalEventSource();
+    timeline.add(SECONDS.times(1));
+    timeline.add(this.commit(this.topicA, "a1"));
+
+    final var log = new ArrayList<String>();
+    final var cell = this.cell(new Selector<>(this.topicA, $ -> $), log);
+    final var cursor = timeline.cursorAtEnd();
+
+    cursor.stepUp(cell);
+    assertEquals(List.of(), log);
+
+    timeline.add(SECONDS.times(5));
+    timeline.add(this.commit(this.topicA, "a2"));
+
+    cursor.stepUp(cell);
+    assertEquals(List.of("step 5", "apply a2"), log);
+  }
+
+  private EventGraph<Event> commit(final Topic<String> topic, final String value) {
+    return EventGraph.atom(Event.create(topic, value, this.provenance));
+  }
+
+  private Cell<List<String>> cell(final Selector<String> selector, final List<String> log) {
+    return new Cell<>(new LogCellType(), selector, new IterativeEventGraphEvaluator(), log);
+  }
+
+  /** A cell which records every change made to it, sharing one log across all copies. */
+  private static final class LogCellType implements CellType<String, List<String>> {
+    @Override
+    public EffectTrait<String> getEffectType() {
+      return new EffectTrait<>() {
+        @Override
+        public String empty() {
+          return "";
+        }
+
+        @Override
+        public String sequentially(final String prefix, final String suffix) {
+          return prefix + suffix;
+        }
+
+        @Override
+        public String concurrently(final String left, final String right) {
+          return left + right;
+        }
+      };
+    }
+
+    @Override
+    public List<String> duplicate(final List<String> log) {
+      return log;
+    }
+
+    @Override
+    public void apply(final List<String> log, final String effect) {
+      log.add("apply " + effect);
+    }
+
+    @Override
+    public void step(final List<String> log, final Duration duration) {
+      log.add("step " + duration.dividedBy(Duration.SECOND));
+    }
+  }
+}
@@ -4,6 +4,7 @@ import com.squareup.javapoet.ClassName;
 import gov.nasa.jpl.aerie.contrib.models.ValidationResult;
 import gov.nasa.jpl.aerie.merlin.framework.MetadataValueMapper;
 import gov.nasa.jpl.aerie.merlin.framework.Registrar;
+import gov.nasa.jpl.aerie.merlin.framework.Resumable;
 import gov.nasa.jpl.aerie.merlin.framework.ValueMapper;
 import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType;
 import gov.nasa.jpl.aerie.merlin.framework.annotations.Export;
@@ -18,6 +19,7 @@ import gov.nasa.jpl.aerie.merlin.processor.metamodel.ParameterRecord;
 import gov.nasa.jpl.aerie.merlin.processor.metamodel.ParameterValidationRecord;
 import gov.nasa.jpl.aerie.merlin.processor.metamodel.TypeRule;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Unit;
 import org.apache.commons.lang3.tuple.Pair;
 
 import javax.lang.model.element.AnnotationMirror;
@@ -604,7 +606,9 @@ import java.util.stream.Collectors;
         throw new InvalidMissionModelException("Only one duration annotation can be applied to an activity type at a time.");
       }
 
-      final var returnType = executableElement.getReturnType();
+      final var returnType = (executorAnnotation.value() == ActivityType.Executor.Resumable)
+          ? this.getResumableReturnType(executableElement)
+          : executableElement.getReturnType();
       final var nonVoidReturnType = returnType.getKind() == TypeKind.VOID
           ? Optional.<TypeMirror>empty()
           : Optional.of(returnType);
@@ -615,6 +619,32 @@ import java.util.stream.Collectors;
     return Optional.empty();
   }
 
+  /**
+   * Get the type of value that a resumable effect model completes with, given that it returns a {@code Resumable<T>}.
+   *
+   * A state machine completing with {@link Unit} is treated like a void effect model.
+   */
+  private TypeMirror getResumableReturnType(final ExecutableElement effectModel)
+  throws InvalidMissionModelException
+  {
+    final var resumableType = this.typeUtils.erasure(this.elementUtils.getTypeElement(Resumable.class.getCanonicalName()).asType());
+    final var returnType = effectModel.getReturnType();
+    if (!(returnType instanceof DeclaredType declaredType)
+        || !this.typeUtils.isSameType(this.typeUtils.erasure(declaredType), resumableType)
+        || declaredType.getTypeArguments().size() != 1)
+    {
+      throw new InvalidMissionModelException(
+          "An effect model run by the Resumable executor must return a `%s`".formatted(Resumable.class.getSimpleName()),
+          effectModel);
+    }
+
+    final var completionType = declaredType.getTypeArguments().get(0);
+    final var unitType = this.elementUtils.getTypeElement(Unit.class.getCanonicalName()).asType();
+    return (this.typeUtils.isSameType(completionType, unitType))
+        ? this.typeUtils.getNoType(TypeKind.VOID)
+        : completionType;
+  }
+
   //
   // ANNOTATION PARSING
   //
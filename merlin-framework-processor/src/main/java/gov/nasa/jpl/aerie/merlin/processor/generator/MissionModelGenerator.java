@@ -16,6 +16,7 @@ import gov.nasa.jpl.aerie.merlin.framework.ActivityMapper;
 import gov.nasa.jpl.aerie.merlin.framework.EmptyInputType;
 import gov.nasa.jpl.aerie.merlin.framework.ModelActions;
 import gov.nasa.jpl.aerie.merlin.framework.ValueMapper;
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType;
 import gov.nasa.jpl.aerie.merlin.processor.MissionModelProcessor;
 import gov.nasa.jpl.aerie.merlin.processor.Resolver;
 import gov.nasa.jpl.aerie.merlin.processor.TypePattern;
@@ -805,7 +806,22 @@ public record MissionModelGenerator(Elements elementUtils, Types typeUtils, Mess
                     Modifier.FINAL)
                 .addCode(
                     activityType.effectModel()
+                        .filter(effectModel -> effectModel.executor() == ActivityType.Executor.Resumable)
                         .map(effectModel -> CodeBlock
+                            .builder()
+                            .add(
+                                "return $T.resumable(() -> {$>\n$L$<});\n",
+                                ModelActions.class,
+                                CodeBlock
+                                    .builder()
+                                    .addStatement("$T.emit($L, this.$L)", ModelActions.class, "activity", "inputTopic")
+                                    .add("return $L.$L($L).map(result -> {$>\n", "activity", effectModel.methodName(), "model")
+                                    .addStatement("$T.emit(result, this.$L)", ModelActions.class, "outputTopic")
+                                    .addStatement("return result")
+                                    .add("$<});\n")
+                                    .build())
+                            .build())
+                        .or(() -> activityType.effectModel().map(effectModel -> CodeBlock
                             .builder()
                             .add(
                                 "return $T.$L(() -> {$>\n$L$<});\n",
@@ -813,6 +829,8 @@ public record MissionModelGenerator(Elements elementUtils, Types typeUtils, Mess
                                 switch (effectModel.executor()) {
                                   case Threaded -> "threaded";
                                   case Replaying -> "replaying";
+                                  case Parking -> "parking";
+                                  case Resumable -> throw new IllegalStateException("Resumable effect models are generated separately");
                                 },
                                 effectModel.returnType()
                                     .map(returnType -> CodeBlock
@@ -829,7 +847,7 @@ public record MissionModelGenerator(Elements elementUtils, Types typeUtils, Mess
                                         .addStatement("$T.emit($T.UNIT, this.$L)", ModelActions.class, Unit.class, "outputTopic")
                                         .addStatement("return $T.UNIT", Unit.class)
                                         .build()))
-                            .build())
+                            .build()))
                         .orElseGet(() -> CodeBlock
                             .builder()
                             .add(
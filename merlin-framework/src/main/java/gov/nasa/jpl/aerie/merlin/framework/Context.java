@@ -1,5 +1,6 @@
 package gov.nasa.jpl.aerie.merlin.framework;
 
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
 import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
@@ -14,6 +15,9 @@ public interface Context {
   // Usable in all contexts
   ContextType getContextType();
 
+  /** The runtime for tasks which are spawned or called from plain code in this context. */
+  ActivityType.Executor getDefaultExecutor();
+
   // Usable during both initialization & simulation
   <State> State ask(CellId<State> cellId);
 
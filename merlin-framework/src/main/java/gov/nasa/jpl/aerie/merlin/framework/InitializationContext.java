@@ -1,5 +1,6 @@
 package gov.nasa.jpl.aerie.merlin.framework;
 
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Initializer;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
@@ -13,6 +14,7 @@ import java.util.function.Supplier;
 
 public final class InitializationContext implements Context {
   private final Initializer builder;
+  private ActivityType.Executor defaultExecutor = ActivityType.Executor.Threaded;
 
   public InitializationContext(final Initializer builder) {
     this.builder = Objects.requireNonNull(builder);
@@ -30,6 +32,16 @@ public final class InitializationContext implements Context {
     return ContextType.Initializing;
   }
 
+  @Override
+  public ActivityType.Executor getDefaultExecutor() {
+    return this.defaultExecutor;
+  }
+
+  /* package-local */
+  void setDefaultExecutor(final ActivityType.Executor executor) {
+    this.defaultExecutor = Objects.requireNonNull(executor);
+  }
+
   @Override
   public <State> State ask(final CellId<State> cellId) {
     return this.builder.getInitialState(cellId);
@@ -1,5 +1,6 @@
 package gov.nasa.jpl.aerie.merlin.framework;
 
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
 import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
@@ -13,6 +14,19 @@ public /*non-final*/ class ModelActions {
   /* package-local */
   static final Scoped<Context> context = Scoped.create();
 
+  /**
+   * Wrap plain code as a task, run by the current context's default runtime.
+   *
+   * See {@link Registrar#setDefaultExecutor} for how a mission model chooses that runtime.
+   */
+  public static <T> TaskFactory<T> task(final Supplier<T> task) {
+    return switch (context.get().getDefaultExecutor()) {
+      case Threaded -> threaded(task);
+      case Replaying -> replaying(task);
+      case Parking -> parking(task);
+      case Resumable -> throw new IllegalStateException("The resumable executor cannot be the default executor");
+    };
+  }
 
   public static <T> TaskFactory<T> threaded(final Supplier<T> task) {
     return executor -> new ThreadedTask<>(executor, ModelActions.context, task);
@@ -36,6 +50,22 @@ public /*non-final*/ class ModelActions {
     });
   }
 
+  public static <T> TaskFactory<T> parking(final Supplier<T> task) {
+    return executor -> new ParkingTask<>(executor, ModelActions.context, task);
+  }
+
+  public static TaskFactory<Unit> parking(final Runnable task) {
+    return parking(() -> {
+      task.run();
+      return Unit.UNIT;
+    });
+  }
+
+
+  public static <T> TaskFactory<T> resumable(final Supplier<Resumable<T>> task) {
+    return executor -> new ResumableTask<>(ModelActions.context, task);
+  }
+
 
   public static <T> void emit(final T event, final Topic<T> topic) {
     context.get().emit(event, topic);
@@ -43,7 +73,7 @@ public /*non-final*/ class ModelActions {
 
 
   public static <T> void spawn(final Supplier<T> task) {
-    spawn(threaded(task));
+    spawn(task(task));
   }
 
   public static void spawn(final Runnable task) {
@@ -58,11 +88,14 @@ public /*non-final*/ class ModelActions {
   }
 
   public static void call(final Runnable task) {
-    call(threaded(task));
+    call(() -> {
+      task.run();
+      return Unit.UNIT;
+    });
   }
 
   public static <T> void call(final Supplier<T> task) {
-    call(threaded(task));
+    call(task(task));
   }
 
   public static <T> void call(final TaskFactory<T> task) {
@@ -0,0 +1,221 @@
+package gov.nasa.jpl.aerie.merlin.framework;
+
+import gov.nasa.jpl.aerie.merlin.framework.TaskHandoff.Lifecycle;
+import gov.nasa.jpl.aerie.merlin.framework.TaskHandoff.TaskRequest;
+import gov.nasa.jpl.aerie.merlin.framework.TaskHandoff.TaskResponse;
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Scheduler;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Task;
+import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.TaskStatus;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * A task which runs on a thread of its own, like {@link ThreadedTask}, but which hands control back and forth
+ * through a pair of single-element slots instead of blocking queues.
+ *
+ * Each handoff is a volatile write followed by an unpark of the waiting thread, so no locks are taken.
+ * On multiprocessors, the waiting side spins briefly before parking, since the other side frequently responds right away.
+ * When the executor provides virtual threads, parking and unparking the task is a cheap continuation switch
+ * rather than an OS-level context switch.
+ */
+public final class ParkingTask<Return> implements Task<Return> {
+  // Spinning only pays off when the other side can make progress on another processor in the meantime.
+  private static final int SPIN_LIMIT = (Runtime.getRuntime().availableProcessors() > 1) ? 1 << 10 : 0;
+
+  private final Scoped<Context> rootContext;
+  private final Supplier<Return> task;
+  private final Executor executor;
+
+  private final Slot<TaskRequest> hostToTask = new Slot<>();
+  private final Slot<TaskResponse<Return>> taskToHost = new Slot<>();
+
+  // A record of every read and write performed by the task so far, so that a duplicate of this task
+  //   can fast-forward to the same point on a thread of its own.
+  // Only kept if the task may be duplicated, as signaled by the executor it was created with; null otherwise.
+  // Only the task thread touches the memory while the task is running, and only the host thread touches it otherwise;
+  //   the handoff slots order these accesses.
+  private final ReplayingReactionContext.Memory memory;
+
+  private Lifecycle lifecycle = Lifecycle.Inactive;
+  private Return returnValue;
+
+  public ParkingTask(final Executor executor, final Scoped<Context> rootContext, final Supplier<Return> task) {
+    this(executor, rootContext, task, TaskHandoff.memoryFor(executor));
+  }
+
+  private ParkingTask(
+      final Executor executor,
+      final Scoped<Context> rootContext,
+      final Supplier<Return> task,
+      final ReplayingReactionContext.Memory memory)
+  {
+    this.rootContext = Objects.requireNonNull(rootContext);
+    this.task = Objects.requireNonNull(task);
+    this.executor = Objects.requireNonNull(executor);
+    this.memory = memory;
+  }
+
+  @Override
+  public TaskStatus<Return> step(final Scheduler scheduler) {
+    if (this.lifecycle == Lifecycle.Terminated) {
+      return TaskStatus.completed(this.returnValue);
+    }
+
+    this.hostToTask.put(new TaskRequest.Resume(scheduler));
+    if (this.lifecycle == Lifecycle.Inactive) {
+      this.lifecycle = Lifecycle.Running;
+      beginAsync();
+    }
+
+    final var response = this.taskToHost.take();
+
+    // A task which has failed will never respond again.
+    if (response instanceof TaskResponse.Failure<Return>) this.lifecycle = Lifecycle.Terminated;
+
+    final var status = TaskHandoff.status(response);
+
+    if (status instanceof TaskStatus.Completed<Return> s) {
+      this.lifecycle = Lifecycle.Terminated;
+      this.returnValue = s.returnValue();
+    }
+
+    return status;
+  }
+
+  private void beginAsync() {
+    final var handle = new ParkingTaskHandle();
+
+    this.executor.execute(() -> {
+      final var request = ParkingTask.this.hostToTask.take();
+
+      TaskResponse<Return> response;
+      try {
+        response = handle.run(request);
+      } catch (final Throwable ex) {
+        response = new TaskResponse.Failure<>(ex);
+      }
+
+      ParkingTask.this.taskToHost.put(response);
+    });
+  }
+
+  @Override
+  public void release() {
+    if (this.lifecycle == Lifecycle.Running) {
+      this.hostToTask.put(new TaskRequest.Abort());
+      final var ignored = this.taskToHost.take();
+    }
+
+    this.lifecycle = Lifecycle.Inactive;
+  }
+
+  @Override
+  public ParkingTask<Return> duplicate(final Executor executor) {
+    if (this.memory == null) {
+      throw new IllegalStateException("Cannot duplicate a task which was not created with a duplicable executor");
+    }
+
+    // The duplicate begins without a thread of its own. When first stepped, it re-runs the task from the top,
+    //   replaying our memory of reads and skipping our writes until it reaches the point where we are suspended.
+    final var duplicate = new ParkingTask<>(executor, this.rootContext, this.task, this.memory.duplicate());
+    if (this.lifecycle == Lifecycle.Terminated) {
+      duplicate.lifecycle = Lifecycle.Terminated;
+      duplicate.returnValue = this.returnValue;
+    }
+    return duplicate;
+  }
+
+  private final class ParkingTaskHandle implements TaskHandle {
+    private boolean isAborting = false;
+
+    public TaskResponse<Return> run(final TaskRequest request) {
+      return TaskHandoff.run(
+          request,
+          ParkingTask.this.rootContext,
+          ParkingTask.this.memory,
+          ActivityType.Executor.Parking,
+          this,
+          ParkingTask.this.task);
+    }
+
+    private Scheduler yield(final TaskStatus<Return> status) {
+      // If we're in the middle of aborting, just keep trying to bail out.
+      if (this.isAborting) throw TaskHandoff.TaskAbort;
+
+      // Get the next request from the driver.
+      ParkingTask.this.taskToHost.put(new TaskResponse.Success<>(status));
+      final var request = ParkingTask.this.hostToTask.take();
+
+      try {
+        return TaskHandoff.resumption(request);
+      } catch (final TaskHandoff.TaskAbort ex) {
+        this.isAborting = true;
+        throw ex;
+      }
+    }
+
+    @Override
+    public Scheduler delay(final Duration delay) {
+      return this.yield(TaskStatus.delayed(delay, ParkingTask.this));
+    }
+
+    @Override
+    public Scheduler call(final TaskFactory<?> child) {
+      return this.yield(TaskStatus.calling(child, ParkingTask.this));
+    }
+
+    @Override
+    public Scheduler await(final gov.nasa.jpl.aerie.merlin.protocol.model.Condition condition) {
+      return this.yield(TaskStatus.awaiting(condition, ParkingTask.this));
+    }
+  }
+
+  /**
+   * A single-element handoff between exactly one producer and one consumer.
+   *
+   * The producer never puts a new value until the consumer has responded to the last one,
+   *   so the slot is always empty when a value is put.
+   */
+  private static final class Slot<T> {
+    private volatile T value = null;
+    private volatile Thread waiter = null;
+
+    public void put(final T value) {
+      this.value = value;
+
+      final var waiter = this.waiter;
+      if (waiter != null) LockSupport.unpark(waiter);
+    }
+
+    public T take() {
+      for (var i = 0; i < SPIN_LIMIT; i += 1) {
+        final var value = this.value;
+        if (value != null) return consume(value);
+        Thread.onSpinWait();
+      }
+
+      this.waiter = Thread.currentThread();
+      try {
+        // TERMINATION: The other side always responds, whether by completing, failing, or yielding.
+        while (true) {
+          final var value = this.value;
+          if (value != null) return consume(value);
+          LockSupport.park(this);
+        }
+      } finally {
+        this.waiter = null;
+      }
+    }
+
+    private T consume(final T value) {
+      this.value = null;
+      return value;
+    }
+  }
+}
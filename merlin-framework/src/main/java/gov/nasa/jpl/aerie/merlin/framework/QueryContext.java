@@ -1,5 +1,6 @@
 package gov.nasa.jpl.aerie.merlin.framework;
 
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Querier;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
@@ -21,6 +22,11 @@ public final class QueryContext implements Context {
     return ContextType.Querying;
   }
 
+  @Override
+  public ActivityType.Executor getDefaultExecutor() {
+    return ActivityType.Executor.Threaded;
+  }
+
   @Override
   public <State> State ask(final CellId<State> cellId) {
     return this.querier.getState(cellId);
@@ -1,5 +1,6 @@
 package gov.nasa.jpl.aerie.merlin.framework;
 
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Initializer;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Querier;
 import gov.nasa.jpl.aerie.merlin.protocol.model.OutputType;
@@ -23,6 +24,23 @@ public final class Registrar {
     return (ModelActions.context.get().getContextType() != Context.ContextType.Initializing);
   }
 
+  /**
+   * Select the runtime for tasks which this model spawns or calls from plain code, rather than from a task factory.
+   *
+   * The choice applies to the tasks spawned while this model instance is initialized.
+   * Tasks spawned from plain code during simulation use the same runtime as the task which spawns them.
+   * It should be made before the model spawns any tasks.
+   */
+  public void setDefaultExecutor(final ActivityType.Executor executor) {
+    if (executor == ActivityType.Executor.Resumable) {
+      throw new IllegalArgumentException("Only tasks written as `Resumable` state machines can be run by the resumable executor");
+    }
+    if (!(ModelActions.context.get() instanceof InitializationContext initializationContext)) {
+      throw new IllegalStateException("The default executor can only be selected while the model is being initialized");
+    }
+    initializationContext.setDefaultExecutor(executor);
+  }
+
   public <Value> void discrete(final String name, final Resource<Value> resource, final ValueMapper<Value> mapper) {
     this.builder.resource(name, makeResource("discrete", resource, mapper.getValueSchema(), mapper::serializeValue));
   }
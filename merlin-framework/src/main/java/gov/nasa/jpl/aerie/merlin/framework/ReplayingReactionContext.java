@@ -1,5 +1,6 @@
 package gov.nasa.jpl.aerie.merlin.framework;
 
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Scheduler;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
@@ -8,6 +9,7 @@ import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import org.apache.commons.lang3.mutable.MutableInt;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -17,6 +19,7 @@ import java.util.function.Supplier;
 final class ReplayingReactionContext implements Context {
   private final Scoped<Context> rootContext;
   private final TaskHandle handle;
+  private final ActivityType.Executor runtime;
   private Scheduler scheduler;
 
   private final MemoryCursor memory;
@@ -25,12 +28,14 @@ final class ReplayingReactionContext implements Context {
       final Scoped<Context> rootContext,
       final Memory memory,
       final Scheduler scheduler,
-      final TaskHandle handle)
+      final TaskHandle handle,
+      final ActivityType.Executor runtime)
   {
     this.rootContext = Objects.requireNonNull(rootContext);
     this.memory = new MemoryCursor(memory, new MutableInt(0), new MutableInt(0));
     this.scheduler = scheduler;
     this.handle = handle;
+    this.runtime = Objects.requireNonNull(runtime);
   }
 
   @Override
@@ -38,6 +43,11 @@ final class ReplayingReactionContext implements Context {
     return ContextType.Reacting;
   }
 
+  @Override
+  public ActivityType.Executor getDefaultExecutor() {
+    return this.runtime;
+  }
+
   @Override
   public <State> State ask(final CellId<State> cellId) {
     return this.memory.doOnce(() -> {
@@ -103,6 +113,10 @@ final class ReplayingReactionContext implements Context {
       this.reads().clear();
       this.writes().setValue(0);
     }
+
+    public Memory duplicate() {
+      return new Memory(new ArrayList<>(this.reads()), new MutableInt(this.writes().getValue()));
+    }
   }
 
   private record MemoryCursor(Memory memory, MutableInt nextRead, MutableInt nextWrite) {
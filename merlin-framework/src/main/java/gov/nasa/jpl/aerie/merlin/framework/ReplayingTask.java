@@ -1,5 +1,6 @@
 package gov.nasa.jpl.aerie.merlin.framework;
 
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Scheduler;
 import gov.nasa.jpl.aerie.merlin.protocol.model.Task;
 import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
@@ -9,23 +10,33 @@ import org.apache.commons.lang3.mutable.MutableInt;
 
 import java.util.ArrayList;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 public final class ReplayingTask<Return> implements Task<Return> {
   private final Scoped<Context> rootContext;
   private final Supplier<Return> task;
 
-  private final ReplayingReactionContext.Memory memory = new ReplayingReactionContext.Memory(new ArrayList<>(), new MutableInt(0));
+  private final ReplayingReactionContext.Memory memory;
 
   public ReplayingTask(final Scoped<Context> rootContext, final Supplier<Return> task) {
+    this(rootContext, task, new ReplayingReactionContext.Memory(new ArrayList<>(), new MutableInt(0)));
+  }
+
+  private ReplayingTask(
+      final Scoped<Context> rootContext,
+      final Supplier<Return> task,
+      final ReplayingReactionContext.Memory memory)
+  {
     this.rootContext = Objects.requireNonNull(rootContext);
     this.task = Objects.requireNonNull(task);
+    this.memory = Objects.requireNonNull(memory);
   }
 
   @Override
   public TaskStatus<Return> step(final Scheduler scheduler) {
     final var handle = new ReplayingTaskHandle();
-    final var context = new ReplayingReactionContext(this.rootContext, this.memory, scheduler, handle);
+    final var context = new ReplayingReactionContext(this.rootContext, this.memory, scheduler, handle, ActivityType.Executor.Replaying);
 
     try (final var restore = this.rootContext.set(context)){
       final var returnValue = this.task.get();
@@ -38,6 +49,11 @@ public final class ReplayingTask<Return> implements Task<Return> {
     }
   }
 
+  @Override
+  public ReplayingTask<Return> duplicate(final Executor executor) {
+    return new ReplayingTask<>(this.rootContext, this.task, this.memory.duplicate());
+  }
+
   private final class ReplayingTaskHandle implements TaskHandle {
     public TaskStatus<Return> status = null;
 
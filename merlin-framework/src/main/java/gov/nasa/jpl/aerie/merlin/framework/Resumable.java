@@ -0,0 +1,135 @@
+package gov.nasa.jpl.aerie.merlin.framework;
+
+import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Unit;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The remainder of a task written as an explicit state machine.
+ *
+ * <p>
+ * A replaying task restarts its body from the top on every step, so a task which yields k times
+ * performs O(k^2) work over its lifetime. A resumable task instead returns, at each yield point,
+ * the code to run when it is resumed; stepping the task runs only that code.
+ * </p>
+ *
+ * <pre>{@code
+ * @EffectModel(Executor.Resumable)
+ * public Resumable<Unit> run(final Mission mission) {
+ *   mission.fruit.rate.add(this.rate);
+ *   return Resumable.delay(this.duration, () -> {
+ *     mission.fruit.rate.add(-this.rate);
+ *     return Resumable.complete();
+ *   });
+ * }
+ * }</pre>
+ *
+ * <p>
+ * Within each step, model state may be read and events emitted or spawned as usual,
+ * but the task may only yield by returning a {@code Resumable}: calling {@link ModelActions#delay},
+ * {@link ModelActions#waitUntil}, or {@link ModelActions#call} from a resumable task is an error.
+ * Since a suspended task may be duplicated and resumed more than once, the continuations
+ * must not depend on any mutable state besides that of the model's cells.
+ * </p>
+ */
+public sealed interface Resumable<Return> {
+  record Completed<Return>(Return returnValue) implements Resumable<Return> {}
+
+  record Delayed<Return>(Duration delay, Supplier<Resumable<Return>> continuation) implements Resumable<Return> {
+    public Delayed {
+      Objects.requireNonNull(delay);
+      Objects.requireNonNull(continuation);
+    }
+  }
+
+  record Calling<Return>(TaskFactory<?> child, Supplier<Resumable<Return>> continuation) implements Resumable<Return> {
+    public Calling {
+      Objects.requireNonNull(child);
+      Objects.requireNonNull(continuation);
+    }
+  }
+
+  record Awaiting<Return>(Condition condition, Supplier<Resumable<Return>> continuation) implements Resumable<Return> {
+    public Awaiting {
+      Objects.requireNonNull(condition);
+      Objects.requireNonNull(continuation);
+    }
+  }
+
+  static <Return> Resumable<Return> complete(final Return returnValue) {
+    return new Completed<>(returnValue);
+  }
+
+  static Resumable<Unit> complete() {
+    return new Completed<>(Unit.UNIT);
+  }
+
+  static <Return> Resumable<Return> delay(final Duration delay, final Supplier<Resumable<Return>> continuation) {
+    return new Delayed<>(delay, continuation);
+  }
+
+  static <Return> Resumable<Return> delay(final long quantity, final Duration unit, final Supplier<Resumable<Return>> continuation) {
+    return delay(unit.times(quantity), continuation);
+  }
+
+  static <Return> Resumable<Return> call(final TaskFactory<?> child, final Supplier<Resumable<Return>> continuation) {
+    return new Calling<>(child, continuation);
+  }
+
+  static <Return> Resumable<Return> waitUntil(final Condition condition, final Supplier<Resumable<Return>> continuation) {
+    return new Awaiting<>(condition, continuation);
+  }
+
+  /**
+   * Continue with the given function of this task's return value once this task completes.
+   *
+   * Each step of the combined task wraps the continuation of this task once, so sequencing tasks this way
+   * adds only a constant amount of work per step.
+   */
+  default <Next> Resumable<Next> andThen(final Function<Return, Resumable<Next>> next) {
+    if (this instanceof Completed<Return> r) {
+      return next.apply(r.returnValue());
+    } else if (this instanceof Delayed<Return> r) {
+      return new Delayed<>(r.delay(), () -> r.continuation().get().andThen(next));
+    } else if (this instanceof Calling<Return> r) {
+      return new Calling<>(r.child(), () -> r.continuation().get().andThen(next));
+    } else if (this instanceof Awaiting<Return> r) {
+      return new Awaiting<>(r.condition(), () -> r.continuation().get().andThen(next));
+    } else {
+      throw new IllegalStateException("Unknown resumable variant: " + this);
+    }
+  }
+
+  default <Next> Resumable<Next> map(final Function<Return, Next> transform) {
+    return this.andThen($ -> new Completed<>(transform.apply($)));
+  }
+
+  /**
+   * Run the rest of this task from within a threaded or replaying task, yielding through the model actions.
+   *
+   * This lets the same effect model be run by any executor, e.g. to check that they agree.
+   */
+  default Return await() {
+    var task = this;
+    while (true) {
+      if (task instanceof Completed<Return> r) {
+        return r.returnValue();
+      } else if (task instanceof Delayed<Return> r) {
+        ModelActions.delay(r.delay());
+        task = r.continuation().get();
+      } else if (task instanceof Calling<Return> r) {
+        ModelActions.call(r.child());
+        task = r.continuation().get();
+      } else if (task instanceof Awaiting<Return> r) {
+        ModelActions.waitUntil(r.condition());
+        task = r.continuation().get();
+      } else {
+        throw new IllegalStateException("Unknown resumable variant: " + task);
+      }
+    }
+  }
+}
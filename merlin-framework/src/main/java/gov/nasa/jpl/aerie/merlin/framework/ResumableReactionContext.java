@@ -0,0 +1,78 @@
+package gov.nasa.jpl.aerie.merlin.framework;
+
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Scheduler;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The context for a single step of a {@link ResumableTask}.
+ *
+ * Since the step is never replayed, every read and write goes straight to the scheduler.
+ * The task yields by returning a {@link Resumable}, so the yielding actions are rejected.
+ */
+/* package-local */
+final class ResumableReactionContext implements Context {
+  private final Scheduler scheduler;
+
+  public ResumableReactionContext(final Scheduler scheduler) {
+    this.scheduler = Objects.requireNonNull(scheduler);
+  }
+
+  @Override
+  public ContextType getContextType() {
+    return ContextType.Reacting;
+  }
+
+  @Override
+  public ActivityType.Executor getDefaultExecutor() {
+    return ActivityType.Executor.Threaded;
+  }
+
+  @Override
+  public <State> State ask(final CellId<State> cellId) {
+    return this.scheduler.get(cellId);
+  }
+
+  @Override
+  public <Event, Effect, State>
+  CellId<State> allocate(
+      final State initialState,
+      final CellType<Effect, State> cellType,
+      final Function<Event, Effect> interpretation,
+      final Topic<Event> topic)
+  {
+    throw new IllegalStateException("Cannot allocate during simulation");
+  }
+
+  @Override
+  public <Event> void emit(final Event event, final Topic<Event> topic) {
+    this.scheduler.emit(event, topic);
+  }
+
+  @Override
+  public void spawn(final TaskFactory<?> task) {
+    this.scheduler.spawn(task);
+  }
+
+  @Override
+  public <T> void call(final TaskFactory<T> task) {
+    throw new IllegalStateException("A resumable task cannot call a task directly; return `Resumable.call` instead");
+  }
+
+  @Override
+  public void delay(final Duration duration) {
+    throw new IllegalStateException("A resumable task cannot delay directly; return `Resumable.delay` instead");
+  }
+
+  @Override
+  public void waitUntil(final Condition condition) {
+    throw new IllegalStateException("A resumable task cannot wait directly; return `Resumable.waitUntil` instead");
+  }
+}
@@ -0,0 +1,53 @@
+package gov.nasa.jpl.aerie.merlin.framework;
+
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Scheduler;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Task;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.TaskStatus;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A task written as a {@link Resumable} state machine, which resumes directly at its last yield point.
+ *
+ * Unlike a {@link ReplayingTask}, stepping this task costs only the work done since the task last yielded,
+ * regardless of how many times it has yielded before.
+ * The task holds no mutable state of its own, so the default {@link Task#duplicate} applies.
+ */
+public final class ResumableTask<Return> implements Task<Return> {
+  private final Scoped<Context> rootContext;
+  private final Supplier<Resumable<Return>> continuation;
+
+  public ResumableTask(final Scoped<Context> rootContext, final Supplier<Resumable<Return>> continuation) {
+    this.rootContext = Objects.requireNonNull(rootContext);
+    this.continuation = Objects.requireNonNull(continuation);
+  }
+
+  @Override
+  public TaskStatus<Return> step(final Scheduler scheduler) {
+    final Resumable<Return> next;
+    try (final var restore = this.rootContext.set(new ResumableReactionContext(scheduler))) {
+      next = Objects.requireNonNull(this.continuation.get(), "A resumable task must return its next state, but returned null");
+    }
+
+    if (next instanceof Resumable.Completed<Return> r) {
+      return TaskStatus.completed(r.returnValue());
+    } else if (next instanceof Resumable.Delayed<Return> r) {
+      return TaskStatus.delayed(r.delay(), new ResumableTask<>(this.rootContext, r.continuation()));
+    } else if (next instanceof Resumable.Calling<Return> r) {
+      return TaskStatus.calling(r.child(), new ResumableTask<>(this.rootContext, r.continuation()));
+    } else if (next instanceof Resumable.Awaiting<Return> r) {
+      final var condition = r.condition();
+      return TaskStatus.awaiting(
+          (now, atLatest) -> {
+            try (final var restore = this.rootContext.set(new QueryContext(now))) {
+              return condition.nextSatisfied(true, Duration.ZERO, atLatest);
+            }
+          },
+          new ResumableTask<>(this.rootContext, r.continuation()));
+    } else {
+      throw new IllegalStateException("Unknown resumable variant: " + next);
+    }
+  }
+}
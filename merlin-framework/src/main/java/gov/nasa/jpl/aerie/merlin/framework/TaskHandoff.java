@@ -0,0 +1,165 @@
+package gov.nasa.jpl.aerie.merlin.framework;
+
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Scheduler;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Task;
+import gov.nasa.jpl.aerie.merlin.protocol.types.TaskStatus;
+import org.apache.commons.lang3.mutable.MutableInt;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * The protocol by which a host thread drives a task running on a thread of its own.
+ *
+ * {@link ThreadedTask} and {@link ParkingTask} differ only in how they hand these messages back and forth.
+ */
+/* package-local */
+final class TaskHandoff {
+  private TaskHandoff() {}
+
+  enum Lifecycle { Inactive, Running, Terminated }
+
+  sealed interface TaskRequest {
+    record Resume(Scheduler scheduler) implements TaskRequest {}
+
+    record Abort() implements TaskRequest {}
+  }
+
+  sealed interface TaskResponse<Return> {
+    record Success<Return>(TaskStatus<Return> status) implements TaskResponse<Return> {}
+
+    record Failure<Return>(Throwable failure) implements TaskResponse<Return> {}
+  }
+
+  /**
+   * Create a record of the reads and writes a task performs, so that a duplicate of the task can fast-forward
+   * to the same point on a thread of its own.
+   *
+   * Tasks only keep such a record if they may be duplicated, as signaled by the executor they were created with.
+   *
+   * @return a fresh record, or null if the task will never be duplicated.
+   */
+  static ReplayingReactionContext.Memory memoryFor(final Executor executor) {
+    return (executor instanceof Task.DuplicableExecutor)
+        ? new ReplayingReactionContext.Memory(new ArrayList<>(), new MutableInt(0))
+        : null;
+  }
+
+  /**
+   * Run a task body on the task thread, in response to the first request from the host.
+   *
+   * @param memory the task's record of its reads and writes, or null if it keeps none.
+   * @param runtime the runtime of the task, which the tasks it spawns from plain code will also use.
+   */
+  static <Return> TaskResponse<Return> run(
+      final TaskRequest request,
+      final Scoped<Context> rootContext,
+      final ReplayingReactionContext.Memory memory,
+      final ActivityType.Executor runtime,
+      final TaskHandle handle,
+      final Supplier<Return> task)
+  {
+    if (request instanceof TaskRequest.Resume resume) {
+      final Context context = (memory == null)
+          ? new ThreadedReactionContext(rootContext, resume.scheduler(), handle, runtime)
+          : new ReplayingReactionContext(rootContext, memory, resume.scheduler(), handle, runtime);
+
+      try (final var restore = rootContext.set(context)) {
+        return new TaskResponse.Success<>(TaskStatus.completed(task.get()));
+      } catch (final TaskAbort ex) {
+        return new TaskResponse.Success<>(TaskStatus.completed(null));
+      } catch (final Throwable ex) {
+        return new TaskResponse.Failure<>(ex);
+      }
+    } else if (request instanceof TaskRequest.Abort) {
+      return new TaskResponse.Success<>(TaskStatus.completed(null));
+    } else {
+      throw unexpectedVariant(TaskRequest.class, request);
+    }
+  }
+
+  /**
+   * Interpret the host's reply to a task which has yielded.
+   *
+   * @return the scheduler with which the task should continue.
+   * @throws TaskAbort if the task has been told to bail out.
+   */
+  static Scheduler resumption(final TaskRequest request) {
+    if (request instanceof TaskRequest.Resume resumeRequest) {
+      // We've been told to continue executing.
+      return resumeRequest.scheduler();
+    } else if (request instanceof TaskRequest.Abort) {
+      // We've been told to bail out and release this thread ASAP.
+      //
+      // We'll throw an exception to get as far up and out of the task as we can.
+      // If the task intercepts this exception (via `catch` or `finally`),
+      // it may attempt to perform more simulation effects.
+      // We'll just keep throwing whenever the task yields.
+      //
+      // The task might also busy-loop without ever passing control back.
+      // This would be poor behavior even for an active task, so there's not much
+      // we can do except build the driver thread to be resilient against ill-behaved tasks.
+      //
+      // TODO: Don't let the ReactionContext interact directly with the scheduler.
+      //   We should intercept calls to the scheduler so that they, too, cause a `TaskAbort`.
+      //   As it stands, they will cause a `NullPointerException`, since `ReactionContext`
+      //   sets its `scheduler` field to null before yielding. That's fine -- it keeps us bailing --
+      //   but it's not great to have this interaction logic spread out.
+      throw TaskAbort;
+    } else {
+      throw unexpectedVariant(TaskRequest.class, request);
+    }
+  }
+
+  /**
+   * Interpret the task's response to the host.
+   *
+   * If the task has failed, the exception which escaped from it is rethrown on the host thread.
+   *
+   * @return the status reported by a task which has yielded or completed.
+   */
+  static <Return> TaskStatus<Return> status(final TaskResponse<Return> response) {
+    if (response instanceof TaskResponse.Success<Return> r) {
+      return r.status();
+    } else if (response instanceof TaskResponse.Failure<Return> r) {
+      // We re-throw the received exception to avoid interfering with `catch` blocks
+      //   that might be looking for this specific exception, but we add a new exception
+      //   to its suppression list to provide a stack trace in this thread, too.
+      final var ex = r.failure();
+      ex.addSuppressed(new ThreadedTask.TaskFailureException());
+
+      // This exception shouldn't be a checked exception, but we have to prove it to Java.
+      if (ex instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      } else if (ex instanceof Error error) {
+        throw error;
+      } else {
+        throw new RuntimeException("Unexpected checked exception escaped from task thread", ex);
+      }
+    } else {
+      throw unexpectedVariant(TaskResponse.class, response);
+    }
+  }
+
+  private static Error unexpectedVariant(final Class<?> type, final Object value) {
+    return new Error(String.format(
+        "Unexpected variant of %s: %s",
+        type.getCanonicalName(),
+        value.getClass().getCanonicalName()));
+  }
+
+  static final TaskAbort TaskAbort = new TaskAbort();
+  /**
+   * A control-flow exception for quickly aborting a task which will never proceed any further.
+   *
+   * This exception extends Error instead of RuntimeException to reduce the likelihood that
+   * it gets spuriously caught by an over-broad catch clause.
+   */
+  static final class TaskAbort extends Error {
+    public TaskAbort() {
+      super(null, null, /* capture suppressed exceptions? */ true, /* capture stack trace? */ false);
+    }
+  }
+}
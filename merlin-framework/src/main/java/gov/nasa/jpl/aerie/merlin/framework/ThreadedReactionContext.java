@@ -1,5 +1,6 @@
 package gov.nasa.jpl.aerie.merlin.framework;
 
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Scheduler;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
@@ -14,16 +15,19 @@ import java.util.function.Function;
 final class ThreadedReactionContext implements Context {
   private final Scoped<Context> rootContext;
   private final TaskHandle handle;
+  private final ActivityType.Executor runtime;
   private Scheduler scheduler;
 
   public ThreadedReactionContext(
       final Scoped<Context> rootContext,
       final Scheduler scheduler,
-      final TaskHandle handle)
+      final TaskHandle handle,
+      final ActivityType.Executor runtime)
   {
     this.rootContext = Objects.requireNonNull(rootContext);
     this.scheduler = scheduler;
     this.handle = handle;
+    this.runtime = Objects.requireNonNull(runtime);
   }
 
   @Override
@@ -31,6 +35,11 @@ final class ThreadedReactionContext implements Context {
     return ContextType.Reacting;
   }
 
+  @Override
+  public ActivityType.Executor getDefaultExecutor() {
+    return this.runtime;
+  }
+
   @Override
   public <State> State ask(final CellId<State> cellId) {
     return this.scheduler.get(cellId);
@@ -1,5 +1,9 @@
 package gov.nasa.jpl.aerie.merlin.framework;
 
+import gov.nasa.jpl.aerie.merlin.framework.TaskHandoff.Lifecycle;
+import gov.nasa.jpl.aerie.merlin.framework.TaskHandoff.TaskRequest;
+import gov.nasa.jpl.aerie.merlin.framework.TaskHandoff.TaskResponse;
+import gov.nasa.jpl.aerie.merlin.framework.annotations.ActivityType;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Scheduler;
 import gov.nasa.jpl.aerie.merlin.protocol.model.Task;
 import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
@@ -19,13 +23,30 @@ public final class ThreadedTask<Return> implements Task<Return> {
   private final ArrayBlockingQueue<TaskRequest> hostToTask = new ArrayBlockingQueue<>(1);
   private final ArrayBlockingQueue<TaskResponse<Return>> taskToHost = new ArrayBlockingQueue<>(1);
 
+  // A record of every read and write performed by the task so far, so that a duplicate of this task
+  //   can fast-forward to the same point on a thread of its own.
+  // Only kept if the task may be duplicated, as signaled by the executor it was created with; null otherwise.
+  // Only the task thread touches the memory while the task is running, and only the host thread touches it otherwise;
+  //   the handoff queues order these accesses.
+  private final ReplayingReactionContext.Memory memory;
+
   private Lifecycle lifecycle = Lifecycle.Inactive;
   private Return returnValue;
 
   public ThreadedTask(final Executor executor, final Scoped<Context> rootContext, final Supplier<Return> task) {
+    this(executor, rootContext, task, TaskHandoff.memoryFor(executor));
+  }
+
+  private ThreadedTask(
+      final Executor executor,
+      final Scoped<Context> rootContext,
+      final Supplier<Return> task,
+      final ReplayingReactionContext.Memory memory)
+  {
     this.rootContext = Objects.requireNonNull(rootContext);
     this.task = Objects.requireNonNull(task);
     this.executor = Objects.requireNonNull(executor);
+    this.memory = memory;
   }
 
   @Override
@@ -42,43 +63,22 @@ public final class ThreadedTask<Return> implements Task<Return> {
       //   It should be sufficiently long as to allow the user-defined task to do its job.
       //   The `put()` call is fine -- we know the thread will immediately wait
       //   for a new request as soon as it puts a response to the last request.
-      // TODO: Track metrics for how long a task runs before responding.
-      //   This will help to tune the timeout.
+      //   An instrumented simulation engine measures how long each task runs before responding,
+      //   which will help to tune the timeout.
       this.hostToTask.put(new TaskRequest.Resume(scheduler));
       final var response = this.taskToHost.take();
 
-      if (response instanceof TaskResponse.Success<Return> r) {
-        final var status = r.status;
+      // A task which has failed will never respond again.
+      if (response instanceof TaskResponse.Failure<Return>) this.lifecycle = Lifecycle.Terminated;
 
-        if (status instanceof TaskStatus.Completed<Return> s) {
-          this.lifecycle = Lifecycle.Terminated;
-          this.returnValue = s.returnValue();
-        }
+      final var status = TaskHandoff.status(response);
 
-        return status;
-      } else if (response instanceof TaskResponse.Failure<Return> r) {
+      if (status instanceof TaskStatus.Completed<Return> s) {
         this.lifecycle = Lifecycle.Terminated;
-
-        // We re-throw the received exception to avoid interfering with `catch` blocks
-        //   that might be looking for this specific exception, but we add a new exception
-        //   to its suppression list to provide a stack trace in this thread, too.
-        final var ex = r.failure;
-        ex.addSuppressed(new TaskFailureException());
-
-        // This exception shouldn't be a checked exception, but we have to prove it to Java.
-        if (ex instanceof RuntimeException runtimeException) {
-          throw runtimeException;
-        } else if (ex instanceof Error error) {
-          throw error;
-        } else {
-          throw new RuntimeException("Unexpected checked exception escaped from task thread", ex);
-        }
-      } else {
-        throw new Error(String.format(
-            "Unexpected variant of %s: %s",
-            TaskResponse.class.getCanonicalName(),
-            response.getClass().getCanonicalName()));
+        this.returnValue = s.returnValue();
       }
+
+      return status;
     } catch (final InterruptedException ex) {
       throw new Error("Merlin host unexpectedly interrupted", ex);
     }
@@ -128,35 +128,38 @@ public final class ThreadedTask<Return> implements Task<Return> {
     this.lifecycle = Lifecycle.Inactive;
   }
 
+  @Override
+  public ThreadedTask<Return> duplicate(final Executor executor) {
+    if (this.memory == null) {
+      throw new IllegalStateException("Cannot duplicate a task which was not created with a duplicable executor");
+    }
+
+    // The duplicate begins without a thread of its own. When first stepped, it re-runs the task from the top,
+    //   replaying our memory of reads and skipping our writes until it reaches the point where we are suspended.
+    final var duplicate = new ThreadedTask<>(executor, this.rootContext, this.task, this.memory.duplicate());
+    if (this.lifecycle == Lifecycle.Terminated) {
+      duplicate.lifecycle = Lifecycle.Terminated;
+      duplicate.returnValue = this.returnValue;
+    }
+    return duplicate;
+  }
+
   private final class ThreadedTaskHandle implements TaskHandle {
     private boolean isAborting = false;
 
     public TaskResponse<Return> run(final TaskRequest request) {
-      if (request instanceof TaskRequest.Resume resume) {
-        final var scheduler = resume.scheduler;
-
-        final var context = new ThreadedReactionContext(ThreadedTask.this.rootContext, scheduler, this);
-
-        try (final var restore = ThreadedTask.this.rootContext.set(context)) {
-          return new TaskResponse.Success<>(TaskStatus.completed(ThreadedTask.this.task.get()));
-        } catch (final TaskAbort ex) {
-          return new TaskResponse.Success<>(TaskStatus.completed(null));
-        } catch (final Throwable ex) {
-          return new TaskResponse.Failure<>(ex);
-        }
-      } else if (request instanceof TaskRequest.Abort) {
-        return new TaskResponse.Success<>(TaskStatus.completed(null));
-      } else {
-        throw new Error(String.format(
-            "Unexpected variant of %s: %s",
-            TaskRequest.class.getCanonicalName(),
-            request.getClass().getCanonicalName()));
-      }
+      return TaskHandoff.run(
+          request,
+          ThreadedTask.this.rootContext,
+          ThreadedTask.this.memory,
+          ActivityType.Executor.Threaded,
+          this,
+          ThreadedTask.this.task);
     }
 
     private Scheduler yield(final TaskStatus<Return> status) {
       // If we're in the middle of aborting, just keep trying to bail out.
-      if (this.isAborting) throw TaskAbort;
+      if (this.isAborting) throw TaskHandoff.TaskAbort;
 
       // Get the next request from the driver.
       final TaskRequest request;
@@ -167,33 +170,11 @@ public final class ThreadedTask<Return> implements Task<Return> {
         throw new Error("Merlin task unexpectedly interrupted", ex);
       }
 
-      if (request instanceof TaskRequest.Resume resumeRequest) {
-        // We've been told to continue executing.
-        return resumeRequest.scheduler;
-      } else if (request instanceof TaskRequest.Abort) {
-        // We've been told to bail out and release this thread ASAP.
-        //
-        // We'll throw an exception to get as far up and out of the task as we can.
-        // If the task intercepts this exception (via `catch` or `finally`),
-        // it may attempt to perform more simulation effects.
-        // We'll just keep throwing whenever `yield()` is called.
-        //
-        // The task might also busy-loop without ever passing control back.
-        // This would be poor behavior even for an active task, so there's not much
-        // we can do except build the driver thread to be resilient against ill-behaved tasks.
-        //
-        // TODO: Don't let the ReactionContext interact directly with the scheduler.
-        //   We should intercept calls to the scheduler so that they, too, cause a `TaskAbort`.
-        //   As it stands, they will cause a `NullPointerException`, since `ReactionContext`
-        //   sets its `scheduler` field to null before yielding. That's fine -- it keeps us bailing --
-        //   but it's not great to have this interaction logic spread out.
+      try {
+        return TaskHandoff.resumption(request);
+      } catch (final TaskHandoff.TaskAbort ex) {
         this.isAborting = true;
-        throw TaskAbort;
-      } else {
-        throw new Error(String.format(
-            "Unexpected variant of %s: %s",
-            TaskRequest.class.getCanonicalName(),
-            request.getClass().getCanonicalName()));
+        throw ex;
       }
     }
 
@@ -213,36 +194,9 @@ public final class ThreadedTask<Return> implements Task<Return> {
     }
   }
 
-  private enum Lifecycle { Inactive, Running, Terminated }
-
-  sealed interface TaskRequest {
-    record Resume(Scheduler scheduler) implements TaskRequest {}
-
-    record Abort() implements TaskRequest {}
-  }
-
-  sealed interface TaskResponse<Return> {
-    record Success<Return>(TaskStatus<Return> status) implements TaskResponse<Return> {}
-
-    record Failure<Return>(Throwable failure) implements TaskResponse<Return> {}
-  }
-
   public static final class TaskFailureException extends RuntimeException {
     public TaskFailureException() {
       super("Observed task thread failure from driver thread");
     }
   }
-
-  private static final TaskAbort TaskAbort = new TaskAbort();
-  /**
-   * A control-flow exception for quickly aborting a task which will never proceed any further.
-   *
-   * This exception extends Error instead of RuntimeException to reduce the likelihood that
-   * it gets spuriously caught by an over-broad catch clause.
-   */
-  private static final class TaskAbort extends Error {
-    public TaskAbort() {
-      super(null, null, /* capture suppressed exceptions? */ true, /* capture stack trace? */ false);
-    }
-  }
 }
@@ -19,7 +19,13 @@ public @interface ActivityType {
     Class<? extends ActivityMapper<?, ?, ?>> value();
   }
 
-  enum Executor { Threaded, Replaying }
+  /**
+   * The runtime for an effect model.
+   *
+   * A {@code Resumable} effect model must return a {@link gov.nasa.jpl.aerie.merlin.framework.Resumable}
+   * describing its first step; its computed attributes are the value that the state machine completes with.
+   */
+  enum Executor { Threaded, Replaying, Parking, Resumable }
 
   @Retention(RetentionPolicy.CLASS)
   @Target(ElementType.METHOD)
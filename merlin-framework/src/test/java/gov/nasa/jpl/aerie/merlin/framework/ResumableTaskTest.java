@@ -0,0 +1,177 @@
+package gov.nasa.jpl.aerie.merlin.framework;
+
+import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Scheduler;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Task;
+import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.TaskStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ResumableTaskTest {
+  @Test
+  @DisplayName("Each step runs only the code since the previous yield")
+  public void testStepsResumeAtLastYield() {
+    final Scoped<Context> context = Scoped.create();
+    final var topic = new Topic<String>();
+    final var events = new ArrayList<String>();
+
+    final var yields = 1000;
+    final var runs = new int[] {0};
+    Task<Integer> task = new ResumableTask<>(context, () -> loop(context, topic, runs, 0, yields));
+
+    var steps = 0;
+    while (true) {
+      final var status = task.step(recordingScheduler(events));
+      steps += 1;
+
+      if (status instanceof TaskStatus.Delayed<Integer> s) {
+        assertEquals(Duration.EPSILON, s.delay());
+        task = s.continuation();
+      } else {
+        assertEquals(yields, assertInstanceOf(TaskStatus.Completed.class, status).returnValue());
+        break;
+      }
+    }
+
+    assertEquals(yields + 1, steps);
+    // A replaying task would have re-run its body once per prior yield at every step.
+    assertEquals(yields + 1, runs[0]);
+    assertEquals(yields, events.size());
+  }
+
+  @Test
+  @DisplayName("Sequenced tasks continue with the result of the first")
+  public void testAndThen() {
+    final Scoped<Context> context = Scoped.create();
+    final var topic = new Topic<String>();
+    final var events = new ArrayList<String>();
+
+    final Task<String> task = new ResumableTask<>(context, () -> {
+      context.get().emit("first", topic);
+      return Resumable
+          .delay(Duration.SECOND, () -> Resumable.complete(2))
+          .andThen(n -> {
+            context.get().emit("second", topic);
+            return Resumable.delay(Duration.SECOND.times(n), () -> Resumable.complete("done"));
+          })
+          .map(result -> result + "!");
+    });
+
+    final var first = assertInstanceOf(TaskStatus.Delayed.class, task.step(recordingScheduler(events)));
+    assertEquals(Duration.SECOND, first.delay());
+    assertEquals(List.of("first"), events);
+
+    final var second = assertInstanceOf(TaskStatus.Delayed.class, first.continuation().step(recordingScheduler(events)));
+    assertEquals(Duration.SECOND.times(2), second.delay());
+    assertEquals(List.of("first", "second"), events);
+
+    final var third = assertInstanceOf(TaskStatus.Completed.class, second.continuation().step(recordingScheduler(events)));
+    assertEquals("done!", third.returnValue());
+  }
+
+  @Test
+  @DisplayName("Duplicated tasks resume from the point where the original was suspended")
+  public void testDuplicate() {
+    final Scoped<Context> context = Scoped.create();
+    final var topic = new Topic<String>();
+    final var originalEvents = new ArrayList<String>();
+    final var duplicateEvents = new ArrayList<String>();
+
+    final Task<String> task = new ResumableTask<>(context, () -> {
+      context.get().emit("before", topic);
+      return Resumable.delay(Duration.SECOND, () -> {
+        context.get().emit("after", topic);
+        return Resumable.complete("done");
+      });
+    });
+
+    final var first = assertInstanceOf(TaskStatus.Delayed.class, task.step(recordingScheduler(originalEvents)));
+    final Task<?> continuation = first.continuation();
+    final var duplicate = continuation.duplicate(ForkJoinPool.commonPool());
+
+    assertEquals("done", assertInstanceOf(TaskStatus.Completed.class, duplicate.step(recordingScheduler(duplicateEvents))).returnValue());
+    assertEquals("done", assertInstanceOf(TaskStatus.Completed.class, continuation.step(recordingScheduler(originalEvents))).returnValue());
+    assertEquals(List.of("before", "after"), originalEvents);
+    assertEquals(List.of("after"), duplicateEvents);
+  }
+
+  @Test
+  @DisplayName("Awaiting a resumable task from a replaying task yields at the same points")
+  public void testAwaitFromReplayingTask() {
+    final var topic = new Topic<String>();
+    final var events = new ArrayList<String>();
+
+    final Task<String> task = ModelActions.replaying(() -> {
+      ModelActions.emit("before", topic);
+      return Resumable.delay(Duration.SECOND, () -> {
+        ModelActions.emit("after", topic);
+        return Resumable.complete("done");
+      }).await();
+    }).create(ForkJoinPool.commonPool());
+
+    final var first = assertInstanceOf(TaskStatus.Delayed.class, task.step(recordingScheduler(events)));
+    assertEquals(Duration.SECOND, first.delay());
+    assertEquals(List.of("before"), events);
+
+    final var second = assertInstanceOf(TaskStatus.Completed.class, first.continuation().step(recordingScheduler(events)));
+    assertEquals("done", second.returnValue());
+    assertEquals(List.of("before", "after"), events);
+  }
+
+  @Test
+  @DisplayName("Resumable tasks cannot yield through the model actions")
+  public void testDirectYieldIsRejected() {
+    final Scoped<Context> context = Scoped.create();
+
+    final Task<String> task = new ResumableTask<>(context, () -> {
+      context.get().delay(Duration.SECOND);
+      return Resumable.complete("unreachable");
+    });
+
+    assertThrows(IllegalStateException.class, () -> task.step(recordingScheduler(new ArrayList<>())));
+  }
+
+  private static Resumable<Integer> loop(
+      final Scoped<Context> context,
+      final Topic<String> topic,
+      final int[] runs,
+      final int iteration,
+      final int yields)
+  {
+    runs[0] += 1;
+    if (iteration == yields) return Resumable.complete(yields);
+
+    context.get().emit("tick", topic);
+    return Resumable.delay(Duration.EPSILON, () -> loop(context, topic, runs, iteration + 1, yields));
+  }
+
+  private static Scheduler recordingScheduler(final List<String> events) {
+    return new Scheduler() {
+      @Override
+      public <State> State get(final CellId<State> query) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public <Event> void emit(final Event event, final Topic<Event> topic) {
+        events.add((String) event);
+      }
+
+      @Override
+      public void spawn(final TaskFactory<?> task) {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+}
@@ -3,12 +3,20 @@ package gov.nasa.jpl.aerie.merlin.framework;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Scheduler;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Task;
 import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.TaskStatus;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -49,6 +57,79 @@ public final class ThreadedTaskTest {
     }
   }
 
+  @Test
+  @DisplayName("Duplicated tasks resume from the point where the original was suspended")
+  public void testDuplicate() {
+    final var topic = new Topic<String>();
+    final var originalEvents = new ArrayList<String>();
+    final var duplicateEvents = new ArrayList<String>();
+
+    final var pool = Executors.newCachedThreadPool();
+    try {
+      final Scoped<Context> context = Scoped.create();
+      final var task = new ThreadedTask<>(duplicable(pool), context, () -> {
+        context.get().emit("before", topic);
+        context.get().delay(Duration.of(1, Duration.SECONDS));
+        context.get().emit("between", topic);
+        context.get().delay(Duration.of(2, Duration.SECONDS));
+        return "done";
+      });
+
+      final var first = task.step(recordingScheduler(originalEvents));
+      assertEquals(Duration.of(1, Duration.SECONDS), assertInstanceOf(TaskStatus.Delayed.class, first).delay());
+
+      final var duplicate = task.duplicate(duplicable(pool));
+
+      final var second = duplicate.step(recordingScheduler(duplicateEvents));
+      assertEquals(Duration.of(2, Duration.SECONDS), assertInstanceOf(TaskStatus.Delayed.class, second).delay());
+      assertEquals(List.of("between"), duplicateEvents);
+
+      final var third = task.step(recordingScheduler(originalEvents));
+      assertEquals(Duration.of(2, Duration.SECONDS), assertInstanceOf(TaskStatus.Delayed.class, third).delay());
+      assertEquals(List.of("before", "between"), originalEvents);
+
+      assertEquals("done", assertInstanceOf(TaskStatus.Completed.class, duplicate.step(recordingScheduler(duplicateEvents))).returnValue());
+      assertEquals("done", assertInstanceOf(TaskStatus.Completed.class, task.step(recordingScheduler(originalEvents))).returnValue());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("Tasks keep no record of their past unless they may be duplicated")
+  public void testDuplicateRequiresDuplicableExecutor() {
+    final var pool = Executors.newCachedThreadPool();
+    try {
+      final var task = new ThreadedTask<>(pool, Scoped.create(), () -> "done");
+      assertThrows(IllegalStateException.class, () -> task.duplicate(duplicable(pool)));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static Task.DuplicableExecutor duplicable(final Executor executor) {
+    return executor::execute;
+  }
+
+  private static Scheduler recordingScheduler(final List<String> events) {
+    return new Scheduler() {
+      @Override
+      public <State> State get(final CellId<State> query) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public <Event> void emit(final Event event, final Topic<Event> topic) {
+        events.add((String) event);
+      }
+
+      @Override
+      public void spawn(final TaskFactory<?> task) {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
   private static void assertSuppressed(final Class<? extends Throwable> expected, final Throwable ex) {
     for (final var suppressed : ex.getSuppressed()) {
       if (expected.isAssignableFrom(suppressed.getClass())) return;
@@ -0,0 +1,35 @@
+package gov.nasa.jpl.aerie.merlin.protocol.model;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+
+/**
+ * A {@link CellType} whose states are immutable values, which are replaced rather than updated in place.
+ *
+ * Since an immutable state can be shared freely, the simulation engine never copies it:
+ * reading such a cell, or branching a task's view of the simulation state, costs no more than a reference.
+ */
+public interface ImmutableCellType<Effect, State> extends CellType<Effect, State> {
+  /** Produce the state which results from applying an effect to the given state. */
+  State applied(State state, Effect effect);
+
+  /** Produce the state which results from letting the given amount of time pass over the given state. */
+  default State stepped(final State state, final Duration duration) {
+    // Unless specified, a cell is unaffected by the passage of time.
+    return state;
+  }
+
+  @Override
+  default State duplicate(final State state) {
+    return state;
+  }
+
+  @Override
+  default void apply(final State state, final Effect effect) {
+    throw new UnsupportedOperationException("An immutable cell state cannot be updated in place; use `applied` instead");
+  }
+
+  @Override
+  default void step(final State state, final Duration duration) {
+    throw new UnsupportedOperationException("An immutable cell state cannot be updated in place; use `stepped` instead");
+  }
+}
@@ -3,6 +3,8 @@ package gov.nasa.jpl.aerie.merlin.protocol.model;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Scheduler;
 import gov.nasa.jpl.aerie.merlin.protocol.types.TaskStatus;
 
+import java.util.concurrent.Executor;
+
 public interface Task<Return> {
   /**
    * Perform one step of the task, returning the next step of the task and the conditions under which to perform it.
@@ -23,4 +25,28 @@ public interface Task<Return> {
    * nor shall {@link #step(Scheduler)} be called after this method.</p>
    */
   default void release() {}
+
+  /**
+   * Produce an independent copy of this task, suspended at the same point as this task.
+   *
+   * <p>Stepping the copy must not affect this task, nor vice versa. Any system resources the copy needs
+   * (such as threads) must be obtained from the given executor.</p>
+   *
+   * <p>The default implementation assumes that the task holds no mutable state of its own, as is the case for
+   * continuations written as lambdas, and returns the task itself. Tasks that hold mutable state must override it.</p>
+   *
+   * <p>This method <b>shall not</b> be called on this object after invoking {@link #release()},
+   * nor on a task which was not created with a {@link DuplicableExecutor}.</p>
+   */
+  default Task<Return> duplicate(final Executor executor) {
+    return this;
+  }
+
+  /**
+   * An executor given to tasks which may later be {@link #duplicate(Executor) duplicated}.
+   *
+   * <p>Tasks that must keep a record of their past in order to be duplicated need only do so
+   * when created with an executor of this type.</p>
+   */
+  interface DuplicableExecutor extends Executor {}
 }
@@ -67,22 +67,135 @@ public sealed interface SerializedValue {
     }
   }
 
-  record NumericValue(BigDecimal value) implements SerializedValue {
+  /**
+   * A number, of arbitrary precision.
+   *
+   * Most numbers are created from a {@code long} or a {@code double}, and most are read back the same way, so they are
+   * held as such and only converted to a {@link BigDecimal} if one is asked for. Numbers are equal if their values are,
+   * regardless of how they are held, and a number created from a {@code double} has the same value as
+   * {@link BigDecimal#valueOf(double)} of it.
+   */
+  final class NumericValue implements SerializedValue {
+    private static final byte LONG = 0;
+    private static final byte DOUBLE = 1;
+    private static final byte DECIMAL = 2;
+
+    // A `double` has the value of its shortest decimal form, which is its exact value only below this magnitude.
+    // Above it, the shortest form of an integral `double` may well differ from it in the last few digits.
+    private static final double EXACT_DOUBLE_BOUND = 0x1p53;
+
+    // Integers of smaller magnitude than this are hashed as a `long`, and all other numbers as a `double`.
+    // This way every representation of the same number computes the same hash, without converting between them.
+    private static final long INTEGRAL_HASH_BOUND = 1_000_000_000_000_000_000L;
+
+    private final byte kind;
+    private final long longValue;
+    private final double doubleValue;
+    // Created on demand for numbers held as a `long` or `double`. `BigDecimal` is immutable, so a racing read at worst
+    // creates an equal value of its own.
+    private BigDecimal decimalValue;
+
+    public NumericValue(final BigDecimal value) {
+      this.kind = DECIMAL;
+      this.longValue = 0;
+      this.doubleValue = 0;
+      this.decimalValue = Objects.requireNonNull(value);
+    }
+
+    private NumericValue(final long value) {
+      this.kind = LONG;
+      this.longValue = value;
+      this.doubleValue = 0;
+      this.decimalValue = null;
+    }
+
+    private NumericValue(final double value) {
+      if (!Double.isFinite(value)) throw new NumberFormatException("Infinite or NaN");
+
+      this.kind = DOUBLE;
+      this.longValue = 0;
+      this.doubleValue = value;
+      this.decimalValue = null;
+    }
+
+    public BigDecimal value() {
+      var value = this.decimalValue;
+      if (value == null) {
+        value = (this.kind == LONG) ? BigDecimal.valueOf(this.longValue) : BigDecimal.valueOf(this.doubleValue);
+        this.decimalValue = value;
+      }
+      return value;
+    }
+
     @Override
     public <T> T match(final Visitor<T> visitor) {
-      return visitor.onNumeric(value);
+      return visitor.onNumeric(this.value());
+    }
+
+    @Override
+    public Optional<BigDecimal> asNumeric() {
+      return Optional.of(this.value());
+    }
+
+    @Override
+    public Optional<Double> asReal() {
+      return Optional.of(switch (this.kind) {
+        case LONG -> (double) this.longValue;
+        case DOUBLE -> this.doubleValue;
+        default -> this.decimalValue.doubleValue();
+      });
+    }
+
+    @Override
+    public Optional<Long> asInt() {
+      if (this.kind == LONG) return Optional.of(this.longValue);
+      if (this.kind == DOUBLE && Math.abs(this.doubleValue) < EXACT_DOUBLE_BOUND) {
+        return (this.doubleValue == Math.rint(this.doubleValue)) ? Optional.of((long) this.doubleValue) : Optional.empty();
+      }
+
+      try {
+        return Optional.of(this.value().longValueExact());
+      } catch (final ArithmeticException ex) {
+        return Optional.empty();
+      }
     }
 
     // `BigDecimal#equals` is too strict -- values differing only in representation need to be considered the same.
     @Override
     public boolean equals(final Object obj) {
+      if (this == obj) return true;
       if (!(obj instanceof NumericValue other)) return false;
-      return (this.value.compareTo(other.value) == 0);
+
+      if (this.kind == LONG && other.kind == LONG) return (this.longValue == other.longValue);
+      // `==` rather than `Double#equals`, so that 0.0 and -0.0 are equal, as their decimal forms are.
+      if (this.kind == DOUBLE && other.kind == DOUBLE) return (this.doubleValue == other.doubleValue);
+      return (this.value().compareTo(other.value()) == 0);
     }
 
     @Override
     public int hashCode() {
-      return this.value.stripTrailingZeros().hashCode();
+      if (this.kind == LONG) {
+        return (-INTEGRAL_HASH_BOUND < this.longValue && this.longValue < INTEGRAL_HASH_BOUND)
+            ? Long.hashCode(this.longValue)
+            : Double.hashCode((double) this.longValue);
+      } else if (this.kind == DOUBLE && Math.abs(this.doubleValue) < EXACT_DOUBLE_BOUND) {
+        return (this.doubleValue == Math.rint(this.doubleValue))
+            ? Long.hashCode((long) this.doubleValue)
+            : Double.hashCode(this.doubleValue);
+      } else {
+        final var value = this.value();
+        final var stripped = value.stripTrailingZeros();
+        // For an integer, the number of digits before the decimal point.
+        final var digits = stripped.precision() - stripped.scale();
+        return (stripped.scale() <= 0 && digits < 19)
+            ? Long.hashCode(stripped.longValue())
+            : Double.hashCode(value.doubleValue());
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "NumericValue[value=" + this.value() + "]";
     }
   }
 
@@ -140,7 +253,7 @@ public sealed interface SerializedValue {
    * @return A new {@link SerializedValue} containing a real number.
    */
   static SerializedValue of(final double value) {
-    return new NumericValue(BigDecimal.valueOf(value));
+    return new NumericValue(value);
   }
 
   /**
@@ -150,7 +263,7 @@ public sealed interface SerializedValue {
    * @return A new {@link SerializedValue} containing an integral number.
    */
   static SerializedValue of(final long value) {
-    return new NumericValue(BigDecimal.valueOf(value));
+    return new NumericValue(value);
   }
 
   /**
@@ -0,0 +1,80 @@
+package gov.nasa.jpl.aerie.merlin.protocol.types;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SerializedValueTest {
+  @Test
+  public void testNumbersEqualAcrossRepresentations() {
+    assertSameNumber(SerializedValue.of(3), SerializedValue.of(3.0));
+    assertSameNumber(SerializedValue.of(3), SerializedValue.of(new BigDecimal("3.000")));
+    assertSameNumber(SerializedValue.of(3.0), SerializedValue.of(new BigDecimal("3")));
+    assertSameNumber(SerializedValue.of(0.1), SerializedValue.of(new BigDecimal("0.10")));
+    assertSameNumber(SerializedValue.of(0.0), SerializedValue.of(-0.0));
+    assertSameNumber(SerializedValue.of(0), SerializedValue.of(new BigDecimal("-0.00")));
+    assertSameNumber(SerializedValue.of(-1.5e-7), SerializedValue.of(new BigDecimal("-0.00000015")));
+    assertSameNumber(SerializedValue.of(1e18), SerializedValue.of(1_000_000_000_000_000_000L));
+    assertSameNumber(SerializedValue.of(1e18), SerializedValue.of(new BigDecimal("1E+18")));
+    assertSameNumber(SerializedValue.of(999_999_999_999_999_999L), SerializedValue.of(new BigDecimal("999999999999999999.0")));
+    assertSameNumber(SerializedValue.of(0x1p52 + 1), SerializedValue.of(4_503_599_627_370_497L));
+    // A `double` stands for its shortest decimal form, which for large integers is not its exact value.
+    assertSameNumber(SerializedValue.of(0x1p60), SerializedValue.of(new BigDecimal("1.15292150460684698E18")));
+    assertSameNumber(SerializedValue.of(Long.MAX_VALUE), SerializedValue.of(BigDecimal.valueOf(Long.MAX_VALUE)));
+    assertSameNumber(SerializedValue.of(1e300), SerializedValue.of(BigDecimal.valueOf(1e300)));
+
+    assertNotEquals(SerializedValue.of(3), SerializedValue.of(3.5));
+    assertNotEquals(SerializedValue.of(0.1), SerializedValue.of(new BigDecimal("0.1000000000000000055511151231257827")));
+    assertNotEquals(SerializedValue.of(Long.MAX_VALUE), SerializedValue.of(0x1p63));
+    assertNotEquals(SerializedValue.of(1L << 60), SerializedValue.of(0x1p60));
+  }
+
+  @Test
+  public void testNumbersReadBackExactly() {
+    assertEquals(Optional.of(0.1), SerializedValue.of(0.1).asReal());
+    assertEquals(Optional.of(new BigDecimal("0.1")), SerializedValue.of(0.1).asNumeric());
+    assertEquals(Optional.of(3.0), SerializedValue.of(3).asReal());
+
+    assertEquals(Optional.of(Long.MAX_VALUE), SerializedValue.of(Long.MAX_VALUE).asInt());
+    assertEquals(Optional.of(-3L), SerializedValue.of(-3.0).asInt());
+    assertEquals(Optional.of(4_503_599_627_370_497L), SerializedValue.of(0x1p52 + 1).asInt());
+    assertEquals(Optional.of(1_152_921_504_606_846_980L), SerializedValue.of(0x1p60).asInt());
+    assertEquals(Optional.empty(), SerializedValue.of(-0x1p63).asInt());
+    assertEquals(Optional.empty(), SerializedValue.of(0x1p63).asInt());
+    assertEquals(Optional.empty(), SerializedValue.of(2.5).asInt());
+    assertEquals(Optional.of(3L), SerializedValue.of(new BigDecimal("3.00")).asInt());
+    assertEquals(Optional.empty(), SerializedValue.of(new BigDecimal("3.01")).asInt());
+  }
+
+  @Test
+  public void testNumbersMatchAsDecimals() {
+    final var visitor = new SerializedValue.OptionalVisitor<BigDecimal>() {
+      @Override
+      public Optional<BigDecimal> onNumeric(final BigDecimal value) {
+        return Optional.of(value);
+      }
+    };
+
+    assertEquals(Optional.of(BigDecimal.valueOf(1.25)), SerializedValue.of(1.25).match(visitor));
+    assertEquals(Optional.of(BigDecimal.valueOf(7)), SerializedValue.of(7).match(visitor));
+    assertEquals(Optional.empty(), SerializedValue.of(List.of()).match(visitor));
+  }
+
+  @Test
+  public void testNonFiniteNumbersAreRejected() {
+    assertThrows(NumberFormatException.class, () -> SerializedValue.of(Double.NaN));
+    assertThrows(NumberFormatException.class, () -> SerializedValue.of(Double.POSITIVE_INFINITY));
+  }
+
+  private static void assertSameNumber(final SerializedValue a, final SerializedValue b) {
+    assertEquals(a, b);
+    assertEquals(b, a);
+    assertEquals(a.hashCode(), b.hashCode(), () -> "hashes differ for " + a + " and " + b);
+  }
+}
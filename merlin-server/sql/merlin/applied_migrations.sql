@@ -39,3 +39,5 @@ call migrations.mark_migration_applied('33');
 call migrations.mark_migration_applied('34');
 call migrations.mark_migration_applied('35');
 call migrations.mark_migration_applied('36');
+call migrations.mark_migration_applied('37');
+call migrations.mark_migration_applied('38');
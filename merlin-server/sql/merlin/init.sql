@@ -46,6 +46,7 @@ begin;
   \ir tables/span.sql
   \ir tables/profile.sql
   \ir tables/profile_segment.sql
+  \ir tables/profile_chunk.sql
   \ir tables/topic.sql
   \ir tables/event.sql
 
@@ -26,6 +26,7 @@ create table simulation_dataset (
   status status_t not null default 'pending',
   reason jsonb null,
   canceled boolean not null default false,
+  report jsonb null,
 
   -- Additional Metadata
   requested_by text,
@@ -80,6 +81,10 @@ comment on column simulation_dataset.reason is e''
   'The reason for failure in the event that simulation fails.';
 comment on column simulation_dataset.canceled is e''
   'Whether the simulation has been marked as canceled.';
+comment on column simulation_dataset.report is e''
+  'A summary of where the work of the simulation went, by activity type and resource.'
+'\n'
+  'Only present if the simulation engine was instrumented to count its work.';
 comment on column simulation_dataset.offset_from_plan_start is e''
   'The time to judge dataset items against relative to the plan start.'
 '\n'
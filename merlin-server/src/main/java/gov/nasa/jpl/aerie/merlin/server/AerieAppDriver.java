@@ -2,6 +2,7 @@ package gov.nasa.jpl.aerie.merlin.server;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModelCache;
 import gov.nasa.jpl.aerie.merlin.server.config.AppConfiguration;
 import gov.nasa.jpl.aerie.merlin.server.config.PostgresStore;
 import gov.nasa.jpl.aerie.merlin.server.config.Store;
@@ -18,6 +19,7 @@ import gov.nasa.jpl.aerie.merlin.server.services.ValidationWorker;
 import gov.nasa.jpl.aerie.permissions.PermissionsService;
 import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PostgresPlanRepository;
 import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PostgresResultsCellRepository;
+import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.ResultsWriteMode;
 import gov.nasa.jpl.aerie.merlin.server.services.CachedSimulationService;
 import gov.nasa.jpl.aerie.merlin.server.services.ConstraintAction;
 import gov.nasa.jpl.aerie.merlin.server.services.ConstraintsDSLCompilationService;
@@ -53,7 +55,8 @@ public final class AerieAppDriver {
     final var missionModelController = new LocalMissionModelService(
         configuration.merlinFileStore(),
         stores.missionModels(),
-        configuration.untruePlanStart());
+        configuration.untruePlanStart(),
+        new MissionModelCache(configuration.missionModelCacheSize()));
 
     if (configuration.enableContinuousValidationThread()) {
       final var validationWorker = new ValidationWorker(
@@ -70,7 +73,10 @@ public final class AerieAppDriver {
 
     final ConstraintsDSLCompilationService constraintsDSLCompilationService;
     try {
-      constraintsDSLCompilationService = new ConstraintsDSLCompilationService(typescriptCodeGenerationService);
+      constraintsDSLCompilationService = new ConstraintsDSLCompilationService(
+          typescriptCodeGenerationService,
+          configuration.constraintsDslCompilerPoolSize(),
+          configuration.constraintsDslCompilationCacheSize());
     } catch (IOException e) {
       throw new Error("Failed to start ConstraintsDSLCompilationService", e);
     }
@@ -91,7 +97,8 @@ public final class AerieAppDriver {
       constraintService,
       planController,
       missionModelController,
-      simulationController
+      simulationController,
+      configuration.constraintsEvaluationPoolSize()
     );
     final var generateConstraintsLibAction = new GenerateConstraintsLibAction(typescriptCodeGenerationService);
     final var permissionsService = new PermissionsService(
@@ -155,7 +162,7 @@ public final class AerieAppDriver {
       return new Stores(
           new PostgresPlanRepository(hikariDataSource),
           new PostgresMissionModelRepository(hikariDataSource),
-          new PostgresResultsCellRepository(hikariDataSource),
+          new PostgresResultsCellRepository(hikariDataSource, config.resultsWriteMode()),
           new PostgresConstraintRepository(hikariDataSource));
     } else {
       throw new UnexpectedSubtypeError(Store.class, store);
@@ -182,7 +189,12 @@ public final class AerieAppDriver {
         URI.create(getEnv("HASURA_GRAPHQL_URL", "http://localhost:8080/v1/graphql")),
         getEnv("HASURA_GRAPHQL_ADMIN_SECRET", ""),
         Boolean.parseBoolean(getEnv("ENABLE_CONTINUOUS_VALIDATION_THREAD", "false")),
-        Integer.parseInt(getEnv("VALIDATION_THREAD_POLLING_PERIOD", "500"))
+        Integer.parseInt(getEnv("VALIDATION_THREAD_POLLING_PERIOD", "500")),
+        Integer.parseInt(getEnv("MISSION_MODEL_CACHE_SIZE", "4")),
+        Integer.parseInt(getEnv("CONSTRAINTS_DSL_COMPILER_POOL_SIZE", "1")),
+        Integer.parseInt(getEnv("CONSTRAINTS_DSL_COMPILATION_CACHE_SIZE", "1024")),
+        Integer.parseInt(getEnv("CONSTRAINTS_EVALUATION_POOL_SIZE", "4")),
+        ResultsWriteMode.fromString(getEnv("MERLIN_RESULTS_WRITE_MODE", "batch"))
     );
   }
 }
@@ -1,10 +1,27 @@
 package gov.nasa.jpl.aerie.merlin.server;
 
+import gov.nasa.jpl.aerie.merlin.driver.InMemorySimulationResultsSink;
+import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivityId;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationFailure;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationReport;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationResultsSink;
+import gov.nasa.jpl.aerie.merlin.driver.UnfinishedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
 import gov.nasa.jpl.aerie.merlin.server.models.SimulationResultsHandle;
 
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 public final class ResultsProtocol {
@@ -51,6 +68,100 @@ public final class ResultsProtocol {
     void reportIncompleteResults(SimulationResults results);
 
     void reportSimulationExtent(Duration extent);
+
+    /**
+     * Begin writing results as they are produced by the simulation.
+     *
+     * The returned sink must be closed. If it is closed before `succeed` or `reportIncomplete`,
+     *   everything written to it is discarded, and the writer must still complete with `failWith()`.
+     *
+     * By default, results are buffered in memory and written all at once.
+     */
+    default ResultsSink streamResults() {
+      return new BufferedResultsSink(this);
+    }
+  }
+
+  /** A destination for simulation results which is fed incrementally while the simulation runs. */
+  public interface ResultsSink extends SimulationResultsSink, AutoCloseable {
+    /** Mark the results as complete. Only legal after the simulation has completed. */
+    void succeed();
+
+    /** Mark the results as partial, because the simulation was canceled. Only legal after the simulation has completed. */
+    void reportIncomplete();
+
+    @Override
+    void close();
+  }
+
+  /** A sink which accumulates results in memory, and hands them off to a writer in one piece. */
+  public static final class BufferedResultsSink implements ResultsSink {
+    private final WriterRole writer;
+    private final InMemorySimulationResultsSink results = new InMemorySimulationResultsSink();
+
+    public BufferedResultsSink(final WriterRole writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    public void declareTopics(final List<Triple<Integer, String, ValueSchema>> topics) {
+      this.results.declareTopics(topics);
+    }
+
+    @Override
+    public void declareRealProfile(final String name, final ValueSchema schema) {
+      this.results.declareRealProfile(name, schema);
+    }
+
+    @Override
+    public void declareDiscreteProfile(final String name, final ValueSchema schema) {
+      this.results.declareDiscreteProfile(name, schema);
+    }
+
+    @Override
+    public void appendRealSegment(final String name, final ProfileSegment<RealDynamics> segment) {
+      this.results.appendRealSegment(name, segment);
+    }
+
+    @Override
+    public void appendDiscreteSegment(final String name, final ProfileSegment<SerializedValue> segment) {
+      this.results.appendDiscreteSegment(name, segment);
+    }
+
+    @Override
+    public void appendEvents(final Duration time, final EventGraph<Pair<Integer, SerializedValue>> events) {
+      this.results.appendEvents(time, events);
+    }
+
+    @Override
+    public void report(final SimulationReport report) {
+      this.results.report(report);
+    }
+
+    @Override
+    public void complete(
+        final Instant startTime,
+        final Duration elapsedTime,
+        final Map<SimulatedActivityId, SimulatedActivity> simulatedActivities,
+        final Map<SimulatedActivityId, UnfinishedActivity> unfinishedActivities)
+    {
+      this.results.complete(startTime, elapsedTime, simulatedActivities, unfinishedActivities);
+    }
+
+    @Override
+    public void succeed() {
+      this.writer.succeedWith(this.results.getResults());
+    }
+
+    @Override
+    public void reportIncomplete() {
+      this.writer.reportIncompleteResults(this.results.getResults());
+    }
+
+    @Override
+    public void close() {
+      // Nothing has been written yet, so there is nothing to discard.
+    }
   }
 
   public interface OwnerRole extends ReaderRole, WriterRole {}
@@ -1,5 +1,7 @@
 package gov.nasa.jpl.aerie.merlin.server.config;
 
+import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.ResultsWriteMode;
+
 import java.net.URI;
 import java.nio.file.Path;
 import java.time.Instant;
@@ -14,11 +16,17 @@ public record AppConfiguration (
     URI hasuraGraphqlURI,
     String hasuraGraphQlAdminSecret,
     boolean enableContinuousValidationThread,
-    int validationThreadPollingPeriod
+    int validationThreadPollingPeriod,
+    int missionModelCacheSize,
+    int constraintsDslCompilerPoolSize,
+    int constraintsDslCompilationCacheSize,
+    int constraintsEvaluationPoolSize,
+    ResultsWriteMode resultsWriteMode
 ) {
   public AppConfiguration {
     Objects.requireNonNull(merlinFileStore);
     Objects.requireNonNull(store);
     Objects.requireNonNull(untruePlanStart);
+    Objects.requireNonNull(resultsWriteMode);
   }
 }
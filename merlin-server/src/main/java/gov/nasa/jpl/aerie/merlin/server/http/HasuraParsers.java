@@ -2,11 +2,14 @@ package gov.nasa.jpl.aerie.merlin.server.http;
 
 import gov.nasa.jpl.aerie.json.JsonParser;
 import gov.nasa.jpl.aerie.merlin.driver.SerializedActivity;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.merlin.server.models.HasuraAction;
 import gov.nasa.jpl.aerie.merlin.server.models.HasuraMissionModelEvent;
 
 import java.util.Optional;
 
+import static gov.nasa.jpl.aerie.json.BasicParsers.doubleP;
+import static gov.nasa.jpl.aerie.json.BasicParsers.intP;
 import static gov.nasa.jpl.aerie.json.BasicParsers.listP;
 import static gov.nasa.jpl.aerie.json.BasicParsers.longP;
 import static gov.nasa.jpl.aerie.json.BasicParsers.mapP;
@@ -54,6 +57,37 @@ public abstract class HasuraParsers {
                           .field("planId", planIdP)
                           .map(HasuraAction.PlanInput::new, HasuraAction.PlanInput::planId));
 
+  // GraphQL integers are only 32 bits wide, so offsets in microseconds arrive as floating-point numbers.
+  private static final JsonParser<Duration> microsecondOffsetP
+      = doubleP
+      . map(
+          microseconds -> Duration.roundNearest(microseconds, Duration.MICROSECONDS),
+          duration -> (double) duration.in(Duration.MICROSECONDS));
+
+  public static final JsonParser<HasuraAction<HasuraAction.ResourceSamplesInput>> hasuraResourceSamplesActionP
+      = hasuraActionF(
+      productP
+          .field("planId", planIdP)
+          .optionalField("startOffset", nullableP(microsecondOffsetP))
+          .optionalField("endOffset", nullableP(microsecondOffsetP))
+          .optionalField("resourceNames", nullableP(listP(stringP)))
+          .optionalField("maxPoints", nullableP(intP))
+          .map(
+              untuple((planId, startOffset, endOffset, resourceNames, maxPoints) -> new HasuraAction.ResourceSamplesInput(
+                  planId,
+                  startOffset.flatMap($ -> $),
+                  endOffset.flatMap($ -> $),
+                  resourceNames.flatMap($ -> $),
+                  maxPoints.flatMap($ -> $))),
+              $ -> tuple(
+                  $.planId(),
+                  Optional.of($.startOffset()),
+                  Optional.of($.endOffset()),
+                  Optional.of($.resourceNames()),
+                  Optional.of($.maxPoints()))
+          )
+      );
+
   public static final JsonParser<HasuraAction<HasuraAction.ConstraintViolationsInput>> hasuraConstraintsViolationsActionP
       = hasuraActionF(
       productP
@@ -40,6 +40,7 @@ import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraMissionM
 import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraMissionModelArgumentsActionP;
 import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraMissionModelEventTriggerP;
 import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraPlanActionP;
+import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraResourceSamplesActionP;
 import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraExtendExternalDatasetActionP;
 import static io.javalin.apibuilder.ApiBuilder.before;
 import static io.javalin.apibuilder.ApiBuilder.path;
@@ -104,6 +105,8 @@ public final class MerlinBindings implements Plugin {
       path("addExternalDataset", () -> post(this::addExternalDataset));
       path("extendExternalDataset", () -> post(this::extendExternalDataset));
       path("constraintsDslTypescript", () -> post(this::getConstraintsDslTypescript));
+      path("constraintsCompilationStats", () -> get(this::getConstraintsCompilationStats));
+      path("missionModelCacheStats", () -> get(this::getMissionModelCacheStats));
       path("health", () -> get(ctx -> ctx.status(200)));
     });
 
@@ -203,12 +206,17 @@ public final class MerlinBindings implements Plugin {
 
   private void getResourceSamples(final Context ctx) {
     try {
-      final var body = parseJson(ctx.body(), hasuraPlanActionP);
-      final var planId = body.input().planId();
+      final var body = parseJson(ctx.body(), hasuraResourceSamplesActionP);
+      final var input = body.input();
+      final var planId = input.planId();
 
       this.checkPermissions(Action.resource_samples, body.session(), planId);
 
-      final var resourceSamples = this.simulationAction.getResourceSamples(planId);
+      final var resourceSamples = this.simulationAction.getResourceSamples(planId, new GetSimulationResultsAction.SampleQuery(
+          input.startOffset(),
+          input.endOffset(),
+          input.resourceNames(),
+          input.maxPoints()));
       ctx.result(ResponseSerializers.serializeResourceSamples(resourceSamples).toString());
     } catch (final InvalidJsonException ex) {
       ctx.status(400).result(ResponseSerializers.serializeInvalidJsonException(ex).toString());
@@ -238,7 +246,7 @@ public final class MerlinBindings implements Plugin {
 
       final var constraintViolations = this.constraintAction.getViolations(planId, simulationDatasetId);
 
-      ctx.result(ResponseSerializers.serializeConstraintResults(constraintViolations).toString());
+      ctx.result(ResponseSerializers.serializeConstraintResults(constraintViolations.results(), constraintViolations.timings()).toString());
     } catch (final InvalidJsonException ex) {
       ctx.status(400).result(ResponseSerializers.serializeInvalidJsonException(ex).toString());
     } catch (final InvalidEntityException ex) {
@@ -451,6 +459,16 @@ public final class MerlinBindings implements Plugin {
    *
    * @param ctx the http context of the request from which to read input or post results
    */
+  private void getConstraintsCompilationStats(final Context ctx) {
+    final var stats = this.constraintAction.getCompilationStats();
+    ctx.result(ResponseSerializers.serializeConstraintsCompilationStats(stats).toString());
+  }
+
+  private void getMissionModelCacheStats(final Context ctx) {
+    final var stats = this.missionModelService.getMissionModelCacheStats();
+    ctx.result(ResponseSerializers.serializeMissionModelCacheStats(stats).toString());
+  }
+
   private void getConstraintsDslTypescript(final Context ctx) {
     try {
       final var body = parseJson(ctx.body(), hasuraConstraintsCodeAction);
@@ -6,7 +6,9 @@ import gov.nasa.jpl.aerie.constraints.model.ConstraintResult;
 import gov.nasa.jpl.aerie.constraints.time.Interval;
 import gov.nasa.jpl.aerie.json.JsonParseResult.FailureReason;
 import gov.nasa.jpl.aerie.merlin.driver.ActivityDirectiveId;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModelCache;
 import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationReport;
 import gov.nasa.jpl.aerie.merlin.driver.UnfinishedActivity;
 import gov.nasa.jpl.aerie.merlin.driver.json.ValueSchemaJsonParser;
 import gov.nasa.jpl.aerie.merlin.protocol.model.InputType.Parameter;
@@ -20,6 +22,7 @@ import gov.nasa.jpl.aerie.merlin.server.exceptions.NoSuchPlanException;
 import gov.nasa.jpl.aerie.merlin.server.exceptions.SimulationDatasetMismatchException;
 import gov.nasa.jpl.aerie.merlin.server.models.Constraint;
 import gov.nasa.jpl.aerie.merlin.server.remotes.MissionModelAccessException;
+import gov.nasa.jpl.aerie.merlin.server.services.ConstraintAction;
 import gov.nasa.jpl.aerie.merlin.server.services.ConstraintsDSLCompilationService;
 import gov.nasa.jpl.aerie.merlin.server.services.GetSimulationResultsAction;
 import gov.nasa.jpl.aerie.merlin.server.services.LocalMissionModelService;
@@ -313,68 +316,135 @@ public final class ResponseSerializers {
         .build();
   }
 
-  public static JsonValue serializeConstraintResults(final Map<Constraint, Failable<?>> resultMap) {
+  public static JsonValue serializeConstraintResults(
+      final Map<Constraint, Failable<?>> resultMap,
+      final Map<Long, ConstraintAction.Timing> timings)
+  {
     var results = resultMap.entrySet().stream().map(entry -> {
+      final var timing = timings.get(entry.getKey().id());
+      return Json.createObjectBuilder(serializeConstraintResponse(entry.getKey(), entry.getValue()).asJsonObject())
+                 .add("timing", (timing == null) ? JsonValue.NULL : serializeConstraintTiming(timing))
+                 .build();
+    }).collect(Collectors.toList());
 
-      final var constraint = entry.getKey();
-      final var failable = entry.getValue();
-
-      // There should always be a failable but this is here
-      // just in case
-      if (failable.getOptional().isEmpty()) {
-        return Json.createObjectBuilder()
-                   .add("success", JsonValue.FALSE)
-                   .add("constraintId", constraint.id())
-                   .add("constraintName", constraint.name())
-                   .add("type",constraint.type().name())
-                   .add("errors", Json.createArrayBuilder().add(
-                       Json.createObjectBuilder()
-                           .add("message", "Internal error processing a constraint")
-                           .add("stack", "")
-                           .add("location", JsonValue.EMPTY_JSON_OBJECT).build()).build())
-                   .add("results", JsonValue.EMPTY_JSON_OBJECT)
-                   .build();
-      }
+    final var resultsArrayBuilder = Json.createArrayBuilder();
+    results.forEach(resultsArrayBuilder::add);
 
-      // failure was a compilation error
-      if (failable.isFailure()
-          && failable.getOptional().get() instanceof ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult.Error) {
-        return serializeConstraintCompileErrors(constraint, (Failable<ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult.Error>) failable);
-      }
+    return resultsArrayBuilder.build();
+  }
 
-      // failure that are errors exceptions that were captured
-      if (failable.isFailure()) {
-        return Json.createObjectBuilder()
-                   .add("success", JsonValue.FALSE)
-                   .add("constraintId", constraint.id())
-                   .add("constraintName", constraint.name())
-                   .add("type",constraint.type().name())
-                   .add("errors", Json.createArrayBuilder().add(
-                       Json.createObjectBuilder()
-                           .add("message", failable.getMessage())
-                           .add("stack", "")
-                           .add("location", JsonValue.EMPTY_JSON_OBJECT).build()).build())
-                   .add("results", JsonValue.EMPTY_JSON_OBJECT)
-                   .build();
-      }
+  public static JsonValue serializeConstraintTiming(final ConstraintAction.Timing timing) {
+    return Json.createObjectBuilder()
+               .add("compilationMillis", timing.compilationNanos() / 1_000_000.0)
+               .add("profileLoadingMillis", timing.profileLoadingNanos() / 1_000_000.0)
+               .add("evaluationMillis", timing.evaluationNanos() / 1_000_000.0)
+               .build();
+  }
+
+  public static JsonValue serializeConstraintsCompilationStats(final ConstraintsDSLCompilationService.Stats stats) {
+    return Json.createObjectBuilder()
+               .add("cache", Json.createObjectBuilder()
+                   .add("hits", stats.hits())
+                   .add("misses", stats.misses())
+                   .add("evictions", stats.evictions())
+                   .add("size", stats.size()))
+               .add("generatedTypesCache", Json.createObjectBuilder()
+                   .add("hits", stats.generatedTypes().hits())
+                   .add("misses", stats.generatedTypes().misses())
+                   .add("size", stats.generatedTypes().size()))
+               .add("compilerPool", Json.createObjectBuilder()
+                   .add("size", stats.poolSize())
+                   .add("idle", stats.idle())
+                   .add("respawns", stats.respawns())
+                   .add("totalQueueWaitMillis", stats.totalQueueWaitNanos() / 1_000_000.0)
+                   .add("maxQueueWaitMillis", stats.maxQueueWaitNanos() / 1_000_000.0))
+               .build();
+  }
+  public static JsonValue serializeMissionModelCacheStats(final MissionModelCache.Stats stats) {
+    return Json.createObjectBuilder()
+               .add("hits", stats.hits())
+               .add("misses", stats.misses())
+               .add("evictions", stats.evictions())
+               .add("size", stats.size())
+               .add("totalLoadMillis", stats.totalLoadNanos() / 1_000_000.0)
+               .build();
+  }
+
+
+  public static JsonValue serializeSimulationReport(final SimulationReport report) {
+    return Json.createObjectBuilder()
+               .add("activityTypes", serializeMap(ResponseSerializers::serializeTaskStatistics, report.activityTypes()))
+               .add("resourceSamples", serializeMap(Json::createValue, report.resourceSamples()))
+               .add("cellDuplications", report.cellDuplications())
+               .add("commits", Json.createObjectBuilder()
+                   .add("count", report.commits().commits())
+                   .add("events", report.commits().events())
+                   .add("maxEvents", report.commits().maxEvents()))
+               .build();
+  }
 
-      // successful runs
-      var constraintResult = (ConstraintResult) failable.getOptional().get();
+  private static JsonValue serializeTaskStatistics(final SimulationReport.TaskStatistics statistics) {
+    return Json.createObjectBuilder()
+               .add("tasks", statistics.tasks())
+               .add("steps", statistics.steps())
+               .add("yields", statistics.yields())
+               .add("stepMillis", statistics.stepNanos() / 1_000_000.0)
+               .add("reads", statistics.reads())
+               .add("emits", statistics.emits())
+               .add("conditionEvaluations", statistics.conditionEvaluations())
+               .build();
+  }
+
+  private static JsonValue serializeConstraintResponse(final Constraint constraint, final Failable<?> failable) {
+    // There should always be a failable but this is here
+    // just in case
+    if (failable.getOptional().isEmpty()) {
       return Json.createObjectBuilder()
-                 .add("success", JsonValue.TRUE)
+                 .add("success", JsonValue.FALSE)
                  .add("constraintId", constraint.id())
                  .add("constraintName", constraint.name())
                  .add("type",constraint.type().name())
-                 .add("errors", JsonValue.EMPTY_JSON_ARRAY)
-                 .add("results", serializeConstraintResult(constraintResult))
+                 .add("errors", Json.createArrayBuilder().add(
+                     Json.createObjectBuilder()
+                         .add("message", "Internal error processing a constraint")
+                         .add("stack", "")
+                         .add("location", JsonValue.EMPTY_JSON_OBJECT).build()).build())
+                 .add("results", JsonValue.EMPTY_JSON_OBJECT)
                  .build();
+    }
 
-    }).collect(Collectors.toList());
+    // failure was a compilation error
+    if (failable.isFailure()
+        && failable.getOptional().get() instanceof ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult.Error) {
+      return serializeConstraintCompileErrors(constraint, (Failable<ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult.Error>) failable);
+    }
 
-    final var resultsArrayBuilder = Json.createArrayBuilder();
-    results.forEach(resultsArrayBuilder::add);
+    // failure that are errors exceptions that were captured
+    if (failable.isFailure()) {
+      return Json.createObjectBuilder()
+                 .add("success", JsonValue.FALSE)
+                 .add("constraintId", constraint.id())
+                 .add("constraintName", constraint.name())
+                 .add("type",constraint.type().name())
+                 .add("errors", Json.createArrayBuilder().add(
+                     Json.createObjectBuilder()
+                         .add("message", failable.getMessage())
+                         .add("stack", "")
+                         .add("location", JsonValue.EMPTY_JSON_OBJECT).build()).build())
+                 .add("results", JsonValue.EMPTY_JSON_OBJECT)
+                 .build();
+    }
 
-    return resultsArrayBuilder.build();
+    // successful runs
+    var constraintResult = (ConstraintResult) failable.getOptional().get();
+    return Json.createObjectBuilder()
+               .add("success", JsonValue.TRUE)
+               .add("constraintId", constraint.id())
+               .add("constraintName", constraint.name())
+               .add("type",constraint.type().name())
+               .add("errors", JsonValue.EMPTY_JSON_ARRAY)
+               .add("results", serializeConstraintResult(constraintResult))
+               .build();
   }
 
   public static JsonValue serializeSimulationResultsResponse(final GetSimulationResultsAction.Response response) {
@@ -1,6 +1,7 @@
 package gov.nasa.jpl.aerie.merlin.server.models;
 
 import gov.nasa.jpl.aerie.merlin.driver.SerializedActivity;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
 
 import java.util.List;
@@ -15,6 +16,11 @@ public record HasuraAction<I extends HasuraAction.Input>(String name, I input, S
 
   public record MissionModelInput(String missionModelId) implements Input { }
   public record PlanInput(PlanId planId) implements Input { }
+  public record ResourceSamplesInput(PlanId planId,
+                                     Optional<Duration> startOffset,
+                                     Optional<Duration> endOffset,
+                                     Optional<List<String>> resourceNames,
+                                     Optional<Integer> maxPoints) implements Input { }
   public record ConstraintViolationsInput(PlanId planId, Optional<SimulationDatasetId> simulationDatasetId) implements Input { }
   public record ActivityInput(String missionModelId,
                               String activityTypeName,
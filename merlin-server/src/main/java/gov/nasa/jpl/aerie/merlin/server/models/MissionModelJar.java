@@ -17,6 +17,9 @@ public final class MissionModelJar {
    */
   public Path path;
 
+  /** Incremented whenever the model or its JAR changes. */
+  public long revision;
+
   public MissionModelJar() {}
 
   @Override
@@ -32,6 +35,7 @@ public final class MissionModelJar {
               && Objects.equals(this.mission, other.mission)
               && Objects.equals(this.owner, other.owner)
               && Objects.equals(this.path, other.path)
+              && this.revision == other.revision
               );
   }
 
@@ -42,7 +46,8 @@ public final class MissionModelJar {
         version,
         mission,
         owner,
-        path
+        path,
+        revision
     );
   }
 }
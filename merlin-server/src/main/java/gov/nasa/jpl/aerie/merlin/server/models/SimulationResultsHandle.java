@@ -18,6 +18,8 @@ public interface SimulationResultsHandle {
 
   SimulationResults getSimulationResults();
 
+  List<String> getProfileNames();
+
   ProfileSet getProfiles(final List<String> profileNames);
 
   Map<SimulatedActivityId, SimulatedActivity> getSimulatedActivities();
@@ -18,6 +18,7 @@ import gov.nasa.jpl.aerie.merlin.server.models.SimulationResultsHandle;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -180,6 +181,14 @@ public final class InMemoryResultsCellRepository implements ResultsCellRepositor
       return this.simulationResults;
     }
 
+    @Override
+    public List<String> getProfileNames() {
+      final var names = new ArrayList<String>();
+      names.addAll(this.simulationResults.realProfiles.keySet());
+      names.addAll(this.simulationResults.discreteProfiles.keySet());
+      return names;
+    }
+
     @Override
     public ProfileSet getProfiles(final List<String> profileNames) {
       final var realProfiles = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<RealDynamics>>>>();
@@ -0,0 +1,74 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import org.intellij.lang.annotations.Language;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.CopyRowWriter.serializedValueEncoder;
+
+/**
+ * Writes profile segments through a single `COPY`, producing the same rows as {@link PostProfileSegmentsAction}
+ * and {@link AppendProfileSegmentsAction}.
+ *
+ * Segments for any number of profiles may be written before the action is closed.
+ * No other statement may be executed on the connection until then.
+ */
+/*package-local*/ final class CopyProfileSegmentsAction implements AutoCloseable {
+  private static final @Language("SQL") String sql = """
+      copy profile_segment (dataset_id, profile_id, start_offset, dynamics, is_gap) from stdin
+    """;
+
+  private final CopyRowWriter writer;
+
+  public CopyProfileSegmentsAction(final Connection connection) throws SQLException {
+    this.writer = CopyRowWriter.open(connection, sql);
+  }
+
+  /**
+   * Write the given segments of a profile, the first of which begins at the given offset from the simulation start.
+   *
+   * @return The offset at which the last of the given segments ends.
+   */
+  public <Dynamics> Duration apply(
+      final long datasetId,
+      final ProfileRecord profileRecord,
+      final Duration startOffset,
+      final List<ProfileSegment<Optional<Dynamics>>> segments,
+      final CopyRowWriter.JsonEncoder<Dynamics> dynamicsEncoder
+  ) throws SQLException {
+    var accumulatedOffset = startOffset;
+    for (final var segment : segments) {
+      final var dynamics = segment.dynamics();
+
+      this.writer
+          .writeLong(datasetId)
+          .writeLong(profileRecord.id())
+          .writeInterval(accumulatedOffset);
+      if (dynamics.isPresent()) {
+        this.writer
+            .writeJson(dynamicsEncoder, dynamics.get())
+            .writeBoolean(false);
+      } else {
+        this.writer
+            .writeJson(serializedValueEncoder, SerializedValue.NULL)
+            .writeBoolean(true);
+      }
+      this.writer.endRow();
+
+      accumulatedOffset = Duration.add(accumulatedOffset, segment.extent());
+    }
+
+    return accumulatedOffset;
+  }
+
+  @Override
+  public void close() throws SQLException {
+    this.writer.close();
+  }
+}
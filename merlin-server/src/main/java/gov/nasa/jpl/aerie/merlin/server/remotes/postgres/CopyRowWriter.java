@@ -0,0 +1,299 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams rows to the database through the PostgreSQL `COPY ... FROM STDIN` protocol, in its text format.
+ *
+ * <p>
+ * Rows are encoded directly into a byte buffer, which is handed off to the server whenever it fills up.
+ * JSON values are encoded straight from their in-memory representation, without first building a {@link javax.json.JsonValue}
+ * or an intermediate string. Every value is written so that the server parses it exactly as it would parse
+ * the corresponding parameter of an equivalent `insert` statement.
+ * </p>
+ *
+ * <p>
+ * The copy is completed by {@link #close()}. Like the batched inserts it replaces, it takes effect only when
+ * the enclosing transaction commits, so a failure partway through leaves nothing behind once that transaction is rolled back.
+ * </p>
+ */
+/*package-local*/ final class CopyRowWriter implements AutoCloseable {
+  private static final int FLUSH_THRESHOLD = 1 << 16;
+  private static final long MICROS_PER_SECOND = 1_000_000L;
+  private static final long MICROS_PER_DAY = 86_400L * MICROS_PER_SECOND;
+
+  private final CopyIn copyIn;
+  private byte[] buffer = new byte[2 * FLUSH_THRESHOLD];
+  private int position = 0;
+  private boolean atRowStart = true;
+  private long rowCount = 0;
+
+  /*package-local*/ CopyRowWriter(final CopyIn copyIn) {
+    this.copyIn = copyIn;
+  }
+
+  public static CopyRowWriter open(final Connection connection, final String sql) throws SQLException {
+    final var copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+    return new CopyRowWriter(copyManager.copyIn(sql));
+  }
+
+  /** An encoder for values of a type which are stored in a `json` or `jsonb` column. */
+  @FunctionalInterface
+  public interface JsonEncoder<T> {
+    void encode(CopyRowWriter writer, T value);
+  }
+
+  public static final JsonEncoder<SerializedValue> serializedValueEncoder = CopyRowWriter::writeJsonValue;
+  public static final JsonEncoder<RealDynamics> realDynamicsEncoder = (writer, dynamics) -> {
+    // Mirrors `ProfileParsers.realDynamicsP`.
+    writer.put('{');
+    writer.writeJsonString("initial");
+    writer.put(':');
+    writer.writeJsonNumber(dynamics.initial);
+    writer.put(',');
+    writer.writeJsonString("rate");
+    writer.put(':');
+    writer.writeJsonNumber(dynamics.rate);
+    writer.put('}');
+  };
+
+  public CopyRowWriter writeLong(final long value) {
+    this.beginField();
+    this.putAscii(Long.toString(value));
+    return this;
+  }
+
+  public CopyRowWriter writeBoolean(final boolean value) {
+    this.beginField();
+    this.put(value ? 't' : 'f');
+    return this;
+  }
+
+  public CopyRowWriter writeNull() {
+    this.beginField();
+    this.put('\\');
+    this.put('N');
+    return this;
+  }
+
+  public CopyRowWriter writeText(final String value) {
+    if (value == null) return this.writeNull();
+
+    this.beginField();
+    for (int i = 0; i < value.length(); ) {
+      switch (value.charAt(i)) {
+        case '\\' -> { this.put('\\'); this.put('\\'); i += 1; }
+        case '\n' -> { this.put('\\'); this.put('n'); i += 1; }
+        case '\r' -> { this.put('\\'); this.put('r'); i += 1; }
+        case '\t' -> { this.put('\\'); this.put('t'); i += 1; }
+        default -> i += this.putCodePoint(value, i);
+      }
+    }
+    return this;
+  }
+
+  /** Write an interval as an ISO-8601 duration, in the same form as {@link PreparedStatements#setDuration}. */
+  public CopyRowWriter writeInterval(final Duration value) {
+    this.beginField();
+    final var micros = value.in(Duration.MICROSECONDS);
+    this.putAscii("PT%d.%06dS".formatted(micros / MICROS_PER_SECOND, micros % MICROS_PER_SECOND));
+    return this;
+  }
+
+  /**
+   * Write an interval as the difference between two timestamps `micros` apart.
+   *
+   * Postgres normalizes such differences so that whole days are counted separately from the time of day,
+   * which is reproduced here so that the stored interval is identical.
+   */
+  public CopyRowWriter writeTimestampDifference(final long micros) {
+    this.beginField();
+    final var days = micros / MICROS_PER_DAY;
+    final var time = micros % MICROS_PER_DAY;
+    this.putAscii("P%dDT%d.%06dS".formatted(days, time / MICROS_PER_SECOND, Math.abs(time % MICROS_PER_SECOND)));
+    return this;
+  }
+
+  public <T> CopyRowWriter writeJson(final JsonEncoder<T> encoder, final T value) {
+    this.beginField();
+    encoder.encode(this, value);
+    return this;
+  }
+
+  public void endRow() throws SQLException {
+    this.put('\n');
+    this.atRowStart = true;
+    this.rowCount += 1;
+
+    if (this.position >= FLUSH_THRESHOLD) this.flush();
+  }
+
+  public long getRowCount() {
+    return this.rowCount;
+  }
+
+  @Override
+  public void close() throws SQLException {
+    if (!this.copyIn.isActive()) return;
+
+    try {
+      this.flush();
+      this.copyIn.endCopy();
+    } catch (final SQLException ex) {
+      if (this.copyIn.isActive()) this.copyIn.cancelCopy();
+      throw ex;
+    }
+  }
+
+  private void flush() throws SQLException {
+    if (this.position == 0) return;
+    this.copyIn.writeToCopy(this.buffer, 0, this.position);
+    this.position = 0;
+  }
+
+  private void beginField() {
+    if (!this.atRowStart) this.put('\t');
+    this.atRowStart = false;
+  }
+
+  // JSON is written verbatim, except that the backslashes of its escape sequences must themselves be escaped for COPY.
+  // No other character significant to COPY can appear in encoded JSON, since JSON escapes all control characters.
+
+  private static void writeJsonValue(final CopyRowWriter writer, final SerializedValue value) {
+    value.match(new SerializedValue.Visitor<Void>() {
+      @Override
+      public Void onNull() {
+        writer.putAscii("null");
+        return null;
+      }
+
+      @Override
+      public Void onNumeric(final BigDecimal value) {
+        writer.putAscii(value.toString());
+        return null;
+      }
+
+      @Override
+      public Void onBoolean(final boolean value) {
+        writer.putAscii(value ? "true" : "false");
+        return null;
+      }
+
+      @Override
+      public Void onString(final String value) {
+        writer.writeJsonString(value);
+        return null;
+      }
+
+      @Override
+      public Void onMap(final Map<String, SerializedValue> value) {
+        writer.put('{');
+        var first = true;
+        for (final var entry : value.entrySet()) {
+          if (!first) writer.put(',');
+          first = false;
+          writer.writeJsonString(entry.getKey());
+          writer.put(':');
+          entry.getValue().match(this);
+        }
+        writer.put('}');
+        return null;
+      }
+
+      @Override
+      public Void onList(final List<SerializedValue> value) {
+        writer.put('[');
+        var first = true;
+        for (final var element : value) {
+          if (!first) writer.put(',');
+          first = false;
+          element.match(this);
+        }
+        writer.put(']');
+        return null;
+      }
+    });
+  }
+
+  private void writeJsonNumber(final double value) {
+    // `Json.createValue(double)` represents the number by `BigDecimal.valueOf`, so we do the same.
+    this.putAscii(BigDecimal.valueOf(value).toString());
+  }
+
+  private void writeJsonString(final String value) {
+    this.put('"');
+    for (int i = 0; i < value.length(); ) {
+      final var c = value.charAt(i);
+      switch (c) {
+        case '"' -> this.putAscii("\\\\\"");
+        case '\\' -> this.putAscii("\\\\\\\\");
+        case '\n' -> this.putAscii("\\\\n");
+        case '\r' -> this.putAscii("\\\\r");
+        case '\t' -> this.putAscii("\\\\t");
+        case '\b' -> this.putAscii("\\\\b");
+        case '\f' -> this.putAscii("\\\\f");
+        default -> {
+          if (c < 0x20) {
+            this.putAscii("\\\\u%04x".formatted((int) c));
+          } else {
+            i += this.putCodePoint(value, i);
+            continue;
+          }
+        }
+      }
+      i += 1;
+    }
+    this.put('"');
+  }
+
+  private void putAscii(final String value) {
+    this.ensureCapacity(value.length());
+    for (int i = 0; i < value.length(); i += 1) {
+      this.buffer[this.position++] = (byte) value.charAt(i);
+    }
+  }
+
+  private void put(final char c) {
+    this.ensureCapacity(1);
+    this.buffer[this.position++] = (byte) c;
+  }
+
+  /** Encode the code point at the given index as UTF-8, returning the number of chars it spans. */
+  private int putCodePoint(final String value, final int index) {
+    final var codePoint = value.codePointAt(index);
+    this.ensureCapacity(4);
+    if (codePoint < 0x80) {
+      this.buffer[this.position++] = (byte) codePoint;
+    } else if (codePoint < 0x800) {
+      this.buffer[this.position++] = (byte) (0xC0 | (codePoint >> 6));
+      this.buffer[this.position++] = (byte) (0x80 | (codePoint & 0x3F));
+    } else if (codePoint < 0x10000) {
+      this.buffer[this.position++] = (byte) (0xE0 | (codePoint >> 12));
+      this.buffer[this.position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+      this.buffer[this.position++] = (byte) (0x80 | (codePoint & 0x3F));
+    } else {
+      this.buffer[this.position++] = (byte) (0xF0 | (codePoint >> 18));
+      this.buffer[this.position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+      this.buffer[this.position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+      this.buffer[this.position++] = (byte) (0x80 | (codePoint & 0x3F));
+    }
+    return Character.charCount(codePoint);
+  }
+
+  // Rows are only flushed between rows, so a single large row may grow the buffer past the flush threshold.
+  private void ensureCapacity(final int additional) {
+    if (this.position + additional <= this.buffer.length) return;
+    this.buffer = Arrays.copyOf(this.buffer, Math.max(2 * this.buffer.length, this.position + additional));
+  }
+}
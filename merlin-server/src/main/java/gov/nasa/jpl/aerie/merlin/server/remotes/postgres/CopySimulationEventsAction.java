@@ -0,0 +1,61 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import org.apache.commons.lang3.tuple.Pair;
+import org.intellij.lang.annotations.Language;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MICROSECONDS;
+import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.CopyRowWriter.serializedValueEncoder;
+
+/** Writes simulation events through a single `COPY`, producing the same rows as {@link InsertSimulationEventsAction}. */
+/*package-local*/ final class CopySimulationEventsAction implements AutoCloseable {
+  private static final @Language("SQL") String sql = """
+      copy event (dataset_id, real_time, transaction_index, causal_time, topic_index, value) from stdin
+    """;
+
+  private final CopyRowWriter writer;
+
+  public CopySimulationEventsAction(final Connection connection) throws SQLException {
+    this.writer = CopyRowWriter.open(connection, sql);
+  }
+
+  public void apply(
+      final long datasetId,
+      final Map<Duration, List<EventGraph<Pair<Integer, SerializedValue>>>> eventPoints
+  ) throws SQLException {
+    for (final var eventPoint : eventPoints.entrySet()) {
+      final var time = eventPoint.getKey().in(MICROSECONDS);
+      final var transactions = eventPoint.getValue();
+      for (int transactionIndex = 0; transactionIndex < transactions.size(); transactionIndex++) {
+        final var flattenedEventGraph = EventGraphFlattener.flatten(transactions.get(transactionIndex));
+        for (final var entry : flattenedEventGraph) {
+          final var causalTime = entry.getLeft();
+          final var event = entry.getRight();
+
+          // The batched insert stores `(simulationStart + time) - simulationStart`, which is just `time`
+          //   normalized the way Postgres normalizes the difference between two timestamps.
+          this.writer
+              .writeLong(datasetId)
+              .writeTimestampDifference(time)
+              .writeLong(transactionIndex)
+              .writeText(causalTime)
+              .writeLong(event.getLeft())
+              .writeJson(serializedValueEncoder, event.getRight())
+              .endRow();
+        }
+      }
+    }
+  }
+
+  @Override
+  public void close() throws SQLException {
+    this.writer.close();
+  }
+}
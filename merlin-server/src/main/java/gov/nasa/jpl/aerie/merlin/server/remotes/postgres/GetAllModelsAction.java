@@ -11,7 +11,7 @@ import java.util.Map;
 
 /*package-local*/ final class GetAllModelsAction implements AutoCloseable {
   private static final @Language("SQL") String sql = """
-    select m.id, m.mission, m.name, m.version, m.owner, f.path
+    select m.id, m.mission, m.name, m.version, m.owner, f.path, m.revision
     from mission_model as m
     inner join uploaded_file as f on m.jar_id = f.id
     """;
@@ -33,6 +33,7 @@ import java.util.Map;
         final var version = results.getString(4);
         final var owner = results.getString(5);
         final var path = Path.of(results.getString(6));
+        final var revision = results.getLong(7);
 
         missionModels.put(
             id,
@@ -41,7 +42,8 @@ import java.util.Map;
                 name,
                 version,
                 owner,
-                path));
+                path,
+                revision));
       }
 
       return missionModels;
@@ -10,7 +10,7 @@ import java.util.Optional;
 
 /*package-local*/ final class GetModelAction implements AutoCloseable {
   private static final @Language("SQL") String sql = """
-    select m.mission, m.name, m.version, m.owner, encode(f.path, 'escape')
+    select m.mission, m.name, m.version, m.owner, encode(f.path, 'escape'), m.revision
     from mission_model AS m
     inner join uploaded_file AS f
       on m.jar_id = f.id
@@ -35,13 +35,15 @@ import java.util.Optional;
       final var version = results.getString(3);
       final var owner = results.getString(4);
       final var path = Path.of(results.getString(5));
+      final var revision = results.getLong(6);
 
       return Optional.of(new MissionModelRecord(
               mission,
               name,
               version,
               owner,
-              path));
+              path,
+              revision));
     }
   }
 
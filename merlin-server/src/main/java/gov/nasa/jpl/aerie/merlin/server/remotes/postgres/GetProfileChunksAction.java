@@ -0,0 +1,51 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+import org.intellij.lang.annotations.Language;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*package-local*/ final class GetProfileChunksAction implements AutoCloseable {
+  private final @Language("SQL") String sql = """
+      select
+        c.profile_id,
+        c.data
+      from profile_chunk as c
+      where
+        c.dataset_id = ? and
+        c.profile_id = any(?)
+      order by c.profile_id, c.start_offset asc
+    """;
+  private final PreparedStatement statement;
+
+  public GetProfileChunksAction(final Connection connection) throws SQLException {
+    this.statement = connection.prepareStatement(sql);
+  }
+
+  /** Get the encoded chunks of every given profile, in order. Profiles without any chunks are omitted. */
+  public Map<Long, List<byte[]>> get(final long datasetId, final List<Long> profileIds) throws SQLException {
+    this.statement.setLong(1, datasetId);
+    this.statement.setArray(2, this.statement.getConnection().createArrayOf("integer", profileIds.toArray()));
+
+    final var chunks = new HashMap<Long, List<byte[]>>();
+    try (final var resultSet = this.statement.executeQuery()) {
+      while (resultSet.next()) {
+        chunks
+            .computeIfAbsent(resultSet.getLong(1), $ -> new ArrayList<>())
+            .add(resultSet.getBytes(2));
+      }
+    }
+
+    return chunks;
+  }
+
+  @Override
+  public void close() throws SQLException {
+    this.statement.close();
+  }
+}
@@ -0,0 +1,63 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.intellij.lang.annotations.Language;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+
+/*package-local*/ final class PostProfileChunksAction implements AutoCloseable {
+  private final @Language("SQL") String sql = """
+      insert into profile_chunk (dataset_id, profile_id, start_offset, segment_count, data)
+      values (?, ?, ?::interval, ?, ?)
+    """;
+  private final PreparedStatement statement;
+
+  public PostProfileChunksAction(final Connection connection) throws SQLException {
+    this.statement = connection.prepareStatement(sql);
+  }
+
+  /**
+   * Write the given segments of a profile as chunks, the first of which begins at the given offset from the simulation start.
+   *
+   * @return The offset at which the last of the given segments ends.
+   */
+  public <Dynamics> Duration apply(
+      final long datasetId,
+      final ProfileRecord profileRecord,
+      final Duration startOffset,
+      final List<ProfileSegment<Optional<Dynamics>>> segments,
+      final ProfileChunkEncoding.DynamicsCodec<Dynamics> codec
+  ) throws SQLException {
+    var accumulatedOffset = startOffset;
+    for (var start = 0; start < segments.size(); start += ProfileChunkEncoding.MAX_SEGMENTS_PER_CHUNK) {
+      final var chunk = segments.subList(start, Math.min(segments.size(), start + ProfileChunkEncoding.MAX_SEGMENTS_PER_CHUNK));
+
+      this.statement.setLong(1, datasetId);
+      this.statement.setLong(2, profileRecord.id());
+      PreparedStatements.setDuration(this.statement, 3, accumulatedOffset);
+      this.statement.setInt(4, chunk.size());
+      this.statement.setBytes(5, ProfileChunkEncoding.encode(chunk, codec));
+      this.statement.addBatch();
+
+      for (final var segment : chunk) accumulatedOffset = Duration.add(accumulatedOffset, segment.extent());
+    }
+
+    final var results = this.statement.executeBatch();
+    for (final var result : results) {
+      if (result == Statement.EXECUTE_FAILED) throw new FailedInsertException("profile_chunk");
+    }
+
+    return accumulatedOffset;
+  }
+
+  @Override
+  public void close() throws SQLException {
+    this.statement.close();
+  }
+}
@@ -182,6 +182,7 @@ public final class PostgresMissionModelRepository implements MissionModelReposit
     model.version = record.version();
     model.owner = record.owner();
     model.path = record.path();
+    model.revision = record.revision();
 
     return model;
   }
@@ -5,6 +5,7 @@ import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivity;
 import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivityId;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationException;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationFailure;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationReport;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
 import gov.nasa.jpl.aerie.merlin.driver.UnfinishedActivity;
 import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
@@ -41,9 +42,15 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
   private static final Logger logger = LoggerFactory.getLogger(PostgresResultsCellRepository.class);
 
   private final DataSource dataSource;
+  private final ResultsWriteMode writeMode;
 
   public PostgresResultsCellRepository(final DataSource dataSource) {
+    this(dataSource, ResultsWriteMode.Batch);
+  }
+
+  public PostgresResultsCellRepository(final DataSource dataSource, final ResultsWriteMode writeMode) {
     this.dataSource = dataSource;
+    this.writeMode = writeMode;
   }
 
   @Override
@@ -82,7 +89,8 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
       return new PostgresResultsCell(
           this.dataSource,
           simulation,
-          dataset.datasetId());
+          dataset.datasetId(),
+          this.writeMode);
     } catch (final SQLException ex) {
       throw new DatabaseException("Failed to allocation simulation cell", ex);
     }
@@ -111,7 +119,8 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
       return Optional.of(new PostgresResultsCell(
           this.dataSource,
           simulation,
-          datasetId));
+          datasetId,
+          this.writeMode));
     } catch(UnclaimableSimulationException ex) {
       return Optional.empty();
     } catch(final SQLException | DatabaseException ex) {
@@ -128,7 +137,7 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
       if (datasetRecord.isEmpty()) return Optional.empty();
 
       final var datasetId = datasetRecord.get().datasetId();
-      return Optional.of(new PostgresResultsCell(this.dataSource, simulation, datasetId));
+      return Optional.of(new PostgresResultsCell(this.dataSource, simulation, datasetId, this.writeMode));
     } catch (final SQLException ex) {
       throw new DatabaseException("Failed to get simulation", ex);
     }
@@ -149,7 +158,7 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
       }
 
       final var datasetId = datasetRecord.get().datasetId();
-      return Optional.of(new PostgresResultsCell(this.dataSource, simulation, datasetId));
+      return Optional.of(new PostgresResultsCell(this.dataSource, simulation, datasetId, this.writeMode));
     } catch (final SQLException ex) {
       throw new DatabaseException("Failed to get simulation", ex);
     }
@@ -344,21 +353,34 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
       final Connection connection,
       final long datasetId,
       final SimulationResults results,
-      final SimulationStateRecord state
+      final SimulationStateRecord state,
+      final ResultsWriteMode writeMode
   ) throws SQLException, NoSuchSimulationDatasetException
   {
     final var simulationStart = new Timestamp(results.startTime);
     final var profileSet = ProfileSet.of(results.realProfiles, results.discreteProfiles);
-    ProfileRepository.postResourceProfiles(connection, datasetId, profileSet);
+    ProfileRepository.postResourceProfiles(connection, datasetId, profileSet, writeMode);
     postActivities(connection, datasetId, results.simulatedActivities, results.unfinishedActivities, simulationStart);
     insertSimulationTopics(connection, datasetId, results.topics);
-    insertSimulationEvents(connection, datasetId, results.events, simulationStart);
+    insertSimulationEvents(connection, datasetId, results.events, simulationStart, writeMode);
+    if (results.report.isPresent()) postSimulationReport(connection, datasetId, results.report.get());
 
     try (final var setSimulationStateAction = new SetSimulationStateAction(connection)) {
       setSimulationStateAction.apply(datasetId, state);
     }
   }
 
+  /*package-local*/ static void postSimulationReport(
+      final Connection connection,
+      final long datasetId,
+      final SimulationReport report
+  ) throws SQLException, NoSuchSimulationDatasetException
+  {
+    try (final var setSimulationReportAction = new SetSimulationReportAction(connection)) {
+      setSimulationReportAction.apply(datasetId, report);
+    }
+  }
+
   private static void insertSimulationTopics(
       Connection connection,
       long datasetId,
@@ -371,20 +393,32 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
     }
   }
 
-  private static void insertSimulationEvents(
+  /*package-local*/ static void insertSimulationEvents(
       Connection connection,
       long datasetId,
       Map<Duration, List<EventGraph<Pair<Integer, SerializedValue>>>> events,
-      Timestamp simulationStart) throws SQLException
+      Timestamp simulationStart,
+      ResultsWriteMode writeMode) throws SQLException
   {
-    try (
-        final var insertSimulationEventsAction = new InsertSimulationEventsAction(connection)
-    ) {
-        insertSimulationEventsAction.apply(datasetId, events, simulationStart);
+    switch (writeMode) {
+      case Batch -> {
+        try (
+            final var insertSimulationEventsAction = new InsertSimulationEventsAction(connection)
+        ) {
+          insertSimulationEventsAction.apply(datasetId, events, simulationStart);
+        }
+      }
+      case Copy, Chunked -> {
+        try (
+            final var copySimulationEventsAction = new CopySimulationEventsAction(connection)
+        ) {
+          copySimulationEventsAction.apply(datasetId, events);
+        }
+      }
     }
   }
 
-  private static void postActivities(
+  /*package-local*/ static void postActivities(
       final Connection connection,
       final long datasetId,
       final Map<SimulatedActivityId, SimulatedActivity> simulatedActivities,
@@ -448,15 +482,18 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
     private final DataSource dataSource;
     private final SimulationRecord simulation;
     private final long datasetId;
+    private final ResultsWriteMode writeMode;
 
     public PostgresResultsCell(
         final DataSource dataSource,
         final SimulationRecord simulation,
-        final long datasetId
+        final long datasetId,
+        final ResultsWriteMode writeMode
     ) {
       this.dataSource = dataSource;
       this.simulation = simulation;
       this.datasetId = datasetId;
+      this.writeMode = writeMode;
     }
 
     @Override
@@ -518,7 +555,7 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
     public void succeedWith(final SimulationResults results) {
       try (final var connection = dataSource.getConnection();
            final var transactionContext = new TransactionContext(connection)) {
-        postSimulationResults(connection, datasetId, results, SimulationStateRecord.success());
+        postSimulationResults(connection, datasetId, results, SimulationStateRecord.success(), writeMode);
         deleteSimulationExtent(connection, datasetId);
         transactionContext.commit();
       } catch (final SQLException ex) {
@@ -558,7 +595,7 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
                     .build())
             .message("Simulation run was canceled")
             .build();
-        postSimulationResults(connection, datasetId, results, SimulationStateRecord.incomplete(reason));
+        postSimulationResults(connection, datasetId, results, SimulationStateRecord.incomplete(reason), writeMode);
         deleteSimulationExtent(connection, datasetId);
         transactionContext.commit();
       } catch (final SQLException ex) {
@@ -570,6 +607,11 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
       }
     }
 
+    @Override
+    public ResultsProtocol.ResultsSink streamResults() {
+      return PostgresSimulationResultsSink.open(dataSource, datasetId, simulation.simulationStartTime(), writeMode);
+    }
+
     @Override
     public void reportSimulationExtent(final Duration extent) {
       try (final var connection = dataSource.getConnection()) {
@@ -628,6 +670,19 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
       }
     }
 
+    @Override
+    public List<String> getProfileNames() {
+      try (final var connection = this.dataSource.getConnection()) {
+        return ProfileRepository
+            .getProfileRecords(connection, record.datasetId())
+            .stream()
+            .map(ProfileRecord::name)
+            .toList();
+      } catch (SQLException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
     @Override
     public ProfileSet getProfiles(final List<String> profileNames) {
       try (final var connection = this.dataSource.getConnection()) {
@@ -0,0 +1,375 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+import gov.nasa.jpl.aerie.json.JsonParser;
+import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivityId;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationException;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationFailure;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationReport;
+import gov.nasa.jpl.aerie.merlin.driver.UnfinishedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import gov.nasa.jpl.aerie.merlin.server.ResultsProtocol;
+import gov.nasa.jpl.aerie.merlin.server.models.Timestamp;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
+
+import javax.json.Json;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static gov.nasa.jpl.aerie.merlin.driver.json.SerializedValueJsonParser.serializedValueP;
+import static gov.nasa.jpl.aerie.merlin.server.http.ProfileParsers.realDynamicsP;
+import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.CopyRowWriter.realDynamicsEncoder;
+import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.CopyRowWriter.serializedValueEncoder;
+import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.ProfileChunkEncoding.realDynamicsCodec;
+import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.ProfileChunkEncoding.serializedValueCodec;
+
+/**
+ * A sink which writes simulation results to the database while the simulation is still running.
+ *
+ * <p>
+ * Profile segments and events are buffered only until a batch is full, then written out,
+ * so the results of a long simulation never need to be held in memory all at once.
+ * Segments and events are written by batched inserts or by `COPY`, and segments may also be written as chunks
+ * of their columnar encoding, according to the configured {@link ResultsWriteMode}.
+ * Everything is written within a single transaction, which is only committed once the results are marked
+ * as successful or incomplete; closing the sink before then rolls everything back.
+ * </p>
+ */
+/*package-local*/ final class PostgresSimulationResultsSink implements ResultsProtocol.ResultsSink {
+  private static final int BATCH_SIZE = 1024;
+
+  private final Connection connection;
+  private final TransactionContext transactionContext;
+  private final long datasetId;
+  private final Timestamp simulationStart;
+  private final ResultsWriteMode writeMode;
+
+  private final Map<String, Pair<ValueSchema, List<ProfileSegment<Optional<RealDynamics>>>>> realProfiles = new HashMap<>();
+  private final Map<String, Pair<ValueSchema, List<ProfileSegment<Optional<SerializedValue>>>>> discreteProfiles = new HashMap<>();
+  private Map<String, ProfileRecord> profileRecords = null;
+  private int pendingSegments = 0;
+
+  private final TreeMap<Duration, List<EventGraph<Pair<Integer, SerializedValue>>>> pendingEvents = new TreeMap<>();
+  private int pendingEventGraphs = 0;
+
+  private Optional<SimulationReport> report = Optional.empty();
+  private Optional<Pair<Instant, Duration>> completion = Optional.empty();
+
+  private PostgresSimulationResultsSink(
+      final Connection connection,
+      final TransactionContext transactionContext,
+      final long datasetId,
+      final Timestamp simulationStart,
+      final ResultsWriteMode writeMode
+  ) {
+    this.connection = connection;
+    this.transactionContext = transactionContext;
+    this.datasetId = datasetId;
+    this.simulationStart = simulationStart;
+    this.writeMode = writeMode;
+  }
+
+  public static PostgresSimulationResultsSink open(
+      final DataSource dataSource,
+      final long datasetId,
+      final Timestamp simulationStart,
+      final ResultsWriteMode writeMode
+  ) {
+    try {
+      final var connection = dataSource.getConnection();
+      try {
+        final var transactionContext = new TransactionContext(connection);
+        return new PostgresSimulationResultsSink(connection, transactionContext, datasetId, simulationStart, writeMode);
+      } catch (final SQLException ex) {
+        connection.close();
+        throw ex;
+      }
+    } catch (final SQLException ex) {
+      throw new DatabaseException("Failed to begin storing simulation results", ex);
+    }
+  }
+
+  @Override
+  public void declareTopics(final List<Triple<Integer, String, ValueSchema>> topics) {
+    try (final var insertSimulationTopicsAction = new InsertSimulationTopicsAction(this.connection)) {
+      insertSimulationTopicsAction.apply(this.datasetId, topics);
+    } catch (final SQLException ex) {
+      throw new DatabaseException("Failed to store simulation topics", ex);
+    }
+  }
+
+  @Override
+  public void declareRealProfile(final String name, final ValueSchema schema) {
+    if (this.profileRecords != null) throw new IllegalStateException("Profiles must be declared before any segments are appended");
+    this.realProfiles.put(name, Pair.of(schema, new ArrayList<>()));
+  }
+
+  @Override
+  public void declareDiscreteProfile(final String name, final ValueSchema schema) {
+    if (this.profileRecords != null) throw new IllegalStateException("Profiles must be declared before any segments are appended");
+    this.discreteProfiles.put(name, Pair.of(schema, new ArrayList<>()));
+  }
+
+  @Override
+  public void appendRealSegment(final String name, final ProfileSegment<RealDynamics> segment) {
+    this.realProfiles.get(name).getRight().add(new ProfileSegment<>(segment.extent(), Optional.of(segment.dynamics())));
+    if (++this.pendingSegments >= BATCH_SIZE) flushProfileSegments();
+  }
+
+  @Override
+  public void appendDiscreteSegment(final String name, final ProfileSegment<SerializedValue> segment) {
+    this.discreteProfiles.get(name).getRight().add(new ProfileSegment<>(segment.extent(), Optional.of(segment.dynamics())));
+    if (++this.pendingSegments >= BATCH_SIZE) flushProfileSegments();
+  }
+
+  @Override
+  public void appendEvents(final Duration time, final EventGraph<Pair<Integer, SerializedValue>> events) {
+    // Transaction indices are numbered from zero within each time point, so a time point can only be written
+    //   once no more events can arrive for it -- that is, once a later time point has begun.
+    if (this.pendingEventGraphs >= BATCH_SIZE && !this.pendingEvents.containsKey(time)) {
+      flushEvents();
+    }
+
+    this.pendingEvents.computeIfAbsent(time, $ -> new ArrayList<>()).add(events);
+    this.pendingEventGraphs += 1;
+  }
+
+  @Override
+  public void report(final SimulationReport report) {
+    this.report = Optional.of(report);
+  }
+
+  @Override
+  public void complete(
+      final Instant startTime,
+      final Duration elapsedTime,
+      final Map<SimulatedActivityId, SimulatedActivity> simulatedActivities,
+      final Map<SimulatedActivityId, UnfinishedActivity> unfinishedActivities)
+  {
+    flushProfileSegments();
+    flushEvents();
+
+    try {
+      PostgresResultsCellRepository.postActivities(
+          this.connection,
+          this.datasetId,
+          simulatedActivities,
+          unfinishedActivities,
+          new Timestamp(startTime));
+    } catch (final SQLException ex) {
+      throw new DatabaseException("Failed to store simulated activities", ex);
+    }
+
+    this.completion = Optional.of(Pair.of(startTime, elapsedTime));
+  }
+
+  @Override
+  public void succeed() {
+    finish(SimulationStateRecord.success());
+  }
+
+  @Override
+  public void reportIncomplete() {
+    final var completion = this.completion.orElseThrow(() -> new IllegalStateException("Simulation results are not yet complete"));
+    final var startTime = completion.getLeft();
+    final var elapsedTime = completion.getRight();
+
+    final var reason = new SimulationFailure.Builder()
+        .type("SIMULATION_CANCELED")
+        .data(Json.createObjectBuilder()
+                  .add("elapsedTime", SimulationException.formatDuration(elapsedTime))
+                  .add("utcTimeDoy", SimulationException.formatInstant(Duration.addToInstant(startTime, elapsedTime)))
+                  .build())
+        .message("Simulation run was canceled")
+        .build();
+    finish(SimulationStateRecord.incomplete(reason));
+  }
+
+  private void finish(final SimulationStateRecord state) {
+    if (this.completion.isEmpty()) throw new IllegalStateException("Simulation results are not yet complete");
+
+    try {
+      try (final var setSimulationStateAction = new SetSimulationStateAction(this.connection)) {
+        setSimulationStateAction.apply(this.datasetId, state);
+      }
+      if (this.report.isPresent()) {
+        PostgresResultsCellRepository.postSimulationReport(this.connection, this.datasetId, this.report.get());
+      }
+      try (final var deleteSimulationExtent = new DeleteSimulationExtentAction(this.connection)) {
+        deleteSimulationExtent.apply(this.datasetId);
+      }
+      this.transactionContext.commit();
+    } catch (final SQLException ex) {
+      throw new DatabaseException("Failed to store simulation results", ex);
+    } catch (final NoSuchSimulationDatasetException ex) {
+      // A cell should only be created for a valid, existing dataset
+      // A dataset should only be deleted by its cell
+      throw new Error("Cell references nonexistent simulation dataset");
+    }
+  }
+
+  @Override
+  public void close() {
+    try (this.connection; this.transactionContext) {
+      // Any uncommitted results are rolled back by the transaction context.
+    } catch (final SQLException ex) {
+      throw new DatabaseException("Failed to release simulation results connection", ex);
+    }
+  }
+
+  private void flushProfileSegments() {
+    try {
+      if (this.profileRecords == null) {
+        // Post every profile up-front with an empty duration; each flush extends it.
+        try (final var postProfilesAction = new PostProfilesAction(this.connection)) {
+          this.profileRecords = postProfilesAction.apply(
+              this.datasetId,
+              emptyProfiles(this.realProfiles),
+              emptyProfiles(this.discreteProfiles));
+        }
+      }
+
+      switch (this.writeMode) {
+        case Batch -> {
+          try (
+              final var appendProfileSegmentsAction = new AppendProfileSegmentsAction(this.connection);
+              final var updateProfileDurationAction = new UpdateProfileDurationAction(this.connection)
+          ) {
+            for (final var entry : this.realProfiles.entrySet()) {
+              appendSegments(appendProfileSegmentsAction, updateProfileDurationAction, entry.getKey(), entry.getValue().getRight(), realDynamicsP);
+            }
+            for (final var entry : this.discreteProfiles.entrySet()) {
+              appendSegments(appendProfileSegmentsAction, updateProfileDurationAction, entry.getKey(), entry.getValue().getRight(), serializedValueP);
+            }
+          }
+        }
+        case Copy -> copySegments();
+        case Chunked -> {
+          // The chunks start where the profile's segments left off, so they must be posted before the copy extends it.
+          try (final var postProfileChunksAction = new PostProfileChunksAction(this.connection)) {
+            for (final var entry : this.realProfiles.entrySet()) {
+              postChunks(postProfileChunksAction, entry.getKey(), entry.getValue().getRight(), realDynamicsCodec);
+            }
+            for (final var entry : this.discreteProfiles.entrySet()) {
+              postChunks(postProfileChunksAction, entry.getKey(), entry.getValue().getRight(), serializedValueCodec);
+            }
+          }
+          copySegments();
+        }
+      }
+    } catch (final SQLException ex) {
+      throw new DatabaseException("Failed to store profile segments", ex);
+    }
+
+    this.pendingSegments = 0;
+  }
+
+  private <Dynamics> void postChunks(
+      final PostProfileChunksAction postProfileChunksAction,
+      final String name,
+      final List<ProfileSegment<Optional<Dynamics>>> segments,
+      final ProfileChunkEncoding.DynamicsCodec<Dynamics> codec
+  ) throws SQLException {
+    if (segments.isEmpty()) return;
+
+    // The segments are left in place for `copySegments`, which also extends the profile's duration.
+    final var record = this.profileRecords.get(name);
+    postProfileChunksAction.apply(this.datasetId, record, record.duration(), segments, codec);
+  }
+
+  private <Dynamics> void appendSegments(
+      final AppendProfileSegmentsAction appendProfileSegmentsAction,
+      final UpdateProfileDurationAction updateProfileDurationAction,
+      final String name,
+      final List<ProfileSegment<Optional<Dynamics>>> segments,
+      final JsonParser<Dynamics> dynamicsP
+  ) throws SQLException {
+    if (segments.isEmpty()) return;
+
+    final var record = this.profileRecords.get(name);
+    final var newProfileDuration = appendProfileSegmentsAction.apply(this.datasetId, record, segments, dynamicsP);
+    updateProfileDurationAction.apply(this.datasetId, record.id(), newProfileDuration);
+
+    this.profileRecords.put(name, new ProfileRecord(record.id(), record.datasetId(), record.name(), record.type(), newProfileDuration));
+    segments.clear();
+  }
+
+  private void copySegments() throws SQLException {
+    // Nothing else may run on the connection during a copy, so profile durations are only updated once it's done.
+    final var newProfileDurations = new HashMap<String, Duration>();
+    try (final var copyProfileSegmentsAction = new CopyProfileSegmentsAction(this.connection)) {
+      for (final var entry : this.realProfiles.entrySet()) {
+        copySegments(copyProfileSegmentsAction, newProfileDurations, entry.getKey(), entry.getValue().getRight(), realDynamicsEncoder);
+      }
+      for (final var entry : this.discreteProfiles.entrySet()) {
+        copySegments(copyProfileSegmentsAction, newProfileDurations, entry.getKey(), entry.getValue().getRight(), serializedValueEncoder);
+      }
+    }
+
+    try (final var updateProfileDurationAction = new UpdateProfileDurationAction(this.connection)) {
+      for (final var entry : newProfileDurations.entrySet()) {
+        final var record = this.profileRecords.get(entry.getKey());
+        updateProfileDurationAction.apply(this.datasetId, record.id(), entry.getValue());
+        this.profileRecords.put(
+            entry.getKey(),
+            new ProfileRecord(record.id(), record.datasetId(), record.name(), record.type(), entry.getValue()));
+      }
+    }
+  }
+
+  private <Dynamics> void copySegments(
+      final CopyProfileSegmentsAction copyProfileSegmentsAction,
+      final Map<String, Duration> newProfileDurations,
+      final String name,
+      final List<ProfileSegment<Optional<Dynamics>>> segments,
+      final CopyRowWriter.JsonEncoder<Dynamics> dynamicsEncoder
+  ) throws SQLException {
+    if (segments.isEmpty()) return;
+
+    final var record = this.profileRecords.get(name);
+    final var newProfileDuration = copyProfileSegmentsAction.apply(this.datasetId, record, record.duration(), segments, dynamicsEncoder);
+    newProfileDurations.put(name, newProfileDuration);
+    segments.clear();
+  }
+
+  private void flushEvents() {
+    if (this.pendingEvents.isEmpty()) return;
+
+    try {
+      PostgresResultsCellRepository.insertSimulationEvents(
+          this.connection,
+          this.datasetId,
+          this.pendingEvents,
+          this.simulationStart,
+          this.writeMode);
+    } catch (final SQLException ex) {
+      throw new DatabaseException("Failed to store simulation events", ex);
+    }
+
+    this.pendingEvents.clear();
+    this.pendingEventGraphs = 0;
+  }
+
+  private static <T> Map<String, Pair<ValueSchema, List<ProfileSegment<Optional<T>>>>>
+  emptyProfiles(final Map<String, Pair<ValueSchema, List<ProfileSegment<Optional<T>>>>> profiles) {
+    final var empty = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<Optional<T>>>>>(profiles.size());
+    for (final var entry : profiles.entrySet()) {
+      empty.put(entry.getKey(), Pair.of(entry.getValue().getLeft(), List.of()));
+    }
+    return empty;
+  }
+}
@@ -1,6 +1,7 @@
 package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
 
 import gov.nasa.jpl.aerie.merlin.driver.SimulationFailure;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationReport;
 import gov.nasa.jpl.aerie.merlin.protocol.model.InputType.Parameter;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.merlin.server.http.MerlinParsers;
@@ -91,6 +92,12 @@ public final class PreparedStatements {
     statement.setString(parameter, ResponseSerializers.serializeBulkArgumentValidationResponse(response).toString());
   }
 
+  public static void setSimulationReport(final PreparedStatement statement, final int parameter, final SimulationReport report)
+  throws SQLException
+  {
+    statement.setString(parameter, ResponseSerializers.serializeSimulationReport(report).toString());
+  }
+
   public static void setFailureReason(final PreparedStatement statement, final int parameter, final SimulationFailure reason)
   throws SQLException
   {
@@ -0,0 +1,395 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLDataException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A compact, columnar encoding of runs of profile segments, as stored in the `profile_chunk` table.
+ *
+ * <p>
+ * A chunk holds the durations of its segments, which segments are gaps, and the dynamics of the remaining segments,
+ * each as its own column, so that similar values sit next to each other when the chunk is compressed.
+ * Durations are stored as variable-length integers; real dynamics as two columns of doubles,
+ * each XORed with its predecessor so that repeated values compress to nothing; and discrete dynamics
+ * as a dictionary of distinct values, followed by an index into that dictionary for each segment.
+ * </p>
+ *
+ * <p>
+ * Decoding a chunk yields exactly the segments that were encoded into it,
+ * including the representation of any numbers among discrete values.
+ * </p>
+ */
+/*package-local*/ final class ProfileChunkEncoding {
+  /** The most segments written to a single chunk, bounding the memory needed to encode or decode any one chunk. */
+  public static final int MAX_SEGMENTS_PER_CHUNK = 4096;
+
+  private static final byte FORMAT_VERSION = 1;
+
+  private ProfileChunkEncoding() {}
+
+  /** A columnar encoding for one kind of profile dynamics. */
+  public interface DynamicsCodec<Dynamics> {
+    byte tag();
+    void encode(ByteArrayOutputStream output, List<Dynamics> values);
+    List<Dynamics> decode(ByteBuffer input, int count);
+  }
+
+  public static <Dynamics> byte[] encode(
+      final List<ProfileSegment<Optional<Dynamics>>> segments,
+      final DynamicsCodec<Dynamics> codec
+  ) {
+    final var body = new ByteArrayOutputStream();
+    writeVarLong(body, segments.size());
+    for (final var segment : segments) {
+      writeVarLong(body, zigZag(segment.extent().in(Duration.MICROSECONDS)));
+    }
+
+    final var gaps = new byte[(segments.size() + 7) / 8];
+    final var values = new ArrayList<Dynamics>(segments.size());
+    for (var i = 0; i < segments.size(); i += 1) {
+      final var dynamics = segments.get(i).dynamics();
+      if (dynamics.isPresent()) {
+        values.add(dynamics.get());
+      } else {
+        gaps[i / 8] |= (byte) (1 << (i % 8));
+      }
+    }
+    body.writeBytes(gaps);
+
+    codec.encode(body, values);
+
+    final var output = new ByteArrayOutputStream();
+    output.write(FORMAT_VERSION);
+    output.write(codec.tag());
+    writeVarLong(output, body.size());
+    deflate(body.toByteArray(), output);
+    return output.toByteArray();
+  }
+
+  /**
+   * Decode the segments held in a chunk.
+   *
+   * @throws SQLDataException If the chunk is corrupt, or holds a different kind of dynamics than the given codec decodes.
+   */
+  public static <Dynamics> List<ProfileSegment<Optional<Dynamics>>> decode(
+      final byte[] data,
+      final DynamicsCodec<Dynamics> codec
+  ) throws SQLDataException {
+    try {
+      final var header = ByteBuffer.wrap(data);
+      final var version = header.get();
+      if (version != FORMAT_VERSION) throw new CorruptChunkException("unrecognized format version " + version);
+      final var tag = header.get();
+      if (tag != codec.tag()) throw new CorruptChunkException("expected dynamics of kind %d, found %d".formatted(codec.tag(), tag));
+      final var bodySize = Math.toIntExact(readVarLong(header));
+
+      final var input = ByteBuffer.wrap(inflate(data, header.position(), bodySize));
+      final var count = Math.toIntExact(readVarLong(input));
+
+      final var extents = new long[count];
+      for (var i = 0; i < count; i += 1) {
+        extents[i] = unZigZag(readVarLong(input));
+      }
+
+      final var gaps = new byte[(count + 7) / 8];
+      input.get(gaps);
+      var gapCount = 0;
+      for (final var b : gaps) gapCount += Integer.bitCount(b & 0xFF);
+
+      final var values = codec.decode(input, count - gapCount);
+
+      final var segments = new ArrayList<ProfileSegment<Optional<Dynamics>>>(count);
+      var nextValue = 0;
+      for (var i = 0; i < count; i += 1) {
+        final var isGap = (gaps[i / 8] & (1 << (i % 8))) != 0;
+        final Optional<Dynamics> dynamics = (isGap) ? Optional.empty() : Optional.of(values.get(nextValue++));
+        segments.add(new ProfileSegment<>(Duration.of(extents[i], Duration.MICROSECONDS), dynamics));
+      }
+      return segments;
+    } catch (final CorruptChunkException ex) {
+      throw new SQLDataException("Corrupt profile chunk: " + ex.getMessage(), ex);
+    } catch (final BufferUnderflowException | ArithmeticException | IndexOutOfBoundsException | DataFormatException ex) {
+      throw new SQLDataException("Corrupt profile chunk: " + ex, ex);
+    }
+  }
+
+  public static final DynamicsCodec<RealDynamics> realDynamicsCodec = new DynamicsCodec<>() {
+    @Override
+    public byte tag() {
+      return 0;
+    }
+
+    @Override
+    public void encode(final ByteArrayOutputStream output, final List<RealDynamics> values) {
+      final var column = ByteBuffer.allocate(2 * Long.BYTES * values.size());
+
+      var previous = 0L;
+      for (final var value : values) {
+        final var bits = Double.doubleToRawLongBits(value.initial);
+        column.putLong(bits ^ previous);
+        previous = bits;
+      }
+
+      previous = 0L;
+      for (final var value : values) {
+        final var bits = Double.doubleToRawLongBits(value.rate);
+        column.putLong(bits ^ previous);
+        previous = bits;
+      }
+
+      output.writeBytes(column.array());
+    }
+
+    @Override
+    public List<RealDynamics> decode(final ByteBuffer input, final int count) {
+      final var initials = new double[count];
+      var previous = 0L;
+      for (var i = 0; i < count; i += 1) {
+        previous ^= input.getLong();
+        initials[i] = Double.longBitsToDouble(previous);
+      }
+
+      final var values = new ArrayList<RealDynamics>(count);
+      previous = 0L;
+      for (var i = 0; i < count; i += 1) {
+        previous ^= input.getLong();
+        values.add(RealDynamics.linear(initials[i], Double.longBitsToDouble(previous)));
+      }
+      return values;
+    }
+  };
+
+  public static final DynamicsCodec<SerializedValue> serializedValueCodec = new DynamicsCodec<>() {
+    @Override
+    public byte tag() {
+      return 1;
+    }
+
+    @Override
+    public void encode(final ByteArrayOutputStream output, final List<SerializedValue> values) {
+      // Entries are keyed by their encoding, rather than by `SerializedValue#equals`,
+      //   so that numbers differing only in representation are kept distinct.
+      final var dictionary = new HashMap<ByteBuffer, Integer>();
+      final var entries = new ArrayList<byte[]>();
+      final var indices = new int[values.size()];
+      for (var i = 0; i < values.size(); i += 1) {
+        final var entry = new ByteArrayOutputStream();
+        writeValue(entry, values.get(i));
+        final var bytes = entry.toByteArray();
+        indices[i] = dictionary.computeIfAbsent(ByteBuffer.wrap(bytes), $ -> {
+          entries.add(bytes);
+          return entries.size() - 1;
+        });
+      }
+
+      writeVarLong(output, entries.size());
+      for (final var entry : entries) output.writeBytes(entry);
+      for (final var index : indices) writeVarLong(output, index);
+    }
+
+    @Override
+    public List<SerializedValue> decode(final ByteBuffer input, final int count) {
+      final var dictionary = new SerializedValue[Math.toIntExact(readVarLong(input))];
+      for (var i = 0; i < dictionary.length; i += 1) dictionary[i] = readValue(input);
+
+      final var values = new ArrayList<SerializedValue>(count);
+      for (var i = 0; i < count; i += 1) {
+        values.add(dictionary[Math.toIntExact(readVarLong(input))]);
+      }
+      return values;
+    }
+  };
+
+  // Tags for the binary encoding of discrete values.
+  private static final int NULL = 0;
+  private static final int FALSE = 1;
+  private static final int TRUE = 2;
+  private static final int NUMERIC = 3;
+  private static final int STRING = 4;
+  private static final int LIST = 5;
+  private static final int MAP = 6;
+
+  private static void writeValue(final ByteArrayOutputStream output, final SerializedValue value) {
+    value.match(new SerializedValue.Visitor<Void>() {
+      @Override
+      public Void onNull() {
+        output.write(NULL);
+        return null;
+      }
+
+      @Override
+      public Void onNumeric(final BigDecimal value) {
+        final var unscaled = value.unscaledValue().toByteArray();
+        output.write(NUMERIC);
+        writeVarLong(output, zigZag(value.scale()));
+        writeVarLong(output, unscaled.length);
+        output.writeBytes(unscaled);
+        return null;
+      }
+
+      @Override
+      public Void onBoolean(final boolean value) {
+        output.write(value ? TRUE : FALSE);
+        return null;
+      }
+
+      @Override
+      public Void onString(final String value) {
+        output.write(STRING);
+        writeString(output, value);
+        return null;
+      }
+
+      @Override
+      public Void onMap(final Map<String, SerializedValue> value) {
+        output.write(MAP);
+        writeVarLong(output, value.size());
+        for (final var entry : value.entrySet()) {
+          writeString(output, entry.getKey());
+          entry.getValue().match(this);
+        }
+        return null;
+      }
+
+      @Override
+      public Void onList(final List<SerializedValue> value) {
+        output.write(LIST);
+        writeVarLong(output, value.size());
+        for (final var element : value) element.match(this);
+        return null;
+      }
+    });
+  }
+
+  private static SerializedValue readValue(final ByteBuffer input) {
+    final var tag = input.get();
+    return switch (tag) {
+      case NULL -> SerializedValue.NULL;
+      case FALSE -> SerializedValue.of(false);
+      case TRUE -> SerializedValue.of(true);
+      case NUMERIC -> {
+        final var scale = Math.toIntExact(unZigZag(readVarLong(input)));
+        final var unscaled = new byte[Math.toIntExact(readVarLong(input))];
+        input.get(unscaled);
+        yield SerializedValue.of(new BigDecimal(new BigInteger(unscaled), scale));
+      }
+      case STRING -> SerializedValue.of(readString(input));
+      case LIST -> {
+        final var size = Math.toIntExact(readVarLong(input));
+        final var list = new ArrayList<SerializedValue>(size);
+        for (var i = 0; i < size; i += 1) list.add(readValue(input));
+        yield SerializedValue.of(list);
+      }
+      case MAP -> {
+        final var size = Math.toIntExact(readVarLong(input));
+        final var map = new HashMap<String, SerializedValue>(size);
+        for (var i = 0; i < size; i += 1) {
+          final var key = readString(input);
+          map.put(key, readValue(input));
+        }
+        yield SerializedValue.of(map);
+      }
+      default -> throw new CorruptChunkException("unrecognized value tag " + tag);
+    };
+  }
+
+  private static void writeString(final ByteArrayOutputStream output, final String value) {
+    final var bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarLong(output, bytes.length);
+    output.writeBytes(bytes);
+  }
+
+  private static String readString(final ByteBuffer input) {
+    final var bytes = new byte[Math.toIntExact(readVarLong(input))];
+    input.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeVarLong(final ByteArrayOutputStream output, long value) {
+    while ((value & ~0x7FL) != 0) {
+      output.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    output.write((int) value);
+  }
+
+  private static long readVarLong(final ByteBuffer input) {
+    var value = 0L;
+    for (var shift = 0; shift < 64; shift += 7) {
+      final var b = input.get();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) return value;
+    }
+    throw new CorruptChunkException("variable-length integer is too long");
+  }
+
+  private static long zigZag(final long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unZigZag(final long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static void deflate(final byte[] input, final ByteArrayOutputStream output) {
+    final var deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(input);
+      deflater.finish();
+      final var buffer = new byte[8192];
+      while (!deflater.finished()) {
+        output.write(buffer, 0, deflater.deflate(buffer));
+      }
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] inflate(final byte[] data, final int offset, final int size) throws DataFormatException {
+    final var inflater = new Inflater();
+    try {
+      inflater.setInput(data, offset, data.length - offset);
+      final var output = new byte[size];
+      var position = 0;
+      while (position < size) {
+        final var inflated = inflater.inflate(output, position, size - position);
+        if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+          throw new DataFormatException("compressed data ended early");
+        }
+        position += inflated;
+      }
+      // Reading past the end of the body verifies its checksum.
+      if (inflater.inflate(new byte[1]) != 0 || !inflater.finished()) {
+        throw new DataFormatException("compressed data is longer or shorter than expected");
+      }
+      return output;
+    } finally {
+      inflater.end();
+    }
+  }
+
+  /** Raised from deep within a chunk being decoded, to be reported as a {@link SQLDataException}. */
+  private static final class CorruptChunkException extends RuntimeException {
+    public CorruptChunkException(final String message) {
+      super(message);
+    }
+  }
+}
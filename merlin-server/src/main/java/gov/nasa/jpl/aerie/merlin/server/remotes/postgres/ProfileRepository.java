@@ -12,6 +12,7 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,30 +21,60 @@ import java.util.stream.Collectors;
 
 import static gov.nasa.jpl.aerie.merlin.driver.json.SerializedValueJsonParser.serializedValueP;
 import static gov.nasa.jpl.aerie.merlin.server.http.ProfileParsers.realDynamicsP;
+import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.CopyRowWriter.realDynamicsEncoder;
+import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.CopyRowWriter.serializedValueEncoder;
+import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.ProfileChunkEncoding.realDynamicsCodec;
+import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.ProfileChunkEncoding.serializedValueCodec;
 
 /*package-local*/ final class ProfileRepository {
   static ProfileSet getProfiles(
       final Connection connection,
       final long datasetId
+  ) throws SQLException {
+    return getProfilesForRecords(connection, datasetId, getProfileRecords(connection, datasetId));
+  }
+
+  static ProfileSet getProfiles(
+      final Connection connection,
+      final long datasetId,
+      final List<String> names
+  ) throws SQLException {
+    return getProfilesForRecords(connection, datasetId, getProfileRecords(connection, datasetId, names));
+  }
+
+  private static ProfileSet getProfilesForRecords(
+      final Connection connection,
+      final long datasetId,
+      final List<ProfileRecord> profileRecords
   ) throws SQLException {
     final var realProfiles = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<Optional<RealDynamics>>>>>();
     final var discreteProfiles = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<Optional<SerializedValue>>>>>();
 
-    final var profileRecords = getProfileRecords(connection, datasetId);
+    // Every profile with chunks is fetched in one go; any others are read from their individual segments.
+    final Map<Long, List<byte[]>> chunks;
+    try (final var getProfileChunksAction = new GetProfileChunksAction(connection)) {
+      chunks = getProfileChunksAction.get(datasetId, profileRecords.stream().map(ProfileRecord::id).toList());
+    }
+
     for (final var record : profileRecords) {
+      final var profileChunks = Optional.ofNullable(chunks.get(record.id()));
       switch (record.type().getLeft()) {
         case "real" -> realProfiles.put(
           record.name(),
           Pair.of(
               record.type().getRight(),
-              getRealProfileSegments(connection, record.datasetId(), record.id(), record.duration())
+              (profileChunks.isPresent())
+                  ? decodeProfileChunks(profileChunks.get(), record.duration(), realDynamicsCodec)
+                  : getRealProfileSegments(connection, record.datasetId(), record.id(), record.duration())
           )
         );
         case "discrete" -> discreteProfiles.put(
             record.name(),
             Pair.of(
                 record.type().getRight(),
-                getDiscreteProfileSegments(connection, record.datasetId(), record.id(), record.duration())
+                (profileChunks.isPresent())
+                    ? decodeProfileChunks(profileChunks.get(), record.duration(), serializedValueCodec)
+                    : getDiscreteProfileSegments(connection, record.datasetId(), record.id(), record.duration())
             )
         );
         default -> throw new Error("Unrecognized profile type");
@@ -53,36 +84,22 @@ import static gov.nasa.jpl.aerie.merlin.server.http.ProfileParsers.realDynamicsP
     return new ProfileSet(realProfiles, discreteProfiles);
   }
 
-  static ProfileSet getProfiles(
-      final Connection connection,
-      final long datasetId,
-      final List<String> names
+  /*package-local*/ static <Dynamics> List<ProfileSegment<Optional<Dynamics>>> decodeProfileChunks(
+      final List<byte[]> chunks,
+      final Duration profileDuration,
+      final ProfileChunkEncoding.DynamicsCodec<Dynamics> codec
   ) throws SQLException {
-    final var realProfiles = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<Optional<RealDynamics>>>>>();
-    final var discreteProfiles = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<Optional<SerializedValue>>>>>();
+    final var segments = new ArrayList<ProfileSegment<Optional<Dynamics>>>();
+    for (final var chunk : chunks) segments.addAll(ProfileChunkEncoding.decode(chunk, codec));
+    if (segments.isEmpty()) return segments;
 
-    final var profileRecords = getProfileRecords(connection, datasetId, names);
-    for (final var record : profileRecords) {
-      switch (record.type().getLeft()) {
-        case "real" -> realProfiles.put(
-            record.name(),
-            Pair.of(
-                record.type().getRight(),
-                getRealProfileSegments(connection, record.datasetId(), record.id(), record.duration())
-            )
-        );
-        case "discrete" -> discreteProfiles.put(
-            record.name(),
-            Pair.of(
-                record.type().getRight(),
-                getDiscreteProfileSegments(connection, record.datasetId(), record.id(), record.duration())
-            )
-        );
-        default -> throw new Error("Unrecognized profile type");
-      }
-    }
+    // As when reading from `profile_segment`, the last segment lasts until the end of the profile.
+    final var last = segments.remove(segments.size() - 1);
+    var offset = Duration.ZERO;
+    for (final var segment : segments) offset = offset.plus(segment.extent());
+    segments.add(new ProfileSegment<>(profileDuration.minus(offset), last.dynamics()));
 
-    return new ProfileSet(realProfiles, discreteProfiles);
+    return segments;
   }
 
   static Map<String, ValueSchema> getProfileSchemas(
@@ -154,17 +171,46 @@ import static gov.nasa.jpl.aerie.merlin.server.http.ProfileParsers.realDynamicsP
       final long datasetId,
       final ProfileSet profileSet
   ) throws SQLException
+  {
+    postResourceProfiles(connection, datasetId, profileSet, ResultsWriteMode.Batch);
+  }
+
+  static void postResourceProfiles(
+      final Connection connection,
+      final long datasetId,
+      final ProfileSet profileSet,
+      final ResultsWriteMode writeMode
+  ) throws SQLException
   {
     try (final var postProfilesAction = new PostProfilesAction(connection)) {
       final var profileRecords = postProfilesAction.apply(
           datasetId,
           profileSet.realProfiles(),
           profileSet.discreteProfiles());
-      postProfileSegments(
-          connection,
-          datasetId,
-          profileRecords,
-          profileSet);
+      switch (writeMode) {
+        case Batch -> postProfileSegments(
+            connection,
+            datasetId,
+            profileRecords,
+            profileSet);
+        case Copy -> copyProfileSegments(
+            connection,
+            datasetId,
+            profileRecords,
+            profileSet);
+        case Chunked -> {
+          copyProfileSegments(
+              connection,
+              datasetId,
+              profileRecords,
+              profileSet);
+          postProfileChunks(
+              connection,
+              datasetId,
+              profileRecords,
+              profileSet);
+        }
+      }
     }
   }
 
@@ -247,6 +293,68 @@ import static gov.nasa.jpl.aerie.merlin.server.http.ProfileParsers.realDynamicsP
     }
   }
 
+  private static void postProfileChunks(
+      final Connection connection,
+      final long datasetId,
+      final Map<String, ProfileRecord> records,
+      final ProfileSet profileSet
+  ) throws SQLException {
+    final var realProfiles = profileSet.realProfiles();
+    final var discreteProfiles = profileSet.discreteProfiles();
+    try (final var postProfileChunksAction = new PostProfileChunksAction(connection)) {
+      for (final var entry : records.entrySet()) {
+        final ProfileRecord record = entry.getValue();
+        final var resource = entry.getKey();
+        switch (record.type().getLeft()) {
+          case "real" -> postProfileChunksAction.apply(
+              datasetId,
+              record,
+              Duration.ZERO,
+              realProfiles.get(resource).getRight(),
+              realDynamicsCodec);
+          case "discrete" -> postProfileChunksAction.apply(
+              datasetId,
+              record,
+              Duration.ZERO,
+              discreteProfiles.get(resource).getRight(),
+              serializedValueCodec);
+          default -> throw new Error("Unrecognized profile type " + record.type().getLeft());
+        }
+      }
+    }
+  }
+
+  private static void copyProfileSegments(
+      final Connection connection,
+      final long datasetId,
+      final Map<String, ProfileRecord> records,
+      final ProfileSet profileSet
+  ) throws SQLException {
+    final var realProfiles = profileSet.realProfiles();
+    final var discreteProfiles = profileSet.discreteProfiles();
+    try (final var copyProfileSegmentsAction = new CopyProfileSegmentsAction(connection)) {
+      for (final var entry : records.entrySet()) {
+        final ProfileRecord record = entry.getValue();
+        final var resource = entry.getKey();
+        switch (record.type().getLeft()) {
+          case "real" -> copyProfileSegmentsAction.apply(
+              datasetId,
+              record,
+              Duration.ZERO,
+              realProfiles.get(resource).getRight(),
+              realDynamicsEncoder);
+          case "discrete" -> copyProfileSegmentsAction.apply(
+              datasetId,
+              record,
+              Duration.ZERO,
+              discreteProfiles.get(resource).getRight(),
+              serializedValueEncoder);
+          default -> throw new Error("Unrecognized profile type " + record.type().getLeft());
+        }
+      }
+    }
+  }
+
   private static void appendProfileSegments(
       final Connection connection,
       final long datasetId,
@@ -0,0 +1,26 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+/** The means by which bulk simulation results (profile segments and events) are written to the database. */
+public enum ResultsWriteMode {
+  /** Insert each row through a batched prepared statement. */
+  Batch,
+
+  /** Stream every row through a single `COPY ... FROM STDIN`, skipping per-row statement overhead. */
+  Copy,
+
+  /**
+   * Write everything as in {@link #Copy}, and also write each profile's segments as chunks of its columnar encoding
+   * (see {@link ProfileChunkEncoding}).
+   *
+   * Merlin reads a profile back from its chunks, which is much quicker than reading its rows of `profile_segment`;
+   * those rows are still written for clients which query `profile_segment` directly, such as through Hasura.
+   */
+  Chunked;
+
+  public static ResultsWriteMode fromString(final String name) {
+    for (final var mode : values()) {
+      if (mode.name().equalsIgnoreCase(name)) return mode;
+    }
+    throw new IllegalArgumentException("Unknown results write mode `%s`; expected one of `batch`, `copy`, or `chunked`".formatted(name));
+  }
+}
@@ -0,0 +1,38 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+import gov.nasa.jpl.aerie.merlin.driver.SimulationReport;
+import org.intellij.lang.annotations.Language;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/*package-local*/ final class SetSimulationReportAction implements AutoCloseable {
+  private final @Language("SQL") String sql = """
+        update simulation_dataset
+          set report = ?::jsonb
+          where dataset_id = ?
+        """;
+
+  private final PreparedStatement statement;
+
+  public SetSimulationReportAction(final Connection connection) throws SQLException {
+    this.statement = connection.prepareStatement(sql);
+  }
+
+  public void apply(final long datasetId, final SimulationReport report)
+  throws SQLException, NoSuchSimulationDatasetException
+  {
+    PreparedStatements.setSimulationReport(this.statement, 1, report);
+    this.statement.setLong(2, datasetId);
+
+    final var count = this.statement.executeUpdate();
+    if (count < 1) throw new NoSuchSimulationDatasetException(datasetId);
+    if (count > 1) throw new Error("More than one row affected by dataset update by primary key. Is the database corrupted?");
+  }
+
+  @Override
+  public void close() throws SQLException {
+    this.statement.close();
+  }
+}
@@ -11,33 +11,119 @@ import gov.nasa.jpl.aerie.merlin.server.exceptions.SimulationDatasetMismatchExce
 import gov.nasa.jpl.aerie.merlin.server.http.Failable;
 import gov.nasa.jpl.aerie.merlin.server.models.*;
 import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.ConstraintRunRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-public class ConstraintAction {
-  private final ConstraintsDSLCompilationService constraintsDSLCompilationService;
+/**
+ * Checks the constraints of a plan against its simulation results.
+ *
+ * Constraints which have not already been checked against the results are compiled and evaluated concurrently,
+ * on a fixed-size pool of threads shared by all requests.
+ */
+public class ConstraintAction implements AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(ConstraintAction.class);
+
+  /**
+   * The results of checking each constraint of a plan, in order of constraint id.
+   *
+   * @param results The result of checking each constraint.
+   * @param timings How long each constraint took to check, by constraint id.
+   *                Constraints whose results were already known are absent.
+   */
+  public record Response(Map<Constraint, Failable<?>> results, Map<Long, Timing> timings) {}
+
+  /**
+   * The wall-clock time spent in each phase of checking a constraint. Phases which were never reached are zero.
+   *
+   * Profile loading includes any time spent waiting for a profile being loaded on behalf of another constraint.
+   */
+  public record Timing(long compilationNanos, long profileLoadingNanos, long evaluationNanos) {}
+
+  /** Compiles the definition of a constraint, as {@link ConstraintsDSLCompilationService#compileConstraintsDSL} does. */
+  /* package-local */
+  interface Compiler {
+    ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult compile(
+        String missionModelId,
+        Optional<PlanId> planId,
+        Optional<SimulationDatasetId> simulationDatasetId,
+        String definition
+    ) throws MissionModelService.NoSuchMissionModelException, NoSuchPlanException;
+  }
+
+  private final Compiler compiler;
+  private final Supplier<ConstraintsDSLCompilationService.Stats> compilationStats;
   private final ConstraintService constraintService;
   private final PlanService planService;
   private final MissionModelService missionModelService;
   private final SimulationService simulationService;
+  private final ExecutorService evaluationPool;
 
   public ConstraintAction(
       final ConstraintsDSLCompilationService constraintsDSLCompilationService,
       final ConstraintService constraintService,
       final PlanService planService,
       final MissionModelService missionModelService,
-      final SimulationService simulationService
+      final SimulationService simulationService,
+      final int evaluationPoolSize
   ) {
-    this.constraintsDSLCompilationService = constraintsDSLCompilationService;
+    this(
+        constraintsDSLCompilationService::compileConstraintsDSL,
+        constraintsDSLCompilationService::getStats,
+        constraintService,
+        planService,
+        missionModelService,
+        simulationService,
+        evaluationPoolSize);
+  }
+
+  /* package-local */
+  ConstraintAction(
+      final Compiler compiler,
+      final Supplier<ConstraintsDSLCompilationService.Stats> compilationStats,
+      final ConstraintService constraintService,
+      final PlanService planService,
+      final MissionModelService missionModelService,
+      final SimulationService simulationService,
+      final int evaluationPoolSize
+  ) {
+    if (evaluationPoolSize < 1) throw new IllegalArgumentException("Constraint evaluation pool size must be positive, got " + evaluationPoolSize);
+
+    this.compiler = compiler;
+    this.compilationStats = compilationStats;
     this.constraintService = constraintService;
     this.planService = planService;
     this.missionModelService = missionModelService;
     this.simulationService = simulationService;
+    this.evaluationPool = Executors.newFixedThreadPool(evaluationPoolSize, runnable -> {
+      final var thread = new Thread(runnable, "constraint-evaluation");
+      thread.setDaemon(true);
+      return thread;
+    });
   }
 
-  public Map<Constraint, Failable<?>> getViolations(final PlanId planId, final Optional<SimulationDatasetId> simulationDatasetId)
+  @Override
+  public void close() {
+    this.evaluationPool.shutdownNow();
+  }
+
+  /** Get a snapshot of how effectively constraint compilations are being reused across requests. */
+  public ConstraintsDSLCompilationService.Stats getCompilationStats() {
+    return this.compilationStats.get();
+  }
+
+  public Response getViolations(final PlanId planId, final Optional<SimulationDatasetId> simulationDatasetId)
   throws NoSuchPlanException, MissionModelService.NoSuchMissionModelException, SimulationDatasetMismatchException
   {
     final var plan = this.planService.getPlanForValidation(planId);
@@ -60,8 +146,9 @@ public class ConstraintAction {
                                                         + " has not yet been simulated at its current revision"));
     }
 
-    final var constraintCode = new HashMap<Long, Constraint>();
-    final var constraintResultMap = new HashMap<Constraint, Failable<?>>();
+    final var constraintCode = new TreeMap<Long, Constraint>();
+    final var constraintResultMap = new TreeMap<Constraint, Failable<?>>(Comparator.comparing(Constraint::id));
+    final var timings = new TreeMap<Long, Timing>();
 
     try {
       constraintCode.putAll(this.missionModelService.getConstraints(plan.missionModelId));
@@ -140,112 +227,49 @@ public class ConstraintAction {
 
       final var environment = new EvaluationEnvironment(realExternalProfiles, discreteExternalProfiles);
 
-      final var realProfiles = new HashMap<String, LinearProfile>();
-      final var discreteProfiles = new HashMap<String, DiscreteProfile>();
+      final var profiles = new ProfileLoader(resultsHandle$, planId);
+
+      // Every constraint is evaluated against the same results, whose profiles are filled in as constraints need them.
+      final Interval bounds = Interval.betweenClosedOpen(Duration.ZERO, simDuration);
+      final var preparedResults = new gov.nasa.jpl.aerie.constraints.model.SimulationResults(
+          simStartTime,
+          bounds,
+          activities,
+          profiles.realProfiles,
+          profiles.discreteProfiles);
 
       // try to compile and run the constraint that were not
       // successful and cached in the past
+      final var checks = new LinkedHashMap<Constraint, Future<Check>>();
       for (final var entry : constraintCode.entrySet()) {
+        final var constraintId = entry.getKey();
         final var constraint = entry.getValue();
-        final Expression<ConstraintResult> expression;
-
-        // TODO: cache these results, @JoelCourtney is this in reference to caching the output of the DSL compilation?
-        final ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult constraintCompilationResult;
-        try {
-          constraintCompilationResult = constraintsDSLCompilationService.compileConstraintsDSL(
-              plan.missionModelId,
-              Optional.of(planId),
-              Optional.of(simDatasetId),
-              constraint.definition()
-          );
-        } catch (MissionModelService.NoSuchMissionModelException | NoSuchPlanException ex) {
-          constraintResultMap.put(
-              constraint,
-              Failable.failure(new Error("Constraint " + constraint.name() + ": " + ex.getMessage())));
-          continue;
-        }
-
-        // Try to compile the constraint and capture failures
-        if (constraintCompilationResult instanceof ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult.Success success) {
-          expression = success.constraintExpression();
-        } else if (constraintCompilationResult instanceof ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult.Error error) {
-          constraintResultMap.put(
-              constraint,
-              Failable.failure(error, "Constraint '" + constraint.name() + "' compilation failed:\n "));
-          continue;
-        } else {
-          constraintResultMap.put(
-              constraint,
-              Failable.failure(
-                  new ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult.Error(
-                      new ArrayList<>() {{
-                        add(new ConstraintsCompilationError.UserCodeError(
-                            "Unhandled variant of ConstraintsDSLCompilationResult: "
-                            + constraintCompilationResult,
-                            "",
-                            new ConstraintsCompilationError.CodeLocation(
-                                0,
-                                0),
-                            ""));
-                      }})));
-          continue;
-        }
-
-        final var names = new HashSet<String>();
-        expression.extractResources(names);
-
-        final var newNames = new HashSet<String>();
-        for (final var name : names) {
-          if (!realProfiles.containsKey(name) && !discreteProfiles.containsKey(name)) {
-            newNames.add(name);
-          }
-        }
-
-        if (!newNames.isEmpty()) {
-          try {
-            final var newProfiles = resultsHandle$
-                .map($ -> $.getProfiles(new ArrayList<>(newNames)))
-                .orElseThrow(() -> new InputMismatchException("no simulation results found for plan id "
-                                                              + planId.id()));
-
-            for (final var _entry : ProfileSet.unwrapOptional(newProfiles.realProfiles()).entrySet()) {
-              if (!realProfiles.containsKey(_entry.getKey())) {
-                realProfiles.put(_entry.getKey(), LinearProfile.fromSimulatedProfile(_entry.getValue().getRight()));
-              }
-            }
-
-            for (final var _entry : ProfileSet.unwrapOptional(newProfiles.discreteProfiles()).entrySet()) {
-              if (!discreteProfiles.containsKey(_entry.getKey())) {
-                discreteProfiles.put(
-                    _entry.getKey(),
-                    DiscreteProfile.fromSimulatedProfile(_entry.getValue().getRight()));
-              }
-            }
-          } catch (InputMismatchException ex) {
-            constraintResultMap.put(constraint, Failable.failure(ex));
-            continue;
-          }
-        }
-
-        final Interval bounds = Interval.betweenClosedOpen(Duration.ZERO, simDuration);
-        final var preparedResults = new gov.nasa.jpl.aerie.constraints.model.SimulationResults(
-            simStartTime,
-            bounds,
-            activities,
-            realProfiles,
-            discreteProfiles);
-
-        ConstraintResult constraintResult = expression.evaluate(preparedResults, environment);
-
-        constraintResult.constraintName = entry.getValue().name();
-        constraintResult.constraintId = entry.getKey();
-        constraintResult.constraintType = entry.getValue().type();
-        constraintResult.resourceIds = List.copyOf(names);
+        checks.put(constraint, this.evaluationPool.submit(() -> this.check(
+            plan.missionModelId,
+            planId,
+            simDatasetId,
+            constraintId,
+            constraint,
+            profiles,
+            preparedResults,
+            environment)));
+      }
 
-        constraintResultMap.put(constraint, Failable.of(constraintResult));
+      for (final var entry : checks.entrySet()) {
+        final var check = await(entry.getValue());
+        constraintResultMap.put(entry.getKey(), check.result());
+        timings.put(entry.getKey().id(), check.timing());
+      }
 
+      final var stats = this.compilationStats.get();
+      logger.debug(
+          "constraints compilation cache: {} hits, {} misses, {} evictions; compiler pool: {} ms spent waiting, {} ms longest wait",
+          stats.hits(),
+          stats.misses(),
+          stats.evictions(),
+          stats.totalQueueWaitNanos() / 1_000_000.0,
+          stats.maxQueueWaitNanos() / 1_000_000.0);
 
-      }
       // Filter for constraints that were compiled and ran with results
       // convert these successful failables to ConstraintResults
       final var compiledConstraintMap = constraintResultMap.entrySet().stream()
@@ -278,6 +302,168 @@ public class ConstraintAction {
           simDatasetId);
     }
 
-    return constraintResultMap;
+    return new Response(Collections.unmodifiableMap(constraintResultMap), Collections.unmodifiableMap(timings));
+  }
+
+  private record Check(Failable<?> result, Timing timing) {}
+
+  /** Compiles and evaluates a single constraint. Called concurrently for each of a plan's constraints. */
+  private Check check(
+      final String missionModelId,
+      final PlanId planId,
+      final SimulationDatasetId simDatasetId,
+      final long constraintId,
+      final Constraint constraint,
+      final ProfileLoader profiles,
+      final gov.nasa.jpl.aerie.constraints.model.SimulationResults preparedResults,
+      final EvaluationEnvironment environment
+  ) {
+    final var compilationStart = System.nanoTime();
+    final Expression<ConstraintResult> expression;
+
+    final ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult constraintCompilationResult;
+    try {
+      constraintCompilationResult = this.compiler.compile(
+          missionModelId,
+          Optional.of(planId),
+          Optional.of(simDatasetId),
+          constraint.definition()
+      );
+    } catch (MissionModelService.NoSuchMissionModelException | NoSuchPlanException ex) {
+      return new Check(
+          Failable.failure(new Error("Constraint " + constraint.name() + ": " + ex.getMessage())),
+          new Timing(System.nanoTime() - compilationStart, 0, 0));
+    }
+    final var compilationNanos = System.nanoTime() - compilationStart;
+
+    // Try to compile the constraint and capture failures
+    if (constraintCompilationResult instanceof ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult.Success success) {
+      expression = success.constraintExpression();
+    } else if (constraintCompilationResult instanceof ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult.Error error) {
+      return new Check(
+          Failable.failure(error, "Constraint '" + constraint.name() + "' compilation failed:\n "),
+          new Timing(compilationNanos, 0, 0));
+    } else {
+      return new Check(
+          Failable.failure(
+              new ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult.Error(
+                  new ArrayList<>() {{
+                    add(new ConstraintsCompilationError.UserCodeError(
+                        "Unhandled variant of ConstraintsDSLCompilationResult: "
+                        + constraintCompilationResult,
+                        "",
+                        new ConstraintsCompilationError.CodeLocation(
+                            0,
+                            0),
+                        ""));
+                  }})),
+          new Timing(compilationNanos, 0, 0));
+    }
+
+    final var names = new HashSet<String>();
+    expression.extractResources(names);
+
+    final var profileLoadingStart = System.nanoTime();
+    try {
+      profiles.load(names);
+    } catch (InputMismatchException ex) {
+      return new Check(Failable.failure(ex), new Timing(compilationNanos, System.nanoTime() - profileLoadingStart, 0));
+    }
+    final var profileLoadingNanos = System.nanoTime() - profileLoadingStart;
+
+    final var evaluationStart = System.nanoTime();
+    ConstraintResult constraintResult = expression.evaluate(preparedResults, environment);
+    final var evaluationNanos = System.nanoTime() - evaluationStart;
+
+    constraintResult.constraintName = constraint.name();
+    constraintResult.constraintId = constraintId;
+    constraintResult.constraintType = constraint.type();
+    constraintResult.resourceIds = List.copyOf(names);
+
+    return new Check(Failable.of(constraintResult), new Timing(compilationNanos, profileLoadingNanos, evaluationNanos));
+  }
+
+  private static <T> T await(final Future<T> future) {
+    try {
+      return future.get();
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while checking constraints", ex);
+    } catch (final ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) throw cause;
+      if (ex.getCause() instanceof Error cause) throw cause;
+      throw new RuntimeException(ex.getCause());
+    }
+  }
+
+  /**
+   * Loads simulated profiles by name on behalf of concurrently-checked constraints, fetching each profile at most once.
+   *
+   * Names which are not the names of simulated profiles (such as those of external profiles) are only looked up once, too.
+   */
+  private static final class ProfileLoader {
+    private final Optional<SimulationResultsHandle> resultsHandle;
+    private final PlanId planId;
+
+    final Map<String, LinearProfile> realProfiles = new ConcurrentHashMap<>();
+    final Map<String, DiscreteProfile> discreteProfiles = new ConcurrentHashMap<>();
+
+    // Each request completes once its name has been looked up, whether or not it named a simulated profile.
+    private final Map<String, CompletableFuture<Void>> requests = new ConcurrentHashMap<>();
+
+    ProfileLoader(final Optional<SimulationResultsHandle> resultsHandle, final PlanId planId) {
+      this.resultsHandle = resultsHandle;
+      this.planId = planId;
+    }
+
+    /** Ensures that every simulated profile with one of the given names has been loaded. */
+    void load(final Set<String> names) throws InputMismatchException {
+      // Claim the names nobody has asked for yet, and fetch them together; wait for the rest.
+      final var claimed = new HashMap<String, CompletableFuture<Void>>();
+      final var pending = new ArrayList<CompletableFuture<Void>>();
+      for (final var name : names) {
+        final var request = new CompletableFuture<Void>();
+        final var existing = this.requests.putIfAbsent(name, request);
+        if (existing == null) claimed.put(name, request);
+        else pending.add(existing);
+      }
+
+      if (!claimed.isEmpty()) {
+        try {
+          this.fetch(claimed.keySet());
+        } catch (final Throwable ex) {
+          claimed.values().forEach($ -> $.completeExceptionally(ex));
+          throw ex;
+        }
+        claimed.values().forEach($ -> $.complete(null));
+      }
+
+      for (final var request : pending) {
+        try {
+          request.join();
+        } catch (final CompletionException ex) {
+          if (ex.getCause() instanceof RuntimeException cause) throw cause;
+          if (ex.getCause() instanceof Error cause) throw cause;
+          throw ex;
+        }
+      }
+    }
+
+    private void fetch(final Set<String> names) {
+      final var newProfiles = this.resultsHandle
+          .map($ -> $.getProfiles(new ArrayList<>(names)))
+          .orElseThrow(() -> new InputMismatchException("no simulation results found for plan id "
+                                                        + this.planId.id()));
+
+      for (final var _entry : ProfileSet.unwrapOptional(newProfiles.realProfiles()).entrySet()) {
+        this.realProfiles.putIfAbsent(_entry.getKey(), LinearProfile.fromSimulatedProfile(_entry.getValue().getRight()));
+      }
+
+      for (final var _entry : ProfileSet.unwrapOptional(newProfiles.discreteProfiles()).entrySet()) {
+        this.discreteProfiles.putIfAbsent(
+            _entry.getKey(),
+            DiscreteProfile.fromSimulatedProfile(_entry.getValue().getRight()));
+      }
+    }
   }
 }
@@ -17,43 +17,118 @@ import javax.json.stream.JsonParsingException;
 import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
+/**
+ * Compiles constraints written in the constraints eDSL by way of a pool of node subprocesses.
+ *
+ * <p>
+ * Compiling a constraint means running the TypeScript compiler, which takes far longer than anything else involved in
+ * checking it, so compilation results are cached. Entries are keyed by the constraint's source code, a hash of the
+ * mission model types it is compiled against, and a hash of the compiler itself, so an entry can never be served for a
+ * constraint, model, or compiler other than the one it was compiled from. When the cache is full, the
+ * least-recently-used entry is evicted.
+ * </p>
+ *
+ * <p>
+ * Each subprocess compiles one constraint at a time, so concurrent requests are spread across the pool,
+ * and wait for a subprocess to become free only when all of them are busy. A subprocess which fails mid-compilation
+ * may have left unread output behind, so it is killed rather than reused, and a fresh one is started in its place
+ * the next time it is needed.
+ * </p>
+ */
 public class ConstraintsDSLCompilationService {
+  public static final int DEFAULT_POOL_SIZE = 1;
+  public static final int DEFAULT_CACHE_SIZE = 1024;
 
-  private final Process nodeProcess;
   private final TypescriptCodeGenerationServiceAdapter typescriptCodeGenerationService;
+  private final String nodePath;
+  private final String compilerRoot;
+  private final String compilerCommand;
+  private final String compilerVersion;
+  private final List<Process> nodeProcesses;
+  private final BlockingQueue<Process> idleNodeProcesses;
+
+  private final int cacheCapacity;
+  private final LinkedHashMap<CacheKey, ConstraintsDSLCompilationResult> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long hits = 0;
+  private long misses = 0;
+  private long evictions = 0;
+  private long queueWaitNanos = 0;
+  private long maxQueueWaitNanos = 0;
+  private long respawns = 0;
 
   public ConstraintsDSLCompilationService(final TypescriptCodeGenerationServiceAdapter typescriptCodeGenerationService)
   throws IOException
   {
+    this(typescriptCodeGenerationService, DEFAULT_POOL_SIZE, DEFAULT_CACHE_SIZE);
+  }
+
+  public ConstraintsDSLCompilationService(
+      final TypescriptCodeGenerationServiceAdapter typescriptCodeGenerationService,
+      final int poolSize,
+      final int cacheCapacity
+  ) throws IOException
+  {
+    if (poolSize < 1) throw new IllegalArgumentException("Constraints DSL compiler pool size must be positive, got " + poolSize);
+    if (cacheCapacity < 0) throw new IllegalArgumentException("Constraints DSL compilation cache size must not be negative, got " + cacheCapacity);
+
     this.typescriptCodeGenerationService = typescriptCodeGenerationService;
-    final var constraintsDslCompilerRoot = System.getenv("CONSTRAINTS_DSL_COMPILER_ROOT");
-    final var constraintsDslCompilerCommand = System.getenv("CONSTRAINTS_DSL_COMPILER_COMMAND");
-    final var nodePath = System.getenv("NODE_PATH");
-    this.nodeProcess = new ProcessBuilder(nodePath, "--experimental-vm-modules", constraintsDslCompilerCommand)
+    this.cacheCapacity = cacheCapacity;
+
+    this.compilerRoot = System.getenv("CONSTRAINTS_DSL_COMPILER_ROOT");
+    this.compilerCommand = System.getenv("CONSTRAINTS_DSL_COMPILER_COMMAND");
+    this.nodePath = System.getenv("NODE_PATH");
+    this.compilerVersion = sha256(Files.readAllBytes(Path.of(this.compilerRoot).resolve(this.compilerCommand)));
+
+    this.nodeProcesses = new ArrayList<>(poolSize);
+    this.idleNodeProcesses = new ArrayBlockingQueue<>(poolSize);
+    try {
+      for (var i = 0; i < poolSize; i += 1) {
+        final var nodeProcess = this.startNodeProcess();
+        this.nodeProcesses.add(nodeProcess);
+        this.idleNodeProcesses.add(nodeProcess);
+      }
+    } catch (final IOException | Error ex) {
+      this.close();
+      throw ex;
+    }
+  }
+
+  private Process startNodeProcess() throws IOException {
+    final var nodeProcess = new ProcessBuilder(this.nodePath, "--experimental-vm-modules", this.compilerCommand)
         .redirectError(ProcessBuilder.Redirect.INHERIT)
-        .directory(new File(constraintsDslCompilerRoot))
+        .directory(new File(this.compilerRoot))
         .start();
 
-    final var inputStream = this.nodeProcess.outputWriter();
+    final var inputStream = nodeProcess.outputWriter();
     inputStream.write("ping\n");
     inputStream.flush();
-    if (!Objects.equals(this.nodeProcess.inputReader().readLine(), "pong")) {
+    if (!Objects.equals(nodeProcess.inputReader().readLine(), "pong")) {
+      nodeProcess.destroy();
       throw new Error("Could not create node subprocess");
     }
+    return nodeProcess;
   }
 
-  public void close() {
-    this.nodeProcess.destroy();
+  public synchronized void close() {
+    for (final var nodeProcess : this.nodeProcesses) nodeProcess.destroy();
   }
 
-  /**
-   * NOTE: This method is not re-entrant (assumes only one call to this method is running at any given time)
-   */
-  synchronized public ConstraintsDSLCompilationResult compileConstraintsDSL(
+  public ConstraintsDSLCompilationResult compileConstraintsDSL(
       final String missionModelId,
       final Optional<PlanId> planId,
       final Optional<SimulationDatasetId> simulationDatasetId,
@@ -61,6 +136,100 @@ public class ConstraintsDSLCompilationService {
   ) throws MissionModelService.NoSuchMissionModelException, NoSuchPlanException
   {
     final var missionModelGeneratedCode = this.typescriptCodeGenerationService.generateTypescriptTypes(missionModelId, planId, simulationDatasetId);
+    final var key = new CacheKey(
+        constraintTypescript,
+        sha256(missionModelGeneratedCode.getBytes(StandardCharsets.UTF_8)),
+        this.compilerVersion);
+
+    synchronized (this) {
+      final var cached = this.cache.get(key);
+      if (cached != null) {
+        this.hits += 1;
+        return cached;
+      }
+      this.misses += 1;
+    }
+
+    // Two requests for the same uncached constraint may both compile it; the results are identical, so this is harmless.
+    final var result = this.compileOnIdleProcess(constraintTypescript, missionModelGeneratedCode);
+
+    synchronized (this) {
+      if (this.cacheCapacity > 0) {
+        this.cache.put(key, result);
+        final var iter = this.cache.values().iterator();
+        while (this.cache.size() > this.cacheCapacity) {
+          iter.next();
+          iter.remove();
+          this.evictions += 1;
+        }
+      }
+    }
+
+    return result;
+  }
+
+  public synchronized Stats getStats() {
+    return new Stats(
+        this.hits,
+        this.misses,
+        this.evictions,
+        this.cache.size(),
+        this.queueWaitNanos,
+        this.maxQueueWaitNanos,
+        this.respawns,
+        this.nodeProcesses.size(),
+        this.idleNodeProcesses.size(),
+        this.typescriptCodeGenerationService.getStats());
+  }
+
+  private ConstraintsDSLCompilationResult compileOnIdleProcess(final String constraintTypescript, final String missionModelGeneratedCode) {
+    Process nodeProcess;
+    final var beginTime = System.nanoTime();
+    try {
+      nodeProcess = this.idleNodeProcesses.take();
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new Error("Interrupted while waiting for a constraints DSL compiler", ex);
+    }
+    final var waitNanos = System.nanoTime() - beginTime;
+    synchronized (this) {
+      this.queueWaitNanos += waitNanos;
+      this.maxQueueWaitNanos = Math.max(this.maxQueueWaitNanos, waitNanos);
+    }
+
+    try {
+      if (!nodeProcess.isAlive()) nodeProcess = this.respawn(nodeProcess);
+      return compile(nodeProcess, constraintTypescript, missionModelGeneratedCode);
+    } catch (final RuntimeException | Error ex) {
+      // The subprocess may be partway through a response we will never read, which the next compilation would
+      //   mistake for its own. Kill it outright and wait for it to exit, so its successor knows to replace it.
+      nodeProcess.destroyForcibly().onExit().join();
+      throw ex;
+    } finally {
+      this.idleNodeProcesses.add(nodeProcess);
+    }
+  }
+
+  private Process respawn(final Process deadProcess) {
+    final Process nodeProcess;
+    try {
+      nodeProcess = this.startNodeProcess();
+    } catch (final IOException ex) {
+      throw new Error("Could not restart constraints DSL compiler", ex);
+    }
+
+    synchronized (this) {
+      this.nodeProcesses.set(this.nodeProcesses.indexOf(deadProcess), nodeProcess);
+      this.respawns += 1;
+    }
+    return nodeProcess;
+  }
+
+  private static ConstraintsDSLCompilationResult compile(
+      final Process nodeProcess,
+      final String constraintTypescript,
+      final String missionModelGeneratedCode
+  ) {
     final JsonObject messageJson = Json.createObjectBuilder()
         .add("constraintCode", constraintTypescript)
         .add("missionModelGeneratedCode", missionModelGeneratedCode)
@@ -74,8 +243,8 @@ public class ConstraintsDSLCompilationService {
      *   NODE -- stdout --> JAVA: one of "success\n", "error\n", or "panic\n"
      *   NODE -- stdout --> JAVA: payload associated with success, error, or panic, must be exactly one line terminated with \n
      * */
-    final var inputWriter = this.nodeProcess.outputWriter();
-    final var outputReader = this.nodeProcess.inputReader();
+    final var inputWriter = nodeProcess.outputWriter();
+    final var outputReader = nodeProcess.inputReader();
     try {
       inputWriter.write(messageJson +"\n");
       inputWriter.flush();
@@ -105,6 +274,15 @@ public class ConstraintsDSLCompilationService {
     }
   }
 
+  private static String sha256(final byte[] bytes) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    } catch (final NoSuchAlgorithmException ex) {
+      // Every Java platform is required to support SHA-256.
+      throw new Error(ex);
+    }
+  }
+
   private static <T> T parseJson(final String jsonStr, final JsonParser<T> parser)
   throws InvalidJsonException, InvalidEntityException
   {
@@ -117,6 +295,35 @@ public class ConstraintsDSLCompilationService {
     }
   }
 
+  /**
+   * A snapshot of the compilation cache's and compiler pool's effectiveness.
+   *
+   * @param hits The number of compilations served from the cache.
+   * @param misses The number of compilations which required running the compiler.
+   * @param evictions The number of compilation results dropped from the cache for space.
+   * @param size The number of compilation results currently cached.
+   * @param totalQueueWaitNanos The total time spent waiting for a compiler subprocess to become free, in nanoseconds.
+   * @param maxQueueWaitNanos The longest time any compilation waited for a compiler subprocess, in nanoseconds.
+   * @param respawns The number of compiler subprocesses started to replace ones which failed.
+   * @param poolSize The number of compiler subprocesses.
+   * @param idle The number of compiler subprocesses not currently compiling.
+   * @param generatedTypes The effectiveness of the cache of declarations that constraints are compiled against.
+   */
+  public record Stats(
+      long hits,
+      long misses,
+      long evictions,
+      int size,
+      long totalQueueWaitNanos,
+      long maxQueueWaitNanos,
+      long respawns,
+      int poolSize,
+      int idle,
+      TypescriptCodeGenerationServiceAdapter.Stats generatedTypes
+  ) {}
+
+  private record CacheKey(String constraintTypescript, String generatedCodeHash, String compilerVersion) {}
+
   public sealed interface ConstraintsDSLCompilationResult {
     record Success(Expression<ConstraintResult> constraintExpression) implements ConstraintsDSLCompilationResult {}
     record Error(List<ConstraintsCompilationError.UserCodeError> errors) implements ConstraintsDSLCompilationResult {}
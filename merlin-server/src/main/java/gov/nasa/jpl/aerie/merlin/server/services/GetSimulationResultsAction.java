@@ -2,6 +2,7 @@ package gov.nasa.jpl.aerie.merlin.server.services;
 
 import gov.nasa.jpl.aerie.merlin.driver.SimulationFailure;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
 import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
 import gov.nasa.jpl.aerie.merlin.server.ResultsProtocol;
 import gov.nasa.jpl.aerie.merlin.server.exceptions.NoSuchPlanException;
@@ -15,6 +16,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 public final class GetSimulationResultsAction {
   public sealed interface Response {
@@ -54,51 +56,117 @@ public final class GetSimulationResultsAction {
     }
   }
 
+  /**
+   * Which resource samples to return.
+   *
+   * @param start The earliest offset from the start of simulation to return samples for, if not the start of simulation.
+   * @param end The latest offset from the start of simulation to return samples for, if not the end of the profiles.
+   * @param resourceNames The resources to return samples for, if not all of them.
+   * @param maxPoints The most samples to return for any one resource, if the samples should be decimated.
+   *   Budgets below {@link SampleDecimator#MIN_POINTS} are raised to it.
+   */
+  public record SampleQuery(
+      Optional<Duration> start,
+      Optional<Duration> end,
+      Optional<List<String>> resourceNames,
+      Optional<Integer> maxPoints
+  ) {
+    public static final SampleQuery ALL = new SampleQuery(Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty());
+  }
+
   public Map<String, List<Pair<Duration, SerializedValue>>> getResourceSamples(final PlanId planId)
   throws NoSuchPlanException
+  {
+    return getResourceSamples(planId, SampleQuery.ALL);
+  }
+
+  public Map<String, List<Pair<Duration, SerializedValue>>> getResourceSamples(final PlanId planId, final SampleQuery query)
+  throws NoSuchPlanException
   {
     final var revisionData = this.planService.getPlanRevisionData(planId);
     final var simulationResultsHandle$ = this.simulationService.get(planId, revisionData);
     if (simulationResultsHandle$.isEmpty()) return Collections.emptyMap();
-    final var simulationResults = simulationResultsHandle$.get().getSimulationResults();
+    final var simulationResultsHandle = simulationResultsHandle$.get();
+
+    final var windowStart = query.start().orElse(Duration.ZERO);
+    final var windowEnd = query.end().orElse(Duration.MAX_VALUE);
+    final var bucketEnd = query.end().orElse(simulationResultsHandle.duration());
 
     final var samples = new HashMap<String, List<Pair<Duration, SerializedValue>>>();
 
-    simulationResults.realProfiles.forEach((name, p) -> {
-      var elapsed = Duration.ZERO;
-      var profile = p.getRight();
+    final var resourceNames = query.resourceNames().orElseGet(simulationResultsHandle::getProfileNames);
+    final var profiles = simulationResultsHandle.getProfiles(resourceNames);
+    for (final var name : resourceNames) {
+      final var realProfile = profiles.realProfiles().get(name);
+      if (realProfile != null) {
+        final var timeline = new Timeline(query.maxPoints().map($ -> new SampleDecimator(windowStart, bucketEnd, Math.max($, SampleDecimator.MIN_POINTS))));
+
+        var elapsed = Duration.ZERO;
+        for (final var piece : realProfile.getRight()) {
+          final var start = elapsed;
+          final var end = elapsed.plus(piece.extent());
+          elapsed = end;
+
+          if (piece.dynamics().isEmpty() || end.shorterThan(windowStart) || start.longerThan(windowEnd)) continue;
+          final var dynamics = piece.dynamics().get();
+
+          final var clippedStart = Duration.max(start, windowStart);
+          final var clippedEnd = Duration.min(end, windowEnd);
+          timeline.add(clippedStart, SerializedValue.of(valueAt(dynamics, clippedStart.minus(start))));
+          timeline.add(clippedEnd, SerializedValue.of(valueAt(dynamics, clippedEnd.minus(start))));
+        }
+
+        samples.put(name, timeline.finish());
+      }
 
-      final var timeline = new ArrayList<Pair<Duration, SerializedValue>>();
-      for (final var piece : profile) {
-        final var extent = piece.extent();
-        final var dynamics = piece.dynamics();
+      final var discreteProfile = profiles.discreteProfiles().get(name);
+      if (discreteProfile != null) {
+        final var timeline = new Timeline(query.maxPoints().map($ -> new SampleDecimator(windowStart, bucketEnd, Math.max($, SampleDecimator.MIN_POINTS))));
 
-        timeline.add(Pair.of(elapsed, SerializedValue.of(
-            dynamics.initial)));
-        elapsed = elapsed.plus(extent);
-        timeline.add(Pair.of(elapsed, SerializedValue.of(
-            dynamics.initial + dynamics.rate * extent.ratioOver(Duration.SECONDS))));
-      }
+        var elapsed = Duration.ZERO;
+        for (final var piece : discreteProfile.getRight()) {
+          final var start = elapsed;
+          final var end = elapsed.plus(piece.extent());
+          elapsed = end;
 
-      samples.put(name, timeline);
-    });
-    simulationResults.discreteProfiles.forEach((name, p) -> {
-      var elapsed = Duration.ZERO;
-      var profile = p.getRight();
+          if (piece.dynamics().isEmpty() || end.shorterThan(windowStart) || start.longerThan(windowEnd)) continue;
+          final var value = piece.dynamics().get();
 
-      final var timeline = new ArrayList<Pair<Duration, SerializedValue>>();
-      for (final var piece : profile) {
-        final var extent = piece.extent();
-        final var value = piece.dynamics();
+          timeline.add(Duration.max(start, windowStart), value);
+          timeline.add(Duration.min(end, windowEnd), value);
+        }
 
-        timeline.add(Pair.of(elapsed, value));
-        elapsed = elapsed.plus(extent);
-        timeline.add(Pair.of(elapsed, value));
+        samples.put(name, timeline.finish());
       }
-
-      samples.put(name, timeline);
-    });
+    }
 
     return samples;
   }
+
+  private static double valueAt(final RealDynamics dynamics, final Duration offset) {
+    if (offset.isZero()) return dynamics.initial;
+    return dynamics.initial + dynamics.rate * offset.ratioOver(Duration.SECONDS);
+  }
+
+  /** A series of samples, decimated if a point budget was requested. */
+  private static final class Timeline {
+    private final Optional<SampleDecimator> decimator;
+    private final List<Pair<Duration, SerializedValue>> samples = new ArrayList<>();
+
+    public Timeline(final Optional<SampleDecimator> decimator) {
+      this.decimator = decimator;
+    }
+
+    public void add(final Duration time, final SerializedValue value) {
+      if (this.decimator.isPresent()) {
+        this.decimator.get().add(time, value);
+      } else {
+        this.samples.add(Pair.of(time, value));
+      }
+    }
+
+    public List<Pair<Duration, SerializedValue>> finish() {
+      return this.decimator.map(SampleDecimator::finish).orElse(this.samples);
+    }
+  }
 }
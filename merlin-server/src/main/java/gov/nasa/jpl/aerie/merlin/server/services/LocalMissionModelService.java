@@ -2,14 +2,17 @@ package gov.nasa.jpl.aerie.merlin.server.services;
 
 import gov.nasa.jpl.aerie.merlin.driver.ActivityDirectiveId;
 import gov.nasa.jpl.aerie.merlin.driver.DirectiveTypeRegistry;
+import gov.nasa.jpl.aerie.merlin.driver.InMemorySimulationResultsSink;
 import gov.nasa.jpl.aerie.merlin.driver.MissionModel;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModelCache;
 import gov.nasa.jpl.aerie.merlin.driver.MissionModelLoader;
 import gov.nasa.jpl.aerie.merlin.driver.SerializedActivity;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationDriver;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationResultsSink;
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationEngine;
 import gov.nasa.jpl.aerie.merlin.protocol.model.InputType.Parameter;
 import gov.nasa.jpl.aerie.merlin.protocol.model.InputType.ValidationNotice;
-import gov.nasa.jpl.aerie.merlin.protocol.model.ModelType;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.merlin.protocol.types.InstantiationException;
 import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
@@ -45,18 +48,37 @@ import java.util.function.Supplier;
 public final class LocalMissionModelService implements MissionModelService {
   private static final Logger log = LoggerFactory.getLogger(LocalMissionModelService.class);
 
+  private static final int DEFAULT_MISSION_MODEL_CACHE_SIZE = 4;
+
   private final Path missionModelDataPath;
   private final MissionModelRepository missionModelRepository;
   private final Instant untruePlanStart;
+  private final MissionModelCache missionModelCache;
 
   public LocalMissionModelService(
       final Path missionModelDataPath,
       final MissionModelRepository missionModelRepository,
       final Instant untruePlanStart
+  ) {
+    this(missionModelDataPath, missionModelRepository, untruePlanStart, new MissionModelCache(DEFAULT_MISSION_MODEL_CACHE_SIZE));
+  }
+
+  public LocalMissionModelService(
+      final Path missionModelDataPath,
+      final MissionModelRepository missionModelRepository,
+      final Instant untruePlanStart,
+      final MissionModelCache missionModelCache
   ) {
     this.missionModelDataPath = missionModelDataPath;
     this.missionModelRepository = missionModelRepository;
     this.untruePlanStart = untruePlanStart;
+    this.missionModelCache = missionModelCache;
+  }
+
+  /** Get a snapshot of how effectively loaded mission models are being reused across requests. */
+  @Override
+  public MissionModelCache.Stats getMissionModelCacheStats() {
+    return this.missionModelCache.getStats();
   }
 
   @Override
@@ -89,10 +111,12 @@ public final class LocalMissionModelService implements MissionModelService {
     // TODO: [AERIE-1516] Teardown the missionModel after use to release any system resources (e.g. threads).
     final var schemas = new HashMap<String, ValueSchema>();
 
-    for (final var entry : loadAndInstantiateMissionModel(missionModelId).getResources().entrySet()) {
-      final var name = entry.getKey();
-      final var resource = entry.getValue();
-      schemas.put(name, resource.getOutputType().getSchema());
+    try (final var lease = this.acquireMissionModel(missionModelId)) {
+      for (final var entry : instantiateMissionModel(lease).getResources().entrySet()) {
+        final var name = entry.getKey();
+        final var resource = entry.getValue();
+        schemas.put(name, resource.getOutputType().getSchema());
+      }
     }
 
     return schemas;
@@ -133,11 +157,11 @@ public final class LocalMissionModelService implements MissionModelService {
   throws NoSuchMissionModelException, MissionModelLoadException, InstantiationException
   {
     // TODO: [AERIE-1516] Teardown the missionModel after use to release any system resources (e.g. threads).
-    final var modelType = this.loadMissionModelType(missionModelId);
-    final var registry = DirectiveTypeRegistry.extract(modelType);
-    final var directiveType = registry.directiveTypes().get(activity.getTypeName());
-    if (directiveType == null) return List.of(new ValidationNotice(List.of(), "unknown activity type"));
-    return directiveType.getInputType().validateArguments(activity.getArguments());
+    try (final var lease = this.acquireMissionModel(missionModelId)) {
+      final var directiveType = lease.registry().directiveTypes().get(activity.getTypeName());
+      if (directiveType == null) return List.of(new ValidationNotice(List.of(), "unknown activity type"));
+      return directiveType.getInputType().validateArguments(activity.getArguments());
+    }
   }
 
   public List<BulkArgumentValidationResponse> validateActivityArgumentsBulk(
@@ -145,10 +169,18 @@ public final class LocalMissionModelService implements MissionModelService {
       final List<ActivityDirectiveForValidation> activities
   ) throws NoSuchMissionModelException, MissionModelLoadException {
     // load mission model once for all activities
-    final var modelType = this.loadMissionModelType(modelId.toString());
-    final var registry = DirectiveTypeRegistry.extract(modelType);
+    try (final var lease = this.acquireMissionModel(modelId.toString())) {
+      final var registry = lease.registry();
+
+      // map all directives to validation response
+      return validateActivityArgumentsBulk(registry, activities);
+    }
+  }
 
-    // map all directives to validation response
+  private static List<BulkArgumentValidationResponse> validateActivityArgumentsBulk(
+      final DirectiveTypeRegistry<?> registry,
+      final List<ActivityDirectiveForValidation> activities
+  ) {
     return activities.stream().map((directive) -> {
       final var typeName = directive.activity().getTypeName();
       final var arguments = directive.activity().getArguments();
@@ -190,24 +222,25 @@ public final class LocalMissionModelService implements MissionModelService {
                                  final Map<ActivityDirectiveId, SerializedActivity> activities)
   throws NoSuchMissionModelException, MissionModelLoadException
   {
-    final var factory = this.loadMissionModelType(missionModelId);
-    final var registry = DirectiveTypeRegistry.extract(factory);
-
     final var failures = new HashMap<ActivityDirectiveId, ActivityInstantiationFailure>();
 
-    for (final var entry : activities.entrySet()) {
-      final var id = entry.getKey();
-      final var act = entry.getValue();
-      try {
-        // The return value is intentionally ignored - we are only interested in failures
-        final var specType = Optional
-        .ofNullable(registry.directiveTypes().get(act.getTypeName()))
-        .orElseThrow(() -> new MissionModelService.NoSuchActivityTypeException(act.getTypeName()));
-        specType.getInputType().getEffectiveArguments(act.getArguments());
-      } catch (final NoSuchActivityTypeException ex) {
-        failures.put(id, new ActivityInstantiationFailure.NoSuchActivityType(ex));
-      } catch (final InstantiationException ex) {
-        failures.put(id, new ActivityInstantiationFailure.InstantiationFailure(ex));
+    try (final var lease = this.acquireMissionModel(missionModelId)) {
+      final var registry = lease.registry();
+
+      for (final var entry : activities.entrySet()) {
+        final var id = entry.getKey();
+        final var act = entry.getValue();
+        try {
+          // The return value is intentionally ignored - we are only interested in failures
+          final var specType = Optional
+          .ofNullable(registry.directiveTypes().get(act.getTypeName()))
+          .orElseThrow(() -> new MissionModelService.NoSuchActivityTypeException(act.getTypeName()));
+          specType.getInputType().getEffectiveArguments(act.getArguments());
+        } catch (final NoSuchActivityTypeException ex) {
+          failures.put(id, new ActivityInstantiationFailure.NoSuchActivityType(ex));
+        } catch (final InstantiationException ex) {
+          failures.put(id, new ActivityInstantiationFailure.InstantiationFailure(ex));
+        }
       }
     }
 
@@ -219,8 +252,8 @@ public final class LocalMissionModelService implements MissionModelService {
       final String missionModelId,
       final List<SerializedActivity> serializedActivities)
   throws NoSuchMissionModelException, MissionModelLoadException {
-      final var modelType = this.loadMissionModelType(missionModelId);
-      final var registry = DirectiveTypeRegistry.extract(modelType);
+    try (final var lease = this.acquireMissionModel(missionModelId)) {
+      final var registry = lease.registry();
       final var response = new ArrayList<BulkEffectiveArgumentResponse>();
 
       for (final var activity : serializedActivities) {
@@ -244,6 +277,7 @@ public final class LocalMissionModelService implements MissionModelService {
       }
 
       return response;
+    }
   }
 
   @Override
@@ -252,16 +286,20 @@ public final class LocalMissionModelService implements MissionModelService {
          MissionModelLoadException,
          InstantiationException
   {
-    return this.loadMissionModelType(missionModelId)
-        .getConfigurationType()
-        .validateArguments(arguments);
+    try (final var lease = this.acquireMissionModel(missionModelId)) {
+      return lease.modelType()
+          .getConfigurationType()
+          .validateArguments(arguments);
+    }
   }
 
   @Override
   public List<Parameter> getModelParameters(final String missionModelId)
   throws NoSuchMissionModelException, MissionModelLoadException
   {
-    return this.loadMissionModelType(missionModelId).getConfigurationType().getParameters();
+    try (final var lease = this.acquireMissionModel(missionModelId)) {
+      return lease.modelType().getConfigurationType().getParameters();
+    }
   }
 
   @Override
@@ -270,9 +308,11 @@ public final class LocalMissionModelService implements MissionModelService {
          MissionModelLoadException,
          InstantiationException
   {
-    return this.loadMissionModelType(missionModelId)
-        .getConfigurationType()
-        .getEffectiveArguments(arguments);
+    try (final var lease = this.acquireMissionModel(missionModelId)) {
+      return lease.modelType()
+          .getConfigurationType()
+          .getEffectiveArguments(arguments);
+    }
   }
 
   /**
@@ -288,6 +328,26 @@ public final class LocalMissionModelService implements MissionModelService {
       final Consumer<Duration> simulationExtentConsumer,
       final Supplier<Boolean> canceledListener)
   throws NoSuchMissionModelException
+  {
+    final var resultsSink = new InMemorySimulationResultsSink();
+    runSimulation(message, simulationExtentConsumer, canceledListener, resultsSink);
+    return resultsSink.getResults();
+  }
+
+  /**
+   * Simulate a plan against a named mission model, feeding the results to a sink as they are produced.
+   *
+   * @param message The parameters defining the simulation to perform.
+   * @param resultsSink The destination for the simulation results.
+   * @throws NoSuchMissionModelException If no mission model is known by the given ID.
+   */
+  @Override
+  public void runSimulation(
+      final CreateSimulationMessage message,
+      final Consumer<Duration> simulationExtentConsumer,
+      final Supplier<Boolean> canceledListener,
+      final SimulationResultsSink resultsSink)
+  throws NoSuchMissionModelException
   {
     final var config = message.configuration();
     if (config.isEmpty()) {
@@ -296,24 +356,29 @@ public final class LocalMissionModelService implements MissionModelService {
     }
 
     // TODO: [AERIE-1516] Teardown the mission model after use to release any system resources (e.g. threads).
-    return SimulationDriver.simulate(
-        loadAndInstantiateMissionModel(
-            message.missionModelId(),
-            message.simulationStartTime(),
-            SerializedValue.of(config)),
-        message.activityDirectives(),
-        message.simulationStartTime(),
-        message.simulationDuration(),
-        message.planStartTime(),
-        message.planDuration(),
-        canceledListener,
-        simulationExtentConsumer);
+    // The lease is held for the whole simulation, since the model may load further classes as it runs.
+    try (final var lease = this.acquireMissionModel(message.missionModelId())) {
+      SimulationDriver.simulate(
+          instantiateMissionModel(lease, message.simulationStartTime(), SerializedValue.of(config)),
+          message.activityDirectives(),
+          message.simulationStartTime(),
+          message.simulationDuration(),
+          message.planStartTime(),
+          message.planDuration(),
+          canceledListener,
+          simulationExtentConsumer,
+          SimulationEngine.BatchMode.Serial,
+          resultsSink);
+    }
   }
 
   @Override
   public void refreshModelParameters(final String missionModelId)
   throws NoSuchMissionModelException
   {
+    // A refresh means the model may have been replaced, so don't trust whatever we have cached for it.
+    this.missionModelCache.evict(missionModelId);
+
     try {
       this.missionModelRepository.updateModelParameters(missionModelId, getModelParameters(missionModelId));
     } catch (final MissionModelRepository.NoSuchMissionModelException ex) {
@@ -325,11 +390,11 @@ public final class LocalMissionModelService implements MissionModelService {
   public void refreshActivityTypes(final String missionModelId)
   throws NoSuchMissionModelException
   {
-    try {
-      final var modelType = this.loadMissionModelType(missionModelId);
-      final var registry = DirectiveTypeRegistry.extract(modelType);
+    this.missionModelCache.evict(missionModelId);
+
+    try (final var lease = this.acquireMissionModel(missionModelId)) {
       final var activityTypes = new HashMap<String, ActivityType>();
-      registry.directiveTypes().forEach((name, directiveType) -> {
+      lease.registry().directiveTypes().forEach((name, directiveType) -> {
         final var inputType = directiveType.getInputType();
         final var outputType = directiveType.getOutputType();
         activityTypes.put(name, new ActivityType(
@@ -347,20 +412,38 @@ public final class LocalMissionModelService implements MissionModelService {
   @Override
   public void refreshResourceTypes(final String missionModelId)
   throws NoSuchMissionModelException {
-    try {
-      final var model = this.loadAndInstantiateMissionModel(missionModelId);
+    this.missionModelCache.evict(missionModelId);
+
+    try (final var lease = this.acquireMissionModel(missionModelId)) {
+      final var model = instantiateMissionModel(lease);
       this.missionModelRepository.updateResourceTypes(missionModelId, model.getResources());
     } catch (MissionModelRepository.NoSuchMissionModelException e) {
       throw new NoSuchMissionModelException(missionModelId);
     }
   }
 
-  private ModelType<?, ?> loadMissionModelType(final String missionModelId)
+  /**
+   * Get a loaded mission model from the cache, loading it from the mission model repository if necessary.
+   *
+   * The repository is always consulted first, since a mission model may be deleted from it without telling this service;
+   * the model is only loaded afresh if it isn't cached, or if its JAR has changed since it was cached.
+   *
+   * @param missionModelId The ID of the mission model in the mission model repository to load.
+   * @return A lease on the loaded mission model, which must be closed once the model is no longer in use.
+   * @throws MissionModelLoadException If the mission model cannot be loaded -- the JAR may be invalid, or the mission model
+   * it contains may not abide by the expected contract at load time.
+   * @throws NoSuchMissionModelException If no mission model is known by the given ID.
+   */
+  private MissionModelCache.Lease acquireMissionModel(final String missionModelId)
   throws NoSuchMissionModelException, MissionModelLoadException
   {
     try {
       final var missionModelJar = this.missionModelRepository.getMissionModel(missionModelId);
-      return MissionModelLoader.loadModelType(missionModelDataPath.resolve(missionModelJar.path), missionModelJar.name, missionModelJar.version);
+      return this.missionModelCache.acquire(
+          missionModelId,
+          missionModelDataPath.resolve(missionModelJar.path),
+          missionModelJar.name,
+          missionModelJar.version);
     } catch (final MissionModelRepository.NoSuchMissionModelException ex) {
       throw new NoSuchMissionModelException(missionModelId, ex);
     } catch (final MissionModelLoader.MissionModelLoadException ex) {
@@ -369,49 +452,28 @@ public final class LocalMissionModelService implements MissionModelService {
   }
 
   /**
-   * Load a {@link MissionModel} from the mission model repository using the mission model's default mission model configuration
+   * Instantiate a leased {@link MissionModel} using the mission model's default mission model configuration.
    *
-   * @param missionModelId The ID of the mission model in the mission model repository to load.
+   * @param lease The loaded mission model to instantiate.
    * @return A {@link MissionModel} domain object allowing use of the loaded mission model.
-   * @throws MissionModelLoadException If the mission model cannot be loaded -- the JAR may be invalid, or the mission model
-   * it contains may not abide by the expected contract at load time.
-   * @throws NoSuchMissionModelException If no mission model is known by the given ID.
    */
-  private MissionModel<?> loadAndInstantiateMissionModel(final String missionModelId)
-  throws NoSuchMissionModelException, MissionModelLoadException
-  {
-    return loadAndInstantiateMissionModel(missionModelId, untruePlanStart, SerializedValue.of(Map.of()));
+  private MissionModel<?> instantiateMissionModel(final MissionModelCache.Lease lease) {
+    return instantiateMissionModel(lease, untruePlanStart, SerializedValue.of(Map.of()));
   }
 
   /**
-   * Load a {@link MissionModel} from the mission model repository.
+   * Instantiate a leased {@link MissionModel}.
    *
-   * @param missionModelId The ID of the mission model in the mission model repository to load.
+   * @param lease The loaded mission model to instantiate.
    * @param configuration The mission model configuration to load the mission model with.
    * @return A {@link MissionModel} domain object allowing use of the loaded mission model.
-   * @throws MissionModelLoadException If the mission model cannot be loaded -- the JAR may be invalid, or the mission model
-   * it contains may not abide by the expected contract at load time.
-   * @throws NoSuchMissionModelException If no mission model is known by the given ID.
    */
-  private MissionModel<?> loadAndInstantiateMissionModel(
-      final String missionModelId,
+  private static MissionModel<?> instantiateMissionModel(
+      final MissionModelCache.Lease lease,
       final Instant planStart,
       final SerializedValue configuration)
-  throws NoSuchMissionModelException, MissionModelLoadException
   {
-    try {
-      final var missionModelJar = this.missionModelRepository.getMissionModel(missionModelId);
-      return MissionModelLoader.loadMissionModel(
-          planStart,
-          configuration,
-          missionModelDataPath.resolve(missionModelJar.path),
-          missionModelJar.name,
-          missionModelJar.version);
-    } catch (final MissionModelRepository.NoSuchMissionModelException ex) {
-      throw new NoSuchMissionModelException(missionModelId, ex);
-    } catch (final MissionModelLoader.MissionModelLoadException ex) {
-      throw new MissionModelLoadException(ex);
-    }
+    return MissionModelLoader.instantiateMissionModel(planStart, configuration, lease.modelType());
   }
 
   public static class MissionModelLoadException extends RuntimeException {
@@ -1,9 +1,11 @@
 package gov.nasa.jpl.aerie.merlin.server.services;
 
 import gov.nasa.jpl.aerie.merlin.driver.ActivityDirectiveId;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModelCache;
 import gov.nasa.jpl.aerie.merlin.driver.MissionModelLoader;
 import gov.nasa.jpl.aerie.merlin.driver.SerializedActivity;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationResultsSink;
 import gov.nasa.jpl.aerie.merlin.protocol.model.InputType.Parameter;
 import gov.nasa.jpl.aerie.merlin.protocol.model.InputType.ValidationNotice;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
@@ -68,10 +70,19 @@ public interface MissionModelService {
   SimulationResults runSimulation(CreateSimulationMessage message, Consumer<Duration> writer, Supplier<Boolean> canceledListener)
           throws NoSuchMissionModelException, MissionModelService.NoSuchActivityTypeException;
 
+  void runSimulation(
+      CreateSimulationMessage message,
+      Consumer<Duration> writer,
+      Supplier<Boolean> canceledListener,
+      SimulationResultsSink resultsSink)
+          throws NoSuchMissionModelException, MissionModelService.NoSuchActivityTypeException;
+
   void refreshModelParameters(String missionModelId) throws NoSuchMissionModelException;
   void refreshActivityTypes(String missionModelId) throws NoSuchMissionModelException;
   void refreshResourceTypes(String missionModelId) throws NoSuchMissionModelException;
 
+  MissionModelCache.Stats getMissionModelCacheStats();
+
   sealed interface ActivityInstantiationFailure {
     record NoSuchActivityType(NoSuchActivityTypeException ex) implements ActivityInstantiationFailure { }
     record InstantiationFailure(InstantiationException ex) implements ActivityInstantiationFailure { }
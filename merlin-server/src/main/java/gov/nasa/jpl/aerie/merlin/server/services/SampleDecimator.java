@@ -0,0 +1,140 @@
+package gov.nasa.jpl.aerie.merlin.server.services;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reduces a time series of samples to at most a given number of points, while preserving its visible shape.
+ *
+ * <p>
+ * The window of interest is divided into equal buckets, and each bucket is represented by its first and last samples,
+ * together with its least and greatest samples if they are numeric (the "M4" aggregation).
+ * A line drawn through the reduced series at one pixel per bucket is indistinguishable from one drawn through
+ * the full series, and in particular no spike or step is lost however narrow it is.
+ * </p>
+ *
+ * <p>
+ * Samples must be added in order of time. Only as many samples as the budget allows are held at once:
+ * a series which fits the budget is returned unchanged, and one which does not is reduced as it arrives.
+ * </p>
+ */
+/*package-local*/ final class SampleDecimator {
+  /** The fewest points a series can be reduced to: one bucket's worth. */
+  public static final int MIN_POINTS = 4;
+  private static final int POINTS_PER_BUCKET = MIN_POINTS;
+
+  private final Duration windowStart;
+  private final long bucketWidth;
+  private final int bucketCount;
+  private final int maxPoints;
+
+  private final List<Pair<Duration, SerializedValue>> output = new ArrayList<>();
+  private boolean decimating = false;
+
+  private long bucket = -1;
+  private Pair<Duration, SerializedValue> first = null;
+  private Pair<Duration, SerializedValue> last = null;
+  private Pair<Duration, SerializedValue> min = null;
+  private Pair<Duration, SerializedValue> max = null;
+  private double minValue = Double.POSITIVE_INFINITY;
+  private double maxValue = Double.NEGATIVE_INFINITY;
+
+  /**
+   * @param windowStart The beginning of the window the samples are spread over.
+   * @param windowEnd The end of the window the samples are spread over. Samples outside the window are assigned to
+   *   the nearest bucket, so that the budget is respected regardless.
+   * @param maxPoints The most points to return.
+   */
+  public SampleDecimator(final Duration windowStart, final Duration windowEnd, final int maxPoints) {
+    if (maxPoints < POINTS_PER_BUCKET) {
+      throw new IllegalArgumentException("Cannot decimate samples to fewer than %d points, got %d".formatted(POINTS_PER_BUCKET, maxPoints));
+    }
+
+    final var windowLength = Math.max(1, windowEnd.minus(windowStart).in(Duration.MICROSECONDS));
+    this.windowStart = windowStart;
+    this.bucketCount = maxPoints / POINTS_PER_BUCKET;
+    this.bucketWidth = Math.max(1, -Math.floorDiv(-windowLength, this.bucketCount));
+    this.maxPoints = maxPoints;
+  }
+
+  public void add(final Duration time, final SerializedValue value) {
+    final var sample = Pair.of(time, value);
+    if (this.decimating) {
+      this.aggregate(sample);
+    } else {
+      this.output.add(sample);
+      if (this.output.size() > this.maxPoints) {
+        // The series has overflowed the budget, so replay what has been seen so far into buckets.
+        final var seen = new ArrayList<>(this.output);
+        this.output.clear();
+        this.decimating = true;
+        for (final var point : seen) this.aggregate(point);
+      }
+    }
+  }
+
+  public List<Pair<Duration, SerializedValue>> finish() {
+    if (this.decimating) this.emitBucket();
+    return this.output;
+  }
+
+  private void aggregate(final Pair<Duration, SerializedValue> sample) {
+    final var bucket = this.bucketOf(sample.getLeft());
+    if (bucket != this.bucket) {
+      this.emitBucket();
+      this.bucket = bucket;
+    }
+
+    if (this.first == null) this.first = sample;
+    this.last = sample;
+
+    final var value = sample.getRight().asReal();
+    if (value.isPresent()) {
+      if (value.get() < this.minValue) {
+        this.minValue = value.get();
+        this.min = sample;
+      }
+      if (value.get() > this.maxValue) {
+        this.maxValue = value.get();
+        this.max = sample;
+      }
+    }
+  }
+
+  private long bucketOf(final Duration time) {
+    final var offset = time.minus(this.windowStart).in(Duration.MICROSECONDS);
+    return Math.min(Math.max(0, offset / this.bucketWidth), this.bucketCount - 1);
+  }
+
+  private void emitBucket() {
+    if (this.first == null) return;
+
+    // Emit the bucket's representatives in order of time, without repeating any of them.
+    final var points = new ArrayList<Pair<Duration, SerializedValue>>(POINTS_PER_BUCKET);
+    points.add(this.first);
+    if (this.min != null && this.max != null) {
+      final var minFirst = !this.max.getLeft().shorterThan(this.min.getLeft());
+      addIfAbsent(points, minFirst ? this.min : this.max);
+      addIfAbsent(points, minFirst ? this.max : this.min);
+    }
+    addIfAbsent(points, this.last);
+    this.output.addAll(points);
+
+    this.first = null;
+    this.last = null;
+    this.min = null;
+    this.max = null;
+    this.minValue = Double.POSITIVE_INFINITY;
+    this.maxValue = Double.NEGATIVE_INFINITY;
+  }
+
+  private static void addIfAbsent(final List<Pair<Duration, SerializedValue>> points, final Pair<Duration, SerializedValue> point) {
+    // Samples are compared by identity, since distinct samples may well share both a time and a value.
+    for (final var existing : points) if (existing == point) return;
+    points.add(point);
+  }
+}
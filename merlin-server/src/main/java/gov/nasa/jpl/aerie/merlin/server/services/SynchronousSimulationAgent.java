@@ -60,7 +60,6 @@ public record SynchronousSimulationAgent (
         plan.simulationStartTimestamp.toInstant().until(plan.simulationEndTimestamp.toInstant(), ChronoUnit.MICROS),
         Duration.MICROSECONDS);
 
-    final SimulationResults results;
     try {
       // Validate plan activity construction
       final var failures = this.missionModelService.validateActivityInstantiations(
@@ -77,19 +76,29 @@ public record SynchronousSimulationAgent (
         return;
       }
 
-      try (final var extentListener = FixedRateListener.callAtFixedRate(
-          writer::reportSimulationExtent,
-          Duration.ZERO,
-          simulationProgressPollPeriod)
-      ) {
-        results = this.missionModelService.runSimulation(new CreateSimulationMessage(
-            plan.missionModelId,
-            plan.simulationStartTimestamp.toInstant(),
-            simDuration,
-            plan.startTimestamp.toInstant(),
-            planDuration,
-            plan.activityDirectives,
-            plan.configuration), extentListener::updateValue, canceledListener);
+      // Results are written as the simulation produces them. If the simulation fails,
+      //   the sink is closed (discarding whatever it holds) before the failure is reported.
+      try (final var resultsSink = writer.streamResults()) {
+        try (final var extentListener = FixedRateListener.callAtFixedRate(
+            writer::reportSimulationExtent,
+            Duration.ZERO,
+            simulationProgressPollPeriod)
+        ) {
+          this.missionModelService.runSimulation(new CreateSimulationMessage(
+              plan.missionModelId,
+              plan.simulationStartTimestamp.toInstant(),
+              simDuration,
+              plan.startTimestamp.toInstant(),
+              planDuration,
+              plan.activityDirectives,
+              plan.configuration), extentListener::updateValue, canceledListener, resultsSink);
+        }
+
+        if (canceledListener.get()) {
+          resultsSink.reportIncomplete();
+        } else {
+          resultsSink.succeed();
+        }
       }
     } catch (SimulationException ex) {
       writer.failWith(b -> b
@@ -115,11 +124,5 @@ public record SynchronousSimulationAgent (
           .trace(ex));
       return;
     }
-
-    if(canceledListener.get()) {
-      writer.reportIncompleteResults(results);
-    } else {
-      writer.succeedWith(results);
-    }
   }
 }
@@ -8,26 +8,87 @@ import gov.nasa.jpl.aerie.merlin.server.models.PlanId;
 import gov.nasa.jpl.aerie.merlin.server.models.SimulationDatasetId;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+/**
+ * Generates the TypeScript declarations that user code is compiled against.
+ *
+ * <p>
+ * Gathering a mission model's resource schemas means loading and instantiating the model, so generated declarations
+ * are cached. Entries are keyed by the model's revision, which changes whenever the model or its JAR does,
+ * together with the external resource schemas attached to the plan, which are cheap to look up.
+ * When the cache is full, the least-recently-used entry is evicted.
+ * </p>
+ */
 public class TypescriptCodeGenerationServiceAdapter {
+  public static final int DEFAULT_CACHE_SIZE = 64;
+
   private final MissionModelService missionModelService;
   private final PlanService planService;
 
+  private final int cacheCapacity;
+  private final LinkedHashMap<CacheKey, String> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long hits = 0;
+  private long misses = 0;
+
   public TypescriptCodeGenerationServiceAdapter(final MissionModelService missionModelService, final PlanService planService) {
+    this(missionModelService, planService, DEFAULT_CACHE_SIZE);
+  }
+
+  public TypescriptCodeGenerationServiceAdapter(
+      final MissionModelService missionModelService,
+      final PlanService planService,
+      final int cacheCapacity
+  ) {
+    if (cacheCapacity < 0) throw new IllegalArgumentException("Generated types cache size must not be negative, got " + cacheCapacity);
+
     this.missionModelService = missionModelService;
     this.planService = planService;
+    this.cacheCapacity = cacheCapacity;
   }
 
   public String generateTypescriptTypes(final String missionModelId, final Optional<PlanId> planId, final Optional<SimulationDatasetId> simulationDatasetId)
   throws MissionModelService.NoSuchMissionModelException, NoSuchPlanException
   {
-    return TypescriptCodeGenerationService
-        .generateTypescriptTypes(
-            activityTypes(missionModelService, missionModelId),
-            resourceSchemas(missionModelService, missionModelId, planService, planId, simulationDatasetId));
+    final var key = new CacheKey(
+        missionModelId,
+        this.missionModelService.getMissionModelById(missionModelId).revision,
+        externalResourceSchemas(this.planService, planId, simulationDatasetId));
+
+    synchronized (this) {
+      final var cached = this.cache.get(key);
+      if (cached != null) {
+        this.hits += 1;
+        return cached;
+      }
+      this.misses += 1;
+    }
+
+    final var resourceSchemas = new HashMap<>(this.missionModelService.getResourceSchemas(missionModelId));
+    resourceSchemas.putAll(key.externalResourceSchemas());
+    final var generatedTypes = TypescriptCodeGenerationService
+        .generateTypescriptTypes(activityTypes(this.missionModelService, missionModelId), resourceSchemas);
+
+    synchronized (this) {
+      if (this.cacheCapacity > 0) {
+        this.cache.put(key, generatedTypes);
+        final var iter = this.cache.values().iterator();
+        while (this.cache.size() > this.cacheCapacity) {
+          iter.next();
+          iter.remove();
+        }
+      }
+    }
+
+    return generatedTypes;
+  }
+
+  public synchronized Stats getStats() {
+    return new Stats(this.hits, this.misses, this.cache.size());
   }
 
   static Map<String, TypescriptCodeGenerationService.ActivityType> activityTypes(final MissionModelService missionModelService, final String missionModelId)
@@ -48,20 +109,24 @@ public class TypescriptCodeGenerationServiceAdapter {
                     .toList())))
         .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
   }
-  static Map<String, ValueSchema> resourceSchemas(
-      final MissionModelService missionModelService,
-      final String modelId,
+  private static Map<String, ValueSchema> externalResourceSchemas(
       final PlanService planService,
       final Optional<PlanId> planId,
       final Optional<SimulationDatasetId> simulationDatasetId
-  ) throws MissionModelService.NoSuchMissionModelException, NoSuchPlanException {
-    final var simulatedResourceSchemas = missionModelService.getResourceSchemas(modelId);
-    final var results = new HashMap<String, ValueSchema>(simulatedResourceSchemas);
-    if (planId.isPresent()) {
-        final var externalResourceSchemas = planService.getExternalResourceSchemas(planId.get(), simulationDatasetId);
-        results.putAll(externalResourceSchemas);
-    }
-    return results;
+  ) throws NoSuchPlanException {
+    if (planId.isEmpty()) return Map.of();
+    return planService.getExternalResourceSchemas(planId.get(), simulationDatasetId);
   }
+
+  /**
+   * A snapshot of the generated types cache's effectiveness.
+   *
+   * @param hits The number of requests served from the cache.
+   * @param misses The number of requests which required loading the mission model.
+   * @param size The number of generated declarations currently cached.
+   */
+  public record Stats(long hits, long misses, int size) {}
+
+  private record CacheKey(String missionModelId, long modelRevision, Map<String, ValueSchema> externalResourceSchemas) {}
 }
 
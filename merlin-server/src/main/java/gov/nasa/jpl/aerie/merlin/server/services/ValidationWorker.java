@@ -50,6 +50,16 @@ public record ValidationWorker(LocalMissionModelService missionModelService, int
           logger.debug("processed model batch of size {} in {} ms", unvalidatedDirectives.size(), duration);
         }
 
+        if (!validationRequests.isEmpty()) {
+          final var stats = missionModelService.getMissionModelCacheStats();
+          logger.debug(
+              "mission model cache: {} hits, {} misses, {} evictions, {} ms spent loading",
+              stats.hits(),
+              stats.misses(),
+              stats.evictions(),
+              stats.totalLoadNanos() / 1_000_000.0);
+        }
+
       } catch (NoSuchMissionModelException ex) {
         logger.error("Validation request failed due to no such mission model: {}", ex.toString());
       } catch (InterruptedException ex) {
@@ -1,8 +1,10 @@
 package gov.nasa.jpl.aerie.merlin.server.mocks;
 
 import gov.nasa.jpl.aerie.merlin.driver.ActivityDirectiveId;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModelCache;
 import gov.nasa.jpl.aerie.merlin.driver.SerializedActivity;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationResultsSink;
 import gov.nasa.jpl.aerie.merlin.protocol.model.InputType.Parameter;
 import gov.nasa.jpl.aerie.merlin.protocol.model.InputType.ValidationNotice;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
@@ -212,6 +214,19 @@ public final class StubMissionModelService implements MissionModelService {
     return SUCCESSFUL_SIMULATION_RESULTS;
   }
 
+  @Override
+  public void runSimulation(
+      final CreateSimulationMessage message,
+      final Consumer<Duration> simulationExtentConsumer,
+      final Supplier<Boolean> canceledListener,
+      final SimulationResultsSink resultsSink)
+  throws NoSuchMissionModelException {
+    final var results = runSimulation(message, simulationExtentConsumer, canceledListener);
+
+    resultsSink.declareTopics(results.topics);
+    resultsSink.complete(results.startTime, results.duration, results.simulatedActivities, results.unfinishedActivities);
+  }
+
   @Override
   public void refreshModelParameters(final String missionModelId) throws NoSuchMissionModelException {}
 
@@ -220,4 +235,9 @@ public final class StubMissionModelService implements MissionModelService {
 
   @Override
   public void refreshResourceTypes(final String missionModelId) throws NoSuchMissionModelException {}
+
+  @Override
+  public MissionModelCache.Stats getMissionModelCacheStats() {
+    return new MissionModelCache.Stats(0, 0, 0, 0, 0);
+  }
 }
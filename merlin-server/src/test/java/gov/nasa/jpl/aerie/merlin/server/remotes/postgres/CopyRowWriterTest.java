@@ -0,0 +1,158 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import org.junit.jupiter.api.Test;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.util.ByteStreamWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static gov.nasa.jpl.aerie.merlin.driver.json.SerializedValueJsonParser.serializedValueP;
+import static gov.nasa.jpl.aerie.merlin.server.http.ProfileParsers.realDynamicsP;
+import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.CopyRowWriter.realDynamicsEncoder;
+import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.CopyRowWriter.serializedValueEncoder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class CopyRowWriterTest {
+  @Test
+  public void testFieldsAreSeparatedAndEscaped() throws SQLException {
+    final var copyIn = new RecordingCopyIn();
+    try (final var writer = new CopyRowWriter(copyIn)) {
+      writer.writeLong(42).writeText("a\tb\nc\\d").writeNull().writeBoolean(true).endRow();
+      writer.writeLong(-1).writeText("é🚀").writeNull().writeBoolean(false).endRow();
+    }
+
+    assertEquals("42\ta\\tb\\nc\\\\d\t\\N\tt\n-1\té🚀\t\\N\tf\n", copyIn.contents());
+    assertEquals(2, copyIn.rows);
+  }
+
+  @Test
+  public void testIntervalsMatchPreparedStatements() throws SQLException {
+    final var copyIn = new RecordingCopyIn();
+    try (final var writer = new CopyRowWriter(copyIn)) {
+      writer.writeInterval(Duration.of(90_061_500_000L, Duration.MICROSECONDS)).endRow();
+      writer.writeTimestampDifference(90_061_500_000L).endRow();
+    }
+
+    // The same interval, first as `PreparedStatements.setDuration` would write it,
+    //   then as Postgres would normalize the difference between two timestamps.
+    assertEquals("PT90061.500000S\nP1DT3661.500000S\n", copyIn.contents());
+  }
+
+  @Test
+  public void testSerializedValuesMatchJsonParser() throws SQLException {
+    final var value = SerializedValue.of(Map.of(
+        "list", SerializedValue.of(List.of(
+            SerializedValue.NULL,
+            SerializedValue.of(true),
+            SerializedValue.of(new BigDecimal("1.50")),
+            SerializedValue.of(-3),
+            SerializedValue.of("quote \" backslash \\ newline \n tab \t bell \u0007 rocket 🚀")))));
+
+    final var copyIn = new RecordingCopyIn();
+    try (final var writer = new CopyRowWriter(copyIn)) {
+      writer.writeJson(serializedValueEncoder, value).endRow();
+    }
+
+    assertEquals(escape(serializedValueP.unparse(value).toString()) + "\n", copyIn.contents());
+  }
+
+  @Test
+  public void testRealDynamicsMatchJsonParser() throws SQLException {
+    final var dynamics = RealDynamics.linear(1e20, -0.25);
+
+    final var copyIn = new RecordingCopyIn();
+    try (final var writer = new CopyRowWriter(copyIn)) {
+      writer.writeJson(realDynamicsEncoder, dynamics).endRow();
+    }
+
+    assertEquals(escape(realDynamicsP.unparse(dynamics).toString()) + "\n", copyIn.contents());
+  }
+
+  @Test
+  public void testLargeCopiesAreFlushedBetweenRows() throws SQLException {
+    final var copyIn = new RecordingCopyIn();
+    final var expected = new StringBuilder();
+    try (final var writer = new CopyRowWriter(copyIn)) {
+      for (var i = 0; i < 100_000; i += 1) {
+        writer.writeLong(i).writeText("row").endRow();
+        expected.append(i).append("\trow\n");
+      }
+    }
+
+    assertEquals(expected.toString(), copyIn.contents());
+  }
+
+  // JSON never contains raw control characters, so its backslashes are the only thing COPY needs escaped.
+  private static String escape(final String json) {
+    return json.replace("\\", "\\\\");
+  }
+
+  private static final class RecordingCopyIn implements CopyIn {
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private boolean active = true;
+    private long rows = 0;
+
+    public String contents() {
+      return this.bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void writeToCopy(final byte[] buf, final int off, final int siz) {
+      for (var i = off; i < off + siz; i += 1) if (buf[i] == '\n') this.rows += 1;
+      this.bytes.write(buf, off, siz);
+    }
+
+    @Override
+    public void writeToCopy(final ByteStreamWriter from) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void flushCopy() {
+    }
+
+    @Override
+    public long endCopy() {
+      this.active = false;
+      return this.rows;
+    }
+
+    @Override
+    public int getFieldCount() {
+      return 0;
+    }
+
+    @Override
+    public int getFormat() {
+      return 0;
+    }
+
+    @Override
+    public int getFieldFormat(final int field) {
+      return 0;
+    }
+
+    @Override
+    public boolean isActive() {
+      return this.active;
+    }
+
+    @Override
+    public void cancelCopy() {
+      this.active = false;
+    }
+
+    @Override
+    public long getHandledRowCount() {
+      return this.rows;
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+import gov.nasa.jpl.aerie.json.JsonParser;
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static gov.nasa.jpl.aerie.merlin.driver.json.SerializedValueJsonParser.serializedValueP;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MICROSECONDS;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static gov.nasa.jpl.aerie.merlin.server.http.ProfileParsers.realDynamicsP;
+import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.ProfileChunkEncoding.realDynamicsCodec;
+import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.ProfileChunkEncoding.serializedValueCodec;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ProfileChunkEncodingTest {
+  @Test
+  public void testRealSegmentsRoundTrip() throws SQLDataException {
+    final var segments = new ArrayList<ProfileSegment<Optional<RealDynamics>>>();
+    segments.add(new ProfileSegment<>(Duration.of(5, SECONDS), Optional.of(RealDynamics.constant(1.5))));
+    segments.add(new ProfileSegment<>(Duration.of(5, SECONDS), Optional.of(RealDynamics.constant(1.5))));
+    segments.add(new ProfileSegment<>(Duration.of(1, MICROSECONDS), Optional.empty()));
+    segments.add(new ProfileSegment<>(Duration.ZERO, Optional.of(RealDynamics.linear(-1e300, 0.1))));
+    segments.add(new ProfileSegment<>(Duration.of(1_000_000_000_000L, MICROSECONDS), Optional.of(RealDynamics.linear(Double.MIN_VALUE, -7))));
+    segments.add(new ProfileSegment<>(Duration.of(3, SECONDS), Optional.empty()));
+
+    final var decoded = ProfileChunkEncoding.decode(ProfileChunkEncoding.encode(segments, realDynamicsCodec), realDynamicsCodec);
+
+    assertEquals(segments, decoded);
+    assertEquals(throughJson(segments, realDynamicsP), decoded);
+  }
+
+  @Test
+  public void testDiscreteSegmentsRoundTrip() throws SQLDataException {
+    final var values = List.of(
+        SerializedValue.of(true),
+        SerializedValue.of("on"),
+        SerializedValue.of(new BigDecimal("1.50")),
+        SerializedValue.of(new BigDecimal("1.5")),
+        SerializedValue.of(new BigDecimal("-12345678901234567890.000000001")),
+        SerializedValue.NULL,
+        SerializedValue.of(Map.of(
+            "name", SerializedValue.of("unicode é 🚀"),
+            "tags", SerializedValue.of(List.of(SerializedValue.of(1), SerializedValue.of(false))))));
+
+    final var segments = new ArrayList<ProfileSegment<Optional<SerializedValue>>>();
+    for (var i = 0; i < 100; i += 1) {
+      final Optional<SerializedValue> dynamics = (i % 10 == 9) ? Optional.empty() : Optional.of(values.get(i % values.size()));
+      segments.add(new ProfileSegment<>(Duration.of(i, SECONDS), dynamics));
+    }
+
+    final var decoded = ProfileChunkEncoding.decode(ProfileChunkEncoding.encode(segments, serializedValueCodec), serializedValueCodec);
+
+    assertEquals(segments, decoded);
+    assertEquals(throughJson(segments, serializedValueP), decoded);
+
+    // Numbers keep the representation they were written with, just as they do in a `jsonb` column.
+    final var number = decoded.get(2).dynamics().orElseThrow().asNumeric().orElseThrow();
+    assertEquals("1.50", number.toString());
+  }
+
+  @Test
+  public void testEmptyChunkRoundTrips() throws SQLDataException {
+    final List<ProfileSegment<Optional<RealDynamics>>> segments = List.of();
+    assertEquals(segments, ProfileChunkEncoding.decode(ProfileChunkEncoding.encode(segments, realDynamicsCodec), realDynamicsCodec));
+  }
+
+  @Test
+  public void testProfileWithoutSegmentsDecodesEmpty() throws SQLException {
+    assertEquals(List.of(), ProfileRepository.decodeProfileChunks(List.of(), Duration.of(1, SECONDS), realDynamicsCodec));
+
+    final byte[] emptyChunk = ProfileChunkEncoding.encode(List.<ProfileSegment<Optional<RealDynamics>>>of(), realDynamicsCodec);
+    assertEquals(List.of(), ProfileRepository.decodeProfileChunks(List.of(emptyChunk), Duration.of(1, SECONDS), realDynamicsCodec));
+  }
+
+  @Test
+  public void testLastDecodedSegmentLastsUntilProfileEnd() throws SQLException {
+    final var segments = List.of(
+        new ProfileSegment<>(Duration.of(2, SECONDS), Optional.of(RealDynamics.constant(1))),
+        new ProfileSegment<>(Duration.of(3, SECONDS), Optional.of(RealDynamics.constant(2))));
+    final var chunks = List.of(
+        ProfileChunkEncoding.encode(segments.subList(0, 1), realDynamicsCodec),
+        ProfileChunkEncoding.encode(segments.subList(1, 2), realDynamicsCodec));
+
+    assertEquals(
+        List.of(segments.get(0), new ProfileSegment<>(Duration.of(8, SECONDS), Optional.of(RealDynamics.constant(2)))),
+        ProfileRepository.decodeProfileChunks(chunks, Duration.of(10, SECONDS), realDynamicsCodec));
+  }
+
+  @Test
+  public void testMismatchedDynamicsAreRejected() {
+    final var segments = List.of(new ProfileSegment<>(Duration.of(1, SECONDS), Optional.of(SerializedValue.of(1))));
+    final var encoded = ProfileChunkEncoding.encode(segments, serializedValueCodec);
+
+    assertThrows(SQLDataException.class, () -> ProfileChunkEncoding.decode(encoded, realDynamicsCodec));
+  }
+
+  @Test
+  public void testTruncatedChunksAreRejected() {
+    final var segments = List.of(new ProfileSegment<>(Duration.of(1, SECONDS), Optional.of(RealDynamics.linear(1, 2))));
+    final var encoded = ProfileChunkEncoding.encode(segments, realDynamicsCodec);
+    final var truncated = Arrays.copyOf(encoded, encoded.length - 4);
+
+    assertThrows(SQLDataException.class, () -> ProfileChunkEncoding.decode(truncated, realDynamicsCodec));
+  }
+
+  // The segments as they would be read back from `profile_segment`, each having been stored as JSON.
+  private static <Dynamics> List<ProfileSegment<Optional<Dynamics>>> throughJson(
+      final List<ProfileSegment<Optional<Dynamics>>> segments,
+      final JsonParser<Dynamics> dynamicsP)
+  {
+    return segments
+        .stream()
+        .map($ -> new ProfileSegment<>(
+            $.extent(),
+            $.dynamics().map(dynamics -> dynamicsP.parse(dynamicsP.unparse(dynamics)).getSuccessOrThrow())))
+        .toList();
+  }
+}
@@ -0,0 +1,299 @@
+package gov.nasa.jpl.aerie.merlin.server.services;
+
+import gov.nasa.jpl.aerie.constraints.model.ConstraintResult;
+import gov.nasa.jpl.aerie.constraints.model.ConstraintType;
+import gov.nasa.jpl.aerie.constraints.tree.Expression;
+import gov.nasa.jpl.aerie.constraints.tree.GreaterThan;
+import gov.nasa.jpl.aerie.constraints.tree.RealResource;
+import gov.nasa.jpl.aerie.constraints.tree.RealValue;
+import gov.nasa.jpl.aerie.constraints.tree.ViolationsOfWindows;
+import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivityId;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import gov.nasa.jpl.aerie.merlin.server.ResultsProtocol;
+import gov.nasa.jpl.aerie.merlin.server.exceptions.NoSuchPlanException;
+import gov.nasa.jpl.aerie.merlin.server.http.ResponseSerializers;
+import gov.nasa.jpl.aerie.merlin.server.mocks.StubMissionModelService;
+import gov.nasa.jpl.aerie.merlin.server.models.Constraint;
+import gov.nasa.jpl.aerie.merlin.server.models.DatasetId;
+import gov.nasa.jpl.aerie.merlin.server.models.Plan;
+import gov.nasa.jpl.aerie.merlin.server.models.PlanId;
+import gov.nasa.jpl.aerie.merlin.server.models.ProfileSet;
+import gov.nasa.jpl.aerie.merlin.server.models.SimulationDatasetId;
+import gov.nasa.jpl.aerie.merlin.server.models.SimulationResultsHandle;
+import gov.nasa.jpl.aerie.merlin.server.models.Timestamp;
+import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.ConstraintRunRecord;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import javax.json.JsonValue;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ConstraintActionTest {
+  private static final PlanId PLAN_ID = new PlanId(1L);
+  private static final SimulationDatasetId DATASET_ID = new SimulationDatasetId(1);
+
+  // Constraints 1 and 2 both read profile "a"; constraint 3 does not compile; constraint 4 was checked by an earlier request.
+  private static final Constraint A_POSITIVE = constraint(1L, "a is positive");
+  private static final Constraint A_ABOVE_B = constraint(2L, "a is above b");
+  private static final Constraint BROKEN = constraint(3L, "broken");
+  private static final Constraint CACHED = constraint(4L, "cached");
+
+  @Test
+  public void testConstraintsAreCheckedConcurrently() throws Exception {
+    final var handle = new StubResultsHandle(Map.of(
+        "a", List.of(new ProfileSegment<>(Duration.of(10, SECONDS), Optional.of(RealDynamics.constant(1)))),
+        "b", List.of(new ProfileSegment<>(Duration.of(10, SECONDS), Optional.of(RealDynamics.constant(0))))));
+
+    // The two constraints sharing a profile are compiled together, so that they go on to load it at the same time.
+    final var bothCompiling = new CyclicBarrier(2);
+    final ConstraintAction.Compiler compiler = (missionModelId, planId, simulationDatasetId, definition) -> {
+      final Expression<ConstraintResult> expression = switch (definition) {
+        case "a is positive" -> new ViolationsOfWindows(new GreaterThan(new RealResource("a"), new RealValue(0)));
+        case "a is above b" -> new ViolationsOfWindows(new GreaterThan(new RealResource("a"), new RealResource("b")));
+        default -> null;
+      };
+      if (expression == null) return new ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult.Error(List.of());
+
+      try {
+        bothCompiling.await(5, TimeUnit.SECONDS);
+      } catch (final InterruptedException | BrokenBarrierException | TimeoutException ex) {
+        throw new RuntimeException("Constraints sharing a profile were not checked concurrently", ex);
+      }
+      return new ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult.Success(expression);
+    };
+
+    final var constraintService = new StubConstraintService();
+    final var action = new ConstraintAction(
+        compiler,
+        () -> new ConstraintsDSLCompilationService.Stats(0, 0, 0, 0, 0, 0, 0, 1, 1, new TypescriptCodeGenerationServiceAdapter.Stats(0, 0, 0)),
+        constraintService,
+        new StubPlanService(List.of(CACHED, BROKEN, A_ABOVE_B, A_POSITIVE)),
+        new StubMissionModelService(),
+        simulationService(handle),
+        2);
+
+    final ConstraintAction.Response response;
+    try {
+      response = action.getViolations(PLAN_ID, Optional.empty());
+    } finally {
+      action.close();
+    }
+
+    // Each profile is fetched exactly once, even though two constraints needed "a" at the same time.
+    final var fetched = new ArrayList<>(handle.fetched);
+    Collections.sort(fetched);
+    assertEquals(List.of("a", "b"), fetched);
+
+    // The results come back in order of constraint id, and the broken constraint does not lose the others.
+    assertEquals(List.of(A_POSITIVE, A_ABOVE_B, BROKEN, CACHED), List.copyOf(response.results().keySet()));
+    assertFalse(response.results().get(A_POSITIVE).isFailure());
+    assertFalse(response.results().get(A_ABOVE_B).isFailure());
+    assertTrue(response.results().get(BROKEN).isFailure());
+    assertFalse(response.results().get(CACHED).isFailure());
+    assertEquals(0, getResult(response, A_POSITIVE).violations.size());
+    assertEquals(0, getResult(response, A_ABOVE_B).violations.size());
+    assertEquals(List.of("a", "b"), getResult(response, A_ABOVE_B).resourceIds.stream().sorted().toList());
+
+    // Only the newly-checked constraints which produced results are recorded.
+    assertEquals(List.of(A_POSITIVE.id(), A_ABOVE_B.id()), constraintService.created.keySet().stream().sorted().toList());
+
+    // Constraints checked by this request report how long they took; those checked by an earlier request do not.
+    final var serialized = ResponseSerializers.serializeConstraintResults(response.results(), response.timings()).asJsonArray();
+    assertEquals(4, serialized.size());
+    for (var i = 0; i < 3; i += 1) {
+      assertEquals(JsonValue.ValueType.OBJECT, serialized.getJsonObject(i).get("timing").getValueType());
+    }
+    assertEquals(JsonValue.NULL, serialized.getJsonObject(3).get("timing"));
+    assertNotNull(response.timings().get(A_POSITIVE.id()));
+    assertEquals(0, response.timings().get(BROKEN.id()).evaluationNanos());
+  }
+
+  private static ConstraintResult getResult(final ConstraintAction.Response response, final Constraint constraint) {
+    return assertInstanceOf(ConstraintResult.class, response.results().get(constraint).getOptional().orElseThrow());
+  }
+
+  private static Constraint constraint(final long id, final String definition) {
+    return new Constraint(id, definition, "", definition, ConstraintType.plan);
+  }
+
+  private static SimulationService simulationService(final SimulationResultsHandle handle) {
+    return new SimulationService() {
+      @Override
+      public ResultsProtocol.State getSimulationResults(final PlanId planId, final RevisionData revisionData, final String requestedBy) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Optional<SimulationResultsHandle> get(final PlanId planId, final RevisionData revisionData) {
+        return Optional.of(handle);
+      }
+
+      @Override
+      public Optional<SimulationResultsHandle> get(final PlanId planId, final SimulationDatasetId simulationDatasetId) {
+        return Optional.of(handle);
+      }
+    };
+  }
+
+  private static final class StubConstraintService implements ConstraintService {
+    /** The constraints whose runs have been recorded. */
+    public final Map<Long, Constraint> created = new HashMap<>();
+
+    @Override
+    public void createConstraintRuns(
+        final Map<Long, Constraint> constraintMap,
+        final Map<Long, ConstraintResult> constraintResults,
+        final SimulationDatasetId simulationDatasetId)
+    {
+      this.created.putAll(constraintMap);
+    }
+
+    @Override
+    public Map<Long, ConstraintRunRecord> getValidConstraintRuns(
+        final List<Constraint> constraints,
+        final SimulationDatasetId simulationDatasetId)
+    {
+      final var result = new ConstraintResult(List.of(), List.of());
+      result.constraintId = CACHED.id();
+      result.constraintName = CACHED.name();
+      result.constraintType = CACHED.type();
+      result.resourceIds = List.of();
+      return Map.of(CACHED.id(), new ConstraintRunRecord(CACHED.id(), result));
+    }
+  }
+
+  private static final class StubPlanService implements PlanService {
+    private final Plan plan = new Plan(
+        "plan",
+        StubMissionModelService.EXISTENT_MISSION_MODEL_ID,
+        new Timestamp(Instant.EPOCH),
+        new Timestamp(Instant.EPOCH.plusSeconds(10)),
+        Map.of());
+    private final Map<Long, Constraint> constraints = new HashMap<>();
+
+    public StubPlanService(final List<Constraint> constraints) {
+      for (final var constraint : constraints) this.constraints.put(constraint.id(), constraint);
+    }
+
+    @Override
+    public Plan getPlanForSimulation(final PlanId planId) {
+      return this.plan;
+    }
+
+    @Override
+    public Plan getPlanForValidation(final PlanId planId) {
+      return this.plan;
+    }
+
+    @Override
+    public RevisionData getPlanRevisionData(final PlanId planId) {
+      return $ -> RevisionData.MatchResult.success();
+    }
+
+    @Override
+    public Map<Long, Constraint> getConstraintsForPlan(final PlanId planId) {
+      return this.constraints;
+    }
+
+    @Override
+    public long addExternalDataset(
+        final PlanId planId,
+        final Optional<SimulationDatasetId> simulationDatasetId,
+        final Timestamp datasetStart,
+        final ProfileSet profileSet)
+    {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void extendExternalDataset(final DatasetId datasetId, final ProfileSet profileSet) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Pair<Duration, ProfileSet>> getExternalDatasets(final PlanId planId, final SimulationDatasetId simulationDatasetId) {
+      return List.of();
+    }
+
+    @Override
+    public Map<String, ValueSchema> getExternalResourceSchemas(final PlanId planId, final Optional<SimulationDatasetId> simulationDatasetId)
+    throws NoSuchPlanException
+    {
+      return Map.of();
+    }
+  }
+
+  private static final class StubResultsHandle implements SimulationResultsHandle {
+    private final Map<String, List<ProfileSegment<Optional<RealDynamics>>>> realProfiles;
+
+    /** The name of every profile fetched, once for each time it was fetched. */
+    public final List<String> fetched = Collections.synchronizedList(new ArrayList<>());
+
+    public StubResultsHandle(final Map<String, List<ProfileSegment<Optional<RealDynamics>>>> realProfiles) {
+      this.realProfiles = realProfiles;
+    }
+
+    @Override
+    public SimulationDatasetId getSimulationDatasetId() {
+      return DATASET_ID;
+    }
+
+    @Override
+    public Instant startTime() {
+      return Instant.EPOCH;
+    }
+
+    @Override
+    public Duration duration() {
+      return Duration.of(10, SECONDS);
+    }
+
+    @Override
+    public SimulationResults getSimulationResults() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<String> getProfileNames() {
+      return List.copyOf(this.realProfiles.keySet());
+    }
+
+    @Override
+    public ProfileSet getProfiles(final List<String> profileNames) {
+      this.fetched.addAll(profileNames);
+
+      final var real = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<Optional<RealDynamics>>>>>();
+      for (final var name : profileNames) {
+        if (this.realProfiles.containsKey(name)) real.put(name, Pair.of(ValueSchema.REAL, this.realProfiles.get(name)));
+      }
+      return new ProfileSet(real, Map.of());
+    }
+
+    @Override
+    public Map<SimulatedActivityId, SimulatedActivity> getSimulatedActivities() {
+      return Map.of();
+    }
+  }
+}
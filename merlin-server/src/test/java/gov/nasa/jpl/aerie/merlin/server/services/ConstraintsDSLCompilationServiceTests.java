@@ -170,6 +170,25 @@ class ConstraintsDSLCompilationServiceTests {
     );
   }
 
+  @Test
+  void testRepeatedCompilationIsCached() throws Exception {
+    final var constraint = """
+        export default () => {
+          return Real.Resource("state of charge").changes().not()
+        }
+      """;
+
+    final var before = constraintsDSLCompilationService.getStats();
+    final var first = constraintsDSLCompilationService.compileConstraintsDSL(MISSION_MODEL_ID, Optional.of(PLAN_ID), Optional.empty(), constraint);
+    final var second = constraintsDSLCompilationService.compileConstraintsDSL(MISSION_MODEL_ID, Optional.of(PLAN_ID), Optional.empty(), constraint);
+    final var after = constraintsDSLCompilationService.getStats();
+
+    assertEquals(first, second);
+    assertEquals(before.misses() + 1, after.misses());
+    assertEquals(before.hits() + 1, after.hits());
+    assertEquals(after.poolSize(), after.idle());
+  }
+
   //// TESTS FOR `Discrete` CLASS API
 
   @Test
@@ -0,0 +1,177 @@
+package gov.nasa.jpl.aerie.merlin.server.services;
+
+import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivityId;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import gov.nasa.jpl.aerie.merlin.server.ResultsProtocol;
+import gov.nasa.jpl.aerie.merlin.server.exceptions.NoSuchPlanException;
+import gov.nasa.jpl.aerie.merlin.server.mocks.StubPlanService;
+import gov.nasa.jpl.aerie.merlin.server.models.PlanId;
+import gov.nasa.jpl.aerie.merlin.server.models.ProfileSet;
+import gov.nasa.jpl.aerie.merlin.server.models.SimulationDatasetId;
+import gov.nasa.jpl.aerie.merlin.server.models.SimulationResultsHandle;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class GetSimulationResultsActionTest {
+  @Test
+  public void testWindowClipsProfiles() throws NoSuchPlanException {
+    final var handle = new StubResultsHandle(
+        Duration.of(20, SECONDS),
+        Map.of("rate", Pair.of(ValueSchema.REAL, List.of(
+            new ProfileSegment<>(Duration.of(10, SECONDS), Optional.of(RealDynamics.linear(0, 1))),
+            new ProfileSegment<>(Duration.of(10, SECONDS), Optional.of(RealDynamics.constant(5)))))),
+        Map.of("mode", Pair.of(ValueSchema.STRING, List.of(
+            new ProfileSegment<>(Duration.of(10, SECONDS), Optional.of(SerializedValue.of("a"))),
+            new ProfileSegment<>(Duration.of(10, SECONDS), Optional.of(SerializedValue.of("b")))))));
+
+    final var samples = action(handle).getResourceSamples(StubPlanService.EXISTENT_PLAN_ID, new GetSimulationResultsAction.SampleQuery(
+        Optional.of(Duration.of(5, SECONDS)),
+        Optional.of(Duration.of(15, SECONDS)),
+        Optional.empty(),
+        Optional.empty()));
+
+    // Real segments cut by the window are interpolated at the cut.
+    assertEquals(
+        List.of(
+            Pair.of(Duration.of(5, SECONDS), SerializedValue.of(5.0)),
+            Pair.of(Duration.of(10, SECONDS), SerializedValue.of(10.0)),
+            Pair.of(Duration.of(10, SECONDS), SerializedValue.of(5.0)),
+            Pair.of(Duration.of(15, SECONDS), SerializedValue.of(5.0))),
+        samples.get("rate"));
+    assertEquals(
+        List.of(
+            Pair.of(Duration.of(5, SECONDS), SerializedValue.of("a")),
+            Pair.of(Duration.of(10, SECONDS), SerializedValue.of("a")),
+            Pair.of(Duration.of(10, SECONDS), SerializedValue.of("b")),
+            Pair.of(Duration.of(15, SECONDS), SerializedValue.of("b"))),
+        samples.get("mode"));
+
+    // Every requested profile is fetched in a single request.
+    assertEquals(List.of(List.of("rate", "mode")), handle.requests);
+  }
+
+  @Test
+  public void testSamplesAreDecimatedToBudget() throws NoSuchPlanException {
+    final var segments = new ArrayList<ProfileSegment<Optional<RealDynamics>>>();
+    for (var i = 0; i < 1000; i += 1) {
+      // A flat line, with a single narrow spike.
+      segments.add(new ProfileSegment<>(Duration.of(1, SECONDS), Optional.of(RealDynamics.constant((i == 617) ? 100 : 0))));
+    }
+    final var handle = new StubResultsHandle(
+        Duration.of(1000, SECONDS),
+        Map.of("spiky", Pair.of(ValueSchema.REAL, segments)),
+        Map.of());
+
+    final var maxPoints = 40;
+    final var samples = action(handle).getResourceSamples(StubPlanService.EXISTENT_PLAN_ID, new GetSimulationResultsAction.SampleQuery(
+        Optional.empty(),
+        Optional.empty(),
+        Optional.of(List.of("spiky")),
+        Optional.of(maxPoints))).get("spiky");
+
+    assertTrue(samples.size() <= maxPoints, "Expected at most %d samples, got %d".formatted(maxPoints, samples.size()));
+    assertEquals(Pair.of(Duration.ZERO, SerializedValue.of(0.0)), samples.get(0));
+    assertEquals(Pair.of(Duration.of(1000, SECONDS), SerializedValue.of(0.0)), samples.get(samples.size() - 1));
+    assertTrue(samples.contains(Pair.of(Duration.of(617, SECONDS), SerializedValue.of(100.0))));
+  }
+
+  private static GetSimulationResultsAction action(final SimulationResultsHandle handle) {
+    return new GetSimulationResultsAction(new StubPlanService(), new SimulationService() {
+      @Override
+      public ResultsProtocol.State getSimulationResults(final PlanId planId, final RevisionData revisionData, final String requestedBy) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Optional<SimulationResultsHandle> get(final PlanId planId, final RevisionData revisionData) {
+        return Optional.of(handle);
+      }
+
+      @Override
+      public Optional<SimulationResultsHandle> get(final PlanId planId, final SimulationDatasetId simulationDatasetId) {
+        return Optional.of(handle);
+      }
+    });
+  }
+
+  private static final class StubResultsHandle implements SimulationResultsHandle {
+    private final Duration duration;
+    private final Map<String, Pair<ValueSchema, List<ProfileSegment<Optional<RealDynamics>>>>> realProfiles;
+    private final Map<String, Pair<ValueSchema, List<ProfileSegment<Optional<SerializedValue>>>>> discreteProfiles;
+
+    public final List<List<String>> requests = new ArrayList<>();
+
+    public StubResultsHandle(
+        final Duration duration,
+        final Map<String, Pair<ValueSchema, List<ProfileSegment<Optional<RealDynamics>>>>> realProfiles,
+        final Map<String, Pair<ValueSchema, List<ProfileSegment<Optional<SerializedValue>>>>> discreteProfiles)
+    {
+      this.duration = duration;
+      this.realProfiles = realProfiles;
+      this.discreteProfiles = discreteProfiles;
+    }
+
+    @Override
+    public SimulationDatasetId getSimulationDatasetId() {
+      return new SimulationDatasetId(1);
+    }
+
+    @Override
+    public Instant startTime() {
+      return Instant.EPOCH;
+    }
+
+    @Override
+    public Duration duration() {
+      return this.duration;
+    }
+
+    @Override
+    public SimulationResults getSimulationResults() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<String> getProfileNames() {
+      final var names = new ArrayList<String>();
+      names.addAll(this.realProfiles.keySet());
+      names.addAll(this.discreteProfiles.keySet());
+      return names;
+    }
+
+    @Override
+    public ProfileSet getProfiles(final List<String> profileNames) {
+      this.requests.add(List.copyOf(profileNames));
+
+      final var real = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<Optional<RealDynamics>>>>>();
+      final var discrete = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<Optional<SerializedValue>>>>>();
+      for (final var name : profileNames) {
+        if (this.realProfiles.containsKey(name)) real.put(name, this.realProfiles.get(name));
+        if (this.discreteProfiles.containsKey(name)) discrete.put(name, this.discreteProfiles.get(name));
+      }
+      return new ProfileSet(real, discrete);
+    }
+
+    @Override
+    public Map<SimulatedActivityId, SimulatedActivity> getSimulatedActivities() {
+      return Map.of();
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package gov.nasa.jpl.aerie.merlin.server.services;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class SampleDecimatorTest {
+  @Test
+  public void testSeriesWithinBudgetIsUnchanged() {
+    final var decimator = new SampleDecimator(Duration.ZERO, Duration.of(10, SECONDS), 20);
+    final var expected = new ArrayList<Pair<Duration, SerializedValue>>();
+    for (var i = 0; i < 20; i += 1) {
+      final var sample = Pair.of(Duration.of(i / 2, SECONDS), SerializedValue.of(i % 3));
+      decimator.add(sample.getLeft(), sample.getRight());
+      expected.add(sample);
+    }
+
+    assertEquals(expected, decimator.finish());
+  }
+
+  @Test
+  public void testExtremesAndEndpointsArePreserved() {
+    final var maxPoints = 100;
+    final var decimator = new SampleDecimator(Duration.ZERO, Duration.of(100_000, SECONDS), maxPoints);
+    for (var i = 0; i <= 100_000; i += 1) {
+      // A gentle wave, with a single narrow spike in each direction.
+      final double value = (i == 31_337) ? 1000 : (i == 77_777) ? -1000 : Math.sin(i / 5000.0);
+      decimator.add(Duration.of(i, SECONDS), SerializedValue.of(value));
+    }
+    final var samples = decimator.finish();
+
+    assertTrue(samples.size() <= maxPoints, "Expected at most %d samples, got %d".formatted(maxPoints, samples.size()));
+    assertEquals(Pair.of(Duration.ZERO, SerializedValue.of(Math.sin(0))), samples.get(0));
+    assertEquals(Duration.of(100_000, SECONDS), samples.get(samples.size() - 1).getLeft());
+    assertTrue(samples.contains(Pair.of(Duration.of(31_337, SECONDS), SerializedValue.of(1000.0))));
+    assertTrue(samples.contains(Pair.of(Duration.of(77_777, SECONDS), SerializedValue.of(-1000.0))));
+    assertInOrder(samples);
+  }
+
+  @Test
+  public void testNonNumericValuesKeepBucketEndpoints() {
+    final var decimator = new SampleDecimator(Duration.ZERO, Duration.of(100, SECONDS), 8);
+    for (var i = 0; i < 100; i += 1) {
+      decimator.add(Duration.of(i, SECONDS), SerializedValue.of("state-" + i));
+    }
+
+    // Two buckets of fifty seconds each, each represented by its first and last samples.
+    assertEquals(
+        List.of(
+            Pair.of(Duration.of(0, SECONDS), SerializedValue.of("state-0")),
+            Pair.of(Duration.of(49, SECONDS), SerializedValue.of("state-49")),
+            Pair.of(Duration.of(50, SECONDS), SerializedValue.of("state-50")),
+            Pair.of(Duration.of(99, SECONDS), SerializedValue.of("state-99"))),
+        decimator.finish());
+  }
+
+  private static void assertInOrder(final List<Pair<Duration, SerializedValue>> samples) {
+    for (var i = 1; i < samples.size(); i += 1) {
+      assertTrue(!samples.get(i).getLeft().shorterThan(samples.get(i - 1).getLeft()), "Samples are out of order at index " + i);
+    }
+  }
+}
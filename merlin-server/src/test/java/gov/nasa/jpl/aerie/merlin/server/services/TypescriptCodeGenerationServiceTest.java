@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class TypescriptCodeGenerationServiceTest {
 
@@ -95,4 +96,26 @@ class TypescriptCodeGenerationServiceTest {
             /** End Codegen */"""
     );
   }
+
+  @Test
+  void testGeneratedTypesAreCachedPerModelRevision() throws MissionModelService.NoSuchMissionModelException, NoSuchPlanException {
+    final var codeGenService = new TypescriptCodeGenerationServiceAdapter(new StubMissionModelService(), new StubPlanService());
+    final var first = codeGenService.generateTypescriptTypes("abc", Optional.of(new PlanId(1L)), Optional.empty());
+    final var second = codeGenService.generateTypescriptTypes("abc", Optional.of(new PlanId(1L)), Optional.empty());
+
+    assertSame(first, second);
+    assertEquals(new TypescriptCodeGenerationServiceAdapter.Stats(1, 1, 1), codeGenService.getStats());
+
+    final var missionModel = StubMissionModelService.EXISTENT_MISSION_MODEL;
+    final var revision = missionModel.revision;
+    missionModel.revision += 1;
+    try {
+      final var third = codeGenService.generateTypescriptTypes("abc", Optional.of(new PlanId(1L)), Optional.empty());
+
+      assertEquals(first, third);
+      assertEquals(new TypescriptCodeGenerationServiceAdapter.Stats(1, 2, 2), codeGenService.getStats());
+    } finally {
+      missionModel.revision = revision;
+    }
+  }
 }
@@ -12,6 +12,7 @@ import javax.json.Json;
 import javax.sql.DataSource;
 import java.io.StringReader;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 
 import static gov.nasa.jpl.aerie.merlin.worker.postgres.PostgresNotificationJsonParsers.postgresSimulationNotificationP;
@@ -30,6 +31,10 @@ public class ListenSimulationCapability {
   }
 
   public Thread registerListener(SimulationCanceledListener canceledListener) {
+    return registerListeners(List.of(canceledListener));
+  }
+
+  public Thread registerListeners(List<SimulationCanceledListener> canceledListeners) {
     final var listenThread = new Thread(() -> {
       try (final var connection = this.dataSource.getConnection()) {
         try (final var listenSimulationStatusAction = new ListenSimulationStatusAction(connection)) {
@@ -50,7 +55,8 @@ public class ListenSimulationCapability {
               logger.info("Received PSQL Notification: {}, {}, {}", processId, channelName, payload);
 
               if (channelName.equals("simulation_cancel")) {
-                canceledListener.receiveSignal(new DatasetId(Long.parseLong(payload)));
+                final var datasetId = new DatasetId(Long.parseLong(payload));
+                for (final var canceledListener : canceledListeners) canceledListener.receiveSignal(datasetId);
               } else {
                 try (final var reader = Json.createReader(new StringReader(payload))) {
                   final var jsonValue = reader.readValue();
@@ -11,13 +11,17 @@ import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PostgresMissionModelRep
 import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PostgresPlanRepository;
 import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PostgresPlanRevisionData;
 import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PostgresResultsCellRepository;
+import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.ResultsWriteMode;
 import gov.nasa.jpl.aerie.merlin.server.services.LocalMissionModelService;
 import gov.nasa.jpl.aerie.merlin.server.services.LocalPlanService;
 import gov.nasa.jpl.aerie.merlin.server.services.SynchronousSimulationAgent;
 import gov.nasa.jpl.aerie.merlin.server.services.UnexpectedSubtypeError;
 import gov.nasa.jpl.aerie.merlin.worker.postgres.PostgresSimulationNotificationPayload;
+import gov.nasa.jpl.aerie.worker.WorkerSlots;
 import io.javalin.Javalin;
 
+import javax.json.Json;
+import javax.json.JsonObject;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.Optional;
@@ -25,6 +29,10 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 public final class MerlinWorkerAppDriver {
+  // The most database connections a simulation holds at once: the results sink holds one for the whole simulation,
+  //   while the agent's plan and model fetches and the simulation extent reporter each check out one of their own.
+  /* package-local */ static final int CONNECTIONS_PER_SIMULATION = 3;
+
   public static void main(String[] args) throws InterruptedException {
     final var configuration = loadConfiguration();
     final var store = configuration.store();
@@ -32,6 +40,11 @@ public final class MerlinWorkerAppDriver {
     if (!(store instanceof final PostgresStore postgresStore)) {
       throw new UnexpectedSubtypeError(Store.class, store);
     }
+    final var slots = new WorkerSlots<>(
+        configuration.simulationSlots(),
+        SimulationCanceledListener::new,
+        SimulationCanceledListener::unregister);
+
     final var hikariConfig = new HikariConfig();
     hikariConfig.setDataSourceClassName("org.postgresql.ds.PGSimpleDataSource");
     hikariConfig.addDataSourceProperty("serverName", postgresStore.server());
@@ -40,7 +53,7 @@ public final class MerlinWorkerAppDriver {
     hikariConfig.addDataSourceProperty("applicationName", "Merlin Server");
     hikariConfig.setUsername(postgresStore.user());
     hikariConfig.setPassword(postgresStore.password());
-    hikariConfig.setMaximumPoolSize(2);
+    hikariConfig.setMaximumPoolSize(slots.connectionPoolSize(CONNECTIONS_PER_SIMULATION));
 
     hikariConfig.setConnectionInitSql("set time zone 'UTC'");
 
@@ -49,7 +62,7 @@ public final class MerlinWorkerAppDriver {
     final var stores = new Stores(
         new PostgresPlanRepository(hikariDataSource),
         new PostgresMissionModelRepository(hikariDataSource),
-        new PostgresResultsCellRepository(hikariDataSource));
+        new PostgresResultsCellRepository(hikariDataSource, configuration.resultsWriteMode()));
 
     final var missionModelController = new LocalMissionModelService(
         configuration.merlinFileStore(),
@@ -64,11 +77,14 @@ public final class MerlinWorkerAppDriver {
 
     final var notificationQueue = new LinkedBlockingQueue<PostgresSimulationNotificationPayload>();
     final var listenAction = new ListenSimulationCapability(hikariDataSource, notificationQueue);
-    final var canceledListener = new SimulationCanceledListener();
-    final var listenThread = listenAction.registerListener(canceledListener);
+    final var metrics = configuration.engineMetrics() ? Optional.of(SimulationMetrics.register()) : Optional.<SimulationMetrics>empty();
+    final var listenThread = listenAction.registerListeners(slots.all());
 
     try (final var app = Javalin.create().start(8080)) {
-      app.get("/health", ctx -> ctx.status(200));
+      app.get("/health", ctx -> ctx
+          .status(200)
+          .contentType("application/json")
+          .result(health(slots, notificationQueue.size()).toString()));
 
       while (listenThread.isAlive()) {
         final var notification = notificationQueue.poll(1, TimeUnit.MINUTES);
@@ -76,40 +92,50 @@ public final class MerlinWorkerAppDriver {
         final var planId = new PlanId(notification.planId());
         final var datasetId = notification.datasetId();
 
-        // Register as early as possible to avoid potentially missing a canceled signal
-        canceledListener.register(new DatasetId(datasetId));
-
-        final Optional<ResultsProtocol.OwnerRole> owner = stores.results().claim(planId, datasetId);
-        if (owner.isEmpty()) {
-          canceledListener.unregister();
-          continue;
-        }
-
-        final var revisionData = new PostgresPlanRevisionData(
-            notification.modelRevision(),
-            notification.planRevision(),
-            notification.simulationRevision(),
-            notification.simulationTemplateRevision());
-        final ResultsProtocol.WriterRole writer = owner.get();
-        try {
-          simulationAgent.simulate(planId, revisionData, writer, canceledListener);
-        } catch (final Throwable ex) {
-          ex.printStackTrace(System.err);
-          writer.failWith(b -> b
-              .type("UNEXPECTED_SIMULATION_EXCEPTION")
-              .message("Something went wrong while simulating")
-              .trace(ex));
-        }
-        finally {
-          canceledListener.unregister();
-        }
+        // Only claim a simulation once there is a slot free to run it, so that another worker may claim it meanwhile.
+        slots.claimAndRun(canceledListener -> {
+          // Register as early as possible to avoid potentially missing a canceled signal
+          canceledListener.register(new DatasetId(datasetId));
+
+          final Optional<ResultsProtocol.OwnerRole> owner = stores.results().claim(planId, datasetId);
+          if (owner.isEmpty()) return Optional.empty();
+
+          final var revisionData = new PostgresPlanRevisionData(
+              notification.modelRevision(),
+              notification.planRevision(),
+              notification.simulationRevision(),
+              notification.simulationTemplateRevision());
+          final ResultsProtocol.WriterRole writer = metrics.isPresent() ? metrics.get().instrument(owner.get()) : owner.get();
+          return Optional.of(() -> {
+            try {
+              simulationAgent.simulate(planId, revisionData, writer, canceledListener);
+            } catch (final Throwable ex) {
+              ex.printStackTrace(System.err);
+              writer.failWith(b -> b
+                  .type("UNEXPECTED_SIMULATION_EXCEPTION")
+                  .message("Something went wrong while simulating")
+                  .trace(ex));
+            }
+          });
+        });
       }
     } finally {
       // Kill the listening thread
       listenThread.interrupt();
+      // Let any simulations already underway finish writing their results
+      slots.close();
     }
   }
 
+  /* package-local */ static JsonObject health(final WorkerSlots<?> slots, final int queued) {
+    return Json
+        .createObjectBuilder()
+        .add("slots", slots.size())
+        .add("active", slots.active())
+        .add("queued", queued)
+        .build();
+  }
+
   private static String getEnv(final String key, final String fallback){
     final var env = System.getenv(key);
     return env == null ? fallback : env;
@@ -124,7 +150,10 @@ public final class MerlinWorkerAppDriver {
                           getEnv("MERLIN_WORKER_DB_PASSWORD", ""),
                           getEnv("MERLIN_WORKER_DB", "aerie_merlin")),
         Integer.parseInt(getEnv("SIMULATION_PROGRESS_POLL_PERIOD_MILLIS", "5000")),
-        Instant.parse(getEnv("UNTRUE_PLAN_START", ""))
+        Instant.parse(getEnv("UNTRUE_PLAN_START", "")),
+        ResultsWriteMode.fromString(getEnv("MERLIN_WORKER_RESULTS_WRITE_MODE", "batch")),
+        Integer.parseInt(getEnv("MERLIN_WORKER_SIMULATION_SLOTS", "1")),
+        Boolean.parseBoolean(getEnv("MERLIN_WORKER_ENGINE_METRICS", "false"))
     );
   }
 }
@@ -6,8 +6,9 @@ import java.util.Optional;
 import java.util.function.Supplier;
 
 public class SimulationCanceledListener implements Supplier<Boolean> {
-  private Optional<DatasetId> registeredSimulation;
-  private boolean canceled;
+  // Signals arrive on the listening thread, while the registered simulation runs on a thread of its own.
+  private volatile Optional<DatasetId> registeredSimulation;
+  private volatile boolean canceled;
 
   public SimulationCanceledListener() {
     registeredSimulation = Optional.empty();
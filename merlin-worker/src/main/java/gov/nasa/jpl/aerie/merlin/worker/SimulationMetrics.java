@@ -0,0 +1,293 @@
+package gov.nasa.jpl.aerie.merlin.worker;
+
+import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivityId;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationFailure;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationReport;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.driver.UnfinishedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import gov.nasa.jpl.aerie.merlin.server.ResultsProtocol;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the reports of instrumented simulations, and exposes the totals over JMX.
+ *
+ * <p>
+ * Simulations only report their work if their results are written through a writer from {@link #instrument},
+ * which asks the simulation engine to count its work. The totals are registered with the platform MBean server
+ * under {@link #OBJECT_NAME}, where any JMX client (or a JMX exporter for a metrics system) can read them.
+ * </p>
+ */
+public final class SimulationMetrics implements SimulationMetricsMXBean {
+  public static final String OBJECT_NAME = "gov.nasa.jpl.aerie.merlin.worker:type=SimulationMetrics";
+
+  private final LongAdder simulations = new LongAdder();
+  private final LongAdder taskSteps = new LongAdder();
+  private final LongAdder taskYields = new LongAdder();
+  private final LongAdder taskStepNanos = new LongAdder();
+  private final LongAdder cellReads = new LongAdder();
+  private final LongAdder eventsEmitted = new LongAdder();
+  private final LongAdder conditionEvaluations = new LongAdder();
+  private final LongAdder resourceSamples = new LongAdder();
+  private final LongAdder cellDuplications = new LongAdder();
+  private final LongAdder commits = new LongAdder();
+  private final LongAdder committedEvents = new LongAdder();
+  private final LongAccumulator largestCommit = new LongAccumulator(Math::max, 0);
+
+  private final Map<String, LongAdder> taskStepNanosByActivityType = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> conditionEvaluationsByActivityType = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> resourceSamplesByResource = new ConcurrentHashMap<>();
+
+  /** Create a set of counters and register it with the platform MBean server. */
+  public static SimulationMetrics register() {
+    final var metrics = new SimulationMetrics();
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+    } catch (final JMException ex) {
+      throw new RuntimeException("Unable to register simulation metrics as " + OBJECT_NAME, ex);
+    }
+    return metrics;
+  }
+
+  /** Add the work described by a simulation's report to the totals. */
+  public void record(final SimulationReport report) {
+    this.simulations.increment();
+
+    for (final var entry : report.activityTypes().entrySet()) {
+      final var type = entry.getKey();
+      final var stats = entry.getValue();
+
+      this.taskSteps.add(stats.steps());
+      this.taskYields.add(stats.yields());
+      this.taskStepNanos.add(stats.stepNanos());
+      this.cellReads.add(stats.reads());
+      this.eventsEmitted.add(stats.emits());
+      this.conditionEvaluations.add(stats.conditionEvaluations());
+
+      this.taskStepNanosByActivityType.computeIfAbsent(type, $ -> new LongAdder()).add(stats.stepNanos());
+      this.conditionEvaluationsByActivityType.computeIfAbsent(type, $ -> new LongAdder()).add(stats.conditionEvaluations());
+    }
+
+    for (final var entry : report.resourceSamples().entrySet()) {
+      this.resourceSamples.add(entry.getValue());
+      this.resourceSamplesByResource.computeIfAbsent(entry.getKey(), $ -> new LongAdder()).add(entry.getValue());
+    }
+
+    this.cellDuplications.add(report.cellDuplications());
+    this.commits.add(report.commits().commits());
+    this.committedEvents.add(report.commits().events());
+    this.largestCommit.accumulate(report.commits().maxEvents());
+  }
+
+  /** Wrap a results writer, so that the simulation it writes for reports its work to these counters. */
+  public ResultsProtocol.WriterRole instrument(final ResultsProtocol.WriterRole writer) {
+    return new InstrumentedWriter(writer, this);
+  }
+
+  @Override
+  public long getSimulations() {
+    return this.simulations.sum();
+  }
+
+  @Override
+  public long getTaskSteps() {
+    return this.taskSteps.sum();
+  }
+
+  @Override
+  public long getTaskYields() {
+    return this.taskYields.sum();
+  }
+
+  @Override
+  public long getTaskStepMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(this.taskStepNanos.sum());
+  }
+
+  @Override
+  public long getCellReads() {
+    return this.cellReads.sum();
+  }
+
+  @Override
+  public long getEventsEmitted() {
+    return this.eventsEmitted.sum();
+  }
+
+  @Override
+  public long getConditionEvaluations() {
+    return this.conditionEvaluations.sum();
+  }
+
+  @Override
+  public long getResourceSamples() {
+    return this.resourceSamples.sum();
+  }
+
+  @Override
+  public long getCellDuplications() {
+    return this.cellDuplications.sum();
+  }
+
+  @Override
+  public long getCommits() {
+    return this.commits.sum();
+  }
+
+  @Override
+  public long getCommittedEvents() {
+    return this.committedEvents.sum();
+  }
+
+  @Override
+  public long getLargestCommit() {
+    return this.largestCommit.get();
+  }
+
+  @Override
+  public Map<String, Long> getTaskStepMillisByActivityType() {
+    final var millis = new TreeMap<String, Long>();
+    this.taskStepNanosByActivityType.forEach((type, nanos) -> millis.put(type, TimeUnit.NANOSECONDS.toMillis(nanos.sum())));
+    return millis;
+  }
+
+  @Override
+  public Map<String, Long> getConditionEvaluationsByActivityType() {
+    return sums(this.conditionEvaluationsByActivityType);
+  }
+
+  @Override
+  public Map<String, Long> getResourceSamplesByResource() {
+    return sums(this.resourceSamplesByResource);
+  }
+
+  private static Map<String, Long> sums(final Map<String, LongAdder> counters) {
+    final var sums = new TreeMap<String, Long>();
+    counters.forEach((key, counter) -> sums.put(key, counter.sum()));
+    return sums;
+  }
+
+  /** A writer whose results sink asks for a report of the simulation's work, and records it. */
+  private record InstrumentedWriter(ResultsProtocol.WriterRole writer, SimulationMetrics metrics)
+      implements ResultsProtocol.WriterRole
+  {
+    @Override
+    public boolean isCanceled() {
+      return this.writer.isCanceled();
+    }
+
+    @Override
+    public void succeedWith(final SimulationResults results) {
+      this.writer.succeedWith(results);
+    }
+
+    @Override
+    public void failWith(final SimulationFailure reason) {
+      this.writer.failWith(reason);
+    }
+
+    @Override
+    public void reportIncompleteResults(final SimulationResults results) {
+      this.writer.reportIncompleteResults(results);
+    }
+
+    @Override
+    public void reportSimulationExtent(final Duration extent) {
+      this.writer.reportSimulationExtent(extent);
+    }
+
+    @Override
+    public ResultsProtocol.ResultsSink streamResults() {
+      return new InstrumentedSink(this.writer.streamResults(), this.metrics);
+    }
+  }
+
+  private record InstrumentedSink(ResultsProtocol.ResultsSink sink, SimulationMetrics metrics)
+      implements ResultsProtocol.ResultsSink
+  {
+    @Override
+    public void declareTopics(final List<Triple<Integer, String, ValueSchema>> topics) {
+      this.sink.declareTopics(topics);
+    }
+
+    @Override
+    public void declareRealProfile(final String name, final ValueSchema schema) {
+      this.sink.declareRealProfile(name, schema);
+    }
+
+    @Override
+    public void declareDiscreteProfile(final String name, final ValueSchema schema) {
+      this.sink.declareDiscreteProfile(name, schema);
+    }
+
+    @Override
+    public void appendRealSegment(final String name, final ProfileSegment<RealDynamics> segment) {
+      this.sink.appendRealSegment(name, segment);
+    }
+
+    @Override
+    public void appendDiscreteSegment(final String name, final ProfileSegment<SerializedValue> segment) {
+      this.sink.appendDiscreteSegment(name, segment);
+    }
+
+    @Override
+    public void appendEvents(final Duration time, final EventGraph<Pair<Integer, SerializedValue>> events) {
+      this.sink.appendEvents(time, events);
+    }
+
+    @Override
+    public boolean wantsReport() {
+      return true;
+    }
+
+    @Override
+    public void report(final SimulationReport report) {
+      this.metrics.record(report);
+      this.sink.report(report);
+    }
+
+    @Override
+    public void complete(
+        final Instant startTime,
+        final Duration elapsedTime,
+        final Map<SimulatedActivityId, SimulatedActivity> simulatedActivities,
+        final Map<SimulatedActivityId, UnfinishedActivity> unfinishedActivities)
+    {
+      this.sink.complete(startTime, elapsedTime, simulatedActivities, unfinishedActivities);
+    }
+
+    @Override
+    public void succeed() {
+      this.sink.succeed();
+    }
+
+    @Override
+    public void reportIncomplete() {
+      this.sink.reportIncomplete();
+    }
+
+    @Override
+    public void close() {
+      this.sink.close();
+    }
+  }
+}
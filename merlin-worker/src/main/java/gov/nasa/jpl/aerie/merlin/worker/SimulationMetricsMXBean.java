@@ -0,0 +1,42 @@
+package gov.nasa.jpl.aerie.merlin.worker;
+
+import java.util.Map;
+
+/**
+ * Counters describing the work performed by every simulation this worker has run with engine metrics enabled.
+ *
+ * Every counter only ever increases, so rates can be derived by sampling them periodically.
+ */
+public interface SimulationMetricsMXBean {
+  /** The number of simulations which have reported their work. */
+  long getSimulations();
+
+  long getTaskSteps();
+
+  long getTaskYields();
+
+  long getTaskStepMillis();
+
+  long getCellReads();
+
+  long getEventsEmitted();
+
+  long getConditionEvaluations();
+
+  long getResourceSamples();
+
+  long getCellDuplications();
+
+  long getCommits();
+
+  long getCommittedEvents();
+
+  /** The number of events in the largest single commit of any simulation. */
+  long getLargestCommit();
+
+  Map<String, Long> getTaskStepMillisByActivityType();
+
+  Map<String, Long> getConditionEvaluationsByActivityType();
+
+  Map<String, Long> getResourceSamplesByResource();
+}
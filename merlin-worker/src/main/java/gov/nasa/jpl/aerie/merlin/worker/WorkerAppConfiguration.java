@@ -1,6 +1,7 @@
 package gov.nasa.jpl.aerie.merlin.worker;
 
 import gov.nasa.jpl.aerie.merlin.server.config.Store;
+import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.ResultsWriteMode;
 
 import java.nio.file.Path;
 import java.time.Instant;
@@ -10,11 +11,15 @@ public record WorkerAppConfiguration(
     Path merlinFileStore,
     Store store,
     long simulationProgressPollPeriodMillis,
-    Instant untruePlanStart
+    Instant untruePlanStart,
+    ResultsWriteMode resultsWriteMode,
+    int simulationSlots,
+    boolean engineMetrics
 ) {
   public WorkerAppConfiguration {
     Objects.requireNonNull(merlinFileStore);
     Objects.requireNonNull(store);
     Objects.requireNonNull(untruePlanStart);
+    Objects.requireNonNull(resultsWriteMode);
   }
 }
@@ -0,0 +1,112 @@
+package gov.nasa.jpl.aerie.merlin.worker;
+
+import gov.nasa.jpl.aerie.merlin.server.models.DatasetId;
+import gov.nasa.jpl.aerie.worker.WorkerSlots;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class SimulationSlotsTest {
+  private static final int SLOTS = 2;
+
+  @Test
+  @DisplayName("A slot is acquired before the simulation is claimed, and held while it runs")
+  public void testSlotAcquiredBeforeClaim() throws InterruptedException {
+    final var slots = simulationSlots();
+    final var finish = new CountDownLatch(1);
+    try {
+      final var claimed = slots.claimAndRun(listener -> {
+        assertEquals(1, slots.active());
+        listener.register(new DatasetId(1));
+        return Optional.of(() -> await(finish));
+      });
+
+      assertTrue(claimed);
+      assertEquals(1, slots.active());
+    } finally {
+      finish.countDown();
+      slots.close();
+    }
+
+    assertEquals(0, slots.active());
+  }
+
+  @Test
+  @DisplayName("The slot is released when the simulation was already claimed by another worker")
+  public void testUnclaimedSimulationReleasesSlot() throws InterruptedException {
+    final var slots = simulationSlots();
+    try {
+      assertFalse(slots.claimAndRun(listener -> {
+        listener.register(new DatasetId(1));
+        return Optional.empty();
+      }));
+
+      assertEquals(0, slots.active());
+      assertTrue(slots.all().stream().noneMatch(SimulationCanceledListener::isCanceled));
+    } finally {
+      slots.close();
+    }
+  }
+
+  @Test
+  @DisplayName("The slot is released, and its listener unregistered, when claiming the simulation fails")
+  public void testFailedClaimReleasesSlot() throws InterruptedException {
+    final var slots = simulationSlots();
+    try {
+      for (var i = 0; i <= SLOTS; i += 1) {
+        final var datasetId = new DatasetId(i);
+        assertThrows(IllegalStateException.class, () -> slots.claimAndRun(listener -> {
+          listener.register(datasetId);
+          throw new IllegalStateException("Lost connection to the database");
+        }));
+        assertEquals(0, slots.active());
+      }
+
+      // A signal for the failed simulation must not cancel whichever simulation next uses the slot.
+      slots.all().forEach($ -> $.receiveSignal(new DatasetId(0)));
+      assertTrue(slots.all().stream().noneMatch(SimulationCanceledListener::isCanceled));
+    } finally {
+      slots.close();
+    }
+  }
+
+  @Test
+  @DisplayName("The health check reports the active slots and queued notifications")
+  public void testHealthReportsActiveAndQueued() throws InterruptedException {
+    final var slots = simulationSlots();
+    final var finish = new CountDownLatch(1);
+    try {
+      assertEquals(0, MerlinWorkerAppDriver.health(slots, 0).getInt("active"));
+
+      slots.claimAndRun(listener -> Optional.of(() -> await(finish)));
+
+      final var health = MerlinWorkerAppDriver.health(slots, 3);
+      assertEquals(SLOTS, health.getInt("slots"));
+      assertEquals(1, health.getInt("active"));
+      assertEquals(3, health.getInt("queued"));
+    } finally {
+      finish.countDown();
+      slots.close();
+    }
+  }
+
+  private static WorkerSlots<SimulationCanceledListener> simulationSlots() {
+    return new WorkerSlots<>(SLOTS, SimulationCanceledListener::new, SimulationCanceledListener::unregister);
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -5,6 +5,9 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
 import java.util.random.RandomGenerator;
@@ -44,6 +47,22 @@ public class EquationSolvingAlgorithms {
 
   public interface Function<T, Metadata> {
     T valueAt(T x, History<T, Metadata> history) throws DiscontinuityException, SchedulingInterruptedException;
+
+    /**
+     * The number of values this function is able to compute at once, see {@link #prefetch(List)}.
+     */
+    default int parallelism() {
+      return 1;
+    }
+
+    /**
+     * Hints that the values at the given points may be requested next, in order.
+     *
+     * A function whose values are independent of one another may start computing them concurrently, provided that
+     * {@link #valueAt} later returns (and records in the history) exactly what it would have without the hint.
+     * Values which end up not being requested are simply discarded.
+     */
+    default void prefetch(List<T> xs) throws SchedulingInterruptedException {}
   }
 
   public interface History<T, Metadata>{
@@ -87,6 +106,12 @@ public class EquationSolvingAlgorithms {
 
     private final RandomGenerator randomGenerator = RandomGeneratorFactory.of("Random").create(956756789);
 
+    /**
+     * Random values drawn ahead of time to be prefetched, in the order they were drawn.
+     * They are handed out before any new value is drawn, so that prefetching does not change the sequence of values.
+     */
+    private final Deque<Duration> drawnAhead = new ArrayDeque<>();
+
     /**
      * Randomly selects a value in the interval [bound1, bound2]
      * @param bound1 the first bound
@@ -94,6 +119,11 @@ public class EquationSolvingAlgorithms {
      * @return a value chosen randomly
      */
     private Duration chooseRandomX(final Duration bound1, final Duration bound2){
+      if (!drawnAhead.isEmpty()) return drawnAhead.removeFirst();
+      return drawRandomX(bound1, bound2);
+    }
+
+    private Duration drawRandomX(final Duration bound1, final Duration bound2){
       var low = bound1;
       var high = bound2;
       if(low.isEqualTo(high)) return low;
@@ -109,6 +139,10 @@ public class EquationSolvingAlgorithms {
      * Querying Function.valueAt may lead to a discontinuity. This procedure starts at an initial x value
      * and stops only when the value returned is not a discontinuity or the maximum number of iterations has been reached
      * Kind of an infaillible valueAt with a limited number of iterations
+     *
+     * The random values tried after a discontinuity do not depend on the value of the function, so when the function
+     * is able to compute several values at once, as many of them as it can are drawn ahead and prefetched along with
+     * the initial x value.
      * @param function the function we are trying to call
      * @param init the initial x value
      * @param min the lower bound of the domain of x
@@ -129,10 +163,14 @@ public class EquationSolvingAlgorithms {
     {
       var cur = init;
       int i = 0;
+      final var prefetched = new ArrayList<Duration>();
       do {
         //we should not come back to previously visited values
         if (!history.alreadyVisited(cur)) {
           i++;
+          if (function.parallelism() > 1 && !prefetched.contains(cur)) {
+            prefetch(function, cur, min, max, history, maxIteration - i, prefetched);
+          }
           try {
             final var value = function.valueAt(cur, history);
             return new IteratingResult(new FunctionCoordinate<>(cur, value), i);
@@ -146,6 +184,34 @@ public class EquationSolvingAlgorithms {
       throw new ExceededMaxIterationException();
     }
 
+    /**
+     * Prefetches the value at x along with those at the random values which would be tried next, were it and they
+     * to turn out to be discontinuities.
+     */
+    private void prefetch(
+        final Function<Duration, Metadata> function,
+        final Duration x,
+        final Duration min,
+        final Duration max,
+        final History<Duration, Metadata> history,
+        final int remainingIterations,
+        final List<Duration> prefetched)
+    throws SchedulingInterruptedException
+    {
+      final var candidates = new ArrayList<Duration>();
+      candidates.add(x);
+      if (!min.isEqualTo(max)) {
+        while (drawnAhead.size() < Math.min(function.parallelism() - 1, remainingIterations)) {
+          drawnAhead.addLast(drawRandomX(min, max));
+        }
+        for (final var next : drawnAhead) {
+          if (!history.alreadyVisited(next) && !candidates.contains(next)) candidates.add(next);
+        }
+      }
+      prefetched.addAll(candidates);
+      function.prefetch(candidates);
+    }
+
     /**
      * Solves x s.t. f(x) = y by transforming it to the equivalent rootfinding problem x s.t. f(x) - y = 0
      * @param f the function
@@ -184,6 +250,16 @@ public class EquationSolvingAlgorithms {
         {
           return f.valueAt(x, history).minus(y);
         }
+
+        @Override
+        public int parallelism() {
+          return f.parallelism();
+        }
+
+        @Override
+        public void prefetch(final List<Duration> xs) throws SchedulingInterruptedException {
+          f.prefetch(xs);
+        }
       };
 
       final var result = new EquationSolvingAlgorithms
@@ -363,7 +363,10 @@ public record ActivityExpression(
       final EvaluationEnvironment environment)
   {
     final var spans = new Spans();
-    results.activities.stream().filter(x -> matches(x, results, environment, false)).forEach(x -> spans.add(x.interval));
+    final var candidates = (this.type == null) ? results.activities
+        : (this.startRange == null) ? results.activitiesOfType(this.type.getName())
+        : results.activitiesOfTypeStartingIn(this.type.getName(), this.startRange);
+    candidates.stream().filter(x -> matches(x, results, environment, false)).forEach(x -> spans.add(x.interval));
     return spans;
   }
 
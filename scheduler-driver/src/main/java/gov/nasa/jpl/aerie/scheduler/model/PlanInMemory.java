@@ -2,9 +2,11 @@ package gov.nasa.jpl.aerie.scheduler.model;
 
 import gov.nasa.jpl.aerie.constraints.model.EvaluationEnvironment;
 import gov.nasa.jpl.aerie.constraints.model.SimulationResults;
+import gov.nasa.jpl.aerie.constraints.time.Interval;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.scheduler.constraints.activities.ActivityExpression;
 import gov.nasa.jpl.aerie.scheduler.solver.Evaluation;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -46,8 +48,16 @@ public class PlanInMemory implements Plan {
   /**
    * container of all activity instances in plan, indexed by start time
    */
-  private final TreeMap<Duration, List<SchedulingActivityDirective>> actsByTime
-      = new TreeMap<>();
+  private final Timeline actsByTime
+      = new Timeline();
+
+  /**
+   * container of all activity instances in plan, indexed by type name and then by start time
+   *
+   * keyed by name since that is how activity expressions match types
+   */
+  private final HashMap<String, Timeline> actsByTypeAndTime
+      = new HashMap<>();
 
   /**
    * container of all activity instances in plan
@@ -97,9 +107,9 @@ public class PlanInMemory implements Plan {
     assert type != null;
 
     actsById.put(id, act);
-    //REVIEW: use a cleaner multimap? maybe guava
-    actsByTime.computeIfAbsent(startT, k -> new LinkedList<>())
-              .add(act);
+    actsByTime.add(act);
+    actsByTypeAndTime.computeIfAbsent(type.getName(), k -> new Timeline())
+                     .add(act);
     actsByType.computeIfAbsent(type, k -> new LinkedList<>())
               .add(act);
     actsSet.add(act);
@@ -116,9 +126,13 @@ public class PlanInMemory implements Plan {
   public void remove(SchedulingActivityDirective act) {
     //TODO: handle ownership. Constraint propagation ?
     actsById.remove(act.getId());
-    var acts = actsByTime.get(act.startOffset());
-    if (acts != null) acts.remove(act);
-    acts = actsByType.get(act.getType());
+    actsByTime.remove(act);
+    final var timeline = actsByTypeAndTime.get(act.getType().getName());
+    if (timeline != null) {
+      timeline.remove(act);
+      if (timeline.isEmpty()) actsByTypeAndTime.remove(act.getType().getName());
+    }
+    final var acts = actsByType.get(act.getType());
     if (acts != null) acts.remove(act);
     actsSet.remove(act);
   }
@@ -132,7 +146,7 @@ public class PlanInMemory implements Plan {
     final var orderedActs = new LinkedList<SchedulingActivityDirective>();
 
     //NB: tree map ensures that values are in key order, but still need to flatten
-    for (final var actsAtT : actsByTime.values()) {
+    for (final var actsAtT : actsByTime.byStart.values()) {
       assert actsAtT != null;
       orderedActs.addAll(actsAtT);
     }
@@ -170,9 +184,14 @@ public class PlanInMemory implements Plan {
       EvaluationEnvironment evaluationEnvironment)
   {
     //REVIEW: could do something clever with returning streams to prevent wasted work
-    //REVIEW: something more clever for time-based queries using time index
+    final var timeline = (template.type() == null)
+        ? actsByTime
+        : actsByTypeAndTime.get(template.type().getName());
     LinkedList<SchedulingActivityDirective> matched = new LinkedList<>();
-    for (final var actsAtTime : actsByTime.values()) {
+    if (timeline == null) return matched;
+
+    //only the activities that could meet the template's timing criteria need to be checked in full
+    for (final var actsAtTime : timeline.candidates(template.startRange(), template.endRange())) {
       for (final var act : actsAtTime) {
         if (template.matches(act, simulationResults, evaluationEnvironment, true)) {
           matched.add(act);
@@ -198,4 +217,86 @@ public class PlanInMemory implements Plan {
     return evaluation;
   }
 
+  /**
+   * activity instances ordered by start time, along with the range of their durations
+   *
+   * an activity ending within some interval must start within that interval shifted back by its duration,
+   * so knowing the shortest and longest durations bounds the start times of the activities ending within it
+   */
+  private static final class Timeline {
+    /**
+     * activities by start time, in order of insertion at each time
+     */
+    private final TreeMap<Duration, List<SchedulingActivityDirective>> byStart
+        = new TreeMap<>();
+
+    /**
+     * number of activities of each known duration
+     */
+    private final TreeMap<Duration, Integer> durations
+        = new TreeMap<>();
+
+    void add(final SchedulingActivityDirective act) {
+      byStart.computeIfAbsent(act.startOffset(), k -> new LinkedList<>())
+             .add(act);
+      if (act.duration() != null) durations.merge(act.duration(), 1, Integer::sum);
+    }
+
+    void remove(final SchedulingActivityDirective act) {
+      final var acts = byStart.get(act.startOffset());
+      if (acts == null || !acts.remove(act)) return;
+      if (acts.isEmpty()) byStart.remove(act.startOffset());
+      if (act.duration() != null) durations.computeIfPresent(act.duration(), (k, count) -> (count > 1) ? count - 1 : null);
+    }
+
+    boolean isEmpty() {
+      return byStart.isEmpty();
+    }
+
+    /**
+     * fetches the activities which may start within the given start range and end within the given end range
+     *
+     * every such activity is included, but some of the included activities may still end outside the end range
+     *
+     * @param startRange IN the range of start times to look within, or null if start times are unconstrained
+     * @param endRange IN the range of end times to look within, or null if end times are unconstrained
+     * @return the candidate activities, grouped by start time in ascending order
+     */
+    Collection<List<SchedulingActivityDirective>> candidates(
+        final @Nullable Interval startRange,
+        final @Nullable Interval endRange)
+    {
+      var earliest = Duration.MIN_VALUE;
+      var includesEarliest = true;
+      var latest = Duration.MAX_VALUE;
+      var includesLatest = true;
+
+      if (startRange != null) {
+        if (startRange.isEmpty()) return List.of();
+        earliest = startRange.start;
+        includesEarliest = startRange.includesStart();
+        latest = startRange.end;
+        includesLatest = startRange.includesEnd();
+      }
+
+      //activities without a duration have no end, so leave them to the template to reject
+      if (endRange != null && !durations.isEmpty()) {
+        if (endRange.isEmpty()) return List.of();
+        final var startOfEnds = endRange.start.saturatingPlus(Duration.ZERO.minus(durations.lastKey()));
+        final var endOfEnds = endRange.end.saturatingPlus(Duration.ZERO.minus(durations.firstKey()));
+        if (startOfEnds.longerThan(earliest)) {
+          earliest = startOfEnds;
+          includesEarliest = true;
+        }
+        if (endOfEnds.shorterThan(latest)) {
+          latest = endOfEnds;
+          includesLatest = true;
+        }
+      }
+
+      if (earliest.longerThan(latest)) return List.of();
+      return byStart.subMap(earliest, includesEarliest, latest, includesLatest).values();
+    }
+  }
+
 }
@@ -24,11 +24,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -42,14 +44,14 @@ public class ResumableSimulationDriver<Model> implements AutoCloseable {
   /* The current real time. All the tasks before and at this time have been performed.
  Simulation has not started so it is set to MIN_VALUE. */
   private Duration curTime = Duration.MIN_VALUE;
-  private SimulationEngine engine = new SimulationEngine();
+  private SimulationEngine engine = null;
   private LiveCells cells;
   private TemporalEventSource timeline = new TemporalEventSource();
   private final MissionModel<Model> missionModel;
   private final Duration planDuration;
   private JobSchedule.Batch<SimulationEngine.JobId> batch;
 
-  private final Topic<ActivityDirectiveId> activityTopic = new Topic<>();
+  private final Topic<ActivityDirectiveId> activityTopic;
 
   //mapping each activity name to its task id (in String form) in the simulation engine
   private final Map<ActivityDirectiveId, TaskId> plannedDirectiveToTask;
@@ -61,6 +63,8 @@ public class ResumableSimulationDriver<Model> implements AutoCloseable {
   private SimulationResults lastSimResults;
   //cached simulation results cover the period [Duration.ZERO, lastSimResultsEnd]
   private Duration lastSimResultsEnd = Duration.ZERO;
+  //the results extracted so far from the current timeline, extended rather than recomputed when results are next requested
+  private SimulationEngine.ResultsCache resultsCache = new SimulationEngine.ResultsCache();
 
   //List of activities simulated since the last reset
   private final Map<ActivityDirectiveId, ActivityDirective> activitiesInserted = new HashMap<>();
@@ -69,20 +73,179 @@ public class ResumableSimulationDriver<Model> implements AutoCloseable {
   //effectively counting the number of calls to initSimulation()
   private int countSimulationRestarts;
 
+  //how often checkpoints of the simulation state are taken, and how many of them are kept at once
+  private final CheckpointPolicy checkpointPolicy;
+  //checkpoints of the simulation state, in increasing order of simulation time
+  private final List<Checkpoint> checkpoints = new ArrayList<>();
+  //the minimum simulated time between two consecutive checkpoints; grows as checkpoints are thinned out
+  private Duration checkpointPeriod;
+  //counts the number of simulation restarts avoided by resuming from a checkpoint, used as performance metric in the scheduler
+  private int countSimulationRestartsAvoided;
+  //whether the driver may be duplicated, which requires the tasks of its engine to keep a record of their past
+  private final boolean duplicable;
+
   public ResumableSimulationDriver(
       MissionModel<Model> missionModel,
       Duration planDuration,
       Supplier<Boolean> canceledListener
+  ){
+    this(missionModel, planDuration, canceledListener, CheckpointPolicy.disabled());
+  }
+
+  public ResumableSimulationDriver(
+      MissionModel<Model> missionModel,
+      Duration planDuration,
+      Supplier<Boolean> canceledListener,
+      CheckpointPolicy checkpointPolicy
+  ){
+    this(missionModel, planDuration, canceledListener, checkpointPolicy, false);
+  }
+
+  /**
+   * @param duplicable whether this driver may be {@link #duplicate() duplicated}. Like checkpointing, this requires
+   *                   the tasks of the engine to keep a record of their past, so drivers which will never be duplicated
+   *                   should not pay that cost.
+   */
+  public ResumableSimulationDriver(
+      MissionModel<Model> missionModel,
+      Duration planDuration,
+      Supplier<Boolean> canceledListener,
+      CheckpointPolicy checkpointPolicy,
+      boolean duplicable
   ){
     this.missionModel = missionModel;
+    this.activityTopic = new Topic<>();
     plannedDirectiveToTask = new HashMap<>();
     toCheckForDependencyScheduling = new HashMap<>();
     this.planDuration = planDuration;
     countSimulationRestarts = 0;
+    countSimulationRestartsAvoided = 0;
     this.canceledListener = canceledListener;
+    this.checkpointPolicy = Objects.requireNonNull(checkpointPolicy);
+    this.checkpointPeriod = checkpointPolicy.period();
+    this.duplicable = duplicable;
     initSimulation();
   }
 
+  /** Construct an independent copy of another driver, see {@link #duplicate()}. */
+  private ResumableSimulationDriver(final ResumableSimulationDriver<Model> other) {
+    this.missionModel = other.missionModel;
+    // The copied timeline identifies the directives simulated so far by events on this topic.
+    this.activityTopic = other.activityTopic;
+    this.planDuration = other.planDuration;
+    this.canceledListener = other.canceledListener;
+    this.checkpointPolicy = other.checkpointPolicy;
+    this.checkpointPeriod = other.checkpointPeriod;
+    this.duplicable = other.duplicable;
+    this.countSimulationRestarts = 0;
+    this.countSimulationRestartsAvoided = 0;
+
+    this.engine = other.engine.duplicate();
+    this.timeline = other.timeline.prefix(other.timeline.size());
+    this.cells = LiveCells.restore(other.cells.snapshot(), this.timeline);
+    this.curTime = other.curTime;
+    // The jobs of the pending batch have already been extracted from the other engine, so they are not in its copy.
+    this.batch = (other.batch == null)
+        ? null
+        : new JobSchedule.Batch<>(other.batch.offsetFromStart(), Set.copyOf(other.batch.jobs()));
+    this.plannedDirectiveToTask = new HashMap<>(other.plannedDirectiveToTask);
+    this.toCheckForDependencyScheduling = new HashMap<>(other.toCheckForDependencyScheduling);
+    this.activitiesInserted.putAll(other.activitiesInserted);
+    this.lastSimResults = other.lastSimResults;
+    this.lastSimResultsEnd = other.lastSimResultsEnd;
+
+    // Checkpoint engines are released when discarded, so each driver needs copies of its own.
+    for (final var checkpoint : other.checkpoints) {
+      this.checkpoints.add(new Checkpoint(
+          checkpoint.time(),
+          checkpoint.timelineSize(),
+          this.timeline,
+          checkpoint.engine().duplicate(),
+          checkpoint.cells(),
+          checkpoint.plannedDirectiveToTask(),
+          checkpoint.coveredDirectives()));
+    }
+  }
+
+  /**
+   * Produce an independent copy of this driver, at the same point in simulation and with the same checkpoints,
+   * such that both drivers may be driven forward separately, and concurrently with one another.
+   *
+   * The copy shares no mutable state with this driver: only the mission model, whose initial cells are never
+   * written to, and the thread pools of the engine. This driver must not be simulating while it is being copied.
+   *
+   * @return the copy, which must be closed separately
+   * @throws IllegalStateException if this driver was not constructed as duplicable, nor with checkpoints enabled
+   */
+  public ResumableSimulationDriver<Model> duplicate() {
+    if (!isDuplicable()) throw new IllegalStateException("This simulation driver was not constructed as duplicable");
+    return new ResumableSimulationDriver<>(this);
+  }
+
+  /**
+   * Whether this driver may be {@link #duplicate() duplicated}
+   * @return true if this driver was constructed as duplicable or with checkpoints enabled
+   */
+  public boolean isDuplicable() {
+    return this.duplicable || this.checkpointPolicy.isEnabled();
+  }
+
+  /**
+   * How often the driver retains a copy of the simulation state, so that activities inserted before the current
+   * simulation time can be simulated from the latest prior copy instead of from the start of the plan.
+   *
+   * @param period the minimum simulated time between two consecutive checkpoints
+   * @param capacity the maximum number of checkpoints retained at once; when exceeded, every other checkpoint is
+   *                 discarded and the period is doubled. A capacity of zero disables checkpointing.
+   *
+   * <p>Resuming from a checkpoint re-runs suspended threaded tasks from their beginning, replaying their past reads,
+   * so it makes the same assumption as replaying tasks: that tasks are deterministic and keep their state in cells.</p>
+   */
+  public record CheckpointPolicy(Duration period, int capacity) {
+    public CheckpointPolicy {
+      Objects.requireNonNull(period);
+      if (period.isNegative()) throw new IllegalArgumentException("Checkpoint period must not be negative");
+      if (capacity < 0) throw new IllegalArgumentException("Checkpoint capacity must not be negative");
+    }
+
+    public static CheckpointPolicy disabled() {
+      return new CheckpointPolicy(Duration.ZERO, 0);
+    }
+
+    public boolean isEnabled() {
+      return this.capacity > 0;
+    }
+  }
+
+  /**
+   * A copy of the simulation state at a given time.
+   *
+   * @param time the simulation time at which the copy was taken. All the tasks at or before this time have been performed.
+   * @param timelineSize the number of time points in the timeline at the time the copy was taken
+   * @param timeline a timeline whose first {@code timelineSize} points are those observed by this checkpoint
+   * @param engine a parked copy of the engine, never stepped itself
+   * @param cells the state of the top-level cells at the time the copy was taken
+   * @param plannedDirectiveToTask the tasks of the directives scheduled at the time the copy was taken
+   * @param coveredDirectives the directives which had all been handed to the engine at the time the copy was taken
+   */
+  private record Checkpoint(
+      Duration time,
+      int timelineSize,
+      TemporalEventSource timeline,
+      SimulationEngine engine,
+      LiveCells.Snapshot cells,
+      Map<ActivityDirectiveId, TaskId> plannedDirectiveToTask,
+      Set<ActivityDirectiveId> coveredDirectives
+  ) {
+    public Checkpoint withTimeline(final TemporalEventSource timeline) {
+      return new Checkpoint(time, timelineSize, timeline, engine, cells, plannedDirectiveToTask, coveredDirectives);
+    }
+
+    public long estimateRetainedSize() {
+      return this.engine.estimateRetainedSize() + this.cells.size() + this.plannedDirectiveToTask.size();
+    }
+  }
+
 
   private void printTimeSpent(){
     final var dur = durationSinceRestart/1_000_000_000.;
@@ -103,9 +266,13 @@ public class ResumableSimulationDriver<Model> implements AutoCloseable {
     toCheckForDependencyScheduling.clear();
     lastSimResults = null;
     lastSimResultsEnd = Duration.ZERO;
+    resultsCache = new SimulationEngine.ResultsCache();
     long before = System.nanoTime();
+    discardCheckpointsAfter(Duration.MIN_VALUE);
+    this.checkpointPeriod = this.checkpointPolicy.period();
     if (this.engine != null) this.engine.close();
-    this.engine = new SimulationEngine();
+    // Only an engine which will be checkpointed or duplicated needs its tasks to keep a record of their past.
+    this.engine = new SimulationEngine(SimulationEngine.BatchMode.Serial, isDuplicable());
     batch = null;
     /* The top-level simulation timeline. */
     this.timeline = new TemporalEventSource();
@@ -138,13 +305,147 @@ public class ResumableSimulationDriver<Model> implements AutoCloseable {
     return countSimulationRestarts;
   }
 
+  /**
+   * Return the number of simulation restarts avoided by resuming from a checkpoint instead
+   * @return the number of simulation restarts avoided
+   */
+  public int getCountSimulationRestartsAvoided(){
+    return countSimulationRestartsAvoided;
+  }
+
+  /**
+   * Return the number of checkpoints currently retained
+   * @return the number of checkpoints currently retained
+   */
+  public int getCountCheckpoints(){
+    return checkpoints.size();
+  }
+
+  /**
+   * Estimate the memory cost of the checkpoints currently retained, as the number of tasks, conditions, jobs,
+   * profile segments and cells they hold on to. The timeline is shared between checkpoints and is not counted.
+   * @return the estimated size of the retained checkpoints
+   */
+  public long estimateCheckpointsRetainedSize(){
+    long size = 0;
+    for (final var checkpoint : checkpoints) size += checkpoint.estimateRetainedSize();
+    return size;
+  }
+
   @Override
   public void close() {
     logger.debug("Closing sim");
     printTimeSpent();
+    discardCheckpointsAfter(Duration.MIN_VALUE);
     this.engine.close();
   }
 
+  /**
+   * Take a checkpoint of the current simulation state, if one is due.
+   * Must be called between batches, before the next batch is extracted from the engine.
+   */
+  private void checkpointIfDue() {
+    if (!checkpointPolicy.isEnabled()) return;
+    // Dependent activities waiting on their anchor are tracked outside the engine, only for the duration of the call
+    // to simulateSchedule() which scheduled them. A copy of the engine taken now would lose track of them.
+    if (!toCheckForDependencyScheduling.isEmpty()) return;
+    if (!checkpoints.isEmpty() && curTime.minus(checkpoints.get(checkpoints.size() - 1).time()).shorterThan(checkpointPeriod)) return;
+
+    checkpoints.add(new Checkpoint(
+        curTime,
+        timeline.size(),
+        timeline,
+        engine.duplicate(),
+        cells.snapshot(),
+        Map.copyOf(plannedDirectiveToTask),
+        Set.copyOf(activitiesInserted.keySet())));
+
+    if (checkpoints.size() > checkpointPolicy.capacity()) {
+      // Keep the most recent checkpoint and every other one before it, so that the retained checkpoints stay spread
+      // over the whole simulated period.
+      final var retained = new ArrayList<Checkpoint>();
+      for (var i = checkpoints.size() - 1; i >= 0; i--) {
+        if ((checkpoints.size() - 1 - i) % 2 == 0) retained.add(0, checkpoints.get(i));
+        else checkpoints.get(i).engine().close();
+      }
+      checkpoints.clear();
+      checkpoints.addAll(retained);
+      checkpointPeriod = checkpointPeriod.times(2);
+    }
+  }
+
+  /** Discard and release every checkpoint taken at or after the given time. */
+  private void discardCheckpointsAfter(final Duration time) {
+    final var iterator = checkpoints.iterator();
+    while (iterator.hasNext()) {
+      final var checkpoint = iterator.next();
+      if (checkpoint.time().shorterThan(time)) continue;
+      checkpoint.engine().close();
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Find the latest checkpoint from which the activities it has not seen yet can be simulated.
+   * The checkpoint must not have seen any of the removed activities. The activities it has not seen must all start
+   * strictly after the checkpoint, and must not be anchored to an activity it has already seen.
+   */
+  private Optional<Checkpoint> findCheckpointToResumeFrom(final Set<ActivityDirectiveId> removed) {
+    for (var i = checkpoints.size() - 1; i >= 0; i--) {
+      final var checkpoint = checkpoints.get(i);
+      if (removed.stream().anyMatch(checkpoint.coveredDirectives()::contains)) continue;
+
+      final var unseen = getDirectivesNotCoveredBy(checkpoint);
+      if (unseen.isEmpty()) return Optional.of(checkpoint);
+
+      final var anchoredToSeen = unseen
+          .values()
+          .stream()
+          .anyMatch($ -> $.anchorId() != null && checkpoint.coveredDirectives().contains($.anchorId()));
+      if (anchoredToSeen) continue;
+
+      final var resolved = StartOffsetReducer.filterOutNegativeStartOffset(new StartOffsetReducer(planDuration, unseen).compute());
+      final var roots = resolved.get(null);
+      if (roots == null) continue;
+      if (roots.stream().allMatch($ -> $.getRight().longerThan(checkpoint.time()))) return Optional.of(checkpoint);
+    }
+    return Optional.empty();
+  }
+
+  private Map<ActivityDirectiveId, ActivityDirective> getDirectivesNotCoveredBy(final Checkpoint checkpoint) {
+    final var unseen = new HashMap<ActivityDirectiveId, ActivityDirective>();
+    activitiesInserted.forEach((id, directive) -> {
+      if (!checkpoint.coveredDirectives().contains(id)) unseen.put(id, directive);
+    });
+    return unseen;
+  }
+
+  /** Replace the current simulation state by a copy of the given checkpoint. The checkpoint itself is left untouched. */
+  private void resumeFromCheckpoint(final Checkpoint checkpoint) {
+    logger.info("Resuming simulation from checkpoint at " + checkpoint.time() + " instead of restarting");
+    final var before = System.nanoTime();
+    discardCheckpointsAfter(checkpoint.time().plus(Duration.EPSILON));
+
+    this.engine.close();
+    this.engine = checkpoint.engine().duplicate();
+    this.timeline = checkpoint.timeline().prefix(checkpoint.timelineSize());
+    this.cells = LiveCells.restore(checkpoint.cells(), this.timeline);
+    this.curTime = checkpoint.time();
+    this.batch = null;
+    this.plannedDirectiveToTask.clear();
+    this.plannedDirectiveToTask.putAll(checkpoint.plannedDirectiveToTask());
+    this.toCheckForDependencyScheduling.clear();
+    this.lastSimResults = null;
+    this.lastSimResultsEnd = Duration.ZERO;
+    this.resultsCache = new SimulationEngine.ResultsCache();
+
+    // The remaining checkpoints are all prefixes of the new timeline; let go of the old one.
+    this.checkpoints.replaceAll($ -> $.withTimeline(this.timeline));
+
+    this.durationSinceRestart += System.nanoTime() - before;
+    countSimulationRestartsAvoided++;
+  }
+
   private void simulateUntil(Duration endTime) throws SchedulingInterruptedException{
     long before = System.nanoTime();
     logger.info("Simulating until "+endTime);
@@ -163,6 +464,7 @@ public class ResumableSimulationDriver<Model> implements AutoCloseable {
         final var commit = engine.performJobs(batch.jobs(), cells, curTime, Duration.MAX_VALUE);
         timeline.add(commit);
 
+        checkpointIfDue();
         batch = engine.extractNextJobs(Duration.MAX_VALUE);
       }
       lastSimResults = null;
@@ -209,14 +511,56 @@ public class ResumableSimulationDriver<Model> implements AutoCloseable {
     final var earliestStartOffset = resolved.get(null).get(0);
 
     if(earliestStartOffset.getRight().noLongerThan(curTime)){
-      logger.info("Restarting simulation because earliest start of activity to simulate " + earliestStartOffset.getRight() + " is before current sim time " + curTime);
-      initSimulation();
-      simulateSchedule(activitiesInserted);
+      final var checkpoint = findCheckpointToResumeFrom(Set.of());
+      if (checkpoint.isPresent()) {
+        resumeFromCheckpoint(checkpoint.get());
+        simulateSchedule(getDirectivesNotCoveredBy(checkpoint.get()));
+      } else {
+        logger.info("Restarting simulation because earliest start of activity to simulate " + earliestStartOffset.getRight() + " is before current sim time " + curTime);
+        initSimulation();
+        simulateSchedule(activitiesInserted);
+      }
     } else {
       simulateSchedule(activitiesToSimulate);
     }
   }
 
+  /**
+   * Remove activity directives from the simulation, and simulate others in their place.
+   *
+   * The simulation resumes from the latest checkpoint which has not seen any of the removed directives, and from which
+   * the remaining directives it has not seen can be simulated. Without such a checkpoint, the simulation is restarted.
+   *
+   * @param activitiesToRemove the ids of the directives to remove; ids which have not been simulated are ignored
+   * @param activitiesToSimulate the directives to simulate
+   */
+  public void removeAndSimulateActivities(
+      @NotNull Set<ActivityDirectiveId> activitiesToRemove,
+      @NotNull Map<ActivityDirectiveId, ActivityDirective> activitiesToSimulate
+  ) throws SchedulingInterruptedException {
+    final var removed = new HashSet<ActivityDirectiveId>();
+    for (final var id : activitiesToRemove) {
+      if (activitiesInserted.remove(id) != null) removed.add(id);
+    }
+    if (removed.isEmpty()) {
+      simulateActivities(activitiesToSimulate);
+      return;
+    }
+
+    activitiesInserted.putAll(activitiesToSimulate);
+
+    final var checkpoint = findCheckpointToResumeFrom(removed);
+    if (checkpoint.isPresent()) {
+      resumeFromCheckpoint(checkpoint.get());
+      final var unseen = getDirectivesNotCoveredBy(checkpoint.get());
+      if (!unseen.isEmpty()) simulateSchedule(unseen);
+    } else {
+      logger.info("Restarting simulation because " + removed.size() + " activities were removed");
+      initSimulation();
+      if (!activitiesInserted.isEmpty()) simulateSchedule(activitiesInserted);
+    }
+  }
+
 
   /**
    * Get the simulation results from the Duration.ZERO to the current simulation time point
@@ -252,6 +596,7 @@ public class ResumableSimulationDriver<Model> implements AutoCloseable {
       if(canceledListener.get()) throw new SchedulingInterruptedException("computing simulation results");
       lastSimResults = SimulationEngine.computeResults(
           engine,
+          resultsCache,
           startTimestamp,
           endTime,
           activityTopic,
@@ -321,6 +666,8 @@ public class ResumableSimulationDriver<Model> implements AutoCloseable {
         allTaskFinished = true;
       }
 
+      checkpointIfDue();
+
       // Update batch and increment real time, if necessary.
       batch = engine.extractNextJobs(Duration.MAX_VALUE);
       delta = batch.offsetFromStart().minus(curTime);
@@ -21,9 +21,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 
 /**
@@ -48,6 +50,12 @@ public class SimulationFacade implements AutoCloseable{
   private final Map<SchedulingActivityDirective, ActivityDirective> insertedActivities;
   //counts the total number of simulation restarts, used as performance metric in the scheduler
   private int pastSimulationRestarts;
+  //counts the total number of simulation restarts avoided by resuming from a checkpoint, used as performance metric in the scheduler
+  private int pastSimulationRestartsAvoided;
+  //how the simulation driver retains checkpoints of the simulation state
+  private final ResumableSimulationDriver.CheckpointPolicy checkpointPolicy;
+  //whether the simulation driver may be duplicated, so that this facade may be forked
+  private final boolean forkable;
 
   public SimulationData lastSimulationData;
 
@@ -111,14 +119,42 @@ public class SimulationFacade implements AutoCloseable{
       final MissionModel<?> missionModel,
       final SchedulerModel schedulerModel,
       Supplier<Boolean> canceledListener
+  ) {
+    this(planningHorizon, missionModel, schedulerModel, canceledListener, ResumableSimulationDriver.CheckpointPolicy.disabled());
+  }
+
+  public SimulationFacade(
+      final PlanningHorizon planningHorizon,
+      final MissionModel<?> missionModel,
+      final SchedulerModel schedulerModel,
+      Supplier<Boolean> canceledListener,
+      final ResumableSimulationDriver.CheckpointPolicy checkpointPolicy
+  ) {
+    this(planningHorizon, missionModel, schedulerModel, canceledListener, checkpointPolicy, false);
+  }
+
+  /**
+   * @param forkable whether this facade may be {@link #fork() forked}, which requires the simulation driver to keep a
+   *                 record of the past of its tasks; a facade which checkpoints may always be forked
+   */
+  public SimulationFacade(
+      final PlanningHorizon planningHorizon,
+      final MissionModel<?> missionModel,
+      final SchedulerModel schedulerModel,
+      Supplier<Boolean> canceledListener,
+      final ResumableSimulationDriver.CheckpointPolicy checkpointPolicy,
+      final boolean forkable
   ) {
     this.missionModel = missionModel;
     this.planningHorizon = planningHorizon;
-    this.driver = new ResumableSimulationDriver<>(missionModel, planningHorizon.getAerieHorizonDuration(), canceledListener);
+    this.checkpointPolicy = checkpointPolicy;
+    this.forkable = forkable;
+    this.driver = new ResumableSimulationDriver<>(missionModel, planningHorizon.getAerieHorizonDuration(), canceledListener, checkpointPolicy, forkable);
     this.itSimActivityId = 0;
     this.insertedActivities = new HashMap<>();
     this.activityTypes = new HashMap<>();
     this.pastSimulationRestarts = 0;
+    this.pastSimulationRestartsAvoided = 0;
     this.initialPlan = new ArrayList<>();
     this.initialSimulationResults = Optional.empty();
     this.schedulerModel = schedulerModel;
@@ -130,6 +166,49 @@ public class SimulationFacade implements AutoCloseable{
     driver.close();
   }
 
+  /** Construct a fork of another facade, around a copy of its simulation driver, see {@link #fork()}. */
+  private SimulationFacade(final SimulationFacade other, final ResumableSimulationDriver<?> driver) {
+    this.missionModel = other.missionModel;
+    this.planningHorizon = other.planningHorizon;
+    this.checkpointPolicy = other.checkpointPolicy;
+    this.forkable = other.forkable;
+    this.driver = driver;
+    this.itSimActivityId = other.itSimActivityId;
+    this.planActDirectiveIdToSimulationActivityDirectiveId.putAll(other.planActDirectiveIdToSimulationActivityDirectiveId);
+    this.insertedActivities = new HashMap<>(other.insertedActivities);
+    this.activityTypes = new HashMap<>(other.activityTypes);
+    this.pastSimulationRestarts = 0;
+    this.pastSimulationRestartsAvoided = 0;
+    this.initialPlan = new ArrayList<>(other.initialPlan);
+    this.initialSimulationResults = other.initialSimulationResults;
+    this.initialPlanHasBeenModified = other.initialPlanHasBeenModified;
+    this.lastSimulationData = other.lastSimulationData;
+    this.schedulerModel = other.schedulerModel;
+    this.canceledListener = other.canceledListener;
+  }
+
+  /**
+   * Whether this facade may be {@link #fork() forked}
+   * @return true if this facade was constructed as forkable or with checkpoints enabled
+   */
+  public boolean canFork(){
+    return this.driver.isDuplicable();
+  }
+
+  /**
+   * Creates a facade simulating the same plan as this one, from a copy of the current state of its simulation driver,
+   * so that the two may be simulated independently of (and concurrently with) one another.
+   * Only what has not been simulated here yet is simulated by the fork, and only when first needed.
+   *
+   * This facade must not be simulating while it is being forked.
+   *
+   * @return the fork, which the caller is responsible for closing
+   * @throws IllegalStateException if this facade was not constructed as forkable, nor with checkpoints enabled
+   */
+  public SimulationFacade fork(){
+    return new SimulationFacade(this, this.driver.duplicate());
+  }
+
   /**
    * Adds a set of activities that will not be simulated yet. They will be simulated at the latest possible time, when it cannot be avoided.
    * This is to allow the use of initial simulation results in PrioritySolver.
@@ -215,10 +294,12 @@ public class SimulationFacade implements AutoCloseable{
     activitiesToRemove.stream().forEach(remove -> logger.debug("Removing act starting at " + remove.startOffset()));
     activitiesToAdd.stream().forEach(adding -> logger.debug("Adding act starting at " + adding.startOffset()));
     var atLeastOneActualRemoval = false;
+    final var removedDirectiveIds = new HashSet<ActivityDirectiveId>();
     for(final var act: activitiesToRemove){
       if(insertedActivities.containsKey(act)){
         atLeastOneActualRemoval = true;
         insertedActivities.remove(act);
+        removedDirectiveIds.add(planActDirectiveIdToSimulationActivityDirectiveId.remove(act.getId()));
       }
     }
     var allActivitiesToSimulate = new ArrayList<>(activitiesToAdd);
@@ -230,6 +311,12 @@ public class SimulationFacade implements AutoCloseable{
       earliestActStartTime = Duration.min(earliestActStartTime, act.startOffset());
     }
     if(allActivitiesToSimulate.isEmpty() && !atLeastOneActualRemoval) return;
+    //when checkpointing, removals and insertions in the past are left to the driver, which can resume from a checkpoint
+    //prior to them instead of simulating the whole plan again
+    if(checkpointPolicy.isEnabled()){
+      simulateActivities(removedDirectiveIds, allActivitiesToSimulate);
+      return;
+    }
     //reset resumable simulation
     if(atLeastOneActualRemoval || earliestActStartTime.noLongerThan(this.driver.getCurrentSimulationEndTime())){
       allActivitiesToSimulate.addAll(insertedActivities.keySet());
@@ -238,12 +325,14 @@ public class SimulationFacade implements AutoCloseable{
       logger.info("(Re)creating simulation driver because at least one removal("+atLeastOneActualRemoval+") or insertion in the past ("+earliestActStartTime+")");
       if (driver != null) {
         this.pastSimulationRestarts += driver.getCountSimulationRestarts();
+        this.pastSimulationRestartsAvoided += driver.getCountSimulationRestartsAvoided();
         driver.close();
       }
       logger.info("Number of simulation restarts so far: " + this.pastSimulationRestarts);
-      driver = new ResumableSimulationDriver<>(missionModel, planningHorizon.getAerieHorizonDuration(), canceledListener);
+      logger.info("Number of simulation restarts avoided by checkpoints so far: " + this.pastSimulationRestartsAvoided);
+      driver = new ResumableSimulationDriver<>(missionModel, planningHorizon.getAerieHorizonDuration(), canceledListener, checkpointPolicy, forkable);
     }
-    simulateActivities(allActivitiesToSimulate);
+    simulateActivities(Set.of(), allActivitiesToSimulate);
   }
 
   public void removeActivitiesFromSimulation(final Collection<SchedulingActivityDirective> activities)
@@ -260,6 +349,23 @@ public class SimulationFacade implements AutoCloseable{
     return this.driver.getCountSimulationRestarts() + this.pastSimulationRestarts;
   }
 
+  /**
+   * Returns the total number of simulation restarts avoided by resuming from a checkpoint
+   * @return the number of simulation restarts avoided
+   */
+  public int countSimulationRestartsAvoided(){
+    return this.driver.getCountSimulationRestartsAvoided() + this.pastSimulationRestartsAvoided;
+  }
+
+  /**
+   * Returns the estimated memory cost of the checkpoints currently retained by the simulation driver,
+   * as a count of the objects they hold on to
+   * @return the estimated size of the retained checkpoints
+   */
+  public long estimateCheckpointsRetainedSize(){
+    return this.driver.estimateCheckpointsRetainedSize();
+  }
+
   public void insertActivitiesIntoSimulation(final Collection<SchedulingActivityDirective> activities)
   throws SimulationException, SchedulingInterruptedException
   {
@@ -288,12 +394,14 @@ public class SimulationFacade implements AutoCloseable{
     this.planActDirectiveIdToSimulationActivityDirectiveId.put(replacement.id(), simulationId);
   }
 
-  private void simulateActivities(final Collection<SchedulingActivityDirective> activities)
+  private void simulateActivities(
+      final Set<ActivityDirectiveId> directivesToRemove,
+      final Collection<SchedulingActivityDirective> activities)
   throws SimulationException, SchedulingInterruptedException {
     final var activitiesSortedByStartTime =
         activities.stream().filter(activity -> !(insertedActivities.containsKey(activity)))
                   .sorted(Comparator.comparing(SchedulingActivityDirective::startOffset)).toList();
-    if(activitiesSortedByStartTime.isEmpty()) return;
+    if(activitiesSortedByStartTime.isEmpty() && directivesToRemove.isEmpty()) return;
     final Map<ActivityDirectiveId, ActivityDirective> directivesToSimulate = new HashMap<>();
 
     for(final var activity : activitiesSortedByStartTime){
@@ -309,7 +417,7 @@ public class SimulationFacade implements AutoCloseable{
       insertedActivities.put(activity, activityDirective);
     }
     try {
-      driver.simulateActivities(directivesToSimulate);
+      driver.removeAndSimulateActivities(directivesToRemove, directivesToSimulate);
     } catch (SchedulingInterruptedException e) {
       throw e; //pass interruption up
     } catch (Exception e){
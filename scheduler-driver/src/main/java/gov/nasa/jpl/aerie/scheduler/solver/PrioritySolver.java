@@ -43,6 +43,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -91,6 +93,18 @@ public class PrioritySolver implements Solver {
 
   private final SimulationFacade simulationFacade;
 
+  /**
+   * the number of candidate start times simulated at once when placing an activity of uncontrollable duration
+   *
+   * when greater than one, and the simulation facade can be forked, candidates are simulated on forks of the facade, see SpeculativeDurationFunction
+   */
+  private final int rootfindingParallelism;
+
+  /**
+   * the threads simulating candidate start times, created on first use and shut down once the solution is found
+   */
+  private ExecutorService rootfindingExecutor;
+
   public record ActivityMetadata(SchedulingActivityDirective activityDirective){}
   public static class HistoryWithActivity implements EquationSolvingAlgorithms.History<Duration, ActivityMetadata> {
     List<Pair<EquationSolvingAlgorithms.FunctionCoordinate<Duration>, Optional<ActivityMetadata>>> events;
@@ -138,7 +152,24 @@ public class PrioritySolver implements Solver {
    *     solved, which must not change
    */
   public PrioritySolver(final Problem problem, final boolean analysisOnly) {
+    this(problem, analysisOnly, 1);
+  }
+
+  /**
+   * create a new greedy solver for the specified input planning problem
+   *
+   * @param problem IN, STORED description of the planning problem to be
+   *     solved, which must not change
+   * @param analysisOnly whether only conflict analysis should be performed
+   * @param rootfindingParallelism the number of candidate start times to simulate at once when placing an activity
+   *     of uncontrollable duration; the solution found is the same whatever the parallelism
+   */
+  public PrioritySolver(final Problem problem, final boolean analysisOnly, final int rootfindingParallelism) {
     checkNotNull(problem, "creating solver with null input problem descriptor");
+    if (rootfindingParallelism < 1) {
+      throw new IllegalArgumentException("Rootfinding parallelism must be at least 1, got " + rootfindingParallelism);
+    }
+    this.rootfindingParallelism = rootfindingParallelism;
     this.checkSimBeforeInsertingActivities = true;
     this.checkSimBeforeEvaluatingGoal = true;
     this.problem = problem;
@@ -174,7 +205,11 @@ public class PrioritySolver implements Solver {
       }
 
       //attempt to satisfy the goals in the problem
-      solve();
+      try {
+        solve();
+      } finally {
+        if (rootfindingExecutor != null) rootfindingExecutor.shutdownNow();
+      }
 
       return Optional.of(plan);
 
@@ -999,6 +1034,17 @@ public class PrioritySolver implements Solver {
     //CASE 1: activity has an uncontrollable duration
     if(activityExpression.type().getDurationType() instanceof DurationType.Uncontrollable){
       final var history = new HistoryWithActivity();
+      if (rootfindingParallelism > 1 && simulationFacade.canFork() && SpeculativeDurationFunction.supports(activityExpression)) {
+        try (final var f = new SpeculativeDurationFunction(
+            activityExpression,
+            evaluationEnvironment,
+            simulationFacade,
+            getRootfindingExecutor(),
+            rootfindingParallelism))
+        {
+          return rootFindingHelper(f, history, solved, true);
+        }
+      }
       final var f = new EquationSolvingAlgorithms.Function<Duration, ActivityMetadata>(){
         @Override
         public Duration valueAt(Duration start, final EquationSolvingAlgorithms.History<Duration, ActivityMetadata> history)
@@ -1039,7 +1085,7 @@ public class PrioritySolver implements Solver {
         }
 
       };
-      return rootFindingHelper(f, history, solved);
+      return rootFindingHelper(f, history, solved, false);
       //CASE 2: activity has a controllable duration
     } else if (activityExpression.type().getDurationType() instanceof DurationType.Controllable dt) {
       //select earliest start time, STN guarantees satisfiability
@@ -1134,16 +1180,32 @@ public class PrioritySolver implements Solver {
         }
       };
 
-      return rootFindingHelper(f, history, solved);
+      return rootFindingHelper(f, history, solved, false);
     } else {
       throw new UnsupportedOperationException("Unsupported duration type found: " + activityExpression.type().getDurationType());
     }
   }
 
+  private ExecutorService getRootfindingExecutor() {
+    if (rootfindingExecutor == null) {
+      rootfindingExecutor = Executors.newFixedThreadPool(rootfindingParallelism, runnable -> {
+        final var thread = new Thread(runnable, "scheduler-rootfinding");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return rootfindingExecutor;
+  }
+
+  /**
+   * @param speculative whether f simulated its candidates on forks of the simulation facade rather than on the facade
+   *     itself, in which case the activity found is inserted in the facade, where simulating it would have left it
+   */
   private  Optional<SchedulingActivityDirective> rootFindingHelper(
       final EquationSolvingAlgorithms.Function<Duration, ActivityMetadata> f,
       final HistoryWithActivity history,
-      final TaskNetworkAdapter.TNActData solved
+      final TaskNetworkAdapter.TNActData solved,
+      final boolean speculative
   ) throws SchedulingInterruptedException {
     try {
       var endInterval = solved.end();
@@ -1168,7 +1230,15 @@ public class PrioritySolver implements Solver {
       logger.info("Finished rootfinding: SUCCESS");
       history.logHistory();
       final var lastActivityTested = result.history().getHistory().get(history.getHistory().size() - 1);
-      return Optional.of(lastActivityTested.getRight().get().activityDirective());
+      final var activity = lastActivityTested.getRight().get().activityDirective();
+      if (speculative) {
+        try {
+          simulationFacade.insertActivitiesIntoSimulation(List.of(activity));
+        } catch (SimulationFacade.SimulationException e) {
+          throw new RuntimeException("Exception while simulating plan after activity insertion" ,e);
+        }
+      }
+      return Optional.of(activity);
     } catch (EquationSolvingAlgorithms.ZeroDerivativeException zeroOrInfiniteDerivativeException) {
       logger.info("Rootfinding encountered a zero-derivative");
     } catch (EquationSolvingAlgorithms.InfiniteDerivativeException infiniteDerivativeException) {
@@ -1180,7 +1250,7 @@ public class PrioritySolver implements Solver {
     } catch (EquationSolvingAlgorithms.NoSolutionException e) {
       logger.info("Rootfinding found no solution");
     }
-    if(!history.events.isEmpty()) {
+    if(!speculative && !history.events.isEmpty()) {
       try {
         simulationFacade.removeActivitiesFromSimulation(List.of(history.getLastEvent().get().getRight().get().activityDirective()));
       } catch (SimulationFacade.SimulationException e) {
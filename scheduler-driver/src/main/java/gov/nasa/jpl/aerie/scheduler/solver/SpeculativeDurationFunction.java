@@ -0,0 +1,197 @@
+package gov.nasa.jpl.aerie.scheduler.solver;
+
+import gov.nasa.jpl.aerie.constraints.model.EvaluationEnvironment;
+import gov.nasa.jpl.aerie.constraints.tree.Expression;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.scheduler.EquationSolvingAlgorithms;
+import gov.nasa.jpl.aerie.scheduler.SchedulingInterruptedException;
+import gov.nasa.jpl.aerie.scheduler.constraints.activities.ActivityExpression;
+import gov.nasa.jpl.aerie.scheduler.model.SchedulingActivityDirective;
+import gov.nasa.jpl.aerie.scheduler.model.SchedulingActivityDirectiveId;
+import gov.nasa.jpl.aerie.scheduler.simulation.SimulationFacade;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * The end time of an activity of uncontrollable duration as a function of its start time,
+ * computed by simulating the activity on forks of the simulation facade.
+ *
+ * The facade itself is left untouched, so values are independent of one another: each value prefetched by the
+ * rootfinding algorithm is simulated on a fork of its own, as many at once as the executor allows. Only the values
+ * which are then requested are recorded in the history, in the order they are requested, so the rootfinding proceeds
+ * exactly as it would have had they been simulated one after another on the facade.
+ *
+ * Each fork starts from a copy of the facade's simulation state, so the facade must have been constructed forkable.
+ *
+ * The arguments of the activity are instantiated without simulation results, so they must not depend on any.
+ */
+/*package-private*/ final class SpeculativeDurationFunction
+    implements EquationSolvingAlgorithms.Function<Duration, PrioritySolver.ActivityMetadata>, AutoCloseable
+{
+  private static final Logger logger = LoggerFactory.getLogger(SpeculativeDurationFunction.class);
+
+  // Candidates are only ever simulated alone on their own fork, so they can share an id no plan activity uses.
+  private static final SchedulingActivityDirectiveId CANDIDATE_ID = new SchedulingActivityDirectiveId(Long.MIN_VALUE);
+
+  private record Speculation(SimulationFacade fork, Future<Optional<Duration>> duration) {}
+
+  private final ActivityExpression activityExpression;
+  private final EvaluationEnvironment evaluationEnvironment;
+  private final SimulationFacade simulationFacade;
+  private final ExecutorService executor;
+  private final int parallelism;
+
+  private final Map<Duration, Speculation> speculations = new HashMap<>();
+  private int discardedSpeculations = 0;
+
+  public SpeculativeDurationFunction(
+      final ActivityExpression activityExpression,
+      final EvaluationEnvironment evaluationEnvironment,
+      final SimulationFacade simulationFacade,
+      final ExecutorService executor,
+      final int parallelism)
+  {
+    this.activityExpression = activityExpression;
+    this.evaluationEnvironment = evaluationEnvironment;
+    this.simulationFacade = simulationFacade;
+    this.executor = executor;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Whether the arguments of an activity can be instantiated without simulation results,
+   * in which case its duration may be computed by this function.
+   */
+  public static boolean supports(final ActivityExpression activityExpression) {
+    return activityExpression.arguments().values().stream().noneMatch(Expression::dependsOnSimulationResults);
+  }
+
+  @Override
+  public int parallelism() {
+    return this.parallelism;
+  }
+
+  @Override
+  public void prefetch(final List<Duration> starts) {
+    for (final var start : starts) {
+      if (this.speculations.containsKey(start)) continue;
+
+      final var arguments = this.instantiateArguments(start);
+      // The fork is taken now, while the facade is known not to be changing underneath it.
+      final var fork = this.simulationFacade.fork();
+      final var duration = this.executor.submit(() -> {
+        try (fork) {
+          return simulate(fork, start, arguments);
+        }
+      });
+      this.speculations.put(start, new Speculation(fork, duration));
+    }
+  }
+
+  @Override
+  public Duration valueAt(final Duration start, final EquationSolvingAlgorithms.History<Duration, PrioritySolver.ActivityMetadata> history)
+  throws EquationSolvingAlgorithms.DiscontinuityException, SchedulingInterruptedException
+  {
+    final var arguments = this.instantiateArguments(start);
+
+    final var speculation = this.speculations.remove(start);
+    final Optional<Duration> computedDuration;
+    if (speculation != null) {
+      computedDuration = await(speculation.duration());
+    } else {
+      try (final var fork = this.simulationFacade.fork()) {
+        computedDuration = simulate(fork, start, arguments);
+      }
+    }
+
+    final var actToSim = SchedulingActivityDirective.of(
+        this.activityExpression.type(),
+        start,
+        null,
+        arguments,
+        null,
+        null,
+        true);
+    if (computedDuration.isPresent()) {
+      history.add(new EquationSolvingAlgorithms.FunctionCoordinate<>(start, start.plus(computedDuration.get())), new PrioritySolver.ActivityMetadata(actToSim));
+    } else {
+      history.add(new EquationSolvingAlgorithms.FunctionCoordinate<>(start, null), new PrioritySolver.ActivityMetadata(actToSim));
+    }
+    return computedDuration.map(start::plus).orElseThrow(EquationSolvingAlgorithms.DiscontinuityException::new);
+  }
+
+  /**
+   * Discards the values which were prefetched but never requested.
+   */
+  @Override
+  public void close() {
+    for (final var speculation : this.speculations.values()) {
+      // A simulation which has not started yet never will, so its fork must be closed here instead.
+      if (speculation.duration().cancel(false)) speculation.fork().close();
+      this.discardedSpeculations++;
+    }
+    this.speculations.clear();
+    logger.debug("Discarded " + this.discardedSpeculations + " speculative simulations");
+  }
+
+  private Map<String, SerializedValue> instantiateArguments(final Duration start) {
+    return SchedulingActivityDirective.instantiateArguments(
+        this.activityExpression.arguments(),
+        start,
+        null,
+        this.evaluationEnvironment,
+        this.activityExpression.type());
+  }
+
+  private Optional<Duration> simulate(
+      final SimulationFacade fork,
+      final Duration start,
+      final Map<String, SerializedValue> arguments)
+  throws SchedulingInterruptedException
+  {
+    final var candidate = new SchedulingActivityDirective(
+        CANDIDATE_ID,
+        this.activityExpression.type(),
+        start,
+        null,
+        arguments,
+        null,
+        null,
+        true);
+    try {
+      fork.insertActivitiesIntoSimulation(List.of(candidate));
+      final var duration = fork.getActivityDuration(candidate);
+      if (duration.isEmpty()) {
+        logger.debug("No simulation error but activity duration could not be found in simulation, likely caused by unfinished activity or activity outside plan bounds.");
+      }
+      return duration;
+    } catch (SimulationFacade.SimulationException e) {
+      logger.debug("Simulation error while trying to simulate activities: " + e);
+      return Optional.empty();
+    }
+  }
+
+  private static Optional<Duration> await(final Future<Optional<Duration>> duration) throws SchedulingInterruptedException {
+    try {
+      return duration.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SchedulingInterruptedException("waiting for a speculative simulation");
+    } catch (ExecutionException e) {
+      final var cause = e.getCause();
+      if (cause instanceof SchedulingInterruptedException ex) throw ex;
+      if (cause instanceof RuntimeException ex) throw ex;
+      if (cause instanceof Error ex) throw ex;
+      throw new RuntimeException(cause);
+    }
+  }
+}
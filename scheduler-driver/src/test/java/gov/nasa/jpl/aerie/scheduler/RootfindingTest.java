@@ -4,7 +4,17 @@ import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.scheduler.solver.PrioritySolver;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class RootfindingTest {
   final Duration zeroSecond = Duration.of(0, Duration.SECONDS);
@@ -167,4 +177,102 @@ public class RootfindingTest {
     assertEquals(2, solution.history().getHistory().size());
     assertEquals(new EquationSolvingAlgorithms.FunctionCoordinate<>(Duration.of(0, Duration.MICROSECONDS), Duration.of(0, Duration.MICROSECONDS)), solution.functionCoordinate());
   }
+
+  //prefetching values concurrently must not change which values are requested, nor in which order
+  @Test
+  public void prefetchedDiscontinuousMatchesSequential()
+  throws EquationSolvingAlgorithms.ZeroDerivativeException, EquationSolvingAlgorithms.NoSolutionException,
+         EquationSolvingAlgorithms.ExceededMaxIterationException, EquationSolvingAlgorithms.DivergenceException,
+         EquationSolvingAlgorithms.InfiniteDerivativeException, SchedulingInterruptedException
+  {
+    final var sequentialHistory = new PrioritySolver.HistoryWithActivity();
+    final var sequentialSolution = findRootOfMostlyDiscontinuous(new MostlyDiscontinuousFunction(1), sequentialHistory);
+
+    final var prefetchingFunction = new MostlyDiscontinuousFunction(4);
+    final var prefetchingHistory = new PrioritySolver.HistoryWithActivity();
+    final var prefetchingSolution = findRootOfMostlyDiscontinuous(prefetchingFunction, prefetchingHistory);
+
+    assertEquals(sequentialSolution.functionCoordinate(), prefetchingSolution.functionCoordinate());
+    assertEquals(sequentialHistory.getHistory(), prefetchingHistory.getHistory());
+    assertEquals(List.of(), prefetchingFunction.computedSynchronously);
+    assertTrue(prefetchingFunction.prefetched.size() > 1);
+  }
+
+  private static EquationSolvingAlgorithms.RootFindingResult<Duration, PrioritySolver.ActivityMetadata> findRootOfMostlyDiscontinuous(
+      final MostlyDiscontinuousFunction function,
+      final PrioritySolver.HistoryWithActivity history)
+  throws EquationSolvingAlgorithms.ZeroDerivativeException, EquationSolvingAlgorithms.NoSolutionException,
+         EquationSolvingAlgorithms.ExceededMaxIterationException, EquationSolvingAlgorithms.DivergenceException,
+         EquationSolvingAlgorithms.InfiniteDerivativeException, SchedulingInterruptedException
+  {
+    try {
+      return new EquationSolvingAlgorithms.SecantDurationAlgorithm<PrioritySolver.ActivityMetadata>().findRoot(
+          function,
+          history,
+          oneSecond,
+          Duration.of(39, Duration.SECONDS).plus(121, Duration.MICROSECONDS),
+          Duration.of(50, Duration.MICROSECONDS),
+          Duration.of(50, Duration.MICROSECONDS),
+          Duration.of(0, Duration.SECONDS),
+          Duration.of(30, Duration.SECONDS),
+          100);
+    } finally {
+      function.executor.shutdownNow();
+    }
+  }
+
+  //f(x) = 2x, discontinuous unless x is a multiple of 3 microseconds, computed ahead of time when prefetched
+  private static final class MostlyDiscontinuousFunction
+      implements EquationSolvingAlgorithms.Function<Duration, PrioritySolver.ActivityMetadata>
+  {
+    private final int parallelism;
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final Map<Duration, Future<Duration>> pending = new HashMap<>();
+    private final List<Duration> prefetched = new ArrayList<>();
+    private final List<Duration> computedSynchronously = new ArrayList<>();
+
+    MostlyDiscontinuousFunction(final int parallelism) {
+      this.parallelism = parallelism;
+    }
+
+    private static Duration compute(final Duration x) {
+      return (x.in(Duration.MICROSECONDS) % 3 == 0) ? x.times(2) : null;
+    }
+
+    @Override
+    public int parallelism() {
+      return this.parallelism;
+    }
+
+    @Override
+    public void prefetch(final List<Duration> xs) {
+      for (final var x : xs) {
+        this.prefetched.add(x);
+        this.pending.put(x, this.executor.submit(() -> compute(x)));
+      }
+    }
+
+    @Override
+    public Duration valueAt(
+        final Duration x,
+        final EquationSolvingAlgorithms.History<Duration, PrioritySolver.ActivityMetadata> historyType)
+    throws EquationSolvingAlgorithms.DiscontinuityException
+    {
+      final Duration ret;
+      final var future = this.pending.remove(x);
+      if (future == null) {
+        if (this.parallelism > 1) this.computedSynchronously.add(x);
+        ret = compute(x);
+      } else {
+        try {
+          ret = future.get();
+        } catch (InterruptedException | ExecutionException e) {
+          throw new RuntimeException(e);
+        }
+      }
+      historyType.add(new EquationSolvingAlgorithms.FunctionCoordinate<>(x, ret), null);
+      if (ret == null) throw new EquationSolvingAlgorithms.DiscontinuityException();
+      return ret;
+    }
+  }
 }
@@ -0,0 +1,130 @@
+package gov.nasa.jpl.aerie.scheduler.model;
+
+import gov.nasa.jpl.aerie.constraints.model.EvaluationEnvironment;
+import gov.nasa.jpl.aerie.constraints.time.Interval;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.scheduler.constraints.activities.ActivityExpression;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Exclusive;
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Inclusive;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PlanInMemoryTest {
+  private static final ActivityType typeA = new ActivityType("A");
+  private static final ActivityType typeB = new ActivityType("B");
+
+  //the activities of the plan matching the template, found without the plan's indices
+  private static List<SchedulingActivityDirective> matching(final Plan plan, final ActivityExpression template) {
+    return plan.getActivitiesByTime()
+               .stream()
+               .filter(act -> template.matches(act, null, new EvaluationEnvironment(), true))
+               .toList();
+  }
+
+  private static List<SchedulingActivityDirective> find(final Plan plan, final ActivityExpression template) {
+    return List.copyOf(plan.find(template, null, new EvaluationEnvironment()));
+  }
+
+  private static ActivityExpression template(final ActivityType type, final Interval startsIn, final Interval endsIn) {
+    final var builder = new ActivityExpression.Builder()
+        .withTimingPrecision(Duration.ZERO)
+        .ofType(type);
+    if (startsIn != null) builder.startsIn(startsIn);
+    if (endsIn != null) builder.endsIn(endsIn);
+    return builder.build();
+  }
+
+  @Test
+  public void testFindByTypeAndTime() {
+    final var plan = new PlanInMemory();
+    final var a1 = SchedulingActivityDirective.of(typeA, Duration.of(0, SECONDS), Duration.of(10, SECONDS), null, true);
+    final var a2 = SchedulingActivityDirective.of(typeA, Duration.of(5, SECONDS), Duration.of(1, SECONDS), null, true);
+    final var a3 = SchedulingActivityDirective.of(typeA, Duration.of(5, SECONDS), Duration.of(0, SECONDS), null, true);
+    final var b1 = SchedulingActivityDirective.of(typeB, Duration.of(2, SECONDS), Duration.of(3, SECONDS), null, true);
+    plan.add(List.of(a1, a2, a3, b1));
+
+    assertEquals(List.of(a1, a2, a3), find(plan, template(typeA, null, null)));
+    assertEquals(List.of(a1, b1, a2, a3), find(plan, template(null, null, null)));
+    assertEquals(List.of(a2, a3), find(plan, template(typeA, Interval.between(1, 5, SECONDS), null)));
+    assertEquals(List.of(), find(plan, template(typeA, Interval.between(1, Inclusive, 5, Exclusive, SECONDS), null)));
+    assertEquals(List.of(a3), find(plan, template(typeA, null, Interval.between(5, Inclusive, 6, Exclusive, SECONDS))));
+    assertEquals(List.of(a1, a2, a3), find(plan, template(typeA, null, Interval.between(5, 10, SECONDS))));
+    assertEquals(List.of(a2), find(plan, template(typeA, null, Interval.at(6, SECONDS))));
+    assertEquals(List.of(b1), find(plan, template(null, Interval.between(1, 3, SECONDS), Interval.between(4, 6, SECONDS))));
+    assertEquals(List.of(), find(plan, template(new ActivityType("C"), null, null)));
+  }
+
+  @Test
+  public void testFindAfterRemoval() {
+    final var plan = new PlanInMemory();
+    final var a1 = SchedulingActivityDirective.of(typeA, Duration.of(0, SECONDS), Duration.of(100, SECONDS), null, true);
+    final var a2 = SchedulingActivityDirective.of(typeA, Duration.of(5, SECONDS), Duration.of(1, SECONDS), null, true);
+    plan.add(List.of(a1, a2));
+
+    assertEquals(List.of(a1), find(plan, template(typeA, null, Interval.at(100, SECONDS))));
+
+    // Removing the longest activity narrows the window searched for activities ending at a given time,
+    //   without losing any activity that remains.
+    plan.remove(a1);
+    assertEquals(List.of(), find(plan, template(typeA, null, Interval.at(100, SECONDS))));
+    assertEquals(List.of(a2), find(plan, template(typeA, null, Interval.at(6, SECONDS))));
+
+    // Replacing an activity, as when its duration is learned from simulation, updates the indices.
+    final var a2Longer = SchedulingActivityDirective.copyOf(a2, Duration.of(20, SECONDS));
+    plan.remove(a2);
+    plan.add(a2Longer);
+    assertEquals(List.of(), find(plan, template(typeA, null, Interval.at(6, SECONDS))));
+    assertEquals(List.of(a2Longer), find(plan, template(typeA, null, Interval.at(25, SECONDS))));
+
+    plan.remove(a2Longer);
+    assertEquals(List.of(), find(plan, template(typeA, null, null)));
+    assertEquals(List.of(), find(plan, template(null, null, null)));
+  }
+
+  @Test
+  public void testFindMatchesExhaustiveSearch() {
+    final var random = new Random(0);
+    final var types = List.of(typeA, typeB);
+    final var plan = new PlanInMemory();
+    final var acts = new ArrayList<SchedulingActivityDirective>();
+
+    for (var i = 0; i < 500; i++) {
+      final var act = SchedulingActivityDirective.of(
+          types.get(random.nextInt(types.size())),
+          Duration.of(random.nextInt(100), SECONDS),
+          Duration.of(random.nextInt(20), SECONDS),
+          null,
+          true);
+      plan.add(act);
+      acts.add(act);
+    }
+    for (var i = 0; i < 100; i++) {
+      plan.remove(acts.remove(random.nextInt(acts.size())));
+    }
+
+    for (var i = 0; i < 500; i++) {
+      final var type = (random.nextBoolean()) ? types.get(random.nextInt(types.size())) : null;
+      final var startsIn = (random.nextBoolean()) ? randomInterval(random) : null;
+      final var endsIn = (random.nextBoolean()) ? randomInterval(random) : null;
+      final var template = template(type, startsIn, endsIn);
+
+      assertEquals(matching(plan, template), find(plan, template));
+    }
+  }
+
+  private static Interval randomInterval(final Random random) {
+    final var start = random.nextInt(120);
+    return Interval.between(
+        start,
+        random.nextBoolean() ? Inclusive : Exclusive,
+        start + random.nextInt(30),
+        random.nextBoolean() ? Inclusive : Exclusive,
+        SECONDS);
+  }
+}
@@ -1,5 +1,6 @@
 package gov.nasa.jpl.aerie.scheduler.simulation;
 
+import gov.nasa.jpl.aerie.merlin.driver.ActivityDirective;
 import gov.nasa.jpl.aerie.merlin.driver.ActivityDirectiveId;
 import gov.nasa.jpl.aerie.merlin.driver.SerializedActivity;
 import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationEngine;
@@ -12,11 +13,14 @@ import org.junit.jupiter.api.Test;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ResumableSimulationTest {
@@ -113,6 +117,128 @@ public class ResumableSimulationTest {
     }
   }
 
+  @Test
+  public void testResumesFromCheckpoint() throws SchedulingInterruptedException {
+    final var fooMissionModel = SimulationUtility.getFooMissionModel();
+    final var checkpointPolicy = new ResumableSimulationDriver.CheckpointPolicy(Duration.of(1, SECONDS), 10);
+    final var lateInsertion = new TestSimulatedActivity(
+        Duration.of(5, SECONDS),
+        new SerializedActivity("BasicActivity", Map.of()),
+        new ActivityDirectiveId(3));
+
+    try (final var checkpointed = new ResumableSimulationDriver<>(fooMissionModel, tenHours, () -> false, checkpointPolicy);
+         final var restarted = new ResumableSimulationDriver<>(fooMissionModel, tenHours, () -> false)) {
+      for (var act : getActivities()) {
+        checkpointed.simulateActivity(act.start, act.activity, null, true, act.id);
+        restarted.simulateActivity(act.start, act.activity, null, true, act.id);
+      }
+      assertTrue(checkpointed.getCountCheckpoints() > 0);
+      assertTrue(checkpointed.estimateCheckpointsRetainedSize() > 0);
+
+      // This activity starts before the current simulation time, but after the checkpoint taken at the end of the first activity.
+      checkpointed.simulateActivity(lateInsertion.start, lateInsertion.activity, null, true, lateInsertion.id);
+      restarted.simulateActivity(lateInsertion.start, lateInsertion.activity, null, true, lateInsertion.id);
+
+      assertEquals(1, checkpointed.getCountSimulationRestarts());
+      assertEquals(1, checkpointed.getCountSimulationRestartsAvoided());
+      assertEquals(2, restarted.getCountSimulationRestarts());
+      assertEquals(0, restarted.getCountSimulationRestartsAvoided());
+
+      final var now = Instant.now();
+      final var checkpointedResults = checkpointed.getSimulationResults(now);
+      final var restartedResults = restarted.getSimulationResults(now);
+      assertEquals(restartedResults.realProfiles, checkpointedResults.realProfiles);
+      assertEquals(restartedResults.discreteProfiles, checkpointedResults.discreteProfiles);
+      assertEquals(restartedResults.simulatedActivities, checkpointedResults.simulatedActivities);
+      assertEquals(restartedResults.unfinishedActivities, checkpointedResults.unfinishedActivities);
+    }
+  }
+
+  @Test
+  public void testRemovalResumesFromCheckpoint() throws SchedulingInterruptedException {
+    final var fooMissionModel = SimulationUtility.getFooMissionModel();
+    final var checkpointPolicy = new ResumableSimulationDriver.CheckpointPolicy(Duration.of(1, SECONDS), 10);
+    final var acts = getActivities();
+    final var replacement = new TestSimulatedActivity(
+        Duration.of(5, SECONDS),
+        new SerializedActivity("BasicActivity", Map.of()),
+        new ActivityDirectiveId(3));
+
+    try (final var checkpointed = new ResumableSimulationDriver<>(fooMissionModel, tenHours, () -> false, checkpointPolicy);
+         final var reference = new ResumableSimulationDriver<>(fooMissionModel, tenHours, () -> false)) {
+      for (var act : acts) {
+        checkpointed.simulateActivity(act.start, act.activity, null, true, act.id);
+      }
+      reference.simulateActivity(acts.get(0).start, acts.get(0).activity, null, true, acts.get(0).id);
+      reference.simulateActivity(replacement.start, replacement.activity, null, true, replacement.id);
+
+      // The second activity was simulated after the checkpoints taken during the first one, which never saw it.
+      checkpointed.removeAndSimulateActivities(
+          Set.of(acts.get(1).id()),
+          Map.of(replacement.id(), new ActivityDirective(replacement.start, replacement.activity, null, true)));
+
+      assertEquals(1, checkpointed.getCountSimulationRestarts());
+      assertEquals(1, checkpointed.getCountSimulationRestartsAvoided());
+      assertTrue(checkpointed.getActivityDuration(acts.get(1).id()).isEmpty());
+
+      final var now = Instant.now();
+      final var checkpointedResults = checkpointed.getSimulationResultsUpTo(now, endOfLastAct);
+      final var referenceResults = reference.getSimulationResultsUpTo(now, endOfLastAct);
+      assertEquals(referenceResults.realProfiles, checkpointedResults.realProfiles);
+      assertEquals(referenceResults.discreteProfiles, checkpointedResults.discreteProfiles);
+      assertEquals(referenceResults.simulatedActivities, checkpointedResults.simulatedActivities);
+      assertEquals(referenceResults.unfinishedActivities, checkpointedResults.unfinishedActivities);
+    }
+  }
+
+  @Test
+  public void testDuplicateSimulatesIndependently()throws SchedulingInterruptedException, InterruptedException {
+    final var fooMissionModel = SimulationUtility.getFooMissionModel();
+    final var later = new TestSimulatedActivity(
+        Duration.of(20, SECONDS),
+        new SerializedActivity("BasicActivity", Map.of()),
+        new ActivityDirectiveId(3));
+
+    try (final var original = new ResumableSimulationDriver<>(fooMissionModel, tenHours, () -> false, ResumableSimulationDriver.CheckpointPolicy.disabled(), true);
+         final var reference = new ResumableSimulationDriver<>(fooMissionModel, tenHours, () -> false)) {
+      for (var act : getActivities()) {
+        original.simulateActivity(act.start, act.activity, null, true, act.id);
+        reference.simulateActivity(act.start, act.activity, null, true, act.id);
+      }
+      reference.simulateActivity(later.start, later.activity, null, true, later.id);
+
+      final var now = Instant.now();
+      final var originalResults = original.getSimulationResults(now);
+      try (final var duplicate = original.duplicate()) {
+        // The copy is driven on a thread of its own, while the original is driven forward on this one.
+        final var failure = new AtomicReference<Throwable>();
+        final var thread = new Thread(() -> {
+          try {
+            duplicate.simulateActivity(later.start, later.activity, null, true, later.id);
+          } catch (final Throwable ex) {
+            failure.set(ex);
+          }
+        });
+        thread.start();
+        original.getSimulationResultsUpTo(now, Duration.of(1, Duration.HOURS));
+        thread.join();
+        assertNull(failure.get());
+
+        // The copy carried on from where the original was, without simulating the plan again from the start.
+        assertEquals(0, duplicate.getCountSimulationRestarts());
+        final var duplicateResults = duplicate.getSimulationResults(now);
+        final var referenceResults = reference.getSimulationResults(now);
+        assertEquals(referenceResults.realProfiles, duplicateResults.realProfiles);
+        assertEquals(referenceResults.discreteProfiles, duplicateResults.discreteProfiles);
+        assertEquals(referenceResults.simulatedActivities, duplicateResults.simulatedActivities);
+
+        // The original never saw the activity simulated on its copy.
+        assertEquals(originalResults.simulatedActivities, original.getSimulationResults(now).simulatedActivities);
+        assertTrue(original.getActivityDuration(later.id).isEmpty());
+      }
+    }
+  }
+
   private static ThreadPoolExecutor unsafeGetExecutor(final ResumableSimulationDriver<?> driver) {
     try {
       final var engineField = ResumableSimulationDriver.class.getDeclaredField("engine");
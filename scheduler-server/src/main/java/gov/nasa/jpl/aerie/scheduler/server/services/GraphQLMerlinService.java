@@ -52,7 +52,9 @@ import javax.json.JsonArrayBuilder;
 import javax.json.JsonException;
 import javax.json.JsonObject;
 import javax.json.JsonValue;
+import javax.json.stream.JsonParsingException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -73,6 +75,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 import static gov.nasa.jpl.aerie.json.BasicParsers.chooseP;
 import static gov.nasa.jpl.aerie.merlin.driver.json.SerializedValueJsonParser.serializedValueP;
@@ -127,6 +130,18 @@ public record GraphQLMerlinService(URI merlinGraphqlURI, String hasuraGraphQlAdm
 
   public record DatasetIds(DatasetId datasetId, SimulationDatasetId simulationDatasetId){}
 
+  /**
+   * the client issuing all http graphql requests to aerie
+   *
+   * shared by every request so that connections to aerie are kept alive and reused (and multiplexed over http/2
+   * where available) rather than established anew for each request
+   */
+  private static final HttpClient httpClient = HttpClient
+      .newBuilder()
+      .version(HttpClient.Version.HTTP_2)
+      .connectTimeout(httpTimeout)
+      .build();
+
   /**
    * dispatch the given graphql request to aerie and collect the results
    *
@@ -137,72 +152,86 @@ public record GraphQLMerlinService(URI merlinGraphqlURI, String hasuraGraphQlAdm
    * @return the json response returned by aerie, or an empty optional in case of io errors
    */
   protected Optional<JsonObject> postRequest(final String gqlStr) throws IOException, MerlinServiceException {
+    return postRequest(Json.createObjectBuilder().add("query", gqlStr).build());
+  }
+
+  protected Optional<JsonObject> postRequest(final String query, final JsonObject variables) throws IOException,
+                                                                                                    MerlinServiceException
+  {
+    return postRequest(Json.createObjectBuilder().add("query", query).add("variables", variables).build());
+  }
+
+  private Optional<JsonObject> postRequest(final JsonObject reqBody) throws IOException, MerlinServiceException {
     try {
-      //TODO: (mem optimization) use streams here to avoid several copies of strings
-      final var reqBody = Json.createObjectBuilder().add("query", gqlStr).build();
-      final var httpReq = HttpRequest
-          .newBuilder().uri(merlinGraphqlURI).timeout(httpTimeout)
-          .header("Content-Type", "application/json")
-          .header("Accept", "application/json")
-          .header("Origin", merlinGraphqlURI.toString())
-          .header("x-hasura-admin-secret", hasuraGraphQlAdminSecret)
-          .POST(HttpRequest.BodyPublishers.ofString(reqBody.toString()))
-          .build();
-      //TODO: (net optimization) gzip compress the request body if large enough (eg for createAllActs)
-      final var httpResp = HttpClient
-          .newHttpClient().send(httpReq, HttpResponse.BodyHandlers.ofInputStream());
-      if (httpResp.statusCode() != 200) {
-        //TODO: how severely to error out if aerie cannot be reached or has a 500 error or json is garbled etc etc?
-        return Optional.empty();
+      final var respStream = send(reqBody);
+      if (respStream.isEmpty()) return Optional.empty();
+      final JsonObject respBody;
+      try (final var body = respStream.get()) {
+        respBody = Json.createReader(body).readObject();
       }
-      final var respBody = Json.createReader(httpResp.body()).readObject();
       if (respBody.containsKey("errors")) {
         throw new MerlinServiceException(respBody.toString());
       }
       return Optional.of(respBody);
-    } catch (final InterruptedException e) {
-      //TODO: maybe retry if interrupted? but depends on semantics (eg don't duplicate mutation if not idempotent)
-      return Optional.empty();
     } catch (final JsonException e) { // or also JsonParsingException
       throw new IOException("json parse error on graphql response:" + e.getMessage(), e);
     }
   }
 
-  protected Optional<JsonObject> postRequest(final String query, final JsonObject variables) throws IOException,
-                                                                                                    MerlinServiceException
+  /**
+   * dispatch the given graphql query to aerie and read each element of one of the arrays of its results
+   * as it is streamed in, rather than collecting the whole response first
+   *
+   * @param gqlStr the graphQL query to send to aerie
+   * @param field the field of the response data holding the array to read
+   * @param elementReader reads each element of the array
+   * @return the number of elements read, or an empty optional in case of io errors
+   */
+  protected Optional<Long> postRequest(
+      final String gqlStr,
+      final String field,
+      final GraphQLResponseReader.ValueReader elementReader)
+  throws IOException, MerlinServiceException, InvalidJsonException
   {
     try {
-      //TODO: (mem optimization) use streams here to avoid several copies of strings
-      final var reqBody = Json
-          .createObjectBuilder()
-          .add("query", query)
-          .add("variables", variables)
-          .build();
+      final var respStream = send(Json.createObjectBuilder().add("query", gqlStr).build());
+      if (respStream.isEmpty()) return Optional.empty();
+      return Optional.of(GraphQLResponseReader.readDataArray(respStream.get(), field, elementReader));
+    } catch (final JsonException e) { // or also JsonParsingException
+      throw new IOException("json parse error on graphql response:" + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * @return the body of the response, which the caller must close, or an empty optional in case of io errors
+   */
+  private Optional<InputStream> send(final JsonObject reqBody) throws IOException {
+    try {
       final var httpReq = HttpRequest
           .newBuilder().uri(merlinGraphqlURI).timeout(httpTimeout)
           .header("Content-Type", "application/json")
           .header("Accept", "application/json")
+          .header("Accept-Encoding", "gzip")
           .header("Origin", merlinGraphqlURI.toString())
           .header("x-hasura-admin-secret", hasuraGraphQlAdminSecret)
           .POST(HttpRequest.BodyPublishers.ofString(reqBody.toString()))
           .build();
       //TODO: (net optimization) gzip compress the request body if large enough (eg for createAllActs)
-      final var httpResp = HttpClient
-          .newHttpClient().send(httpReq, HttpResponse.BodyHandlers.ofInputStream());
+      final var httpResp = httpClient.send(httpReq, HttpResponse.BodyHandlers.ofInputStream());
       if (httpResp.statusCode() != 200) {
         //TODO: how severely to error out if aerie cannot be reached or has a 500 error or json is garbled etc etc?
+        httpResp.body().close();
         return Optional.empty();
       }
-      final var respBody = Json.createReader(httpResp.body()).readObject();
-      if (respBody.containsKey("errors")) {
-        throw new MerlinServiceException(respBody.toString());
-      }
-      return Optional.of(respBody);
+      final var isGzipped = httpResp
+          .headers()
+          .firstValue("Content-Encoding")
+          .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+          .orElse(false);
+      return Optional.of(isGzipped ? new GZIPInputStream(httpResp.body()) : httpResp.body());
     } catch (final InterruptedException e) {
       //TODO: maybe retry if interrupted? but depends on semantics (eg don't duplicate mutation if not idempotent)
       return Optional.empty();
-    } catch (final JsonException e) { // or also JsonParsingException
-      throw new IOException("json parse error on graphql response:" + e.getMessage(), e);
     }
   }
 
@@ -830,10 +859,12 @@ public record GraphQLMerlinService(URI merlinGraphqlURI, String hasuraGraphQlAdm
           }
         }
         """.formatted(datasetId.id());
-    final JsonObject response;
-    response = postRequest(request).get();
-    final var data = response.getJsonObject("data").getJsonArray("simulated_activity");
-    return parseSimulatedActivities(data, startSimulation);
+    final var simulatedActivities = new HashMap<SimulatedActivityId, SimulatedActivity>();
+    postRequest(
+        request,
+        "simulated_activity",
+        (parser, event) -> parseSimulatedActivity(parser.getObject(), startSimulation, simulatedActivities)).get();
+    return simulatedActivities;
   }
 
   private ProfileSet getProfileTypes(DatasetId datasetId) throws MerlinServiceException, IOException {
@@ -866,10 +897,14 @@ public record GraphQLMerlinService(URI merlinGraphqlURI, String hasuraGraphQlAdm
           }
         }
         """.formatted(datasetId.id());
-    final JsonObject response;
-    response = postRequest(request).get();
-    final var data = response.getJsonObject("data").getJsonArray("profile");
-    return parseProfiles(data);
+    final var realProfiles = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<Optional<RealDynamics>>>>>();
+    final var discreteProfiles = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<Optional<SerializedValue>>>>>();
+    try {
+      postRequest(request, "profile", (parser, event) -> readProfile(parser, realProfiles, discreteProfiles)).get();
+    } catch (final InvalidJsonException e) {
+      throw new IOException("json parse error on graphql response:" + e.getMessage(), e);
+    }
+    return new ProfileSet(realProfiles, discreteProfiles);
   }
 
   private Map<SimulatedActivityId, UnfinishedActivity> getSpans(DatasetId datasetId, Instant startTime) throws
@@ -1067,86 +1102,150 @@ public record GraphQLMerlinService(URI merlinGraphqlURI, String hasuraGraphQlAdm
   }
 
   public <Dynamics> Pair<ValueSchema, List<ProfileSegment<Optional<Dynamics>>>> parseProfile(JsonObject profile, JsonParser<Dynamics> dynamicsParser){
-    // Profile segments are stored with their start offset relative to simulation start
-    // We must convert these to durations describing how long each segment lasts
     final var type = chooseP(discreteValueSchemaTypeP, realValueSchemaTypeP).parse(profile.getJsonObject("type")).getSuccessOrThrow();
-    final var segments = new ArrayList<ProfileSegment<Optional<Dynamics>>>();
+    final var segments = new SegmentAccumulator<>(dynamicsParser);
     if(profile.containsKey("profile_segments")) {
-      final var resultSet = profile.getJsonArray("profile_segments").iterator();
-      JsonValue curProfileSegment = null;
-      if (resultSet.hasNext()) {
-        final var profileExtent = durationFromPGInterval(profile.asJsonObject().getString("duration"));
-        curProfileSegment = resultSet.next();
-        var offset = durationFromPGInterval(curProfileSegment.asJsonObject().getString("start_offset"));
-        var isGap = curProfileSegment.asJsonObject().getBoolean("is_gap");
-        Optional<Dynamics> dynamics;
-        if (!isGap) {
-          dynamics = Optional.of(dynamicsParser
-                                     .parse(curProfileSegment.asJsonObject().get("dynamics"))
-                                     .getSuccessOrThrow());
-        } else {
-          dynamics = Optional.empty();
-        }
+      for (final var profileSegment : profile.getJsonArray("profile_segments")) {
+        segments.add(profileSegment.asJsonObject());
+      }
+      if (!segments.isEmpty()) {
+        return Pair.of(type, segments.finish(durationFromPGInterval(profile.getString("duration"))));
+      }
+    }
+    return Pair.of(type, List.of());
+  }
 
-        while (resultSet.hasNext()) {
-          curProfileSegment = resultSet.next();
-          final var nextOffset = durationFromPGInterval(curProfileSegment.asJsonObject().getString("start_offset"));
-          final var duration = nextOffset.minus(offset);
-          segments.add(new ProfileSegment<>(duration, dynamics));
-          isGap = curProfileSegment.asJsonObject().getBoolean("is_gap");
-          offset = nextOffset;
-          if (!isGap) {
-            dynamics = Optional.of(dynamicsParser
-                                       .parse(curProfileSegment.asJsonObject().get("dynamics"))
-                                       .getSuccessOrThrow());
-          } else {
-            dynamics = Optional.empty();
+  /**
+   * Reads a profile from a stream of json events, converting its segments one at a time as they arrive.
+   *
+   * The segments are converted according to the type of the profile, which must come first. GraphQL returns fields
+   * in the order they are queried, so it suffices to query the type before the segments.
+   */
+  private static void readProfile(
+      final javax.json.stream.JsonParser parser,
+      final Map<String, Pair<ValueSchema, List<ProfileSegment<Optional<RealDynamics>>>>> realProfiles,
+      final Map<String, Pair<ValueSchema, List<ProfileSegment<Optional<SerializedValue>>>>> discreteProfiles)
+  throws InvalidJsonException
+  {
+    final var profile = new Object() {
+      String name = null;
+      ValueSchema type = null;
+      boolean isReal = false;
+      Duration duration = null;
+      SegmentAccumulator<?> segments = null;
+    };
+    GraphQLResponseReader.readObject(parser, (key, $, event) -> {
+      switch (key) {
+        case "name" -> profile.name = parser.getString();
+        case "duration" -> profile.duration = durationFromPGInterval(parser.getString());
+        case "type" -> {
+          GraphQLResponseReader.requireEvent(parser, event, javax.json.stream.JsonParser.Event.START_OBJECT);
+          final var typeJson = parser.getObject();
+          profile.type = chooseP(discreteValueSchemaTypeP, realValueSchemaTypeP).parse(typeJson).getSuccessOrThrow();
+          profile.isReal = typeJson.getString("type").equals("real");
+          profile.segments = profile.isReal
+              ? new SegmentAccumulator<>(realDynamicsP)
+              : new SegmentAccumulator<>(serializedValueP);
+        }
+        case "profile_segments" -> {
+          if (profile.segments == null) {
+            throw new JsonParsingException("profile segments must follow the profile type", parser.getLocation());
           }
+          GraphQLResponseReader.requireEvent(parser, event, javax.json.stream.JsonParser.Event.START_ARRAY);
+          GraphQLResponseReader.readArray(parser, (segmentParser, segmentEvent) -> profile.segments.add(segmentParser.getObject()));
         }
+        default -> GraphQLResponseReader.skipValue(parser, event);
+      }
+    });
+
+    if (profile.name == null || profile.type == null || (!profile.segments.isEmpty() && profile.duration == null)) {
+      throw new JsonParsingException("profile is missing its name, type, or duration", parser.getLocation());
+    }
+    final var segments = (profile.segments.isEmpty()) ? List.of() : profile.segments.finish(profile.duration);
+    // SAFETY: the segments were parsed with the dynamics parser matching the type of the profile.
+    if (profile.isReal) {
+      @SuppressWarnings("unchecked")
+      final var realSegments = (List<ProfileSegment<Optional<RealDynamics>>>) (List<?>) segments;
+      realProfiles.put(profile.name, Pair.of(profile.type, realSegments));
+    } else {
+      @SuppressWarnings("unchecked")
+      final var discreteSegments = (List<ProfileSegment<Optional<SerializedValue>>>) (List<?>) segments;
+      discreteProfiles.put(profile.name, Pair.of(profile.type, discreteSegments));
+    }
+  }
 
-        final var duration = profileExtent.minus(offset);
-        segments.add(new ProfileSegment<>(duration, dynamics));
+  /**
+   * Converts profile segments, as stored with their start offset relative to simulation start,
+   * to durations describing how long each segment lasts.
+   */
+  private static final class SegmentAccumulator<Dynamics> {
+    private final JsonParser<Dynamics> dynamicsParser;
+    private final List<ProfileSegment<Optional<Dynamics>>> segments = new ArrayList<>();
+    private Duration offset = null;
+    private Optional<Dynamics> dynamics = Optional.empty();
+
+    SegmentAccumulator(final JsonParser<Dynamics> dynamicsParser) {
+      this.dynamicsParser = dynamicsParser;
+    }
+
+    public void add(final JsonObject profileSegment) {
+      final var nextOffset = durationFromPGInterval(profileSegment.getString("start_offset"));
+      if (this.offset != null) {
+        this.segments.add(new ProfileSegment<>(nextOffset.minus(this.offset), this.dynamics));
       }
+      this.offset = nextOffset;
+      if (!profileSegment.getBoolean("is_gap")) {
+        this.dynamics = Optional.of(this.dynamicsParser.parse(profileSegment.get("dynamics")).getSuccessOrThrow());
+      } else {
+        this.dynamics = Optional.empty();
+      }
+    }
+
+    public boolean isEmpty() {
+      return this.offset == null;
+    }
+
+    public List<ProfileSegment<Optional<Dynamics>>> finish(final Duration profileExtent) {
+      this.segments.add(new ProfileSegment<>(profileExtent.minus(this.offset), this.dynamics));
+      return this.segments;
     }
-    return Pair.of(type, segments);
   }
 
-  private Map<SimulatedActivityId, SimulatedActivity> parseSimulatedActivities(JsonArray simulatedActivitiesArray, Instant simulationStart)
+  private static void parseSimulatedActivity(
+      final JsonObject simulatedActivityJson,
+      final Instant simulationStart,
+      final Map<SimulatedActivityId, SimulatedActivity> simulatedActivities)
   throws InvalidJsonException
   {
-    final var simulatedActivities = new HashMap<SimulatedActivityId, SimulatedActivity>();
-    for(final var simulatedActivityJson: simulatedActivitiesArray) {
-      //if no duration, this is an unfinished activity
-      if(simulatedActivityJson.asJsonObject().isNull("duration")) continue;
-      final var activityDuration = GraphQLParsers.durationP.parse(simulatedActivityJson.asJsonObject().get("duration")).getSuccessOrThrow();
-      final var activityId = simulatedActivityJson.asJsonObject().getJsonNumber("id").longValue();
-      SimulatedActivityId parentId = null;
-      if(!simulatedActivityJson.asJsonObject().isNull("parent_id")){
-        parentId = new SimulatedActivityId(simulatedActivityJson.asJsonObject().getJsonNumber("parent_id").longValue());
-      }
-      final var startOffset = instantFromStart(simulationStart,durationFromPGInterval(simulatedActivityJson.asJsonObject().getString("start_offset")));
-      final var computedAttributes = serializedValueP.parse(simulatedActivityJson.asJsonObject().get("attributes")).getSuccessOrThrow();
-      final var activityDirective = simulatedActivityJson.asJsonObject().getJsonObject("activity_directive");
-      final var activityDirectiveId = new ActivityDirectiveId(activityDirective.getInt("id"));
-      final var activityDirectiveArguments = activityDirective.getJsonObject("arguments");
-      final var deserializedArguments = BasicParsers
-          .mapP(serializedValueP)
-          .parse(activityDirectiveArguments)
-          .getSuccessOrThrow((reason) -> new InvalidJsonException(new InvalidEntityException(List.of(reason))));
-      final var activityType = activityDirective.getString("type");
-      final var simulatedActivity = new SimulatedActivity(
-          activityType,
-          deserializedArguments,
-          startOffset,
-          activityDuration,
-          parentId,
-          List.of(),
-          Optional.of(activityDirectiveId),
-          computedAttributes
-      );
-      simulatedActivities.put(new SimulatedActivityId(activityId), simulatedActivity);
+    //if no duration, this is an unfinished activity
+    if(simulatedActivityJson.isNull("duration")) return;
+    final var activityDuration = GraphQLParsers.durationP.parse(simulatedActivityJson.get("duration")).getSuccessOrThrow();
+    final var activityId = simulatedActivityJson.getJsonNumber("id").longValue();
+    SimulatedActivityId parentId = null;
+    if(!simulatedActivityJson.isNull("parent_id")){
+      parentId = new SimulatedActivityId(simulatedActivityJson.getJsonNumber("parent_id").longValue());
     }
-    return simulatedActivities;
+    final var startOffset = instantFromStart(simulationStart,durationFromPGInterval(simulatedActivityJson.getString("start_offset")));
+    final var computedAttributes = serializedValueP.parse(simulatedActivityJson.get("attributes")).getSuccessOrThrow();
+    final var activityDirective = simulatedActivityJson.getJsonObject("activity_directive");
+    final var activityDirectiveId = new ActivityDirectiveId(activityDirective.getInt("id"));
+    final var activityDirectiveArguments = activityDirective.getJsonObject("arguments");
+    final var deserializedArguments = BasicParsers
+        .mapP(serializedValueP)
+        .parse(activityDirectiveArguments)
+        .getSuccessOrThrow((reason) -> new InvalidJsonException(new InvalidEntityException(List.of(reason))));
+    final var activityType = activityDirective.getString("type");
+    final var simulatedActivity = new SimulatedActivity(
+        activityType,
+        deserializedArguments,
+        startOffset,
+        activityDuration,
+        parentId,
+        List.of(),
+        Optional.of(activityDirectiveId),
+        computedAttributes
+    );
+    simulatedActivities.put(new SimulatedActivityId(activityId), simulatedActivity);
   }
 
   /**
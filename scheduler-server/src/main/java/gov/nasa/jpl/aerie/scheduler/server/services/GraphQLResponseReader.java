@@ -0,0 +1,125 @@
+package gov.nasa.jpl.aerie.scheduler.server.services;
+
+import gov.nasa.jpl.aerie.scheduler.server.http.InvalidJsonException;
+
+import javax.json.Json;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParsingException;
+import java.io.InputStream;
+
+/**
+ * Reads a GraphQL response as a stream of JSON events, so that the elements of a large result array can be converted
+ * one at a time as they arrive, instead of first reading the whole response into a tree.
+ */
+/*package-local*/ final class GraphQLResponseReader {
+  private GraphQLResponseReader() {}
+
+  /**
+   * Reads a JSON value, whose first event the parser has just produced, through to its last event.
+   */
+  @FunctionalInterface
+  public interface ValueReader {
+    void read(JsonParser parser, JsonParser.Event event) throws InvalidJsonException;
+  }
+
+  /**
+   * Reads the value of a field of a JSON object, whose first event the parser has just produced,
+   * through to its last event.
+   */
+  @FunctionalInterface
+  public interface FieldReader {
+    void read(String key, JsonParser parser, JsonParser.Event event) throws InvalidJsonException;
+  }
+
+  /**
+   * Reads each element of an array in the "data" object of a GraphQL response.
+   *
+   * @param response the body of the response, which is consumed and closed
+   * @param field the field of the "data" object holding the array
+   * @param elementReader reads each element of the array
+   * @return the number of elements read
+   * @throws MerlinServiceException if the response reports errors
+   */
+  public static long readDataArray(final InputStream response, final String field, final ValueReader elementReader)
+  throws MerlinServiceException, InvalidJsonException
+  {
+    try (final var parser = Json.createParser(response)) {
+      requireEvent(parser, parser.next(), JsonParser.Event.START_OBJECT);
+
+      var count = -1L;
+      for (var event = parser.next(); event != JsonParser.Event.END_OBJECT; event = parser.next()) {
+        final var key = parser.getString();
+        final var value = parser.next();
+        if (key.equals("errors")) {
+          throw new MerlinServiceException(Json.createObjectBuilder().add("errors", parser.getValue()).build().toString());
+        } else if (key.equals("data") && value == JsonParser.Event.START_OBJECT) {
+          count = readDataObject(parser, field, elementReader);
+        } else {
+          skipValue(parser, value);
+        }
+      }
+
+      if (count < 0) {
+        throw new JsonParsingException("graphql response has no array at data." + field, parser.getLocation());
+      }
+      return count;
+    }
+  }
+
+  private static long readDataObject(final JsonParser parser, final String field, final ValueReader elementReader)
+  throws InvalidJsonException
+  {
+    var count = -1L;
+    for (var event = parser.next(); event != JsonParser.Event.END_OBJECT; event = parser.next()) {
+      final var key = parser.getString();
+      final var value = parser.next();
+      if (key.equals(field) && value == JsonParser.Event.START_ARRAY) {
+        count = readArray(parser, elementReader);
+      } else {
+        skipValue(parser, value);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Reads each field of an object, whose first event the parser has just produced.
+   */
+  public static void readObject(final JsonParser parser, final FieldReader fieldReader) throws InvalidJsonException {
+    for (var event = parser.next(); event != JsonParser.Event.END_OBJECT; event = parser.next()) {
+      final var key = parser.getString();
+      fieldReader.read(key, parser, parser.next());
+    }
+  }
+
+  /**
+   * Reads each element of an array, whose first event the parser has just produced.
+   *
+   * @return the number of elements read
+   */
+  public static long readArray(final JsonParser parser, final ValueReader elementReader) throws InvalidJsonException {
+    var count = 0L;
+    for (var event = parser.next(); event != JsonParser.Event.END_ARRAY; event = parser.next()) {
+      elementReader.read(parser, event);
+      count += 1;
+    }
+    return count;
+  }
+
+  /**
+   * Skips over a value, whose first event the parser has just produced.
+   */
+  public static void skipValue(final JsonParser parser, final JsonParser.Event event) {
+    switch (event) {
+      case START_OBJECT -> parser.skipObject();
+      case START_ARRAY -> parser.skipArray();
+      default -> {}
+    }
+  }
+
+  public static void requireEvent(final JsonParser parser, final JsonParser.Event actual, final JsonParser.Event expected) {
+    if (actual != expected) {
+      throw new JsonParsingException("expected " + expected + " in graphql response, got " + actual, parser.getLocation());
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package gov.nasa.jpl.aerie.scheduler.server.services;
+
+import org.junit.jupiter.api.Test;
+
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParsingException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class GraphQLResponseReaderTest {
+  @Test
+  public void readsEachElementOfTheArray() throws Exception {
+    final var response = responseOf("""
+        {"data": {"other": [{"id": 9}], "activity": [{"id": 1, "tags": [1, 2]}, {"id": 2, "tags": []}], "last": {}}}
+        """);
+
+    final var ids = new ArrayList<Long>();
+    final var count = GraphQLResponseReader.readDataArray(response, "activity", (parser, event) -> {
+      assertEquals(JsonParser.Event.START_OBJECT, event);
+      ids.add(parser.getObject().getJsonNumber("id").longValue());
+    });
+
+    assertEquals(2, count);
+    assertEquals(List.of(1L, 2L), ids);
+  }
+
+  @Test
+  public void readsElementsFieldByField() throws Exception {
+    final var response = responseOf("""
+        {"data": {"activity": [{"skipped": {"deep": [1, {"x": 2}]}, "id": 1}, {"id": 2}]}}
+        """);
+
+    final var ids = new ArrayList<Long>();
+    GraphQLResponseReader.readDataArray(response, "activity", (parser, event) ->
+        GraphQLResponseReader.readObject(parser, (key, fieldParser, value) -> {
+          if (key.equals("id")) ids.add(fieldParser.getLong());
+          else GraphQLResponseReader.skipValue(fieldParser, value);
+        }));
+
+    assertEquals(List.of(1L, 2L), ids);
+  }
+
+  @Test
+  public void reportsErrors() {
+    final var response = responseOf("""
+        {"errors": [{"message": "no such table"}]}
+        """);
+
+    final var ex = assertThrows(
+        MerlinServiceException.class,
+        () -> GraphQLResponseReader.readDataArray(response, "activity", (parser, event) -> {}));
+    assertTrue(ex.getMessage().contains("no such table"));
+  }
+
+  @Test
+  public void rejectsMissingArray() {
+    final var response = responseOf("""
+        {"data": {"activity": null}}
+        """);
+
+    assertThrows(
+        JsonParsingException.class,
+        () -> GraphQLResponseReader.readDataArray(response, "activity", (parser, event) -> {}));
+  }
+
+  private static InputStream responseOf(final String json) {
+    return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -12,6 +12,7 @@ import javax.json.Json;
 import javax.sql.DataSource;
 import java.io.StringReader;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 
 import static gov.nasa.jpl.aerie.scheduler.worker.postgres.PostgresNotificationJsonParsers.postgresSchedulingRequestNotificationP;
@@ -30,6 +31,10 @@ public class ListenSchedulerCapability {
   }
 
   public Thread registerListener(SchedulingCanceledListener canceledListener) {
+    return registerListeners(List.of(canceledListener));
+  }
+
+  public Thread registerListeners(List<SchedulingCanceledListener> canceledListeners) {
     final var listenerThread = new Thread(() -> {
       try (final var connection = this.dataSource.getConnection()) {
         try (final var listenSimulationStatusAction = new ListenSchedulingRequestStatusAction(connection)) {
@@ -50,7 +55,8 @@ public class ListenSchedulerCapability {
               logger.info("Received PSQL Notification: {}, {}, {}", processId, channelName, payload);
 
               if (channelName.equals("scheduling_cancel")) {
-                  canceledListener.receiveSignal(new SpecificationId(Long.parseLong(payload)));
+                  final var specificationId = new SpecificationId(Long.parseLong(payload));
+                  for (final var canceledListener : canceledListeners) canceledListener.receiveSignal(specificationId);
               } else {
                 try (final var reader = Json.createReader(new StringReader(payload))) {
                   final var jsonValue = reader.readValue();
@@ -9,6 +9,8 @@ import java.util.concurrent.TimeUnit;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModelCache;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.scheduler.server.ResultsProtocol;
 import gov.nasa.jpl.aerie.scheduler.server.config.PlanOutputMode;
 import gov.nasa.jpl.aerie.scheduler.server.config.PostgresStore;
@@ -21,12 +23,23 @@ import gov.nasa.jpl.aerie.scheduler.server.services.GraphQLMerlinService;
 import gov.nasa.jpl.aerie.scheduler.server.services.LocalSpecificationService;
 import gov.nasa.jpl.aerie.scheduler.server.services.ScheduleRequest;
 import gov.nasa.jpl.aerie.scheduler.server.services.UnexpectedSubtypeError;
+import gov.nasa.jpl.aerie.scheduler.simulation.ResumableSimulationDriver;
 import gov.nasa.jpl.aerie.scheduler.worker.postgres.PostgresSchedulingRequestNotificationPayload;
 import gov.nasa.jpl.aerie.scheduler.worker.services.SchedulingDSLCompilationService;
 import gov.nasa.jpl.aerie.scheduler.worker.services.SynchronousSchedulerAgent;
+import gov.nasa.jpl.aerie.worker.WorkerSlots;
 import io.javalin.Javalin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.json.Json;
 
 public final class SchedulerWorkerAppDriver {
+  private static final Logger logger = LoggerFactory.getLogger(SchedulerWorkerAppDriver.class);
+
+  // The most database connections a scheduling run holds at once: its results cell checks out one per write.
+  /* package-local */ static final int CONNECTIONS_PER_SCHEDULING_RUN = 1;
+
   public static void main(String[] args) throws Exception {
     final var config = loadConfiguration();
 
@@ -45,6 +58,11 @@ public final class SchedulerWorkerAppDriver {
     if (!(store instanceof final PostgresStore postgresStore)) {
       throw new UnexpectedSubtypeError(Store.class, store);
     }
+    final var slots = new WorkerSlots<>(
+        config.schedulingSlots(),
+        SchedulingCanceledListener::new,
+        SchedulingCanceledListener::unregister);
+
     final var hikariConfig = new HikariConfig();
     hikariConfig.setDataSourceClassName("org.postgresql.ds.PGSimpleDataSource");
     hikariConfig.addDataSourceProperty("serverName", postgresStore.server());
@@ -53,7 +71,7 @@ public final class SchedulerWorkerAppDriver {
     hikariConfig.addDataSourceProperty("applicationName", "Scheduler Worker");
     hikariConfig.setUsername(postgresStore.user());
     hikariConfig.setPassword(postgresStore.password());
-    hikariConfig.setMaximumPoolSize(2);
+    hikariConfig.setMaximumPoolSize(slots.connectionPoolSize(CONNECTIONS_PER_SCHEDULING_RUN));
 
     hikariConfig.setConnectionInitSql("set time zone 'UTC'");
 
@@ -64,57 +82,91 @@ public final class SchedulerWorkerAppDriver {
       new PostgresResultsCellRepository(hikariDataSource));
 
     final var specificationService = new LocalSpecificationService(stores.specifications());
+    final var missionModelCache = new MissionModelCache(config.missionModelCacheSize());
     final var scheduleAgent = new SynchronousSchedulerAgent(specificationService,
         merlinService,
         config.merlinFileStore(),
         config.missionRuleJarPath(),
         config.outputMode(),
-        schedulingDSLCompilationService);
+        schedulingDSLCompilationService,
+        missionModelCache,
+        config.rootfindingParallelism(),
+        checkpointPolicy(config));
 
     final var notificationQueue = new LinkedBlockingQueue<PostgresSchedulingRequestNotificationPayload>();
     final var listenAction = new ListenSchedulerCapability(hikariDataSource, notificationQueue);
-    final var canceledListener = new SchedulingCanceledListener();
-    final var listenThread = listenAction.registerListener(canceledListener);
+    final var listenThread = listenAction.registerListeners(slots.all());
 
     try(final var app = Javalin.create().start(8080)) {
-      app.get("/health", ctx -> ctx.status(200));
+      app.get("/health", ctx -> {
+        final var cacheStats = missionModelCache.getStats();
+        ctx
+            .status(200)
+            .contentType("application/json")
+            .result(Json
+                .createObjectBuilder()
+                .add("slots", slots.size())
+                .add("active", slots.active())
+                .add("queued", notificationQueue.size())
+                .add("missionModelCacheHits", cacheStats.hits())
+                .add("missionModelCacheMisses", cacheStats.misses())
+                .build()
+                .toString());
+      });
 
       while (listenThread.isAlive()) {
         final var notification = notificationQueue.poll(1, TimeUnit.MINUTES);
         if (notification == null) continue;
+        final var receivedTime = System.nanoTime();
         final var specificationRevision = notification.specificationRevision();
         final var specificationId = new SpecificationId(notification.specificationId());
 
-        // Register as early as possible to avoid potentially missing a canceled signal
-        canceledListener.register(specificationId);
-
-        final Optional<ResultsProtocol.OwnerRole> owner = stores.results().claim(specificationId);
-        if (owner.isEmpty()) {
-          canceledListener.unregister();
-          continue;
-        }
-
-        final var revisionData = new SpecificationRevisionData(specificationRevision);
-        final ResultsProtocol.WriterRole writer = owner.get();
-        try {
-          scheduleAgent.schedule(new ScheduleRequest(specificationId, revisionData), writer, canceledListener);
-        } catch (final Throwable ex) {
-          ex.printStackTrace(System.err);
-          writer.failWith(b -> b
-              .type("UNEXPECTED_SCHEDULER_EXCEPTION")
-              .message("Something went wrong while scheduling")
-              .trace(ex));
-        }
-        finally {
-          canceledListener.unregister();
-        }
+        // Only claim a request once there is a slot free to run it, so that another worker may claim it meanwhile.
+        slots.claimAndRun(canceledListener -> {
+          // Register as early as possible to avoid potentially missing a canceled signal
+          canceledListener.register(specificationId);
+
+          final Optional<ResultsProtocol.OwnerRole> owner = stores.results().claim(specificationId);
+          if (owner.isEmpty()) return Optional.empty();
+
+          final var revisionData = new SpecificationRevisionData(specificationRevision);
+          final ResultsProtocol.WriterRole writer = owner.get();
+          return Optional.of(() -> {
+            final var startTime = System.nanoTime();
+            try {
+              scheduleAgent.schedule(new ScheduleRequest(specificationId, revisionData), writer, canceledListener);
+            } catch (final Throwable ex) {
+              ex.printStackTrace(System.err);
+              writer.failWith(b -> b
+                  .type("UNEXPECTED_SCHEDULER_EXCEPTION")
+                  .message("Something went wrong while scheduling")
+                  .trace(ex));
+            } finally {
+              logger.info(
+                  "Scheduling request for specification {} waited {} ms for a slot and ran for {} ms",
+                  specificationId.id(),
+                  (startTime - receivedTime) / 1_000_000.0,
+                  (System.nanoTime() - startTime) / 1_000_000.0);
+            }
+          });
+        });
       }
     } finally {
       // Kill the listen thread
       listenThread.interrupt();
+      // Let any scheduling requests already underway finish writing their results
+      slots.close();
     }
   }
 
+  private static ResumableSimulationDriver.CheckpointPolicy checkpointPolicy(final WorkerAppConfiguration config) {
+    // A zero interval leaves checkpointing off, so that every scheduling simulation restarts from the start of the plan.
+    if (config.checkpointIntervalSeconds() == 0) return ResumableSimulationDriver.CheckpointPolicy.disabled();
+    return new ResumableSimulationDriver.CheckpointPolicy(
+        Duration.of(config.checkpointIntervalSeconds(), Duration.SECONDS),
+        config.checkpointCapacity());
+  }
+
   private static String getEnv(final String key, final String fallback){
     final var env = System.getenv(key);
     return env == null ? fallback : env;
@@ -131,7 +183,12 @@ public final class SchedulerWorkerAppDriver {
         Path.of(getEnv("MERLIN_LOCAL_STORE", "/usr/src/app/merlin_file_store")),
         Path.of(getEnv("SCHEDULER_RULES_JAR", "/usr/src/app/merlin_file_store/scheduler_rules.jar")),
         PlanOutputMode.valueOf((getEnv("SCHEDULER_OUTPUT_MODE", "CreateNewOutputPlan"))),
-        getEnv("HASURA_GRAPHQL_ADMIN_SECRET", "")
+        getEnv("HASURA_GRAPHQL_ADMIN_SECRET", ""),
+        Integer.parseInt(getEnv("SCHEDULER_WORKER_SCHEDULING_SLOTS", "1")),
+        Integer.parseInt(getEnv("MISSION_MODEL_CACHE_SIZE", "4")),
+        Integer.parseInt(getEnv("SCHEDULER_WORKER_ROOTFINDING_PARALLELISM", "1")),
+        Long.parseLong(getEnv("SCHEDULER_WORKER_CHECKPOINT_INTERVAL", "0")),
+        Integer.parseInt(getEnv("SCHEDULER_WORKER_CHECKPOINT_CAPACITY", "16"))
     );
   }
 }
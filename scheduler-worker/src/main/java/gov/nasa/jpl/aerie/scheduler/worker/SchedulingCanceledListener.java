@@ -6,8 +6,9 @@ import java.util.Optional;
 import java.util.function.Supplier;
 
 public class SchedulingCanceledListener implements Supplier<Boolean> {
-  private Optional<SpecificationId> registeredSchedulingRun;
-  private boolean canceled;
+  // Signals arrive on the listening thread, while the registered scheduling run executes on a thread of its own.
+  private volatile Optional<SpecificationId> registeredSchedulingRun;
+  private volatile boolean canceled;
 
   public SchedulingCanceledListener() {
     registeredSchedulingRun = Optional.empty();
@@ -11,5 +11,10 @@ public record WorkerAppConfiguration(
     Path merlinFileStore,
     Path missionRuleJarPath,
     PlanOutputMode outputMode,
-    String hasuraGraphQlAdminSecret
+    String hasuraGraphQlAdminSecret,
+    int schedulingSlots,
+    int missionModelCacheSize,
+    int rootfindingParallelism,
+    long checkpointIntervalSeconds,
+    int checkpointCapacity
 ) { }
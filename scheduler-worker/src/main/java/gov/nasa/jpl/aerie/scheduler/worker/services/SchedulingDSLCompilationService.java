@@ -115,40 +115,43 @@ public class SchedulingDSLCompilationService {
     *   NODE -- stdout --> JAVA: one of "success\n", "error\n", or "panic\n"
     *   NODE -- stdout --> JAVA: payload associated with success, error, or panic, must be exactly one line terminated with \n
     * */
-    final var inputWriter = this.nodeProcess.outputWriter();
-    final var outputReader = this.nodeProcess.inputReader();
-    try {
-      inputWriter.write(messageJson+"\n");
-      inputWriter.flush();
-      final var status = outputReader.readLine();
-      return switch (status) {
-        case "panic" -> throw new Error(outputReader.readLine());
-        case "error" -> {
-          final var output = outputReader.readLine();
-          try {
-            yield new SchedulingDSLCompilationResult.Error<>(parseJson(
-                output,
-                SchedulingCompilationError.schedulingErrorJsonP));
-          } catch (InvalidJsonException e) {
-            throw new Error("Could not parse JSON returned from typescript: ", e);
-          } catch (InvalidEntityException e) {
-            throw new Error("Could not parse JSON returned from typescript: " + e.failures + "\n" + output);
+    // The subprocess handles one request at a time, and scheduling requests may be run concurrently.
+    synchronized (this.nodeProcess) {
+      final var inputWriter = this.nodeProcess.outputWriter();
+      final var outputReader = this.nodeProcess.inputReader();
+      try {
+        inputWriter.write(messageJson+"\n");
+        inputWriter.flush();
+        final var status = outputReader.readLine();
+        return switch (status) {
+          case "panic" -> throw new Error(outputReader.readLine());
+          case "error" -> {
+            final var output = outputReader.readLine();
+            try {
+              yield new SchedulingDSLCompilationResult.Error<>(parseJson(
+                  output,
+                  SchedulingCompilationError.schedulingErrorJsonP));
+            } catch (InvalidJsonException e) {
+              throw new Error("Could not parse JSON returned from typescript: ", e);
+            } catch (InvalidEntityException e) {
+              throw new Error("Could not parse JSON returned from typescript: " + e.failures + "\n" + output);
+            }
           }
-        }
-        case "success" -> {
-          final var output = outputReader.readLine();
-          try {
-            yield new SchedulingDSLCompilationResult.Success<>(parseJson(output, parser));
-          } catch (InvalidJsonException e) {
-            throw new Error("Could not parse JSON returned from typescript: " + output, e);
-          } catch (InvalidEntityException e) {
-            throw new Error("Could not parse JSON returned from typescript: " + e.failures + "\n" + output, e);
+          case "success" -> {
+            final var output = outputReader.readLine();
+            try {
+              yield new SchedulingDSLCompilationResult.Success<>(parseJson(output, parser));
+            } catch (InvalidJsonException e) {
+              throw new Error("Could not parse JSON returned from typescript: " + output, e);
+            } catch (InvalidEntityException e) {
+              throw new Error("Could not parse JSON returned from typescript: " + e.failures + "\n" + output, e);
+            }
           }
-        }
-        default -> throw new Error("scheduling dsl compiler returned unexpected status: " + status);
-      };
-    } catch (IOException e) {
-      throw new Error(e);
+          default -> throw new Error("scheduling dsl compiler returned unexpected status: " + status);
+        };
+      } catch (IOException e) {
+        throw new Error(e);
+      }
     }
   }
 
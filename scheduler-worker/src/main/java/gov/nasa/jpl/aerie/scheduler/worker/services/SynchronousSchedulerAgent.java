@@ -22,6 +22,7 @@ import java.util.stream.Collectors;
 
 import gov.nasa.jpl.aerie.merlin.driver.ActivityDirectiveId;
 import gov.nasa.jpl.aerie.merlin.driver.MissionModel;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModelCache;
 import gov.nasa.jpl.aerie.merlin.driver.MissionModelLoader;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
 import gov.nasa.jpl.aerie.merlin.protocol.model.SchedulerModel;
@@ -68,6 +69,7 @@ import gov.nasa.jpl.aerie.scheduler.server.services.ScheduleRequest;
 import gov.nasa.jpl.aerie.scheduler.server.services.ScheduleResults;
 import gov.nasa.jpl.aerie.scheduler.server.services.SchedulerAgent;
 import gov.nasa.jpl.aerie.scheduler.server.services.SpecificationService;
+import gov.nasa.jpl.aerie.scheduler.simulation.ResumableSimulationDriver;
 import gov.nasa.jpl.aerie.scheduler.simulation.SimulationFacade;
 import gov.nasa.jpl.aerie.scheduler.solver.PrioritySolver;
 import org.apache.commons.lang3.tuple.Pair;
@@ -79,6 +81,10 @@ import org.apache.commons.lang3.tuple.Pair;
  * @param modelJarsDir path to parent directory for mission model jars (interim backdoor jar file access)
  * @param goalsJarPath path to jar file to load scheduling goals from (interim solution for user input goals)
  * @param outputMode how the scheduling output should be returned to aerie (eg overwrite or new container)
+ * @param missionModelCache loaded mission model jars, shared across scheduling requests
+ * @param rootfindingParallelism the number of candidate start times simulated at once when placing an activity
+ * @param checkpointPolicy how often the scheduling simulation retains a copy of its state, so that activities inserted
+ *     or removed before the current simulation time need not be simulated again from the start of the plan
  */
 //TODO: will eventually need scheduling goal service arg to pull goals from scheduler's own data store
 public record SynchronousSchedulerAgent(
@@ -87,7 +93,10 @@ public record SynchronousSchedulerAgent(
     Path modelJarsDir,
     Path goalsJarPath,
     PlanOutputMode outputMode,
-    SchedulingDSLCompilationService schedulingDSLCompilationService
+    SchedulingDSLCompilationService schedulingDSLCompilationService,
+    MissionModelCache missionModelCache,
+    int rootfindingParallelism,
+    ResumableSimulationDriver.CheckpointPolicy checkpointPolicy
 )
     implements SchedulerAgent
 {
@@ -96,6 +105,11 @@ public record SynchronousSchedulerAgent(
     Objects.requireNonNull(modelJarsDir);
     Objects.requireNonNull(goalsJarPath);
     Objects.requireNonNull(schedulingDSLCompilationService);
+    Objects.requireNonNull(missionModelCache);
+    Objects.requireNonNull(checkpointPolicy);
+    if (rootfindingParallelism < 1) {
+      throw new IllegalArgumentException("Rootfinding parallelism must be at least 1, got " + rootfindingParallelism);
+    }
   }
 
   /**
@@ -121,17 +135,20 @@ public record SynchronousSchedulerAgent(
       final var planMetadata = merlinService.getPlanMetadata(specification.planId());
       ensureRequestIsCurrent(request);
       ensurePlanRevisionMatch(specification, planMetadata.planRev());
-      //create scheduler problem seeded with initial plan
-      final var schedulerMissionModel = loadMissionModel(planMetadata);
       final var planningHorizon = new PlanningHorizon(
           specification.horizonStartTimestamp().toInstant(),
           specification.horizonEndTimestamp().toInstant()
       );
-      try(final var simulationFacade = new SimulationFacade(
+      //create scheduler problem seeded with initial plan
+      try(final var schedulerMissionModel = loadMissionModel(planMetadata);
+          final var simulationFacade = new SimulationFacade(
           planningHorizon,
           schedulerMissionModel.missionModel(),
           schedulerMissionModel.schedulerModel(),
-          canceledListener)) {
+          canceledListener,
+          this.checkpointPolicy,
+          // Candidate start times are only simulated concurrently on forks of the facade.
+          this.rootfindingParallelism > 1)) {
         final var problem = new Problem(
             schedulerMissionModel.missionModel(),
             planningHorizon,
@@ -219,7 +236,7 @@ public record SynchronousSchedulerAgent(
         }
         problem.setGoals(orderedGoals);
 
-        final var scheduler = new PrioritySolver(problem, specification.analysisOnly());
+        final var scheduler = new PrioritySolver(problem, specification.analysisOnly(), this.rootfindingParallelism);
         //run the scheduler to find a solution to the posed problem, if any
         final var solutionPlan = scheduler.getNextSolution().orElseThrow(
             () -> new ResultsProtocolFailure("scheduler returned no solution"));
@@ -456,11 +473,21 @@ public record SynchronousSchedulerAgent(
   }
 
   record PlanComponents(Plan schedulerPlan, MerlinPlan merlinPlan, Map<SchedulingActivityDirectiveId, ActivityDirectiveId> idMap) {}
-  record SchedulerMissionModel(MissionModel<?> missionModel, SchedulerModel schedulerModel) {}
+  record SchedulerMissionModel(MissionModel<?> missionModel, SchedulerModel schedulerModel, MissionModelCache.Lease lease)
+      implements AutoCloseable
+  {
+    @Override
+    public void close() {
+      this.lease.close();
+    }
+  }
 
   /**
    * creates an instance of the mission model referenced by the specified plan
    *
+   * the model jar's classes are loaded only once for as long as it remains in the mission model cache, so that
+   * requests sharing a model only pay for instantiating it with their own configuration
+   *
    * @param plan metadata of the target plan indicating which mission model to load and how to configure the mission
    *     model for that plan data
    * @return instance of the mission model to extract any activity types, constraints, and simulations from
@@ -468,24 +495,35 @@ public record SynchronousSchedulerAgent(
    *     version/name in jar does not match, or aerie filesystem could not be mounted
    */
   private SchedulerMissionModel loadMissionModel(final PlanMetadata plan) {
+    final var modelJarPath = modelJarsDir.resolve(plan.modelPath());
+    final MissionModelCache.Lease lease;
+    try {
+      lease = this.missionModelCache.acquire(String.valueOf(plan.modelId()), modelJarPath, plan.modelName(), plan.modelVersion());
+    } catch (final MissionModelLoader.MissionModelLoadException e) {
+      throw new ResultsProtocolFailure(e);
+    }
+
     try {
       final var missionConfig = SerializedValue.of(plan.modelConfiguration());
-      final var modelJarPath = modelJarsDir.resolve(plan.modelPath());
+      final var schedulerModel = lease.attachment(
+          SchedulerModel.class,
+          classLoader -> loadSchedulerModelProvider(classLoader, modelJarPath, plan.modelName(), plan.modelVersion()).getSchedulerModel());
       return new SchedulerMissionModel(
-          MissionModelLoader.loadMissionModel(plan.horizon().getStartInstant(), missionConfig, modelJarPath, plan.modelName(), plan.modelVersion()),
-          loadSchedulerModelProvider(modelJarPath, plan.modelName(), plan.modelVersion()).getSchedulerModel());
-    } catch (MissionModelLoader.MissionModelLoadException | SchedulerModelLoadException e) {
+          MissionModelLoader.instantiateMissionModel(plan.horizon().getStartInstant(), missionConfig, lease.modelType()),
+          schedulerModel,
+          lease);
+    } catch (final SchedulerModelLoadException e) {
+      lease.close();
       throw new ResultsProtocolFailure(e);
+    } catch (final RuntimeException e) {
+      lease.close();
+      throw e;
     }
   }
 
   public static SchedulerPlugin loadSchedulerModelProvider(final Path path, final String name, final String version)
   throws MissionModelLoader.MissionModelLoadException, SchedulerModelLoadException
   {
-    // Look for a MerlinMissionModel implementor in the mission model. For correctness, we're assuming there's
-    // only one matching MerlinMissionModel in any given mission model.
-    final var className = getImplementingClassName(path, name, version);
-
     // Construct a ClassLoader with access to classes in the mission model location.
     final var parentClassLoader = Thread.currentThread().getContextClassLoader();
     final URLClassLoader classLoader;
@@ -495,6 +533,21 @@ public record SynchronousSchedulerAgent(
       throw new Error(ex);
     }
 
+    return loadSchedulerModelProvider(classLoader, path, name, version);
+  }
+
+  /** Load a mission model's scheduler plugin through a class loader which already has access to its jar. */
+  public static SchedulerPlugin loadSchedulerModelProvider(
+      final ClassLoader classLoader,
+      final Path path,
+      final String name,
+      final String version
+  ) throws SchedulerModelLoadException
+  {
+    // Look for a MerlinMissionModel implementor in the mission model. For correctness, we're assuming there's
+    // only one matching MerlinMissionModel in any given mission model.
+    final var className = getImplementingClassName(path, name, version);
+
     try {
       final var factoryClass$ = classLoader.loadClass(className);
       if (!SchedulerPlugin.class.isAssignableFrom(factoryClass$)) {
@@ -0,0 +1,128 @@
+package gov.nasa.jpl.aerie.worker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A fixed number of slots in which a worker's jobs may run concurrently.
+ *
+ * <p>
+ * Each slot carries a value of its own, such as a listener for cancellation signals, so that state belonging to
+ * one job is never seen by another. A slot must be acquired before a job is claimed, so that the worker never claims
+ * more jobs than it can run; other workers remain free to claim the rest.
+ * </p>
+ *
+ * @param <Slot> the value carried by each slot.
+ */
+public final class WorkerSlots<Slot> implements AutoCloseable {
+  private final List<Slot> slots;
+  private final BlockingQueue<Slot> idleSlots;
+  private final Consumer<Slot> reset;
+  private final ExecutorService executor;
+
+  /**
+   * @param count the number of jobs which may run at once.
+   * @param newSlot creates the value carried by a slot.
+   * @param reset clears a slot's value of anything left by the job which last used it.
+   */
+  public WorkerSlots(final int count, final Supplier<Slot> newSlot, final Consumer<Slot> reset) {
+    if (count < 1) throw new IllegalArgumentException("Number of worker slots must be positive, got " + count);
+
+    final var slots = new ArrayList<Slot>(count);
+    for (var i = 0; i < count; i += 1) slots.add(newSlot.get());
+
+    this.slots = Collections.unmodifiableList(slots);
+    this.idleSlots = new ArrayBlockingQueue<>(count, false, slots);
+    this.reset = reset;
+    this.executor = Executors.newFixedThreadPool(count);
+  }
+
+  /** The values of every slot, whether or not it is in use. */
+  public List<Slot> all() {
+    return this.slots;
+  }
+
+  /** Wait for a slot to become free, and take it. */
+  public Slot acquire() throws InterruptedException {
+    return this.idleSlots.take();
+  }
+
+  /** Return a slot that was acquired but not used. */
+  public void release(final Slot slot) {
+    this.reset.accept(slot);
+    this.idleSlots.add(slot);
+  }
+
+  /** Run a job in an acquired slot, releasing the slot once the job is done. */
+  public void run(final Slot slot, final Runnable job) {
+    this.executor.execute(() -> {
+      try {
+        job.run();
+      } finally {
+        this.release(slot);
+      }
+    });
+  }
+
+  /**
+   * Wait for a slot to become free, then claim a job and run it in that slot.
+   * The slot is released again if no job is claimed, including when claiming throws.
+   *
+   * @param claim prepares the acquired slot and tries to claim a job for it, returning the job if it was claimed.
+   * @return whether a job was claimed.
+   */
+  public boolean claimAndRun(final Function<Slot, Optional<Runnable>> claim) throws InterruptedException {
+    final var slot = this.acquire();
+    var running = false;
+    try {
+      final var job = claim.apply(slot);
+      if (job.isEmpty()) return false;
+
+      this.run(slot, job.get());
+      running = true;
+      return true;
+    } finally {
+      if (!running) this.release(slot);
+    }
+  }
+
+  public int size() {
+    return this.slots.size();
+  }
+
+  /**
+   * The number of database connections needed to run a job in every slot at once,
+   * alongside a listener which holds a connection of its own for as long as the worker runs.
+   *
+   * @param connectionsPerSlot the most connections a single job holds at any one time.
+   */
+  public int connectionPoolSize(final int connectionsPerSlot) {
+    return 1 + this.size() * connectionsPerSlot;
+  }
+
+  /** The number of slots currently running a job, or reserved for one about to be claimed. */
+  public int active() {
+    return this.slots.size() - this.idleSlots.size();
+  }
+
+  /** Wait for the jobs already running to finish. If interrupted, stop waiting and leave them to finish on their own. */
+  @Override
+  public void close() {
+    this.executor.shutdown();
+    try {
+      this.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}